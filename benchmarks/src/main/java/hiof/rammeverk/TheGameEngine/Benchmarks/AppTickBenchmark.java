@@ -0,0 +1,66 @@
+package hiof.rammeverk.TheGameEngine.Benchmarks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of one {@code App.tick()}: movement, {@code SpatialGrid} updates, every {@code tick()} and the removal sweep.
+ * <p>
+ *     Runs with the {@code GameObjects} stored as objects and as a structure of arrays, on one and on four threads.
+ * </p>
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Djava.awt.headless=true")
+public class AppTickBenchmark {
+    @Param({"100", "1000", "10000"})
+    int entities;
+
+    @Param({"false", "true"})
+    boolean structureOfArrays;
+
+    @Param({"1", "4"})
+    int parallelism;
+
+    private BenchmarkWorld world;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        world = new BenchmarkWorld();
+        world.app.setStructureOfArrays(structureOfArrays);
+        world.app.setParallelism(parallelism);
+        SplittableRandom random = new SplittableRandom(7);
+        for (int i = 1; i < entities; i++)
+            world.add(new DriftingObject(world.app, (float) random.nextDouble(-4, 4), (float) random.nextDouble(-4, 4)));
+        world.app.applyCommands();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        world.app.setParallelism(1);
+        world.clear();
+    }
+
+    @Benchmark
+    public int tick() {
+        world.app.tick();
+        return world.app.getObjects().size();
+    }
+}
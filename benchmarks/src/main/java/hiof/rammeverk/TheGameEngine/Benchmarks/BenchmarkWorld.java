@@ -0,0 +1,90 @@
+package hiof.rammeverk.TheGameEngine.Benchmarks;
+
+import hiof.rammeverk.TheGameEngine.App;
+import hiof.rammeverk.TheGameEngine.Behavior.Creator;
+import hiof.rammeverk.TheGameEngine.Behavior.ObjectCreator;
+import hiof.rammeverk.TheGameEngine.GameObjects.Bullet;
+import hiof.rammeverk.TheGameEngine.GameObjects.EnemyCharacter;
+import hiof.rammeverk.TheGameEngine.GameObjects.GameObject;
+import hiof.rammeverk.TheGameEngine.GameObjects.Id;
+import hiof.rammeverk.TheGameEngine.GameObjects.PlayerCharacter;
+
+import java.util.SplittableRandom;
+
+/**
+ * Builds the same game as the demo in {@code Main}, without a {@code Window}, for the benchmarks.
+ * <p>
+ *     Positions are taken from a seeded random generator, so every run measures the same world.
+ * </p>
+ */
+final class BenchmarkWorld {
+    static final int WIDTH = 1000;
+    static final int HEIGHT = 800;
+    private static final long SEED = 42;
+
+    final App app;
+    final Creator creator;
+    final GameObject player;
+    private final SplittableRandom random = new SplittableRandom(SEED);
+
+    BenchmarkWorld() {
+        creator = new ObjectCreator();
+        app = new App(WIDTH, HEIGHT, creator);
+        app.clearAll();
+        app.applyCommands();
+        creator.addPrototype(PlayerCharacter.create(Id.PLAYER, app));
+        creator.addPrototype(Bullet.create(Id.BULLET, app));
+        creator.addPrototype(EnemyCharacter.create(Id.SMART_ENEMY, app));
+        creator.setPoolCapacity(Id.BULLET, ObjectCreator.POOL_CAPACITY);
+        creator.setPoolCapacity(Id.SMART_ENEMY, ObjectCreator.POOL_CAPACITY);
+        player = add(Id.PLAYER);
+    }
+
+    /**
+     * Add one enemy for every {@code bulletsPerEnemy} bullets until there are {@code entities} {@code GameObjects}, player included.
+     */
+    void populate(int entities, int bulletsPerEnemy) {
+        for (int i = 1; i < entities; i++) {
+            GameObject object = add(i % (bulletsPerEnemy + 1) == 0 ? Id.SMART_ENEMY : Id.BULLET);
+            if (object.getId() == Id.BULLET) {
+                object.setVelX((float) random.nextDouble(-10, 10));
+                object.setVelY((float) random.nextDouble(-10, 10));
+            }
+        }
+        app.applyCommands();
+        app.getSpatialGrid().rebuild(app.getObjects());
+    }
+
+    /**
+     * Clone a {@code GameObject} at a random position and queue it for the game.
+     */
+    GameObject add(Id id) {
+        GameObject object = creator.cloneGameObject(id);
+        place(object);
+        app.addObject(object);
+        app.applyCommands();
+        return object;
+    }
+
+    /**
+     * Add a {@code GameObject} that is not one of the prototypes.
+     */
+    void add(GameObject object) {
+        place(object);
+        app.addObject(object);
+    }
+
+    private void place(GameObject object) {
+        object.setXPos((float) random.nextDouble(40, WIDTH - 80));
+        object.setYPos((float) random.nextDouble(40, HEIGHT - 140));
+    }
+
+    /**
+     * Remove every {@code GameObject}. Called from {@code @TearDown}, so the next trial starts empty.
+     */
+    void clear() {
+        app.clearAll();
+        app.applyCommands();
+        creator.clearPrototypes();
+    }
+}
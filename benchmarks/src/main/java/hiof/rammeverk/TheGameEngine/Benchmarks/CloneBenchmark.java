@@ -0,0 +1,61 @@
+package hiof.rammeverk.TheGameEngine.Benchmarks;
+
+import hiof.rammeverk.TheGameEngine.Behavior.ObjectCreator;
+import hiof.rammeverk.TheGameEngine.GameObjects.GameObject;
+import hiof.rammeverk.TheGameEngine.GameObjects.Id;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@code ObjectCreator.cloneGameObject()} followed by the recycling done when the clone dies.
+ * <p>
+ *     With {@code pooled} false the pool capacity is 0, so every clone is a new {@code GameObject}.
+ * </p>
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Djava.awt.headless=true")
+public class CloneBenchmark {
+    @Param({"BULLET", "SMART_ENEMY"})
+    Id id;
+
+    @Param({"true", "false"})
+    boolean pooled;
+
+    private BenchmarkWorld world;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        world = new BenchmarkWorld();
+        world.creator.setPoolCapacity(id, pooled ? ObjectCreator.POOL_CAPACITY : 0);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        world.clear();
+    }
+
+    @Benchmark
+    public GameObject cloneGameObject() {
+        GameObject clone = world.creator.cloneGameObject(id);
+        clone.setId(Id.DEAD);
+        world.creator.recycle(clone);
+        return clone;
+    }
+}
@@ -0,0 +1,73 @@
+package hiof.rammeverk.TheGameEngine.Benchmarks;
+
+import hiof.rammeverk.TheGameEngine.GameObjects.GameObject;
+import hiof.rammeverk.TheGameEngine.GameObjects.Id;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The collision passes of {@code EnemyCharacter} and {@code PlayerCharacter}.
+ * <p>
+ *     Runs the same {@code forEachOverlap()} queries as their {@code collision()}-methods on a world that does not change,
+ *     without the side effects on health and {@code Id}.
+ * </p>
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Djava.awt.headless=true")
+public class CollisionBenchmark {
+    @Param({"100", "1000", "10000"})
+    int entities;
+
+    private BenchmarkWorld world;
+    private final List<GameObject> enemies = new ArrayList<>();
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        world = new BenchmarkWorld();
+        world.populate(entities, 9);
+        world.app.forEach(Id.SMART_ENEMY, enemies::add);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        world.clear();
+        enemies.clear();
+    }
+
+    /**
+     * Every {@code EnemyCharacter} looks for {@code Id.BULLET}.
+     */
+    @Benchmark
+    public void enemyBulletPass(Blackhole blackhole) {
+        for (int i = 0; i < enemies.size(); i++)
+            enemies.get(i).forEachOverlap(Id.BULLET, blackhole::consume);
+    }
+
+    /**
+     * The {@code PlayerCharacter} looks for every {@code Id}.
+     */
+    @Benchmark
+    public void playerPass(Blackhole blackhole) {
+        world.player.forEachOverlap(blackhole::consume);
+    }
+}
@@ -0,0 +1,36 @@
+package hiof.rammeverk.TheGameEngine.Benchmarks;
+
+import hiof.rammeverk.TheGameEngine.ApplicationHandler;
+import hiof.rammeverk.TheGameEngine.GameObjects.GameObject;
+import hiof.rammeverk.TheGameEngine.GameObjects.Id;
+
+/**
+ * {@code GameObject} that bounces inside the window and counts the {@code GameObjects} it overlaps.
+ * <p>
+ *     The demo characters chase the player and die from bullets, so the number of {@code GameObjects} and how
+ *     crowded the cells are change while a benchmark runs. This one keeps the world the same from tick to tick,
+ *     so {@code App.tick()} can be measured at a fixed size.
+ * </p>
+ */
+final class DriftingObject extends GameObject {
+    int overlaps;
+
+    DriftingObject(ApplicationHandler app, float velX, float velY) {
+        super(Id.ENEMY_1, app);
+        setWidth(20);
+        setHeight(20);
+        setVelX(velX);
+        setVelY(velY);
+        setBatchMovement(true);
+    }
+
+    @Override
+    public void tick() {
+        move();
+        if (getXPos() <= 0 || getXPos() >= getApp().getWindowWidth() - getWidth())
+            setVelX(-getVelX());
+        if (getYPos() <= 0 || getYPos() >= getApp().getWindowHeight() - getHeight())
+            setVelY(-getVelY());
+        forEachOverlap(Id.ENEMY_1, other -> overlaps++);
+    }
+}
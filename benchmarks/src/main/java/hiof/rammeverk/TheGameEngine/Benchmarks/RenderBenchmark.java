@@ -0,0 +1,95 @@
+package hiof.rammeverk.TheGameEngine.Benchmarks;
+
+import hiof.rammeverk.TheGameEngine.Render.BatchingRenderer;
+import hiof.rammeverk.TheGameEngine.Render.FramebufferRenderer;
+import hiof.rammeverk.TheGameEngine.Render.GraphicsRenderer;
+import hiof.rammeverk.TheGameEngine.Window.HeadUpDisplay;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.awt.Color;
+import java.awt.Graphics;
+import java.awt.image.BufferedImage;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * One frame drawn the same way as {@code Window.render()}, into an offscreen {@code BufferedImage} instead of a {@code BufferStrategy}.
+ * <p>
+ *     {@code graphics} draws with {@code java.awt.Graphics}, {@code framebuffer} with the {@code FramebufferRenderer}
+ *     and {@code batched} with {@code java.awt.Graphics} through a {@code BatchingRenderer}.
+ * </p>
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Djava.awt.headless=true")
+public class RenderBenchmark {
+    @Param({"100", "1000", "10000"})
+    int entities;
+
+    @Param({"graphics", "framebuffer", "batched"})
+    String backend;
+
+    private BenchmarkWorld world;
+    private final HeadUpDisplay hud = new HeadUpDisplay();
+    private BufferedImage image;
+    private FramebufferRenderer framebuffer;
+    private final GraphicsRenderer graphicsRenderer = new GraphicsRenderer();
+    private final BatchingRenderer batch = new BatchingRenderer(graphicsRenderer);
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        world = new BenchmarkWorld();
+        world.populate(entities, 9);
+        image = new BufferedImage(BenchmarkWorld.WIDTH, BenchmarkWorld.HEIGHT, BufferedImage.TYPE_INT_RGB);
+        framebuffer = new FramebufferRenderer(BenchmarkWorld.WIDTH, BenchmarkWorld.HEIGHT);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        world.clear();
+    }
+
+    @Benchmark
+    public BufferedImage render() {
+        if (backend.equals("framebuffer"))
+            return renderFramebuffer();
+        Graphics g = image.getGraphics();
+        g.setColor(Color.LIGHT_GRAY);
+        g.fillRect(0, 0, BenchmarkWorld.WIDTH, BenchmarkWorld.HEIGHT);
+        if (backend.equals("batched")) {
+            graphicsRenderer.setGraphics(g);
+            world.app.render(batch);
+            batch.flush();
+        } else {
+            world.app.render(g);
+        }
+        hud.render(g);
+        g.dispose();
+        return image;
+    }
+
+    private BufferedImage renderFramebuffer() {
+        framebuffer.begin();
+        framebuffer.clear(Color.LIGHT_GRAY);
+        world.app.render(framebuffer);
+        hud.render(framebuffer.getGraphics());
+        Graphics g = image.getGraphics();
+        g.drawImage(framebuffer.end(), 0, 0, null);
+        g.dispose();
+        return image;
+    }
+}
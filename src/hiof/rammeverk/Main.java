@@ -29,6 +29,9 @@ public class Main {
         //lol
         enmy.setColor(Color.BLACK);
         app.getCreator().addPrototype(enmy);
+        // Bullet and EnemyCharacter reset all their variables, so their clones can be reused.
+        for (Id id : new Id[]{Id.BULLET, Id.BULLET_2, Id.SMART_ENEMY, Id.ENEMY_1, Id.BASIC_ENEMY})
+            app.getCreator().setPoolCapacity(id, ObjectCreator.POOL_CAPACITY);
         game.setBackGround(Color.white);
         game.start();
     }
@@ -1,10 +1,27 @@
 package hiof.rammeverk.TheGameEngine;
 
 import hiof.rammeverk.TheGameEngine.GameObjects.GameObject;
+import hiof.rammeverk.TheGameEngine.GameObjects.EntityList;
 import hiof.rammeverk.TheGameEngine.GameObjects.Id;
+import hiof.rammeverk.TheGameEngine.GameObjects.KeyInput;
+import hiof.rammeverk.TheGameEngine.GameObjects.SpatialGrid;
+import hiof.rammeverk.TheGameEngine.GameObjects.TransformStore;
 import hiof.rammeverk.TheGameEngine.Behavior.Creator;
+import hiof.rammeverk.TheGameEngine.Helpers.CommandQueue;
+import hiof.rammeverk.TheGameEngine.Helpers.InputState;
+import hiof.rammeverk.TheGameEngine.Helpers.RandomService;
+import hiof.rammeverk.TheGameEngine.Render.GraphicsRenderer;
+import hiof.rammeverk.TheGameEngine.Render.Renderer;
 
 import java.awt.Graphics;
+import java.io.Serial;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Consumer;
 
 /**
  * Contains the core of the game logic.
@@ -36,13 +53,90 @@ public class App implements ApplicationHandler{
     /**
      * The {@code Creator} to be used in the game
      * <p>
-     *     The {@code Creator} have a list of {@code GameObjects} called {@code prototypes}.
+     *     The {@code Creator} keeps one {@code prototype} for each {@code Id}, and named variants of it.
      *     Call the {@code Creator} to add a new {@code GameObject} to the {@code objects}-list.
      * </p>
      * @see Creator
      */
     private Creator creator;
 
+    /**
+     * The {@code GameObjects} in game.
+     * @see EntityList
+     */
+    private final EntityList objects = new EntityList();
+
+    /**
+     * Broadphase for collision detection. Sized from {@code windowWidth} and {@code windowHeight}.
+     * @see SpatialGrid
+     */
+    private final SpatialGrid spatialGrid;
+
+    /**
+     * Called for each {@code GameObject} removed from {@code objects}, at the end of {@code tick()} or by a queued removal.
+     * Removes it from the {@code SpatialGrid} and returns it to the pool of the {@code Creator}.
+     */
+    private final Consumer<GameObject> removedFromGame = this::recycle;
+
+    /**
+     * Changes to {@code objects} and game state from any thread, applied by {@code applyCommands()}.
+     * {@code addObject}, {@code removeObject} and the clears are typed commands, run by {@code applyCommand()}.
+     * @see CommandQueue
+     */
+    private final CommandQueue<GameObject> commands = new CommandQueue<>(this::applyCommand);
+    private static final int ADD = 0;
+    private static final int REMOVE = 1;
+    private static final int CLEAR = 2;
+    private static final int CLEAR_EXCEPT_PLAYER = 3;
+
+    /**
+     * Keys from {@code KeyInput}, sampled by {@code applyCommands()}.
+     * @see InputState
+     */
+    private final InputState input = new InputState();
+    private final Consumer<GameObject> steer = KeyInput::steer;
+
+    /**
+     * Random numbers for the game, with a stream for each {@code GameObject} while it is ticked.
+     * @see RandomService
+     */
+    private final RandomService random = new RandomService(ThreadLocalRandom.current().nextLong());
+
+    /**
+     * Top left corner of the visible part of the game. {@code GameObjects} are drawn relative to it.
+     */
+    private float cameraX;
+    private float cameraY;
+
+    /**
+     * Number of {@code GameObjects} drawn and skipped by the last {@code render()}.
+     */
+    private int drawnCount;
+    private int culledCount;
+
+    /**
+     * Used by {@code render(Graphics)}, so no {@code GraphicsRenderer} is created for each frame.
+     */
+    private final GraphicsRenderer graphicsRenderer = new GraphicsRenderer();
+
+    /**
+     * Smallest number of {@code GameObjects} updated by one task in a parallel {@code tick}.
+     */
+    private static final int MIN_CHUNK_SIZE = 64;
+
+    /**
+     * Number of threads used to update the {@code GameObjects}. 1 updates them on the game thread.
+     */
+    private int parallelism = 1;
+    private ForkJoinPool pool;
+    private volatile boolean parallelPhase;
+
+    /**
+     * Effects collected by {@code defer()} during a parallel {@code tick}, one list for each chunk of {@code objects}.
+     */
+    private final List<List<Runnable>> chunkEffects = new ArrayList<>();
+    private final ThreadLocal<List<Runnable>> currentEffects = new ThreadLocal<>();
+
     /**
      * Create a new instance of {@code ApplicationHandler.}
      * @param windowWidth Set {@code windowWidth}
@@ -54,17 +148,19 @@ public class App implements ApplicationHandler{
         this.windowWidth = windowWidth;
         this.windowHeight = windowHeight;
         this.creator = creator;
+        this.spatialGrid = new SpatialGrid(windowWidth, windowHeight);
     }
 
     public App(int windowWidth, int windowHeight) {
         this.windowWidth = windowWidth;
         this.windowHeight = windowHeight;
+        this.spatialGrid = new SpatialGrid(windowWidth, windowHeight);
     }
 
     /**
      * Get the {@code Creator}.
      *  <p>
-     *     The {@code Creator} have a list of {@code GameObjects} called {@code prototypes}.
+     *     The {@code Creator} keeps one {@code prototype} for each {@code Id}, and named variants of it.
      *     Call the {@code Creator} to add a new {@code GameObject} to the {@code objects}-list.
      * </p>
      * @see Creator
@@ -77,7 +173,7 @@ public class App implements ApplicationHandler{
     /**
      * Set which {@code Creator} to be used in the game
      * <p>
-     *     The {@code Creator} have a list of {@code GameObjects} called {@code prototypes}.
+     *     The {@code Creator} keeps one {@code prototype} for each {@code Id}, and named variants of it.
      *     Call the {@code Creator} to add a new {@code GameObject} to the {@code objects}-list.
      * </p>
      * @param creator {@code Creator}
@@ -88,75 +184,495 @@ public class App implements ApplicationHandler{
         this.creator = creator;
     }
 
+    /**
+     * Store position, velocity and size of the {@code GameObjects} in parallel arrays instead of in each {@code GameObject}.
+     * <p>
+     *     The getters and setters of {@code GameObject} keep working. {@code GameObjects} with {@code batchMovement}
+     *     are moved in one loop at the start of {@code tick()}.
+     * </p>
+     * @param enabled {@code boolean}
+     * @see TransformStore
+     */
+    public void setStructureOfArrays(boolean enabled) {
+        objects.setStructureOfArrays(enabled);
+    }
+
+    /**
+     * Update the {@code GameObjects} on several threads.
+     * <p>
+     *     {@code objects} is split into chunks that are ticked on a {@code ForkJoinPool}. During this phase:
+     * </p>
+     * <ul>
+     *     <li>{@code forEachOverlap()} and {@code movementPattern1()} read the position of other {@code GameObjects}
+     *     from the start of the {@code tick}.</li>
+     *     <li>{@code setId()} and changes passed to {@code defer()} are collected for each chunk,
+     *     and run on the game thread in the order of {@code objects} when all chunks are done.</li>
+     *     <li>{@code getRandom()} is a stream of each {@code GameObject}, started from the seed of the {@code tick}
+     *     and its index in {@code objects}.</li>
+     * </ul>
+     * <p>
+     *     The result does not depend on the number of threads or on how the chunks are scheduled.
+     *     A {@code tick()} must only change its own {@code GameObject}, and use {@code defer()} for anything else.
+     * </p>
+     * @param parallelism number of threads. 1 turns parallel update off.
+     * @see #defer(Runnable)
+     */
+    public void setParallelism(int parallelism) {
+        if (parallelism < 1)
+            throw new IllegalArgumentException("parallelism must be at least 1: " + parallelism);
+        if (pool != null)
+            pool.shutdown();
+        this.parallelism = parallelism;
+        this.pool = parallelism > 1 ? new ForkJoinPool(parallelism) : null;
+    }
+
+    public int getParallelism() {
+        return parallelism;
+    }
+
+    /**
+     * Get the list of {@code GameObjects} in game.
+     * @see EntityList
+     */
+    @Override
+    public EntityList getObjects() {
+        return objects;
+    }
+
+    /**
+     * Get the {@code SpatialGrid} used to find colliding {@code GameObjects}.
+     * @see SpatialGrid
+     */
+    @Override
+    public SpatialGrid getSpatialGrid() {
+        return spatialGrid;
+    }
+
     /**
      * Control what happens for each iteration({@code tick}) of the game sequence.
+     * <p>
+     *     {@code GameObjects} with {@code Id.PLAYER} are steered by {@code KeyInput.steer()} first, so the keys sampled
+     *     by {@code applyCommands()} move them in this tick.
+     * </p>
+     * <p>
+     *     If {@code setStructureOfArrays(true)} is used, all {@code GameObjects} with {@code batchMovement} are moved first, in one loop.
+     * </p>
+     * <p>
+     *     The {@code SpatialGrid} is rebuilt before the {@code GameObjects} are updated,
+     *     and each {@code GameObject} is moved to its new cells after its {@code tick}.
+     * </p>
+     * <p>
+     *     With {@code setParallelism()} above 1 the {@code GameObjects} are updated on several threads,
+     *     and the {@code SpatialGrid} is frozen until all of them are done.
+     * </p>
+     * <p>
+     *     Each {@code GameObject} draws from its own stream of the {@code RandomService} in its {@code tick}.
+     * </p>
+     * <p>
+     *     {@code GameObjects} with {@code Id.DEAD} are removed from {@code objects} in one sweep at the end,
+     *     and returned to the pool of the {@code Creator}.
+     * </p>
      */
     @Override
     public void tick(){
-        for (int i = 0; i < objects.size(); i++){
-            if(objects.get(i).getId() == Id.DEAD)
-                removeObject(objects.get(i));
+        objects.forEach(Id.PLAYER, steer);
+        objects.move();
+        spatialGrid.rebuild(objects);
+        objects.snapshot();
+        random.beginTick();
+        objects.beginIteration();
+        try {
+            if (pool != null)
+                tickParallel();
+            else
+                tickSerial();
+        } finally {
+            objects.endIteration();
+        }
+        objects.compact(removedFromGame);
+    }
+
+    private void tickSerial() {
+        RandomService.Generator stream = random.slotStream();
+        try {
+            for (int i = 0; i < objects.size(); i++){
+                GameObject object = objects.get(i);
+                if(object.getId() != Id.DEAD && objects.contains(object)) {
+                    random.beginSlot(stream, i);
+                    object.tick();
+                    spatialGrid.update(object);
+                }
+            }
+        } finally {
+            random.endSlots(stream);
+        }
+    }
+
+    /**
+     * Tick fixed chunks of {@code objects} on the {@code ForkJoinPool}, then run the deferred effects of each chunk in order.
+     * The chunks only depend on the size of {@code objects}, so the effects are merged in the same order every time.
+     */
+    private void tickParallel() {
+        int size = objects.size();
+        if (size == 0)
+            return;
+        int chunkSize = Math.max(MIN_CHUNK_SIZE, (size + parallelism * 4 - 1) / (parallelism * 4));
+        int chunks = (size + chunkSize - 1) / chunkSize;
+        while (chunkEffects.size() < chunks)
+            chunkEffects.add(new ArrayList<>());
+        spatialGrid.setFrozen(true);
+        parallelPhase = true;
+        boolean completed = false;
+        try {
+            if (chunks == 1)
+                tickChunk(0, 0, size);
             else
-                objects.get(i).tick();
+                pool.invoke(new ChunkTask(0, chunks, chunkSize, size));
+            completed = true;
+        } finally {
+            parallelPhase = false;
+            spatialGrid.setFrozen(false);
+            if (!completed)
+                chunkEffects.forEach(List::clear);
+        }
+        for (int chunk = 0; chunk < chunks; chunk++) {
+            List<Runnable> effects = chunkEffects.get(chunk);
+            for (int i = 0; i < effects.size(); i++)
+                effects.get(i).run();
+            effects.clear();
+        }
+    }
+
+    private void tickChunk(int chunk, int from, int to) {
+        List<Runnable> previous = currentEffects.get();
+        currentEffects.set(chunkEffects.get(chunk));
+        RandomService.Generator stream = random.slotStream();
+        try {
+            for (int i = from; i < to; i++) {
+                GameObject object = objects.get(i);
+                if (object.getId() != Id.DEAD && objects.contains(object)) {
+                    random.beginSlot(stream, i);
+                    object.tick();
+                }
+            }
+        } finally {
+            random.endSlots(stream);
+            currentEffects.set(previous);
+        }
+    }
+
+    /**
+     * Splits a range of chunks in two until one chunk is left, then ticks it.
+     */
+    private final class ChunkTask extends RecursiveAction {
+        @Serial
+        private static final long serialVersionUID = 4410281862217399384L;
+        private final int firstChunk;
+        private final int endChunk;
+        private final int chunkSize;
+        private final int size;
+
+        private ChunkTask(int firstChunk, int endChunk, int chunkSize, int size) {
+            this.firstChunk = firstChunk;
+            this.endChunk = endChunk;
+            this.chunkSize = chunkSize;
+            this.size = size;
+        }
+
+        @Override
+        protected void compute() {
+            if (endChunk - firstChunk == 1) {
+                int from = firstChunk * chunkSize;
+                tickChunk(firstChunk, from, Math.min(size, from + chunkSize));
+                return;
+            }
+            int middle = (firstChunk + endChunk) >>> 1;
+            invokeAll(new ChunkTask(firstChunk, middle, chunkSize, size),
+                    new ChunkTask(middle, endChunk, chunkSize, size));
         }
     }
 
+    /**
+     * Called for each {@code GameObject} taken out of {@code objects}, whether it died or was removed.
+     * A removed {@code GameObject} is out of the game like a dead one, so it is marked {@code Id.DEAD} for the pool.
+     */
+    private void recycle(GameObject object) {
+        spatialGrid.remove(object);
+        if (object.getId() != Id.DEAD)
+            object.setId(Id.DEAD);
+        if (creator != null)
+            creator.recycle(object);
+    }
+
     /**
      * Used to draw/render all {@code GameObjects} to the screen.
      * @param g {@code Graphics} from Java.AWT
+     * @see #render(Renderer)
      */
     @Override
     public void render(Graphics g){
+        graphicsRenderer.setGraphics(g);
+        render(graphicsRenderer);
+        graphicsRenderer.setGraphics(null);
+    }
+
+    /**
+     * Draw all {@code GameObjects} with a {@code Renderer}.
+     * <p>
+     *     {@code GameObjects} outside the visible area are skipped, see {@code GameObject.isInView()}.
+     *     The visible area is the size of the window, moved by the camera offset.
+     * </p>
+     * <p>
+     *     The layer of the {@code Renderer} is set to the layer of each {@code GameObject} before it is drawn.
+     * </p>
+     * @param renderer {@code Renderer}
+     * @see #setCameraOffset(float, float)
+     */
+    @Override
+    public void render(Renderer renderer){
+        float viewX = cameraX;
+        float viewY = cameraY;
+        boolean moved = viewX != 0 || viewY != 0;
+        int offsetX = (int) viewX;
+        int offsetY = (int) viewY;
+        if (moved)
+            renderer.translate(-offsetX, -offsetY);
+        int drawn = 0;
         for (int i = 0; i < objects.size(); i++) {
-            objects.get(i).render(g);
+            GameObject object = objects.get(i);
+            if (object.isInView(viewX, viewY, windowWidth, windowHeight)) {
+                renderer.setLayer(object.getLayer());
+                renderer.beginObject(object);
+                object.render(renderer);
+                drawn++;
+            }
         }
+        renderer.setLayer(0);
+        if (moved)
+            renderer.translate(offsetX, offsetY);
+        drawnCount = drawn;
+        culledCount = objects.size() - drawn;
+    }
+
+    /**
+     * Move the visible part of the game, for games where the world is larger than the window.
+     * <p>
+     *     {@code GameObjects} are drawn relative to the offset. The {@code HeadUpDisplay} and {@code Menu} are not moved.
+     * </p>
+     * @param cameraX x-position in the game shown at the left edge of the window
+     * @param cameraY y-position in the game shown at the top edge of the window
+     */
+    public void setCameraOffset(float cameraX, float cameraY) {
+        this.cameraX = cameraX;
+        this.cameraY = cameraY;
+    }
+
+    public float getCameraX() {
+        return cameraX;
+    }
+
+    public float getCameraY() {
+        return cameraY;
+    }
+
+    /**
+     * @return number of {@code GameObjects} drawn by the last {@code render()}
+     */
+    public int getDrawnCount() {
+        return drawnCount;
+    }
+
+    /**
+     * @return number of {@code GameObjects} skipped by the last {@code render()} because they were outside the visible area
+     */
+    public int getCulledCount() {
+        return culledCount;
     }
 
     /**
      * Remove all {@code GameObjects}, but the {@code Id.PLAYER} from {@code objects}-list in {@code ApplicationHandler}.
+     * <p>
+     *     Safe to call from any thread. The change is queued and applied by {@code applyCommands()}.<br>
+     *     The removed {@code GameObjects} are set to {@code Id.DEAD} and returned to the pool of the {@code Creator}, so do not add them again.
+     * </p>
      * @see GameObject
      * @see ApplicationHandler
      */
     @Override
     public void clearAllExceptPlayer(){
-        for (int i = objects.size() -1; i > 0; i--){
-            if(objects.get(i).getId() != Id.PLAYER)
-                objects.remove(objects.get(i));
-        }
+        commands.submit(CLEAR_EXCEPT_PLAYER, null);
     }
 
     /**
      * Remove all {@code GameObjects} from {@code objects}-list in {@code ApplicationHandler}.
+     * <p>
+     *     Safe to call from any thread. The change is queued and applied by {@code applyCommands()}.<br>
+     *     The removed {@code GameObjects} are set to {@code Id.DEAD} and returned to the pool of the {@code Creator}, so do not add them again.
+     * </p>
      * @see GameObject
      * @see ApplicationHandler
      */
     @Override
     public void clearAll() {
-        for (int i = objects.size() - 1; i >= 0; i--){
-            objects.remove(i);
-        }
+        commands.submit(CLEAR, null);
     }
 
     /**
      * Add a {@code GameObject} to the {@code objects}-list in {@code ApplicationHandler}
+     * <p>
+     *     Safe to call from any thread. The change is queued and applied by {@code applyCommands()}.
+     * </p>
      * @param object GameObject
      * @see GameObject
      * @see ApplicationHandler
      */
     @Override
     public void addObject(GameObject object){
-        this.objects.add(object);
+        commands.submit(ADD, object);
     }
 
     /**
      * Remove specific {@code GameObject} from the {@code objects}-list in {@code ApplicationHandler}
+     * <p>
+     *     Safe to call from any thread. The change is queued and applied by {@code applyCommands()}.<br>
+     *     The removed {@code GameObjects} are set to {@code Id.DEAD} and returned to the pool of the {@code Creator}, so do not add them again.
+     * </p>
      * @param object GameObject
      * @see GameObject
      * @see ApplicationHandler
      */
     @Override
     public void removeObject(GameObject object){
-        this.objects.remove(object);
+        commands.submit(REMOVE, object);
+    }
+
+    /**
+     * Run a typed command from {@code commands}, on the game thread.
+     * <p>
+     *     Removed {@code GameObjects} go to {@code recycle()}, now or at the end of the {@code tick} if {@code objects} is being looped over.
+     * </p>
+     */
+    private void applyCommand(int opcode, GameObject object) {
+        switch (opcode) {
+            case ADD -> {
+                objects.add(object);
+                spatialGrid.insert(object);
+            }
+            case REMOVE -> objects.remove(object, removedFromGame);
+            case CLEAR -> {
+                spatialGrid.clear();
+                objects.clear(removedFromGame);
+            }
+            case CLEAR_EXCEPT_PLAYER -> {
+                for (int i = objects.size() -1; i >= 0; i--){
+                    GameObject removed = objects.get(i);
+                    if (removed.getId() != Id.PLAYER)
+                        objects.remove(removed, removedFromGame);
+                }
+            }
+            default -> throw new IllegalStateException("Unknown command: " + opcode);
+        }
+    }
+
+    /**
+     * Queue a change to the game, to be run on the game thread by {@code applyCommands()}.
+     * <p>
+     *     Safe to call from any thread and never blocks.
+     * </p>
+     * @param command {@code Runnable}
+     * @see CommandQueue
+     */
+    @Override
+    public void submit(Runnable command) {
+        commands.submit(command);
+    }
+
+    /**
+     * Sample the keys, then run all queued changes, in order. Called at the start of each {@code tick} in {@code Window}.
+     * @see CommandQueue
+     * @see InputState
+     */
+    @Override
+    public void applyCommands() {
+        input.sample();
+        commands.drain();
+    }
+
+    @Override
+    public InputState getInput() {
+        return input;
+    }
+
+    @Override
+    public Random getRandom() {
+        return random.current();
+    }
+
+    @Override
+    public RandomService getRandomService() {
+        return random;
+    }
+
+    @Override
+    public long getSeed() {
+        return random.getSeed();
+    }
+
+    @Override
+    public void setSeed(long seed) {
+        random.setSeed(seed);
+    }
+
+    /**
+     * Run a change to other {@code GameObjects} or shared state now, or after the parallel update if it is running.
+     * @param effect {@code Runnable}
+     * @see #setParallelism(int)
+     */
+    @Override
+    public void defer(Runnable effect) {
+        if (!parallelPhase) {
+            effect.run();
+            return;
+        }
+        List<Runnable> effects = currentEffects.get();
+        if (effects == null)
+            throw new IllegalStateException("defer() during a parallel tick must be called from the tick of a GameObject");
+        effects.add(effect);
+    }
+
+    @Override
+    public boolean isParallelPhase() {
+        return parallelPhase;
+    }
+
+    /**
+     * Get the first {@code GameObject} in {@code objects} with the given {@code Id}.
+     * @param id {@code Id}
+     * @return {@code GameObject}, or {@code null} if there is none.
+     */
+    @Override
+    public GameObject first(Id id) {
+        return objects.first(id);
+    }
+
+    /**
+     * Call {@code action} for each {@code GameObject} in {@code objects} with the given {@code Id}.
+     * @param id {@code Id}
+     * @param action called once for each {@code GameObject}
+     */
+    @Override
+    public void forEach(Id id, Consumer<GameObject> action) {
+        objects.forEach(id, action);
+    }
+
+    /**
+     * Count the {@code GameObjects} in {@code objects} with the given {@code Id}.
+     * @param id {@code Id}
+     * @return number of {@code GameObjects}
+     */
+    @Override
+    public int count(Id id) {
+        return objects.count(id);
     }
 
     /**
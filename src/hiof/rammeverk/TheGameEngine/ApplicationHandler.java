@@ -2,10 +2,18 @@ package hiof.rammeverk.TheGameEngine;
 
 import hiof.rammeverk.TheGameEngine.Window.Window;
 import hiof.rammeverk.TheGameEngine.GameObjects.GameObject;
+import hiof.rammeverk.TheGameEngine.GameObjects.EntityList;
+import hiof.rammeverk.TheGameEngine.GameObjects.Id;
+import hiof.rammeverk.TheGameEngine.GameObjects.SpatialGrid;
 import hiof.rammeverk.TheGameEngine.Behavior.Creator;
+import hiof.rammeverk.TheGameEngine.Helpers.CommandQueue;
+import hiof.rammeverk.TheGameEngine.Helpers.InputState;
+import hiof.rammeverk.TheGameEngine.Helpers.RandomService;
+import hiof.rammeverk.TheGameEngine.Render.Renderer;
 
 import java.awt.Graphics;
-import java.util.LinkedList;
+import java.util.Random;
+import java.util.function.Consumer;
 
 /**
  * Contains the core of the game logic.
@@ -25,18 +33,27 @@ import java.util.LinkedList;
  */
 public interface ApplicationHandler {
     /**
-     * A list of {@code GameObjects} to be displayed in game
+     * Get the list of {@code GameObjects} to be displayed in game
      * <p>
      *     This list keeps track of all <em>in game elements</em>.
      *     These elements are the {@code GameObjects} the game-creator wants to be displayed at any given time.
      * </p>
+     * <p>
+     *     {@code get(index)} is constant time. {@code GameObjects} with {@code Id.DEAD} are removed
+     *     at the end of {@code tick()}, and the order of the list is not kept when removing.
+     * </p>
+     * <p>
+     *     Each {@code ApplicationHandler} has its own list, like its {@code SpatialGrid} and queued commands.
+     *     Change it with {@code addObject()} and {@code removeObject()}, not directly.
+     * </p>
+     * @see EntityList
      */
-    LinkedList<GameObject> objects = new LinkedList<>();
+    EntityList getObjects();
 
     /**
      * Get the {@code Creator}.
      *  <p>
-     *     The {@code Creator} have a list of {@code GameObjects} called {@code prototypes}.
+     *     The {@code Creator} keeps one {@code prototype} for each {@code Id}, and named variants of it.
      *     Call the {@code Creator} to add a new {@code GameObject} to the {@code objects}-list.
      * </p>
      * @see Creator
@@ -46,13 +63,23 @@ public interface ApplicationHandler {
     /**
      * Set which {@code Creator} to be used in the game
      * <p>
-     *     The {@code Creator} have a list of {@code GameObjects} called {@code prototypes}.
+     *     The {@code Creator} keeps one {@code prototype} for each {@code Id}, and named variants of it.
      *     Call the {@code Creator} to add a new {@code GameObject} to the {@code objects}-list.
      * </p>
      * @see Creator
      */
     void setCreator(Creator creator);
 
+    /**
+     * Get the {@code SpatialGrid} used to find colliding {@code GameObjects}.
+     * <p>
+     *     The grid must contain every {@code GameObject} in {@code objects}.
+     * </p>
+     * @see SpatialGrid
+     * @see GameObject#forEachOverlap
+     */
+    SpatialGrid getSpatialGrid();
+
     /**
      * Control what happens for each iteration({@code tick}) of the game sequence.
      */
@@ -64,8 +91,19 @@ public interface ApplicationHandler {
      */
     void render(Graphics g);
 
+    /**
+     * Draw all {@code GameObjects} with a {@code Renderer}, for example a {@code FramebufferRenderer}.
+     * @param renderer {@code Renderer}
+     * @see Renderer
+     */
+    void render(Renderer renderer);
+
     /**
      * Remove all {@code GameObjects}, but the {@code Id.PLAYER} from {@code objects}-list in {@code ApplicationHandler}.
+     * <p>
+     *     Safe to call from any thread. The change is queued and applied by {@code applyCommands()}.<br>
+     *     The removed {@code GameObjects} are set to {@code Id.DEAD} and returned to the pool of the {@code Creator}, so do not add them again.
+     * </p>
      * @see GameObject
      * @see ApplicationHandler
      */
@@ -73,6 +111,10 @@ public interface ApplicationHandler {
 
     /**
      * Remove all {@code GameObjects} from {@code objects}-list in {@code ApplicationHandler}.
+     * <p>
+     *     Safe to call from any thread. The change is queued and applied by {@code applyCommands()}.<br>
+     *     The removed {@code GameObjects} are set to {@code Id.DEAD} and returned to the pool of the {@code Creator}, so do not add them again.
+     * </p>
      * @see GameObject
      * @see ApplicationHandler
      */
@@ -80,6 +122,10 @@ public interface ApplicationHandler {
 
     /**
      * Add a {@code GameObject} to the {@code objects}-list in {@code ApplicationHandler}
+     * <p>
+     *     Safe to call from any thread. The change is queued and applied by {@code applyCommands()}.<br>
+     *     Creates no objects when called on the game thread, like from {@code GameLoop.tick()}.
+     * </p>
      * @param object GameObject
      * @see GameObject
      * @see ApplicationHandler
@@ -88,12 +134,127 @@ public interface ApplicationHandler {
 
     /**
      * Remove specific {@code GameObject} from the {@code objects}-list in {@code ApplicationHandler}
+     * <p>
+     *     Safe to call from any thread. The change is queued and applied by {@code applyCommands()}.<br>
+     *     The removed {@code GameObjects} are set to {@code Id.DEAD} and returned to the pool of the {@code Creator}, so do not add them again.
+     * </p>
      * @param object GameObject
      * @see GameObject
      * @see ApplicationHandler
      */
     void removeObject(GameObject object);
 
+    /**
+     * Queue a change to the game, to be run on the game thread by {@code applyCommands()}.
+     * <p>
+     *     Safe to call from any thread and never blocks.
+     *     Use this from {@code KeyListeners} and {@code MouseListeners} instead of changing the game directly.
+     * </p>
+     * @param command {@code Runnable}
+     * @see CommandQueue
+     */
+    void submit(Runnable command);
+
+    /**
+     * Sample the {@code InputState}, then run all queued changes from {@code addObject}, {@code removeObject},
+     * {@code clearAll}, {@code clearAllExceptPlayer} and {@code submit}, in order.
+     * <p>
+     *     Called once at the start of each {@code tick} in {@code Window}, on the game thread.
+     * </p>
+     * @see CommandQueue
+     * @see InputState#sample()
+     * @see Window
+     */
+    void applyCommands();
+
+    /**
+     * Get the keys held down and pressed, as sampled at the start of the current {@code tick}.
+     * <p>
+     *     {@code KeyListeners} write to it from the AWT event thread, and {@code GameObjects} read it in {@code tick()}.
+     * </p>
+     * @return {@code InputState}
+     * @see InputState
+     */
+    InputState getInput();
+
+    /**
+     * Random numbers for the game, like where a new {@code EnemyCharacter} spawns.
+     * <p>
+     *     Use it instead of a {@code Random} of your own, and do not keep it. In the {@code tick()} of a {@code GameObject}
+     *     it is a stream of that {@code GameObject} for this tick, also in a parallel tick, and elsewhere the stream of the game thread.
+     *     A game started with the same seed and the same keys then plays out the same way, which {@code InputReplay} depends on.
+     * </p>
+     * @return {@code Random}, not synchronized
+     * @see RandomService
+     */
+    Random getRandom();
+
+    /**
+     * Get the {@code RandomService} behind {@code getRandom()}.
+     * @return {@code RandomService}
+     * @see RandomService
+     */
+    RandomService getRandomService();
+
+    /**
+     * @return the seed {@code getRandom()} was last started from
+     */
+    long getSeed();
+
+    /**
+     * Start {@code getRandom()} over from {@code seed}. Called with a new seed when a game starts.
+     * @param seed {@code long}
+     * @see hiof.rammeverk.TheGameEngine.Window.InputRecorder
+     */
+    void setSeed(long seed);
+
+    /**
+     * Run a change to other {@code GameObjects} or to shared game state, like the {@code HeadUpDisplay}, from a {@code tick}.
+     * <p>
+     *     During a parallel {@code tick} the change is collected, and run on the game thread after every {@code GameObject}
+     *     has been updated, in the order of {@code objects}. Otherwise it is run at once.
+     * </p>
+     * @param effect {@code Runnable}
+     * @see #isParallelPhase()
+     */
+    void defer(Runnable effect);
+
+    /**
+     * @return true while the {@code GameObjects} are updated on several threads.
+     * @see #defer(Runnable)
+     */
+    boolean isParallelPhase();
+
+    /**
+     * Get the first {@code GameObject} in {@code objects} with the given {@code Id}.
+     * <p>
+     *     Constant time. Use this to find the {@code Id.PLAYER} instead of looping through {@code objects}.
+     * </p>
+     * @param id {@code Id}
+     * @return {@code GameObject}, or {@code null} if there is none.
+     * @see EntityList
+     */
+    GameObject first(Id id);
+
+    /**
+     * Call {@code action} for each {@code GameObject} in {@code objects} with the given {@code Id}.
+     * <p>
+     *     Only the {@code GameObjects} with that {@code Id} are visited.
+     * </p>
+     * @param id {@code Id}
+     * @param action called once for each {@code GameObject}
+     * @see EntityList
+     */
+    void forEach(Id id, Consumer<GameObject> action);
+
+    /**
+     * Count the {@code GameObjects} in {@code objects} with the given {@code Id}.
+     * @param id {@code Id}
+     * @return number of {@code GameObjects}
+     * @see EntityList
+     */
+    int count(Id id);
+
     /**
      *
      * @return the {@code windowWidth} used in the {@code ApplicationHandler}.
@@ -5,17 +5,20 @@ import hiof.rammeverk.TheGameEngine.GameObjects.Cloneable;
 import hiof.rammeverk.TheGameEngine.GameObjects.GameObject;
 import hiof.rammeverk.TheGameEngine.GameObjects.Id;
 
-import java.util.LinkedList;
-import java.util.List;
+import java.util.function.Consumer;
 
 /**
- * Creates new {@code GameObjects} from the {@code prototypes}-list
+ * Creates new {@code GameObjects} from its {@code prototypes}.
  * <p>
  *     Create an instance of the {@code GameObject} you want to add in game.<br>
- *     Add this instance to the {@code prototypes}-list. <br>
+ *     Add this instance to the {@code prototypes} with {@code addPrototype()}. <br>
  *     Use the {@code cloneGameObject()}-method to add object to the game loop.
  * </p>
  * <p>
+ *     Each {@code Creator} has its own {@code prototypes}: one default prototype for each {@code Id},
+ *     and any number of named <em>variants</em>, for example a fast and a slow {@code Id.SMART_ENEMY}.
+ * </p>
+ * <p>
  *     This application uses this interface to implement the <em>Prototype pattern</em>
  * </p>
  * @see GameObject
@@ -23,14 +26,9 @@ import java.util.List;
 public interface Creator {
 
     /**
-     * List of {@code GameObjects} stored as {@code prototypes}.
-     */
-    List<GameObject> prototypes = new LinkedList<>();
-
-    /**
-     * Create a copy of a GameObject stored in the {@code prototypes}-list.
+     * Create a copy of the default prototype with the given {@code Id}.
      * @param id {@code Id} of the {@code GameObject}
-     * @return {@code GameObject}
+     * @return {@code GameObject}, or {@code null} if there is no prototype with {@code id}
      * @see Id
      * @see ApplicationHandler
      * @see GameObject
@@ -39,9 +37,93 @@ public interface Creator {
     GameObject cloneGameObject(Id id);
 
     /**
-     * Add a new instance of a {@code GameObject} to the {@code prototypes}-list.
+     * Create a copy of a named variant.
+     * @param id {@code Id} of the {@code GameObject}
+     * @param variant name given to {@code addPrototype(String, GameObject)}
+     * @return {@code GameObject}, or {@code null} if there is no such variant
+     */
+    GameObject cloneGameObject(Id id, String variant);
+
+    /**
+     * Create {@code count} copies of the default prototype with the given {@code Id}, and give each to {@code action}.
+     * <p>
+     *     Use it to spawn a wave or a burst in one call, for example {@code cloneGameObjects(Id.BULLET, 4, app::addObject)}.
+     *     The prototype is only looked up once.
+     * </p>
+     * @param id {@code Id} of the {@code GameObjects}
+     * @param count number of copies
+     * @param action called with each copy, in order
+     * @return number of copies made. 0 if there is no prototype with {@code id}.
+     */
+    int cloneGameObjects(Id id, int count, Consumer<GameObject> action);
+
+    /**
+     * Set the default prototype for the {@code Id} of {@code prototype}. Replaces the previous default.
      * @param prototype {@code GameObject}
      * @see GameObject
      */
     void addPrototype(GameObject prototype);
+
+    /**
+     * Add a named variant for the {@code Id} of {@code prototype}. Replaces a variant with the same name.
+     * <p>
+     *     If there is no default prototype for the {@code Id} yet, {@code prototype} also becomes the default.
+     * </p>
+     * @param variant name of the variant
+     * @param prototype {@code GameObject}
+     */
+    void addPrototype(String variant, GameObject prototype);
+
+    /**
+     * @param id {@code Id}
+     * @return the default prototype with {@code id}, or {@code null}
+     */
+    GameObject getPrototype(Id id);
+
+    /**
+     * @param id {@code Id}
+     * @param variant name of the variant
+     * @return the variant, or {@code null}
+     */
+    GameObject getPrototype(Id id, String variant);
+
+    /**
+     * Remove all prototypes and pooled {@code GameObjects}.
+     */
+    void clearPrototypes();
+
+    /**
+     * Return a {@code GameObject} with {@code Id.DEAD} to the pool of its prototype.
+     * <p>
+     *     The next {@code cloneGameObject()} for that prototype reuses it through {@code GameObject.reset()}
+     *     instead of creating a new instance. Called by {@code ApplicationHandler} when removing {@code Id.DEAD} objects.
+     *     <br>Do not keep references to a {@code GameObject} after it is {@code Id.DEAD}.
+     * </p>
+     * @param object {@code GameObject} removed from the game
+     * @see GameObject#reset(GameObject)
+     */
+    void recycle(GameObject object);
+
+    /**
+     * Set how many recycled {@code GameObjects} are kept for the prototype with the given {@code Id}.
+     * <p>
+     *     Pooling is off until this is called. Only pool an {@code Id} whose prototypes override {@code GameObject.reset()}
+     *     for all their own variables, or a recycled clone keeps the state of the {@code GameObject} it was.
+     * </p>
+     * @param id {@code Id} of the prototype
+     * @param capacity maximum size of the pool. 0 turns pooling off.
+     */
+    void setPoolCapacity(Id id, int capacity);
+
+    /**
+     * @param id {@code Id} of the prototype
+     * @return number of clones taken from the pool.
+     */
+    long getPoolHits(Id id);
+
+    /**
+     * @param id {@code Id} of the prototype
+     * @return number of clones created because the pool was empty.
+     */
+    long getPoolMisses(Id id);
 }
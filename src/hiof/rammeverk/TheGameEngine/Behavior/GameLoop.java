@@ -4,6 +4,8 @@ import hiof.rammeverk.TheGameEngine.ApplicationHandler;
 import hiof.rammeverk.TheGameEngine.GameObjects.Cloneable;
 import hiof.rammeverk.TheGameEngine.GameObjects.GameObject;
 
+import java.nio.ByteBuffer;
+
 /**
  * Describes how the game behaves for each iteration.
  * <p>
@@ -13,7 +15,7 @@ import hiof.rammeverk.TheGameEngine.GameObjects.GameObject;
  * </p>
  * <ol> <strong>Step by step:</strong>
  *     <li>Create a new instance of {@code GameObject}.</li>
- *     <li>Add this instance to the {@code prototypes}-list in {@code Creator}. </li>
+ *     <li>Add this instance to the {@code Creator} with {@code addPrototype}. </li>
  *     <li>Create a new GameLoop (or you can test with the existing GameLoopExample)</li>
  *     <li>Use {@code cloneGameObject} in {@code Creator} to create a new {@code GameObject}.</li>
  *     <li>Add this {@code GameObject} to the {@code objects}-list found in {@code ApplicationHandler}.</li>
@@ -41,4 +43,30 @@ public interface GameLoop {
      * Use it to reset the values used in your game loop.
      */
     void reset();
+
+    /**
+     * Number of bytes {@code saveState()} writes. Default is 0, nothing is saved.
+     * @return {@code int}
+     * @see hiof.rammeverk.TheGameEngine.Window.WorldSnapshot
+     */
+    default int getStateSize() {
+        return 0;
+    }
+
+    /**
+     * Write the values used in your game loop, like counters, when the game is saved to a {@code WorldSnapshot}.
+     * <p>
+     *     {@code buffer} has room for {@code getStateSize()} bytes, and is read back the same way by {@code loadState()}.
+     * </p>
+     * @param buffer {@code ByteBuffer}
+     */
+    default void saveState(ByteBuffer buffer) {
+    }
+
+    /**
+     * Read the values written by {@code saveState()} when a {@code WorldSnapshot} is loaded. {@code reset()} is called just before.
+     * @param buffer {@code ByteBuffer} with the bytes written by {@code saveState()}
+     */
+    default void loadState(ByteBuffer buffer) {
+    }
 }
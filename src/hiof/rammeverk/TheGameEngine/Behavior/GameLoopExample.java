@@ -5,6 +5,8 @@ import hiof.rammeverk.TheGameEngine.Window.HeadUpDisplay;
 import hiof.rammeverk.TheGameEngine.GameObjects.GameObject;
 import hiof.rammeverk.TheGameEngine.GameObjects.Id;
 
+import java.nio.ByteBuffer;
+
 /**
  * Describes how the game behaves for each iteration.
  * <p>
@@ -14,7 +16,7 @@ import hiof.rammeverk.TheGameEngine.GameObjects.Id;
  * </p>
  * <ol> <strong>Step by step:</strong>
  *     <li>Create a new instance of {@code GameObject}.</li>
- *     <li>Add this instance to the {@code prototypes}-list in {@code Creator}. </li>
+ *     <li>Add this instance to the {@code Creator} with {@code addPrototype}. </li>
  *     <li>Create a new GameLoop (or you can test with the existing GameLoopExample)</li>
  *     <li>Use {@code cloneGameObject} in {@code Creator} to create a new {@code GameObject}.</li>
  *     <li>Add this {@code GameObject} to the {@code objects}-list found in {@code ApplicationHandler}.</li>
@@ -71,6 +73,27 @@ public class GameLoopExample implements GameLoop {
         stage = 1;
     }
 
+    /**
+     * {@code counter} and {@code stage}.
+     * @return {@code int}
+     */
+    @Override
+    public int getStateSize() {
+        return 8;
+    }
+
+    @Override
+    public void saveState(ByteBuffer buffer) {
+        buffer.putInt(counter);
+        buffer.putInt(stage);
+    }
+
+    @Override
+    public void loadState(ByteBuffer buffer) {
+        counter = buffer.getInt();
+        stage = buffer.getInt();
+    }
+
     /**
      * Describe what should happen each iteration of the Game
      * <p>
@@ -89,12 +112,11 @@ public class GameLoopExample implements GameLoop {
             app.addObject(creator.cloneGameObject(Id.PLAYER));
             app.addObject(creator.cloneGameObject(Id.SMART_ENEMY));
         }
-        if(counter % 100 == 0)
+        if(counter % 100 == 0){
             stage++;
-        if(stage % 2 == 0 && counter % 100 == 0){
-            app.addObject(creator.cloneGameObject(Id.SMART_ENEMY));
+            // One enemy on even stages, and one more from stage 16.
+            int wave = (stage % 2 == 0 ? 1 : 0) + (stage > 15 ? 1 : 0);
+            creator.cloneGameObjects(Id.SMART_ENEMY, wave, app::addObject);
         }
-        if(stage > 15 && counter % 100 == 0)
-            app.addObject(creator.cloneGameObject(Id.SMART_ENEMY));
     }
 }
@@ -4,11 +4,18 @@ import hiof.rammeverk.TheGameEngine.ApplicationHandler;
 import hiof.rammeverk.TheGameEngine.GameObjects.GameObject;
 import hiof.rammeverk.TheGameEngine.GameObjects.Id;
 
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Consumer;
+
 /**
- * Creates new {@code GameObjects} from the {@code prototypes}-list
+ * Creates new {@code GameObjects} from its {@code prototypes}.
  * <p>
  *     Create an instance of the {@code GameObject} you want to add in game.<br>
- *     Add this instance to the {@code prototypes}-list found in {@code Creator}. <br>
+ *     Add this instance with {@code addPrototype()}. <br>
  *     Use the {@code cloneGameObject()}-method to add object to the game loop.
  * </p>
  *     <ul> <strong>This class implements several design patterns</strong>
@@ -16,12 +23,34 @@ import hiof.rammeverk.TheGameEngine.GameObjects.Id;
  *         <li>Singleton pattern</li>
  *         <li>Factory pattern</li>
  *     </ul>
+ * <p>
+ *     The prototypes are kept in an {@code EnumMap} by {@code Id}, so finding the prototype to clone is constant time.
+ *     Each {@code ObjectCreator} has its own prototypes.
+ * </p>
+ * <p>
+ *     Clones can be pooled. Pooling is off until {@code setPoolCapacity()} is called for an {@code Id}.
+ *     Then a {@code GameObject} with {@code Id.DEAD} is returned with {@code recycle()},
+ *     and reused by the next {@code cloneGameObject()} for the same prototype. Each prototype has its own pool.
+ * </p>
+ * <p>
+ *     A reused {@code GameObject} is only made new again by {@code GameObject.reset()}, so only pool an {@code Id}
+ *     whose prototypes override {@code reset()} for all their own variables, like {@code Bullet} and {@code EnemyCharacter}.
+ * </p>
  * @see Creator
  * @see GameObject
  */
 public class ObjectCreator implements Creator{
+    /**
+     * A pool size that covers heavy fire. Use it with {@code setPoolCapacity()}.
+     */
+    public static final int POOL_CAPACITY = 256;
     private static Creator creator = null;
 
+    private final EnumMap<Id, Prototypes> prototypes = new EnumMap<>(Id.class);
+    private final int[] poolCapacities = new int[Id.values().length];
+    private final long[] poolHits = new long[Id.values().length];
+    private final long[] poolMisses = new long[Id.values().length];
+
     /**
      * Create-method for the class.
      * <p>
@@ -39,20 +68,54 @@ public class ObjectCreator implements Creator{
     }
 
     /**
-     * Add a new instance of a {@code GameObject} to the {@code prototypes}-list.
+     * Set the default prototype for the {@code Id} of {@code prototype}.
      * @param prototype {@code GameObject}
      * @see Creator
      * @see GameObject
      */
     @Override
     public void addPrototype(GameObject prototype){
-        prototypes.add(prototype);
+        Prototypes registered = prototypesFor(prototype.getId());
+        registered.defaultEntry = registered.entryFor(prototype);
+    }
+
+    /**
+     * Add a named variant for the {@code Id} of {@code prototype}.
+     * @param variant name of the variant
+     * @param prototype {@code GameObject}
+     * @see Creator
+     */
+    @Override
+    public void addPrototype(String variant, GameObject prototype) {
+        Objects.requireNonNull(variant, "variant");
+        Prototypes registered = prototypesFor(prototype.getId());
+        Entry entry = registered.entryFor(prototype);
+        registered.variants.put(variant, entry);
+        if (registered.defaultEntry == null)
+            registered.defaultEntry = entry;
+    }
+
+    @Override
+    public GameObject getPrototype(Id id) {
+        Entry entry = defaultEntry(id);
+        return entry == null ? null : entry.prototype;
+    }
+
+    @Override
+    public GameObject getPrototype(Id id, String variant) {
+        Entry entry = variantEntry(id, variant);
+        return entry == null ? null : entry.prototype;
+    }
+
+    @Override
+    public void clearPrototypes() {
+        prototypes.clear();
     }
 
     /**
-     * Create a copy of a prototype stored in the {@code prototypes}-list.
+     * Create a copy of the default prototype with the given {@code Id}.
      * @param id {@code Id} of the {@code GameObject}
-     * @return {@code GameObject}
+     * @return {@code GameObject}, or {@code null} if there is no prototype with {@code id}
      * @see Creator
      * @see Id
      * @see ApplicationHandler
@@ -60,11 +123,168 @@ public class ObjectCreator implements Creator{
      */
     @Override
     public GameObject cloneGameObject(Id id) {
-        for (int i = 0; i < prototypes.size(); i++) {
-            if (prototypes.get(i).getId() == id) {
-                return prototypes.get(i).cloneObject();
+        Entry entry = defaultEntry(id);
+        return entry == null ? null : clone(id, entry);
+    }
+
+    @Override
+    public GameObject cloneGameObject(Id id, String variant) {
+        Entry entry = variantEntry(id, variant);
+        return entry == null ? null : clone(id, entry);
+    }
+
+    @Override
+    public int cloneGameObjects(Id id, int count, Consumer<GameObject> action) {
+        if (count < 0)
+            throw new IllegalArgumentException("count must be at least 0: " + count);
+        Entry entry = defaultEntry(id);
+        if (entry == null)
+            return 0;
+        for (int i = 0; i < count; i++)
+            action.accept(clone(id, entry));
+        return count;
+    }
+
+    /**
+     * Return a {@code GameObject} with {@code Id.DEAD} to the pool of its prototype.
+     * <p>
+     *     Ignored if the {@code GameObject} was not cloned by this {@code Creator}, is not {@code Id.DEAD}, or the pool is full.
+     * </p>
+     * @param object {@code GameObject} removed from the game
+     * @see GameObject#reset(GameObject)
+     */
+    @Override
+    public void recycle(GameObject object) {
+        GameObject prototype = object.getPrototype();
+        if (prototype == null || object.getId() != Id.DEAD)
+            return;
+        Prototypes registered = prototypes.get(prototype.getId());
+        Entry entry = registered == null ? null : registered.find(prototype);
+        if (entry == null)
+            return;
+        int capacity = poolCapacities[prototype.getId().ordinal()];
+        int size = entry.poolSize;
+        if (size >= capacity)
+            return;
+        if (entry.pool.length == size)
+            entry.pool = Arrays.copyOf(entry.pool, Math.min(capacity, Math.max(16, size * 2)));
+        entry.pool[size] = object;
+        entry.poolSize = size + 1;
+    }
+
+    /**
+     * Set how many recycled {@code GameObjects} are kept for the prototype with the given {@code Id}.
+     * <p>
+     *     Every pool starts at 0. Only turn it on if {@code reset()} of the prototypes restores all their variables.
+     * </p>
+     * @param id {@code Id} of the prototype
+     * @param capacity maximum size of the pool. 0 turns pooling off.
+     * @see #POOL_CAPACITY
+     */
+    @Override
+    public void setPoolCapacity(Id id, int capacity) {
+        int index = id.ordinal();
+        poolCapacities[index] = Math.max(0, capacity);
+        Prototypes registered = prototypes.get(id);
+        if (registered == null)
+            return;
+        for (int i = 0; i < registered.count; i++) {
+            Entry entry = registered.entries[i];
+            if (entry.poolSize > poolCapacities[index]) {
+                Arrays.fill(entry.pool, poolCapacities[index], entry.poolSize, null);
+                entry.poolSize = poolCapacities[index];
+            }
+        }
+    }
+
+    /**
+     * @param id {@code Id} of the prototype
+     * @return number of clones taken from the pool.
+     */
+    @Override
+    public long getPoolHits(Id id) {
+        return poolHits[id.ordinal()];
+    }
+
+    /**
+     * @param id {@code Id} of the prototype
+     * @return number of clones created because the pool was empty.
+     */
+    @Override
+    public long getPoolMisses(Id id) {
+        return poolMisses[id.ordinal()];
+    }
+
+    private GameObject clone(Id id, Entry entry) {
+        GameObject prototype = entry.prototype;
+        GameObject clone;
+        if (entry.poolSize > 0) {
+            clone = entry.pool[--entry.poolSize];
+            entry.pool[entry.poolSize] = null;
+            clone.reset(prototype);
+            poolHits[id.ordinal()]++;
+        } else {
+            clone = prototype.cloneObject();
+            poolMisses[id.ordinal()]++;
+        }
+        clone.setPrototype(prototype);
+        return clone;
+    }
+
+    private Prototypes prototypesFor(Id id) {
+        return prototypes.computeIfAbsent(id, key -> new Prototypes());
+    }
+
+    private Entry defaultEntry(Id id) {
+        Prototypes registered = prototypes.get(id);
+        return registered == null ? null : registered.defaultEntry;
+    }
+
+    private Entry variantEntry(Id id, String variant) {
+        Prototypes registered = prototypes.get(id);
+        return registered == null ? null : registered.variants.get(variant);
+    }
+
+    /**
+     * The prototypes with one {@code Id}: the default, the named variants, and every prototype in an array,
+     * so {@code recycle()} can find the pool of a prototype without creating an iterator.
+     */
+    private static final class Prototypes {
+        private Entry defaultEntry;
+        private final Map<String, Entry> variants = new HashMap<>(4);
+        private Entry[] entries = new Entry[2];
+        private int count;
+
+        private Entry find(GameObject prototype) {
+            for (int i = 0; i < count; i++) {
+                if (entries[i].prototype == prototype)
+                    return entries[i];
             }
+            return null;
+        }
+
+        private Entry entryFor(GameObject prototype) {
+            Entry entry = find(prototype);
+            if (entry != null)
+                return entry;
+            entry = new Entry(prototype);
+            if (count == entries.length)
+                entries = Arrays.copyOf(entries, count * 2);
+            entries[count++] = entry;
+            return entry;
+        }
+    }
+
+    /**
+     * A prototype and the pool of its recycled clones.
+     */
+    private static final class Entry {
+        private final GameObject prototype;
+        private GameObject[] pool = new GameObject[0];
+        private int poolSize;
+
+        private Entry(GameObject prototype) {
+            this.prototype = prototype;
         }
-        return null;
     }
 }
@@ -1,10 +1,12 @@
 package hiof.rammeverk.TheGameEngine.GameObjects;
 
 import hiof.rammeverk.TheGameEngine.ApplicationHandler;
+import hiof.rammeverk.TheGameEngine.Behavior.Creator;
+
+import hiof.rammeverk.TheGameEngine.Render.Renderer;
 
 import java.awt.Rectangle;
 import java.awt.Color;
-import java.awt.Graphics;
 
 /**
  * Example of a {@code GameObject}-subclass.
@@ -16,7 +18,6 @@ import java.awt.Graphics;
  * @see Rectangle
  */
 public class Bullet extends GameObject {
-    private static Bullet prototype;
     private GameObject shooter;
 
     /** Returns a new instance of bullet with fixed velX speed.
@@ -30,24 +31,44 @@ public class Bullet extends GameObject {
         setHeight(6);
         setVelX(15);
         setVelY(0);
+        setBatchMovement(true);
     }
 
     /**
      * Direction of bullet depends on movement of shooter.
+     * If there is no {@code Id.PLAYER} in game, the position of the prototype is kept.
      * @param bullet {@code Bullet}.
      * @see GameObject
      */
     public Bullet(Bullet bullet){
         super(bullet.getId(), bullet.getApp());
+        copy(bullet);
+    }
+
+    /**
+     * Re-initialize a recycled {@code Bullet} the same way as {@code Bullet(Bullet)}.
+     * @param prototype {@code Bullet} to copy
+     * @see GameObject#reset(GameObject)
+     */
+    @Override
+    public void reset(GameObject prototype) {
+        super.reset(prototype);
+        copy((Bullet) prototype);
+    }
 
+    private void copy(Bullet bullet) {
+        setBatchMovement(true);
         setVelX(bullet.getVelX());
+        setMovementSpeed(bullet.getMovementSpeed());
         setHeight(bullet.getHeight());
         setWidth(bullet.getWidth());
+        setColor(bullet.getColor());
+        setLayer(bullet.getLayer());
+        setSprite(bullet.getSprite());
 
-        for(int i = 0; i < getApp().objects.size(); i++){
-            if(getApp().objects.get(i).getId() == Id.PLAYER)
-                shooter = getApp().objects.get(i);
-        }
+        shooter = getApp().first(Id.PLAYER);
+        if (shooter == null)
+            return;
         if (shooter.isMovingLeft()) {
             setXPos(shooter.getXPos());
             setYPos(shooter.getYPos() + (shooter.getHeight() / 2.0f));
@@ -58,30 +79,30 @@ public class Bullet extends GameObject {
         }
     }
 
+    /**
+     * Create a prototype. Each call returns a new {@code Bullet}, so {@code Id.BULLET} and {@code Id.BULLET_2}
+     * can be different prototypes.
+     * @param id {@code Id}
+     * @param app {@code ApplicationHandler}
+     * @return {@code Bullet}
+     * @see Creator#addPrototype(GameObject)
+     */
     public static Bullet create(Id id, ApplicationHandler app){
-        if(prototype == null)
-            prototype = new Bullet(id, app);
-        return prototype;
+        return new Bullet(id, app);
     }
 
     @Override
     public void tick() {
-        setXPos(getXPos()+getVelX());
-        setYPos(getYPos()+getVelY());
+        move();
 
         if(getYPos() <= 0 || getYPos() >= getApp().getWindowHeight() - 32) setId(Id.DEAD);
         if(getXPos() <= 0 || getXPos() >= getApp().getWindowWidth() - 32)  setId(Id.DEAD);
     }
 
     @Override
-    public void render(Graphics g) {
-        g.setColor(Color.red);
-        g.fillRect((int) getXPos(), (int) getYPos(), getWidth(), getHeight());
-    }
-
-    @Override
-    public Rectangle hitBox() {
-        return new Rectangle((int) getXPos(), (int) getYPos(), getWidth(), getHeight());
+    public void render(Renderer renderer) {
+        renderer.setColor(Color.red);
+        renderer.fillRect((int) getXPos(), (int) getYPos(), getWidth(), getHeight());
     }
 
     /**
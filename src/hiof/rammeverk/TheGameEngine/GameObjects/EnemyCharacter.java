@@ -1,14 +1,15 @@
 package hiof.rammeverk.TheGameEngine.GameObjects;
 
 import hiof.rammeverk.TheGameEngine.ApplicationHandler;
+import hiof.rammeverk.TheGameEngine.Behavior.Creator;
 import hiof.rammeverk.TheGameEngine.Behavior.GameLoop;
 import hiof.rammeverk.TheGameEngine.Window.HeadUpDisplay;
 import hiof.rammeverk.TheGameEngine.Helpers.Limiter;
+import hiof.rammeverk.TheGameEngine.Render.BatchingRenderer;
+import hiof.rammeverk.TheGameEngine.Render.Renderer;
 
 import java.awt.Rectangle;
 import java.awt.Color;
-import java.awt.Graphics;
-import java.util.Random;
 
 /**
  * Example of a {@code GameObject}-subclass.
@@ -19,7 +20,7 @@ import java.util.Random;
  * <p>
  *     This class has collision detection for {@code GameObjects} with {@code Id.BULLET}.<br>
  *     The {@code collision}-method applies this detection.<br>
- *     {@code collision} uses a {@code GameObjects} {@code hitBox()}-method.
+ *     {@code collision} uses {@code forEachOverlap()}, which compares the hit boxes without allocating.
  * </p>
  * @see GameObject
  * @see Bullet
@@ -29,11 +30,15 @@ import java.util.Random;
  * @see Cloneable
  */
 public class EnemyCharacter extends GameObject {
+    /**
+     * Velocity of each {@code Bullet} spawned when {@code this} dies.
+     */
+    private static final float[][] BURST = {{10, 10}, {-10, -10}, {-10, 10}, {10, -10}};
     private GameObject player;
+    private int burstIndex;
     private int health;
     private final int height = 100;
     private final int width = 40;
-    private final Random r = new Random();
 
     /**
      * Constructor for the class
@@ -45,36 +50,50 @@ public class EnemyCharacter extends GameObject {
     private EnemyCharacter(Id id, ApplicationHandler app) {
         super(id, app);
         // Spawns at a random position.
-        setXPos(r.nextInt(app.getWindowWidth()));
-        setYPos(r.nextInt(app.getWindowHeight()));
+        setXPos(app.getRandom().nextInt(app.getWindowWidth()));
+        setYPos(app.getRandom().nextInt(app.getWindowHeight()));
         health = 100;
+        setBatchMovement(true);
     }
 
     /**
      * Constructor that returns a copy of existing EnemyCharacter
      *<p>
-     *    If no {@code GameObject} with the {@code Id.PLAYER} exist in {@code ApplicationHandler.objects} the {@code player} variable will be {@code null}.
-     *    This will cause a NullPointerException.<br>
+     *    If no {@code GameObject} with the {@code Id.PLAYER} exist in {@code ApplicationHandler.getObjects()} yet,
+     *    the {@code player} is looked up again in {@code tick()}.<br>
      *    This class will follow the {@code Id.PLAYER GameObject}.
      *</p>
      * @param enemyCharacter {@code EnemyCharacter}
      */
     private EnemyCharacter(EnemyCharacter enemyCharacter) {
         super(enemyCharacter.getId(), enemyCharacter.getApp());
+        copy(enemyCharacter);
+    }
+
+    /**
+     * Re-initialize a recycled {@code EnemyCharacter} the same way as the copy-constructor.
+     * @param prototype {@code EnemyCharacter} to copy
+     * @see GameObject#reset(GameObject)
+     */
+    @Override
+    public void reset(GameObject prototype) {
+        super.reset(prototype);
+        copy((EnemyCharacter) prototype);
+    }
+
+    private void copy(EnemyCharacter enemyCharacter) {
+        setBatchMovement(true);
         setMovementSpeed(enemyCharacter.getMovementSpeed());
         setHeight(enemyCharacter.getHeight());
         setWidth(enemyCharacter.getWidth());
         setColor(enemyCharacter.getColor());
+        setLayer(enemyCharacter.getLayer());
+        setSprite(enemyCharacter.getSprite());
 
-        for (int i = 0; i < getApp().objects.size(); i ++){
-            if(getApp().objects.get(i).getId() == Id.PLAYER) {
-                this.player = getApp().objects.get(i);
-                break;
-            }
-        }
+        this.player = getApp().first(Id.PLAYER);
 
-        setXPos(r.nextInt(getApp().getWindowWidth()));
-        setYPos(r.nextInt(getApp().getWindowHeight()));
+        setXPos(getApp().getRandom().nextInt(getApp().getWindowWidth()));
+        setYPos(getApp().getRandom().nextInt(getApp().getWindowHeight()));
         health = 100;
     }
 
@@ -115,81 +134,118 @@ public class EnemyCharacter extends GameObject {
      */
     @Override
     public void tick() {
-        movementPattern1(player);
+        // The player may be added after this enemy, or replaced by a new game.
+        if (player == null || player.getId() != Id.PLAYER)
+            player = getApp().first(Id.PLAYER);
+        if (player != null)
+            movementPattern1(player);
 
         collision();
-        if(health <= 0){
-            setId(Id.DEAD);
-            HeadUpDisplay.setHealth(HeadUpDisplay.getHealth()+2);
-            HeadUpDisplay.setCounter(HeadUpDisplay.getCounter()+1);
-            Bullet bul1 = new Bullet(Id.BULLET, getApp());
-            Bullet bul2 = new Bullet(Id.BULLET, getApp());
-            Bullet bul3 = new Bullet(Id.BULLET, getApp());
-            Bullet bul4 = new Bullet(Id.BULLET, getApp());
-            bul1.setVelX(10);
-            bul1.setVelY(10);
-            bul1.setXPos(getXPos());
-            bul1.setYPos(getYPos());
-            bul2.setVelX(-10);
-            bul2.setVelY(-10);
-            bul2.setXPos(getXPos());
-            bul2.setYPos(getYPos());
-            bul3.setVelX(-10);
-            bul3.setVelY(10);
-            bul3.setXPos(getXPos());
-            bul3.setYPos(getYPos());
-            bul4.setVelX(10);
-            bul4.setVelY(-10);
-            bul4.setXPos(getXPos());
-            bul4.setYPos(getYPos());
-            getApp().addObject(bul1);
-            getApp().addObject(bul2);
-            getApp().addObject(bul3);
-            getApp().addObject(bul4);
-        }
+    }
+
+    /**
+     * Count the kill and spawn bullets in four directions.
+     * <p>
+     *     The {@code Bullets} are cloned from the {@code Id.BULLET} prototype in one call, so they are taken from the pool when possible.
+     * </p>
+     * @see Creator#cloneGameObjects(Id, int, java.util.function.Consumer)
+     */
+    private void die() {
+        HeadUpDisplay.setHealth(HeadUpDisplay.getHealth()+2);
+        HeadUpDisplay.setCounter(HeadUpDisplay.getCounter()+1);
+        burstIndex = 0;
+        Creator creator = getApp().getCreator();
+        if (creator != null)
+            creator.cloneGameObjects(Id.BULLET, BURST.length, this::launchBullet);
+        while (burstIndex < BURST.length)
+            launchBullet(new Bullet(Id.BULLET, getApp()));
+    }
+
+    /**
+     * Send the next {@code Bullet} of the death burst from the position of {@code this}.
+     * @param bullet {@code GameObject}
+     */
+    private void launchBullet(GameObject bullet) {
+        float[] velocity = BURST[burstIndex++];
+        bullet.setVelX(velocity[0]);
+        bullet.setVelY(velocity[1]);
+        bullet.setXPos(getXPos());
+        bullet.setYPos(getYPos());
+        getApp().addObject(bullet);
     }
 
     /**
      * This implementation of {@code collision} detects collision with {@code Id.BULLET}.
-     * <br> Uses {@code hitBox} and {@code Rectangle}.
-     * @see Rectangle
+     * <br> Uses {@code forEachOverlap}, which only checks nearby {@code GameObjects}.
+     * <p>
+     *     Each hit is a claim on the bullet, run by {@code hit()} after a parallel {@code tick}, so a bullet
+     *     overlapping several enemies only damages one of them, as in a serial {@code tick}.
+     * </p>
+     * @see SpatialGrid
      * @see Id
+     * @see ApplicationHandler#defer(Runnable)
      */
     private void collision(){
-        for (int i = 0; i < getApp().objects.size(); i++) {
-            if(getApp().objects.get(i).getId() == Id.BULLET && this.hitBox().intersects(getApp().objects.get(i).hitBox())){
-                // Collision
-                health -= 10;
-                // Remove bullet from game.
-                getApp().objects.get(i).setId(Id.DEAD);
-            }
+        forEachOverlap(Id.BULLET, bullet -> getApp().defer(() -> hit(bullet)));
+    }
+
+    /**
+     * Take the damage of {@code bullet}, unless another enemy hit it first.
+     * <p>
+     *     The claims are run in the order of {@code ApplicationHandler.getObjects()}, so the same enemy gets the bullet
+     *     whichever thread ticked it. Dies when {@code health} runs out, which changes the {@code HeadUpDisplay}
+     *     and the pool of the {@code Creator}, so it must not run during a parallel tick.
+     * </p>
+     * @param bullet {@code GameObject} overlapping {@code this}
+     */
+    private void hit(GameObject bullet) {
+        if (bullet.getId() != Id.BULLET)
+            return;
+        // Remove bullet from game.
+        bullet.setId(Id.DEAD);
+        health -= 10;
+        if (health <= 0 && getId() != Id.DEAD) {
+            setId(Id.DEAD);
+            die();
         }
     }
 
     /**
      * How to draw the {@code GameObject} to the window.
-     * @param g {@code Graphics}
-     * @see Graphics
+     * <p>
+     *     The green band is drawn one layer above the body, so a {@code BatchingRenderer} always draws it on top.
+     * </p>
+     * @param renderer {@code Renderer}
+     * @see Renderer
      */
     @Override
-    public void render(Graphics g) {
-        g.setColor(getColor());
-        g.fillRect((int) getXPos(), (int) getYPos(), width, height);
-        g.setColor(Color.GREEN);
-        g.fillRect((int) getXPos(),(int) getYPos() + (height/3), width, height/3);
+    public void render(Renderer renderer) {
+        renderer.setColor(getColor());
+        renderer.fillRect((int) getXPos(), (int) getYPos(), width, height);
+        // The stripe goes one layer up, so the stripes of all enemies can be drawn as one group.
+        renderer.setLayer(Math.min(getLayer() + 1, BatchingRenderer.MAX_LAYER));
+        renderer.setColor(Color.GREEN);
+        renderer.fillRect((int) getXPos(),(int) getYPos() + (height/3), width, height/3);
+        renderer.setLayer(getLayer());
     }
 
     /**
-     * Determine {@code hitBox} of the {@code GameObject}.
-     * <p>
-     *     A {@code hitBox} is the area the of the {@code GameObject} that is checked for {@code collision}.
-     *     <br> I.e this can be to deal damage or receive damage.
-     * </p>
-     * @return Rectangle {@code java.awt.Rectangle}
-     * @see Rectangle
+     * Width of the {@code hitBox}. Matches the drawn size of {@code EnemyCharacter}.
+     * @return width in pixels
+     * @see GameObject#intersects(GameObject)
+     */
+    @Override
+    public float getHitBoxWidth() {
+        return width;
+    }
+
+    /**
+     * Height of the {@code hitBox}. Matches the drawn size of {@code EnemyCharacter}.
+     * @return height in pixels
+     * @see GameObject#intersects(GameObject)
      */
     @Override
-    public Rectangle hitBox() {
-        return new Rectangle((int) getXPos(), (int) getYPos(), width, height);
+    public float getHitBoxHeight() {
+        return height;
     }
 }
@@ -0,0 +1,489 @@
+package hiof.rammeverk.TheGameEngine.GameObjects;
+
+import hiof.rammeverk.TheGameEngine.ApplicationHandler;
+
+import java.util.EnumMap;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+
+/**
+ * Container for the {@code GameObjects} in game.
+ * <p>
+ *     The {@code GameObjects} are stored in one contiguous array, so {@code get(index)} is constant time
+ *     and a full loop over the list only visits each {@code GameObject} once.<br>
+ *     Every {@code GameObject} knows its own index ({@code slot}), so removing a {@code GameObject}
+ *     moves the last {@code GameObject} into the free slot instead of searching and shifting the list.
+ * </p>
+ * <p>
+ *     The order of the {@code GameObjects} is <strong>not</strong> kept when removing.
+ * </p>
+ * <p>
+ *     The list also keeps one bucket of {@code GameObjects} for each {@code Id}.
+ *     The buckets are updated on {@code add}, {@code remove} and {@code GameObject.setId()},
+ *     so {@code first(Id)}, {@code forEach(Id, Consumer)} and {@code count(Id)} only visit {@code GameObjects} with that {@code Id}.
+ * </p>
+ * <p>
+ *     With {@code setStructureOfArrays(true)} the position, velocity and size of the {@code GameObjects}
+ *     are stored in a {@code TransformStore} indexed by {@code slot}, and {@code move()} updates them in one loop.
+ * </p>
+ * <p>
+ *     Between {@code beginIteration()} and {@code endIteration()} the indexes are stable:
+ *     added {@code GameObjects} are appended to the end and removed {@code GameObjects} stay in place
+ *     until {@code compact()} is called.
+ * </p>
+ * @see GameObject
+ * @see ApplicationHandler
+ */
+public class EntityList implements Iterable<GameObject> {
+    private static final int INITIAL_CAPACITY = 64;
+
+    private GameObject[] elements = new GameObject[INITIAL_CAPACITY];
+    private int size;
+    private int iterating;
+    private final EnumMap<Id, Bucket> buckets = new EnumMap<>(Id.class);
+    private int bucketIterating;
+    private boolean bucketHoles;
+    private TransformStore store;
+    private final LongAdder addedCount = new LongAdder();
+    private final LongAdder removedCount = new LongAdder();
+
+    public EntityList() {
+        for (Id id : Id.values())
+            buckets.put(id, new Bucket());
+    }
+
+    /**
+     * @return number of {@code GameObjects} in the list, including those waiting to be removed.
+     */
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Get the {@code GameObject} at {@code index}.
+     * @param index position in the list
+     * @return {@code GameObject}
+     * @throws IndexOutOfBoundsException if {@code index} is outside the list
+     */
+    public GameObject get(int index) {
+        if (index < 0 || index >= size)
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+        return elements[index];
+    }
+
+    /**
+     * Check if a {@code GameObject} is in this list and not waiting to be removed.
+     * @param object {@code GameObject}
+     * @return true if {@code object} is in game
+     */
+    public boolean contains(GameObject object) {
+        return object.owner == this && !object.removePending;
+    }
+
+    /**
+     * Add a {@code GameObject} to the end of the list.
+     * <p>
+     *     Adding a {@code GameObject} that is already in the list does nothing.
+     *     A {@code GameObject} removed during iteration and added again before {@code compact()} keeps its slot.
+     * </p>
+     * @param object {@code GameObject}
+     */
+    public void add(GameObject object) {
+        if (object.owner == this) {
+            if (object.removePending) {
+                // remove() already took it out of its bucket.
+                object.removePending = false;
+                bucketAdd(object);
+            }
+            return;
+        }
+        if (size == elements.length) {
+            GameObject[] grown = new GameObject[elements.length * 2];
+            System.arraycopy(elements, 0, grown, 0, size);
+            elements = grown;
+        }
+        object.owner = this;
+        object.slot = size;
+        elements[size] = object;
+        if (store != null)
+            store.attach(object, size);
+        size++;
+        bucketAdd(object);
+        object.snapshot();
+        addedCount.increment();
+    }
+
+    /**
+     * Record the position and {@code hitBox} of every {@code GameObject}.
+     * <p>
+     *     Called at the start of {@code ApplicationHandler.tick()}. During a parallel {@code tick},
+     *     {@code GameObjects} read these values from each other instead of the values being changed on other threads.
+     * </p>
+     * @see GameObject#getLastXPos()
+     */
+    public void snapshot() {
+        for (int i = 0; i < size; i++)
+            elements[i].snapshot();
+    }
+
+    /**
+     * Remove a {@code GameObject} from the list.
+     * <p>
+     *     During iteration the {@code GameObject} is only marked, and removed by {@code compact()}.
+     * </p>
+     * @param object {@code GameObject}
+     * @return true if {@code object} was in the list
+     */
+    public boolean remove(GameObject object) {
+        return remove(object, null);
+    }
+
+    /**
+     * Remove a {@code GameObject} from the list, and give it to {@code onRemoved} once it is out of the list.
+     * <p>
+     *     During iteration the {@code GameObject} is only marked, and given to the {@code onRemoved} of {@code compact()} instead.
+     * </p>
+     * @param object {@code GameObject}
+     * @param onRemoved called with {@code object} if it was removed at once. May be {@code null}.
+     * @return true if {@code object} was in the list
+     */
+    public boolean remove(GameObject object, Consumer<GameObject> onRemoved) {
+        if (object.owner != this)
+            return false;
+        if (object.removePending)
+            return true;
+        bucketRemove(object);
+        if (iterating > 0) {
+            object.removePending = true;
+        } else {
+            removeAt(object.slot);
+            if (onRemoved != null)
+                onRemoved.accept(object);
+        }
+        return true;
+    }
+
+    /**
+     * Remove all {@code GameObjects} from the list.
+     * <p>
+     *     During iteration all {@code GameObjects} are only marked, and removed by {@code compact()}.
+     * </p>
+     */
+    public void clear() {
+        clear(null);
+    }
+
+    /**
+     * Remove all {@code GameObjects} from the list, and give each to {@code onRemoved} once it is out of the list.
+     * <p>
+     *     During iteration all {@code GameObjects} are only marked, and given to the {@code onRemoved} of {@code compact()} instead.
+     * </p>
+     * @param onRemoved called for each removed {@code GameObject}. May be {@code null}.
+     */
+    public void clear(Consumer<GameObject> onRemoved) {
+        for (int i = 0; i < size; i++) {
+            if (!elements[i].removePending)
+                bucketRemove(elements[i]);
+        }
+        if (iterating > 0) {
+            for (int i = 0; i < size; i++)
+                elements[i].removePending = true;
+            return;
+        }
+        int removed = size;
+        size = 0;
+        for (int i = 0; i < removed; i++) {
+            GameObject object = elements[i];
+            elements[i] = null;
+            detach(object);
+            if (onRemoved != null)
+                onRemoved.accept(object);
+        }
+        removedCount.add(removed);
+    }
+
+    /**
+     * @return number of {@code GameObjects} added since the list was created
+     */
+    public long getAddedCount() {
+        return addedCount.sum();
+    }
+
+    /**
+     * @return number of {@code GameObjects} removed since the list was created
+     */
+    public long getRemovedCount() {
+        return removedCount.sum();
+    }
+
+    /**
+     * Turn the {@code TransformStore} on or off.
+     * <p>
+     *     When on, position, velocity and size of all {@code GameObjects} in the list are kept in parallel arrays,
+     *     and the getters and setters of {@code GameObject} read and write those arrays.
+     * </p>
+     * @param enabled {@code boolean}
+     * @see TransformStore
+     */
+    public void setStructureOfArrays(boolean enabled) {
+        if (enabled == (store != null))
+            return;
+        if (enabled) {
+            store = new TransformStore(elements.length);
+            for (int i = 0; i < size; i++)
+                store.attach(elements[i], i);
+        } else {
+            for (int i = 0; i < size; i++)
+                store.detach(elements[i], i);
+            store = null;
+        }
+    }
+
+    /**
+     * @return true if a {@code TransformStore} is used.
+     */
+    public boolean isStructureOfArrays() {
+        return store != null;
+    }
+
+    /**
+     * Apply the velocity of every {@code GameObject} with {@code batchMovement} in one loop.
+     * <p>
+     *     Does nothing unless {@code setStructureOfArrays(true)} has been called.
+     *     Called at the start of {@code ApplicationHandler.tick()}.
+     * </p>
+     * @see GameObject#move()
+     */
+    public void move() {
+        if (store != null)
+            store.move(size);
+    }
+
+    /**
+     * Get the first {@code GameObject} in game with the given {@code Id}.
+     * <p>
+     *     Constant time. Use this to find the {@code Id.PLAYER}.
+     * </p>
+     * @param id {@code Id}
+     * @return {@code GameObject}, or {@code null} if there is none.
+     */
+    public GameObject first(Id id) {
+        Bucket bucket = buckets.get(id);
+        for (int i = 0; i < bucket.size; i++) {
+            if (bucket.items[i] != null)
+                return bucket.items[i];
+        }
+        return null;
+    }
+
+    /**
+     * Call {@code action} for each {@code GameObject} in game with the given {@code Id}.
+     * <p>
+     *     {@code GameObjects} that change {@code Id} or are removed during the loop are skipped from then on.
+     *     {@code GameObjects} added during the loop are included.
+     * </p>
+     * @param id {@code Id}
+     * @param action called once for each {@code GameObject}
+     */
+    public void forEach(Id id, Consumer<GameObject> action) {
+        Bucket bucket = buckets.get(id);
+        bucketIterating++;
+        try {
+            for (int i = 0; i < bucket.size; i++) {
+                GameObject object = bucket.items[i];
+                if (object != null)
+                    action.accept(object);
+            }
+        } finally {
+            if (--bucketIterating == 0 && bucketHoles)
+                compactBuckets();
+        }
+    }
+
+    /**
+     * Count the {@code GameObjects} in game with the given {@code Id}.
+     * @param id {@code Id}
+     * @return number of {@code GameObjects}
+     */
+    public int count(Id id) {
+        Bucket bucket = buckets.get(id);
+        return bucket.size - bucket.holes;
+    }
+
+    /**
+     * Move a {@code GameObject} to the bucket of its new {@code Id}.
+     * <p>
+     *     Called by {@code GameObject.setId()}.
+     * </p>
+     * @param object {@code GameObject}
+     * @param previous the {@code Id} before the change
+     */
+    void idChanged(GameObject object, Id previous) {
+        if (object.removePending)
+            return;
+        bucketRemove(object, buckets.get(previous));
+        bucketAdd(object);
+    }
+
+    /**
+     * Mark the start of a loop over the list. Indexes will not change until {@code endIteration()}.
+     */
+    public void beginIteration() {
+        iterating++;
+    }
+
+    /**
+     * Mark the end of a loop started with {@code beginIteration()}.
+     */
+    public void endIteration() {
+        if (iterating > 0)
+            iterating--;
+    }
+
+    /**
+     * Remove all {@code GameObjects} with {@code Id.DEAD} and all {@code GameObjects} marked for removal, in one sweep.
+     * <p>
+     *     Each removed slot is filled with the last {@code GameObject} in the list.
+     *     Does nothing during iteration.
+     * </p>
+     * @param onRemoved called for each removed {@code GameObject}. May be {@code null}.
+     */
+    public void compact(Consumer<GameObject> onRemoved) {
+        if (iterating > 0)
+            return;
+        int i = 0;
+        while (i < size) {
+            GameObject object = elements[i];
+            if (object.getId() == Id.DEAD || object.removePending) {
+                if (!object.removePending)
+                    bucketRemove(object);
+                removeAt(i);
+                if (onRemoved != null)
+                    onRemoved.accept(object);
+            } else {
+                i++;
+            }
+        }
+    }
+
+    /**
+     * Iterate over the list by index. Does not fail if the list changes while iterating.
+     * @return {@code Iterator}
+     */
+    @Override
+    public Iterator<GameObject> iterator() {
+        return new Iterator<>() {
+            private int index = 0;
+
+            @Override
+            public boolean hasNext() {
+                return index < size;
+            }
+
+            @Override
+            public GameObject next() {
+                if (index >= size)
+                    throw new NoSuchElementException();
+                return elements[index++];
+            }
+        };
+    }
+
+    private void removeAt(int index) {
+        GameObject removed = elements[index];
+        int last = --size;
+        if (store != null) {
+            store.detach(removed, index);
+            if (index != last)
+                store.copy(last, index);
+        }
+        if (index != last) {
+            elements[index] = elements[last];
+            elements[index].slot = index;
+        }
+        elements[last] = null;
+        detach(removed);
+        removedCount.increment();
+    }
+
+    private void bucketAdd(GameObject object) {
+        Bucket bucket = buckets.get(object.getId());
+        if (bucket.size == bucket.items.length) {
+            GameObject[] grown = new GameObject[bucket.items.length * 2];
+            System.arraycopy(bucket.items, 0, grown, 0, bucket.size);
+            bucket.items = grown;
+        }
+        object.bucketSlot = bucket.size;
+        bucket.items[bucket.size++] = object;
+    }
+
+    private void bucketRemove(GameObject object) {
+        bucketRemove(object, buckets.get(object.getId()));
+    }
+
+    /**
+     * Remove from a bucket. While a bucket is being looped over the slot is left empty,
+     * and the buckets are compacted when the loop ends.
+     */
+    private void bucketRemove(GameObject object, Bucket bucket) {
+        int index = object.bucketSlot;
+        object.bucketSlot = -1;
+        if (index < 0 || index >= bucket.size || bucket.items[index] != object)
+            return;
+        if (bucketIterating > 0) {
+            bucket.items[index] = null;
+            bucket.holes++;
+            bucketHoles = true;
+            return;
+        }
+        int last = --bucket.size;
+        if (index != last) {
+            bucket.items[index] = bucket.items[last];
+            bucket.items[index].bucketSlot = index;
+        }
+        bucket.items[last] = null;
+    }
+
+    private void compactBuckets() {
+        for (Bucket bucket : buckets.values()) {
+            if (bucket.holes == 0)
+                continue;
+            int write = 0;
+            for (int read = 0; read < bucket.size; read++) {
+                GameObject object = bucket.items[read];
+                if (object != null) {
+                    object.bucketSlot = write;
+                    bucket.items[write++] = object;
+                }
+            }
+            for (int i = write; i < bucket.size; i++)
+                bucket.items[i] = null;
+            bucket.size = write;
+            bucket.holes = 0;
+        }
+        bucketHoles = false;
+    }
+
+    private void detach(GameObject object) {
+        if (object.store != null)
+            object.store.detach(object, object.slot);
+        object.owner = null;
+        object.slot = -1;
+        object.removePending = false;
+    }
+
+    /**
+     * Dense list of the {@code GameObjects} with one {@code Id}.
+     */
+    private static final class Bucket {
+        private GameObject[] items = new GameObject[16];
+        private int size;
+        private int holes;
+    }
+}
@@ -5,10 +5,16 @@ import hiof.rammeverk.TheGameEngine.Behavior.Creator;
 import hiof.rammeverk.TheGameEngine.Window.Window;
 import hiof.rammeverk.TheGameEngine.Helpers.Limiter;
 import hiof.rammeverk.TheGameEngine.Behavior.ObjectCreator;
+import hiof.rammeverk.TheGameEngine.Render.AssetManager;
+import hiof.rammeverk.TheGameEngine.Render.BatchingRenderer;
+import hiof.rammeverk.TheGameEngine.Render.GraphicsRenderer;
+import hiof.rammeverk.TheGameEngine.Render.Renderer;
+import hiof.rammeverk.TheGameEngine.Render.Sprite;
 
 import java.awt.Rectangle;
 import java.awt.Color;
 import java.awt.Graphics;
+import java.util.function.Consumer;
 
 /**
  * A basic GameObject-superclass.
@@ -31,18 +37,73 @@ import java.awt.Graphics;
  * @see Cloneable
  */
 public class GameObject implements Cloneable {
+    /**
+     * Which subclasses override {@code render(Graphics)} or {@code render(Renderer)}.
+     * Used to call the right one, whichever way the {@code GameObject} is drawn.
+     */
+    private static final ClassValue<Boolean> OVERRIDES_RENDER_GRAPHICS = overrides(Graphics.class);
+    private static final ClassValue<Boolean> OVERRIDES_RENDER_RENDERER = overrides(Renderer.class);
+
     private Id id;
     private ApplicationHandler app;
     private Color color = Color.RED;
-    private float xPos;
-    private float yPos;
-    private float velX;
-    private float velY;
+    /**
+     * Drawing order when a {@code BatchingRenderer} is used. Higher layers are drawn on top.
+     */
+    private int layer;
+    private Sprite sprite;
+    /**
+     * Wraps the {@code Graphics} passed to {@code render(Graphics)} when a subclass overrides {@code render(Renderer)}.
+     * Created the first time it is needed and reused for every frame.
+     */
+    private GraphicsRenderer graphicsRenderer;
+    /**
+     * Position, velocity and size. Only used while {@code store} is {@code null},
+     * otherwise the values are in the {@code TransformStore}. Use the getters and setters.
+     */
+    float xPos;
+    float yPos;
+    float velX;
+    float velY;
+    int width = 70;
+    int height = 70;
+    boolean batchMovement = false;
     private float movementSpeed;
-    private int width = 70;
-    private int height = 70;
     private boolean movingLeft = false;
 
+    /**
+     * The prototype {@code this} was cloned from by a {@code Creator}. {@code null} if not cloned.
+     */
+    private GameObject prototype;
+
+    /**
+     * Cells occupied in the {@code SpatialGrid}. {@code gridMinX} is -1 when not in a grid.
+     */
+    int gridMinX = -1;
+    int gridMinY;
+    int gridMaxX;
+    int gridMaxY;
+
+    /**
+     * Position in the {@code EntityList} holding {@code this}. -1 when not in game.
+     */
+    EntityList owner;
+    int slot = -1;
+    int bucketSlot = -1;
+    boolean removePending;
+    TransformStore store;
+
+    /**
+     * Position and {@code hitBox} at the start of the current {@code tick}, recorded by {@code EntityList.snapshot()}.
+     * Read instead of the current values by other {@code GameObjects} during a parallel {@code tick}.
+     */
+    float lastXPos;
+    float lastYPos;
+    float lastHitBoxX;
+    float lastHitBoxY;
+    float lastHitBoxWidth;
+    float lastHitBoxHeight;
+
     /**
      * Standard constructor that will position {@code this} object in the middle of screen.
      * @param id {@code Id}
@@ -58,12 +119,12 @@ public class GameObject implements Cloneable {
     }
 
     /**
-     * Create a prototype. Add to {@code Creator.prototypes}.
+     * Create a prototype. Add it with {@code Creator.addPrototype}.
      * <p>
      *     Instantiates an instance of {@code GameObject}.
-     *     <br>Add this instance to {@code Creator.prototypes}.
-     *     <br>Use {@code Creator.createGameObject} to instantiate a new object from {@code prototypes}.
-     *     <br>Add this instance to {@code ApplicationHandler.objects}.
+     *     <br>Add this instance with {@code Creator.addPrototype}.
+     *     <br>Use {@code Creator.cloneGameObject} to instantiate a new object from the {@code prototype}.
+     *     <br>Add this instance with {@code ApplicationHandler.addObject()}.
      * </p>
      * @param id {@code Id}
      * @param app {@code ApplicationHandler}
@@ -87,12 +148,43 @@ public class GameObject implements Cloneable {
         GameObject obj = new GameObject(this.id, this.app);
         obj.id = this.id;
         obj.app = this.app;
+        obj.color = this.color;
         obj.movementSpeed = this.movementSpeed;
-        obj.height = this.height;
-        obj.width = this.width;
+        obj.layer = this.layer;
+        obj.sprite = this.sprite;
+        obj.setHeight(this.getHeight());
+        obj.setWidth(this.getWidth());
         return obj;
     }
 
+    /**
+     * Re-initialize a recycled {@code GameObject} so it is equal to a new clone of {@code prototype}.
+     * <p>
+     *     Called by {@code Creator} when a clone is taken from the pool instead of being created with {@code cloneObject()}.
+     *     <br>Sets the same variables as {@code cloneObject()}, so a clone from the pool is equal to a new clone.
+     *     <br>Override this if the subclass has its own state, and do the same as the copy-constructor used in {@code cloneObject()}.
+     *     Remember to call {@code super.reset(prototype)}.
+     * </p>
+     * @param prototype the {@code GameObject} this is a copy of
+     * @see Creator
+     * @see ObjectCreator
+     */
+    public void reset(GameObject prototype) {
+        this.id = prototype.id;
+        this.app = prototype.app;
+        this.color = prototype.color;
+        this.layer = prototype.layer;
+        this.sprite = prototype.sprite;
+        this.movementSpeed = prototype.movementSpeed;
+        setHeight(prototype.getHeight());
+        setWidth(prototype.getWidth());
+        setVelX(0);
+        setVelY(0);
+        this.movingLeft = false;
+        setXPos(app.getWindowWidth() / 2.0f);
+        setYPos(app.getWindowHeight() / 2.0f);
+    }
+
     /**
      * Behavior of {@code GameObject} for each iteration ({@code tick}) of the game.
      * @see ApplicationHandler
@@ -104,12 +196,94 @@ public class GameObject implements Cloneable {
 
     /**
      * How to draw the {@code GameObject} to the window.
+     * <p>
+     *     Override this or {@code render(Renderer)}. Subclasses that override {@code render(Renderer)} are drawn with it here.
+     * </p>
+     * <p>
+     *     Draws the {@code Sprite} if one is set, else a rectangle with the color of the {@code GameObject}.
+     * </p>
      * @param g {@code Graphics}
      * @see Graphics
      */
     public void render(Graphics g){
+        if (OVERRIDES_RENDER_RENDERER.get(getClass())) {
+            if (graphicsRenderer == null)
+                graphicsRenderer = new GraphicsRenderer();
+            graphicsRenderer.setGraphics(g);
+            render(graphicsRenderer);
+            return;
+        }
+        if (sprite != null) {
+            sprite.draw(g, (int) getXPos(), (int) getYPos());
+            return;
+        }
         g.setColor(color);
-        g.fillRect((int) xPos, (int) yPos, width, height);
+        g.fillRect((int) getXPos(), (int) getYPos(), getWidth(), getHeight());
+    }
+
+    /**
+     * How to draw the {@code GameObject} with a {@code Renderer}.
+     * <p>
+     *     Override this instead of {@code render(Graphics)} to be drawn by any {@code Renderer}, including the
+     *     {@code FramebufferRenderer}. Subclasses that only override {@code render(Graphics)} are drawn with
+     *     {@code renderer.getGraphics()}.
+     * </p>
+     * <p>
+     *     Draws the {@code Sprite} if one is set, else a rectangle with the color of the {@code GameObject}.
+     * </p>
+     * @param renderer {@code Renderer}
+     * @see Renderer
+     */
+    public void render(Renderer renderer){
+        if (OVERRIDES_RENDER_GRAPHICS.get(getClass())) {
+            render(renderer.getGraphics());
+            return;
+        }
+        if (sprite != null) {
+            renderer.drawSprite(sprite, (int) getXPos(), (int) getYPos());
+            return;
+        }
+        renderer.setColor(color);
+        renderer.fillRect((int) getXPos(), (int) getYPos(), getWidth(), getHeight());
+    }
+
+    private static ClassValue<Boolean> overrides(Class<?> parameter) {
+        return new ClassValue<>() {
+            @Override
+            protected Boolean computeValue(Class<?> type) {
+                try {
+                    return type.getMethod("render", parameter).getDeclaringClass() != GameObject.class;
+                } catch (NoSuchMethodException e) {
+                    return false;
+                }
+            }
+        };
+    }
+
+    /**
+     * Check if anything drawn by {@code render()} can be inside the visible area.
+     * <p>
+     *     Used by {@code ApplicationHandler.render()} to skip {@code GameObjects} outside the window.<br>
+     *     Covers the rectangle at {@code xPos}, {@code yPos} with {@code width} and {@code height}, and the {@code hitBox}.
+     *     Override this if {@code render()} draws outside both.
+     * </p>
+     * @param viewX left edge of the visible area
+     * @param viewY top edge of the visible area
+     * @param viewWidth width of the visible area
+     * @param viewHeight height of the visible area
+     * @return true if {@code this} may be visible
+     */
+    public boolean isInView(float viewX, float viewY, float viewWidth, float viewHeight) {
+        float x = getXPos();
+        float y = getYPos();
+        float hitBoxX = getHitBoxX();
+        float hitBoxY = getHitBoxY();
+        float left = Math.min(x, hitBoxX);
+        float top = Math.min(y, hitBoxY);
+        float right = Math.max(x + getWidth(), hitBoxX + getHitBoxWidth());
+        float bottom = Math.max(y + getHeight(), hitBoxY + getHitBoxHeight());
+        return right > viewX && left < viewX + viewWidth
+                && bottom > viewY && top < viewY + viewHeight;
     }
 
     /**
@@ -118,34 +292,177 @@ public class GameObject implements Cloneable {
      *     A {@code hitBox} is the area the of the {@code GameObject} that is checked for {@code collision}.
      *     <br> I.e this can be to deal damage or receive damage.
      * </p>
+     * <p>
+     *     Kept for compatibility. This creates a new {@code Rectangle} each call, and is built from
+     *     {@code getHitBoxX()}, {@code getHitBoxY()}, {@code getHitBoxWidth()} and {@code getHitBoxHeight()}.
+     *     Use {@code intersects()} to check for collision, and override the hit box getters to change the {@code hitBox}.
+     * </p>
      * @return Rectangle {@code java.awt.Rectangle}
      * @see Rectangle
      */
-
     public Rectangle hitBox() {
-        return new Rectangle((int) xPos, (int) yPos, width, height);
+        return new Rectangle((int) getHitBoxX(), (int) getHitBoxY(), (int) getHitBoxWidth(), (int) getHitBoxHeight());
+    }
+
+    /**
+     * Left edge of the {@code hitBox}.
+     * @return x-position in pixels
+     */
+    public float getHitBoxX() {
+        return getXPos();
+    }
+
+    /**
+     * Top edge of the {@code hitBox}.
+     * @return y-position in pixels
+     */
+    public float getHitBoxY() {
+        return getYPos();
+    }
+
+    /**
+     * Width of the {@code hitBox}.
+     * @return width in pixels
+     */
+    public float getHitBoxWidth() {
+        return getWidth();
+    }
+
+    /**
+     * Height of the {@code hitBox}.
+     * @return height in pixels
+     */
+    public float getHitBoxHeight() {
+        return getHeight();
+    }
+
+    /**
+     * Check if the {@code hitBox} of {@code this} intersects the {@code hitBox} of {@code other}.
+     * <p>
+     *     Same rule as {@code Rectangle.intersects()}: touching edges do not intersect, and empty hit boxes never intersect.
+     *     Does not allocate.
+     * </p>
+     * @param other {@code GameObject}
+     * @return true if the hit boxes overlap
+     */
+    public boolean intersects(GameObject other) {
+        float width = getHitBoxWidth();
+        float height = getHitBoxHeight();
+        float otherWidth = other.getHitBoxWidth();
+        float otherHeight = other.getHitBoxHeight();
+        if (width <= 0 || height <= 0 || otherWidth <= 0 || otherHeight <= 0)
+            return false;
+        float x = getHitBoxX();
+        float y = getHitBoxY();
+        float otherX = other.getHitBoxX();
+        float otherY = other.getHitBoxY();
+        return x < otherX + otherWidth && otherX < x + width
+                && y < otherY + otherHeight && otherY < y + height;
+    }
+
+    /**
+     * Same as {@code intersects()}, but uses the {@code hitBox} of {@code other} from the start of the {@code tick}.
+     * Used by the {@code SpatialGrid} during a parallel {@code tick}, while {@code other} may be moving on another thread.
+     */
+    boolean intersectsLast(GameObject other) {
+        float width = getHitBoxWidth();
+        float height = getHitBoxHeight();
+        float otherWidth = other.lastHitBoxWidth;
+        float otherHeight = other.lastHitBoxHeight;
+        if (width <= 0 || height <= 0 || otherWidth <= 0 || otherHeight <= 0)
+            return false;
+        float x = getHitBoxX();
+        float y = getHitBoxY();
+        float otherX = other.lastHitBoxX;
+        float otherY = other.lastHitBoxY;
+        return x < otherX + otherWidth && otherX < x + width
+                && y < otherY + otherHeight && otherY < y + height;
+    }
+
+    /**
+     * Record the position and {@code hitBox} read by other {@code GameObjects} during a parallel {@code tick}.
+     */
+    void snapshot() {
+        lastXPos = getXPos();
+        lastYPos = getYPos();
+        lastHitBoxX = getHitBoxX();
+        lastHitBoxY = getHitBoxY();
+        lastHitBoxWidth = getHitBoxWidth();
+        lastHitBoxHeight = getHitBoxHeight();
+    }
+
+    /**
+     * @return {@code xPos} at the start of the current {@code tick}
+     */
+    public float getLastXPos() {
+        return lastXPos;
+    }
+
+    /**
+     * @return {@code yPos} at the start of the current {@code tick}
+     */
+    public float getLastYPos() {
+        return lastYPos;
+    }
+
+    /**
+     * Call {@code action} for each {@code GameObject} in game whose {@code hitBox} intersects the {@code hitBox} of {@code this}.
+     * <p>
+     *     Uses the {@code SpatialGrid} of the {@code ApplicationHandler}, so only nearby {@code GameObjects} are checked.<br>
+     *     Use this in {@code collision()} instead of looping through {@code ApplicationHandler.getObjects()}.
+     * </p>
+     * @param id only report {@code GameObjects} with this {@code Id}
+     * @param action called once for each overlapping {@code GameObject}
+     * @see SpatialGrid
+     */
+    public void forEachOverlap(Id id, Consumer<GameObject> action) {
+        app.getSpatialGrid().forEachOverlap(this, id, action);
+    }
+
+    /**
+     * Call {@code action} for each {@code GameObject} in game whose {@code hitBox} intersects the {@code hitBox} of {@code this},
+     * regardless of {@code Id}.
+     * @param action called once for each overlapping {@code GameObject}
+     * @see SpatialGrid
+     */
+    public void forEachOverlap(Consumer<GameObject> action) {
+        app.getSpatialGrid().forEachOverlap(this, null, action);
     }
 
     /**
      * Movement pattern that makes this GameObject follow another GameObject.
+     * <p>
+     *     During a parallel {@code tick} the position of {@code gameObject} from the start of the {@code tick} is followed,
+     *     since {@code gameObject} may be moving on another thread.
+     * </p>
      * @param gameObject {@code GameObject}
      */
     public void movementPattern1(GameObject gameObject) {
-        if(Float.isNaN(velX) || Float.isNaN(velY)){
-            velX = 0;
-            velY = 0;
+        if(Float.isNaN(getVelX()) || Float.isNaN(getVelY())){
+            setVelX(0);
+            setVelY(0);
         }
 
-        xPos += velX;
-        yPos += velY;
-        yPos = Limiter.border(yPos, 0, app.getWindowHeight() - 100);
-
-        float diffX = xPos - gameObject.getXPos() - 8;
-        float diffY = yPos - gameObject.getYPos() - 8;
-        float distance = (float) Math.hypot(xPos - gameObject.getXPos(), yPos - gameObject.getYPos());
+        move();
+        float x = getXPos();
+        float y = Limiter.border(getYPos(), 0, app.getWindowHeight() - 100);
+        setYPos(y);
+
+        boolean parallel = app.isParallelPhase();
+        float targetX = parallel ? gameObject.getLastXPos() : gameObject.getXPos();
+        float targetY = parallel ? gameObject.getLastYPos() : gameObject.getYPos();
+        float diffX = x - targetX - 8;
+        float diffY = y - targetY - 8;
+        float distance = (float) Math.hypot(x - targetX, y - targetY);
+        if (distance == 0) {
+            // Standing on the target. Avoid dividing by zero, which would move this GameObject to infinity.
+            setVelX(0);
+            setVelY(0);
+            return;
+        }
 
-        velX = (float) ((-1.0/distance) * diffX);
-        velY = (float) ((-1.0/distance) * diffY);
+        setVelX((float) ((-1.0/distance) * diffX));
+        setVelY((float) ((-1.0/distance) * diffY));
     }
 
     /**
@@ -153,16 +470,70 @@ public class GameObject implements Cloneable {
      * <br> and changes trajectory when hitting the edge of the screen
      */
     public void movementPattern2() {
-        if (velX == 0 || velY == 0) {
-            velX = movementSpeed;
-            velY = movementSpeed;
+        if (getVelX() == 0 || getVelY() == 0) {
+            setVelX(movementSpeed);
+            setVelY(movementSpeed);
         }
-        if (xPos >= app.getWindowWidth() || xPos <= 0) velX *= -1;
-        if (yPos >= app.getWindowHeight() || yPos <= 0) velY *= -1;
+        if (getXPos() >= app.getWindowWidth() || getXPos() <= 0) setVelX(getVelX() * -1);
+        if (getYPos() >= app.getWindowHeight() || getYPos() <= 0) setVelY(getVelY() * -1);
+
+        move();
+    }
+
+    /**
+     * Apply {@code velX} and {@code velY} to the position.
+     * <p>
+     *     If {@code batchMovement} is on and the {@code EntityList} uses a {@code TransformStore},
+     *     the position was already updated for all {@code GameObjects} in one loop at the start of the {@code tick},
+     *     and this does nothing.
+     * </p>
+     * @see TransformStore
+     */
+    public void move() {
+        TransformStore s = store;
+        if (s != null && s.batchMovement[slot])
+            return;
+        setXPos(getXPos() + getVelX());
+        setYPos(getYPos() + getVelY());
+    }
 
-        xPos += velX;
-        yPos += velY;
+    /**
+     * @return true if the position is updated by the {@code TransformStore} instead of in {@code move()}.
+     */
+    public boolean isBatchMovement() {
+        TransformStore s = store;
+        return s == null ? batchMovement : s.batchMovement[slot];
+    }
 
+    /**
+     * Let the {@code TransformStore} apply the velocity of {@code this}, together with all other {@code GameObjects}, at the start of each {@code tick}.
+     * <p>
+     *     Only turn this on if {@code tick()} calls {@code move()} before it uses the position.
+     *     Has no effect unless the {@code EntityList} uses a {@code TransformStore}.
+     * </p>
+     * @param batchMovement {@code boolean}
+     * @see TransformStore
+     */
+    public void setBatchMovement(boolean batchMovement) {
+        this.batchMovement = batchMovement;
+        TransformStore s = store;
+        if (s != null)
+            s.batchMovement[slot] = batchMovement;
+    }
+
+    /**
+     * @return the prototype {@code this} was cloned from by a {@code Creator}, or {@code null}.
+     */
+    public GameObject getPrototype() {
+        return prototype;
+    }
+
+    /**
+     * Set by {@code Creator} when cloning. Used to return {@code this} to the right pool when it is {@code Id.DEAD}.
+     * @param prototype {@code GameObject}
+     */
+    public void setPrototype(GameObject prototype) {
+        this.prototype = prototype;
     }
 
     public ApplicationHandler getApp() {
@@ -182,61 +553,95 @@ public class GameObject implements Cloneable {
     }
 
     public void setWidth(int width) {
-        this.width = width;
+        TransformStore s = store;
+        if (s == null) this.width = width;
+        else s.width[slot] = width;
     }
 
     public void setHeight(int height) {
-        this.height = height;
+        TransformStore s = store;
+        if (s == null) this.height = height;
+        else s.height[slot] = height;
     }
 
     public int getWidth()
     {
-        return width;
+        TransformStore s = store;
+        return s == null ? width : s.width[slot];
     }
 
     public int getHeight()
     {
-        return height;
+        TransformStore s = store;
+        return s == null ? height : s.height[slot];
     }
 
     public float getXPos() {
-        return xPos;
+        TransformStore s = store;
+        return s == null ? xPos : s.xPos[slot];
     }
 
     public void setXPos(float xPos) {
-        this.xPos = xPos;
+        TransformStore s = store;
+        if (s == null) this.xPos = xPos;
+        else s.xPos[slot] = xPos;
     }
 
     public float getYPos() {
-        return yPos;
+        TransformStore s = store;
+        return s == null ? yPos : s.yPos[slot];
     }
 
     public void setYPos(float yPos) {
-        this.yPos = yPos;
+        TransformStore s = store;
+        if (s == null) this.yPos = yPos;
+        else s.yPos[slot] = yPos;
     }
 
     public Id getId() {
         return id;
     }
 
+    /**
+     * Change the {@code Id}. Set {@code Id.DEAD} to remove {@code this} from the game at the end of the {@code tick}.
+     * <p>
+     *     During a parallel {@code tick} the change is deferred until all {@code GameObjects} are updated,
+     *     so every {@code GameObject} sees the same {@code Ids} for the whole {@code tick}.
+     * </p>
+     * @param id {@code Id}
+     * @see ApplicationHandler#defer(Runnable)
+     */
     public void setId(Id id) {
+        if (app != null && app.isParallelPhase()) {
+            app.defer(() -> setId(id));
+            return;
+        }
+        Id previous = this.id;
         this.id = id;
+        if (owner != null && previous != id)
+            owner.idChanged(this, previous);
     }
 
     public float getVelX() {
-        return velX;
+        TransformStore s = store;
+        return s == null ? velX : s.velX[slot];
     }
 
     public void setVelX(float velX) {
-        this.velX = velX;
+        TransformStore s = store;
+        if (s == null) this.velX = velX;
+        else s.velX[slot] = velX;
     }
 
     public float getVelY() {
-        return velY;
+        TransformStore s = store;
+        return s == null ? velY : s.velY[slot];
     }
 
     public void setVelY(float velY) {
-        this.velY = velY;
+        TransformStore s = store;
+        if (s == null) this.velY = velY;
+        else s.velY[slot] = velY;
     }
 
     public float getMovementSpeed() {
@@ -254,5 +659,38 @@ public class GameObject implements Cloneable {
     public Color getColor() {
         return color;
     }
+
+    public Sprite getSprite() {
+        return sprite;
+    }
+
+    /**
+     * Draw an image instead of a rectangle. Use {@code AssetManager} to load it with the width and height of the {@code GameObject}.<br>
+     * Only used by the default {@code render()}-methods. Null draws the rectangle again.
+     * @param sprite {@code Sprite}
+     * @see AssetManager
+     */
+    public void setSprite(Sprite sprite) {
+        this.sprite = sprite;
+    }
+
+    public int getLayer() {
+        return layer;
+    }
+
+    /**
+     * Set which layer {@code this} is drawn in. Higher layers are drawn on top.
+     * <p>
+     *     Only matters with a {@code BatchingRenderer}, which draws each layer on top of the lower ones.
+     *     Within a layer, {@code GameObjects} are drawn in order.
+     * </p>
+     * @param layer from {@code BatchingRenderer.MIN_LAYER} to {@code BatchingRenderer.MAX_LAYER}
+     * @see BatchingRenderer
+     */
+    public void setLayer(int layer) {
+        if (layer < BatchingRenderer.MIN_LAYER || layer > BatchingRenderer.MAX_LAYER)
+            throw new IllegalArgumentException("layer must be from " + BatchingRenderer.MIN_LAYER + " to " + BatchingRenderer.MAX_LAYER + ": " + layer);
+        this.layer = layer;
+    }
 }
 
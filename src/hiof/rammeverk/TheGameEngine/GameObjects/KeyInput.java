@@ -1,12 +1,12 @@
 package hiof.rammeverk.TheGameEngine.GameObjects;
 
 import hiof.rammeverk.TheGameEngine.ApplicationHandler;
+import hiof.rammeverk.TheGameEngine.Helpers.InputState;
 import hiof.rammeverk.TheGameEngine.Window.GameBuilder;
 import hiof.rammeverk.TheGameEngine.Window.GameState;
 
 import java.awt.event.KeyAdapter;
 import java.awt.event.KeyEvent;
-import java.util.ConcurrentModificationException;
 
 /**
  * Add movement to {@code GameObjects} with {@code Id.PLAYER}.
@@ -14,92 +14,114 @@ import java.util.ConcurrentModificationException;
  *     To create your own key-input class, either extend this class or {@code KeyAdapter}.<br>
  *     Remember to use {@code Id} to determine which {@code GameObject} should listen to {@code KeyEvent}
  * </p>
+ * <p>
+ *     {@code KeyEvents} arrive on the AWT event thread. The keys are written to the {@code InputState} of the
+ *     {@code ApplicationHandler}, which is sampled at the start of each tick. Pausing is queued with
+ *     {@code ApplicationHandler.submit()} and handled by {@code togglePause()} on the game thread.
+ * </p>
+ * <p>
+ *     {@code ApplicationHandler.tick()} calls {@code steer()} for every {@code GameObject} with {@code Id.PLAYER},
+ *     before the {@code GameObjects} are moved, so a key changes the position in the same tick as it is sampled.
+ * </p>
  * @see java.awt.event.KeyAdapter
  * @see KeyEvent
+ * @see InputState
+ * @see PlayerCharacter
  *
  */
 public class KeyInput extends KeyAdapter {
+    private static final long NANOS_PER_MILLI = 1_000_000L;
+    private static final long MAX_WAIT_MILLIS = 1000;
     private final ApplicationHandler app;
     private final GameBuilder gameBuilder;
-    private final Boolean[] keyDown = new Boolean[6];
+    private final Runnable togglePause = this::togglePause;
 
     public KeyInput(ApplicationHandler app, GameBuilder gameBuilder) {
         this.app = app;
         this.gameBuilder = gameBuilder;
-
-        keyDown[0]=false;
-        keyDown[1]=false;
-        keyDown[2]=false;
-        keyDown[3]=false;
-        keyDown[4]=false;
-        keyDown[5]=false;
-
     }
 
     @Override
     public void keyPressed(KeyEvent e) {
         int key = e.getKeyCode();
-        try {
-            for (int i = 0; i < app.objects.size(); i++) {
-                if (app.objects.get(i).getId() == Id.PLAYER) {
-                    GameObject object = app.objects.get(i);
-                    // Player key events
-                    if (key == KeyEvent.VK_W) {
-                        object.setVelY(object.getMovementSpeed() * -1);
-                        keyDown[0] = true;
-                    }
-                    if (key == KeyEvent.VK_S) {
-                        object.setVelY(object.getMovementSpeed());
-                        keyDown[1] = true;
-                    }
-                    if (key == KeyEvent.VK_A) {
-                        object.setVelX(object.getMovementSpeed() * -1);
-                        keyDown[2] = true;
-                    }
-                    if (key == KeyEvent.VK_D) {
-                        object.setVelX(object.getMovementSpeed());
-                        keyDown[3] = true;
-                    }
-                    if (key == KeyEvent.VK_SPACE) {
-                        keyDown[4] = true;
-                        object.getApp().addObject(app.getCreator().cloneGameObject(Id.BULLET));
-                    }
-                }
-            }
-            if(gameBuilder.gameState() == GameState.GAME)
-                if(key == KeyEvent.VK_P){
-                    keyDown[5] = true;
-                    gameBuilder.setPaused(!gameBuilder.isPaused());
-                }
-
-            // Exit with esc
-            if(key == KeyEvent.VK_ESCAPE) System.exit(0);
-        }catch (ConcurrentModificationException ce){
-            System.out.println("This is not an error");
-        }
+        // Exit with esc
+        if(key == KeyEvent.VK_ESCAPE) System.exit(0);
+        app.getInput().keyPressed(key, eventNanos(e));
+        if(key == KeyEvent.VK_P)
+            app.submit(togglePause);
     }
+
     @Override
     public void keyReleased(KeyEvent e){
-        int key = e.getKeyCode();
-        try {
-            for (int i = 0; i < app.objects.size(); i++) {
-                if (app.objects.get(i).getId() == Id.PLAYER) {
-                    GameObject object = app.objects.get(i);
-                    // Player key events
-                    if (key == KeyEvent.VK_W) keyDown[0]=false;
-                    if (key == KeyEvent.VK_S) keyDown[1]=false;
-                    if (key == KeyEvent.VK_A) keyDown[2]=false;
-                    if (key == KeyEvent.VK_D) keyDown[3]=false;
-                    if (key == KeyEvent.VK_SPACE) keyDown[4]=false;
+        app.getInput().keyReleased(e.getKeyCode(), eventNanos(e));
+    }
 
-                    if(!keyDown[0] && !keyDown[1]) object.setVelY(0);
-                    if(!keyDown[2] && !keyDown[3]) object.setVelX(0);
-                }
-            }
-            if (key == KeyEvent.VK_P) keyDown[5]=false;
+    /**
+     * Move with W, A, S and D, and shoot one {@code Bullet} for each time SPACE was pressed.
+     * <p>
+     *     Reads the {@code InputState} sampled at the start of the tick. Called on the game thread, before the
+     *     {@code GameObjects} are moved and updated.
+     * </p>
+     * @param object {@code GameObject} with {@code Id.PLAYER}
+     * @see InputState
+     */
+    public static void steer(GameObject object) {
+        ApplicationHandler app = object.getApp();
+        InputState input = app.getInput();
+        float speed = object.getMovementSpeed();
+        object.setVelY(axis(input, KeyEvent.VK_W, KeyEvent.VK_S, object.getVelY(), speed));
+        object.setVelX(axis(input, KeyEvent.VK_A, KeyEvent.VK_D, object.getVelX(), speed));
+        if (object.getVelX() < 0)
+            object.setMovingLeft(true);
+        else if (object.getVelX() > 0)
+            object.setMovingLeft(false);
+        int shots = input.getPressCount(KeyEvent.VK_SPACE);
+        if (shots > 0 && app.getCreator() != null)
+            app.getCreator().cloneGameObjects(Id.BULLET, shots, app::addObject);
+    }
 
-        }catch (ConcurrentModificationException ce){
-            System.out.println("This will never happen");
+    /**
+     * Velocity along one axis.
+     * <p>
+     *     With both keys down the key pressed in this tick wins, or else the {@code GameObject} keeps going.
+     * </p>
+     */
+    private static float axis(InputState input, int negativeKey, int positiveKey, float velocity, float speed) {
+        boolean negative = input.isDown(negativeKey);
+        boolean positive = input.isDown(positiveKey);
+        if (negative && positive) {
+            if (input.wasPressed(positiveKey) != input.wasPressed(negativeKey))
+                return input.wasPressed(positiveKey) ? speed : -speed;
+            return velocity;
         }
+        if (negative)
+            return -speed;
+        if (positive)
+            return speed;
+        return 0;
+    }
+
+    /**
+     * Pause or continue the game on the game thread. Only in {@code GameState.GAME}.
+     */
+    protected void togglePause() {
+        if(gameBuilder.gameState() == GameState.GAME)
+            gameBuilder.setPaused(!gameBuilder.isPaused());
+    }
+
+    /**
+     * When the {@code KeyEvent} happened, on the {@code System.nanoTime()} clock.
+     * <p>
+     *     {@code KeyEvent.getWhen()} is in milliseconds of the wall clock, so the time the event waited
+     *     in the AWT event queue is subtracted from {@code System.nanoTime()}. Events older than a second,
+     *     like events made by code with a {@code when} of 0, get the current time.
+     * </p>
+     * @param e {@code KeyEvent}
+     * @return nanoseconds
+     */
+    protected static long eventNanos(KeyEvent e) {
+        long now = System.nanoTime();
+        long waited = System.currentTimeMillis() - e.getWhen();
+        return waited > 0 && waited < MAX_WAIT_MILLIS ? now - waited * NANOS_PER_MILLI : now;
     }
 }
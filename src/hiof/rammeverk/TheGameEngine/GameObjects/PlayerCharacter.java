@@ -1,26 +1,28 @@
 package hiof.rammeverk.TheGameEngine.GameObjects;
 
 import hiof.rammeverk.TheGameEngine.*;
+import hiof.rammeverk.TheGameEngine.Helpers.InputState;
 import hiof.rammeverk.TheGameEngine.Helpers.Limiter;
 import hiof.rammeverk.TheGameEngine.Window.HeadUpDisplay;
 import hiof.rammeverk.TheGameEngine.Window.Window;
 import hiof.rammeverk.TheGameEngine.Behavior.Creator;
 import hiof.rammeverk.TheGameEngine.Behavior.ObjectCreator;
+import hiof.rammeverk.TheGameEngine.Render.Renderer;
 
 import java.awt.Rectangle;
 import java.awt.Color;
-import java.awt.Graphics;
 
 /**
  * Example of a {@code GameObject}-subclass.
  * <p>
  *     This class has movement depending on {@code KeyInput}.<br>
- *     The {@code tick()}-method applies this movement to the {@code GameObject}.
+ *     {@code KeyInput.steer()} sets the velocity from the {@code InputState} before the {@code GameObjects} are moved,
+ *     and the {@code tick()}-method keeps the {@code GameObject} inside the window.
  * </p>
  * <p>
  *     This class has collision detection for {@code GameObjects} with {@code Id.BULLET}.<br>
  *     The {@code collision}-method applies this detection.<br>
- *     {@code collision} uses a {@code GameObjects} {@code hitBox()}-method.
+ *     {@code collision} uses {@code forEachOverlap()}, which compares the hit boxes without allocating.
  * </p>
  * @see GameObject
  * @see Bullet
@@ -48,6 +50,7 @@ public class PlayerCharacter extends GameObject {
         setWidth(30);
         setHeight(100);
         setMovementSpeed(10);
+        setBatchMovement(true);
     }
 
     private PlayerCharacter(PlayerCharacter playerCharacter) {
@@ -56,13 +59,14 @@ public class PlayerCharacter extends GameObject {
         setHeight(playerCharacter.getHeight());
         setWidth(playerCharacter.getWidth());
         setColor(playerCharacter.getColor());
+        setBatchMovement(true);
     }
 
     /**
      * Create an instance of this class.
      * <p>
      *     Instantiates an instance of {@code PlayerCharacter}.
-     *     <br> Implements the singleton pattern.
+     *     <br> Implements the singleton pattern, with one {@code PlayerCharacter} for each {@code ApplicationHandler}.
      * </p>
      * @param id {@code Id}
      * @param app {@code ApplicationHandler}
@@ -74,7 +78,7 @@ public class PlayerCharacter extends GameObject {
      * @see GameObject
      */
     public static PlayerCharacter create(Id id, ApplicationHandler app){
-        if(player == null)
+        if(player == null || player.getApp() != app)
             player = new PlayerCharacter(id, app);
         return player;
     }
@@ -86,16 +90,17 @@ public class PlayerCharacter extends GameObject {
      */
     @Override
     public PlayerCharacter cloneObject() {
-        return new PlayerCharacter(player);
+        return new PlayerCharacter(this);
     }
 
     /**
      * Behavior of {@code PlayerCharacter} for each iteration ({@code tick}) of the game.
      * <p>
-     *     This implementation will move from {@code KeyInput}-commands<br>
+     *     Moved with W, A, S and D by {@code KeyInput.steer()} before the tick. This implementation keeps it inside the
+     *     window and checks for collisions.
      * </p>
      * <p>
-     *     The {@code PlayerCharacter} can shoot with SPACE-button.
+     *     The {@code PlayerCharacter} can shoot with SPACE-button. One {@code Bullet} is shot for each press.
      *     {@code moveLeft} is a  {@code boolean} value that <br>
      *     determines which direction the {@code Bullet} will go.
      *
@@ -105,15 +110,11 @@ public class PlayerCharacter extends GameObject {
      * @see GameObject
      * @see Bullet
      * @see KeyInput
+     * @see InputState
      */
     @Override
     public void tick() {
-        setXPos(getXPos() + getVelX());
-        setYPos(getYPos() + getVelY());
-        if (getVelX() < 0) {
-            setMovingLeft(true);
-        }else if (getVelX() > 0)
-            setMovingLeft(false);
+        move();
         setXPos(Limiter.border(getXPos(), limitLeft, getApp().getWindowWidth() - 48 - limitRight));
         setYPos(Limiter.border(getYPos(), limitTop, getApp().getWindowHeight() - 130 - limitBottom));
         collision();
@@ -121,48 +122,30 @@ public class PlayerCharacter extends GameObject {
 
     /**
      * How to draw the {@code GameObject} to the window.
-     * @param g {@code Graphics}
-     * @see Graphics
+     * @param renderer {@code Renderer}
+     * @see Renderer
      */
     @Override
-    public void render(Graphics g) {
-        g.setColor(Color.BLACK);
-        g.fillRect((int) getXPos(), (int) getYPos(), getWidth(), getHeight());
+    public void render(Renderer renderer) {
+        renderer.setColor(Color.BLACK);
+        renderer.fillRect((int) getXPos(), (int) getYPos(), getWidth(), getHeight());
     }
 
     /**
      * This implementation of {@code collision} detect collision with {@code Id.BASIC_ENEMY} and {@code Id.SMART_ENEMY}.
-     * <br> Uses {@code hitBox} and {@code Rectangle}.
-     * @see Rectangle
+     * <br> Uses {@code forEachOverlap}, which only checks nearby {@code GameObjects}.
+     * @see SpatialGrid
      * @see Id
      */
     private void collision(){
-        for(int i = 0; i < getApp().objects.size(); i++){
-            if(getApp().objects.get(i).getId() == Id.BASIC_ENEMY || getApp().objects.get(i).getId() == Id.SMART_ENEMY){
+        forEachOverlap(other -> {
+            if(other.getId() == Id.BASIC_ENEMY || other.getId() == Id.SMART_ENEMY){
                 // Collision
-                if(this.hitBox().intersects(getApp().objects.get(i).hitBox())){
-                    HeadUpDisplay.setHealth(HeadUpDisplay.getHealth() -2);
-                }
-            }else if(getApp().objects.get(i).getId() == Id.BOSS_ENEMY){
-                if(this.hitBox().intersects(getApp().objects.get(i).hitBox())){
-                    HeadUpDisplay.setHealth(HeadUpDisplay.getHealth() -1);
-                }
+                getApp().defer(() -> HeadUpDisplay.setHealth(HeadUpDisplay.getHealth() -2));
+            }else if(other.getId() == Id.BOSS_ENEMY){
+                getApp().defer(() -> HeadUpDisplay.setHealth(HeadUpDisplay.getHealth() -1));
             }
-        }
-    }
-
-    /**
-     * Determine {@code hitBox} of the {@code GameObject}.
-     * <p>
-     *     A {@code hitBox} is the area the of the {@code GameObject} that is checked for {@code collision}.
-     *     <br> I.e this can be to deal damage or receive damage.
-     * </p>
-     * @return Rectangle {@code java.awt.Rectangle}
-     * @see Rectangle
-     */
-    @Override
-    public Rectangle hitBox() {
-        return new Rectangle((int) getXPos(), (int) getYPos(), getWidth(), getHeight());
+        });
     }
 
     public void setLimitRight(int limitRight) {
@@ -0,0 +1,229 @@
+package hiof.rammeverk.TheGameEngine.GameObjects;
+
+import hiof.rammeverk.TheGameEngine.ApplicationHandler;
+
+import java.util.function.Consumer;
+
+/**
+ * Uniform spatial hash grid used as a <em>broadphase</em> for collision detection.
+ * <p>
+ *     The game area is split into equally sized cells based on {@code windowWidth} and {@code windowHeight}.<br>
+ *     Every {@code GameObject} is stored in all cells its {@code hitBox} touches,
+ *     so a collision check only has to look at {@code GameObjects} in nearby cells instead of the whole {@code objects}-list.
+ * </p>
+ * <p>
+ *     {@code GameObjects} outside the window are stored in the closest cell along the edge.
+ * </p>
+ * <p>
+ *     The grid is rebuilt at the start of {@code ApplicationHandler.tick()} and updated after each {@code GameObject} has moved.
+ *     Use {@code GameObject.forEachOverlap()} instead of using this class directly.
+ * </p>
+ * <p>
+ *     During a parallel {@code tick} the grid is <em>frozen</em>: it can not be changed, and {@code forEachOverlap()}
+ *     compares against the {@code hitBoxes} recorded at the start of the {@code tick}, so it is safe to query from many threads.
+ * </p>
+ * @see GameObject
+ * @see ApplicationHandler
+ */
+public class SpatialGrid {
+    /**
+     * Preferred size of a cell in pixels. The actual size is adjusted to divide the window evenly.
+     */
+    private static final int PREFERRED_CELL_SIZE = 100;
+    private static final int INITIAL_CELL_CAPACITY = 8;
+
+    private final int columns;
+    private final int rows;
+    private final float cellWidth;
+    private final float cellHeight;
+    private final GameObject[][] cells;
+    private final int[] cellSizes;
+    private boolean frozen;
+
+    /**
+     * Create a grid covering a window of the given size.
+     * @param windowWidth width of the game area
+     * @param windowHeight height of the game area
+     */
+    public SpatialGrid(int windowWidth, int windowHeight) {
+        this.columns = Math.max(1, windowWidth / PREFERRED_CELL_SIZE);
+        this.rows = Math.max(1, windowHeight / PREFERRED_CELL_SIZE);
+        this.cellWidth = Math.max(1, windowWidth) / (float) columns;
+        this.cellHeight = Math.max(1, windowHeight) / (float) rows;
+        this.cells = new GameObject[columns * rows][];
+        this.cellSizes = new int[columns * rows];
+    }
+
+    /**
+     * Remove every {@code GameObject} from the grid.
+     */
+    public void clear() {
+        checkNotFrozen();
+        for (int i = 0; i < cells.length; i++) {
+            GameObject[] cell = cells[i];
+            for (int j = 0; j < cellSizes[i]; j++) {
+                cell[j].gridMinX = -1;
+                cell[j] = null;
+            }
+            cellSizes[i] = 0;
+        }
+    }
+
+    /**
+     * Clear the grid and insert all the given {@code GameObjects}.
+     * @param objects {@code GameObjects} to insert
+     */
+    public void rebuild(EntityList objects) {
+        clear();
+        for (int i = 0; i < objects.size(); i++) {
+            GameObject object = objects.get(i);
+            if (object.getId() != Id.DEAD)
+                insert(object);
+        }
+    }
+
+    /**
+     * Freeze or unfreeze the grid. Used by {@code ApplicationHandler} around a parallel {@code tick}.
+     * @param frozen true to stop changes and compare against the recorded {@code hitBoxes}
+     * @see GameObject#getLastXPos()
+     */
+    public void setFrozen(boolean frozen) {
+        this.frozen = frozen;
+    }
+
+    public boolean isFrozen() {
+        return frozen;
+    }
+
+    /**
+     * Add a {@code GameObject} to every cell its {@code hitBox} touches.
+     * @param object {@code GameObject}
+     */
+    public void insert(GameObject object) {
+        checkNotFrozen();
+        if (object.gridMinX >= 0)
+            remove(object);
+        float left = object.getHitBoxX();
+        float top = object.getHitBoxY();
+        object.gridMinX = column(left);
+        object.gridMinY = row(top);
+        object.gridMaxX = column(left + object.getHitBoxWidth());
+        object.gridMaxY = row(top + object.getHitBoxHeight());
+        for (int y = object.gridMinY; y <= object.gridMaxY; y++) {
+            for (int x = object.gridMinX; x <= object.gridMaxX; x++) {
+                add(y * columns + x, object);
+            }
+        }
+    }
+
+    /**
+     * Remove a {@code GameObject} from the grid. Does nothing if it is not in the grid.
+     * @param object {@code GameObject}
+     */
+    public void remove(GameObject object) {
+        if (object.gridMinX < 0)
+            return;
+        checkNotFrozen();
+        for (int y = object.gridMinY; y <= object.gridMaxY; y++) {
+            for (int x = object.gridMinX; x <= object.gridMaxX; x++) {
+                remove(y * columns + x, object);
+            }
+        }
+        object.gridMinX = -1;
+    }
+
+    /**
+     * Move a {@code GameObject} to the cells matching its current {@code hitBox}.
+     * <p>
+     *     Cheap when the {@code GameObject} is still within the same cells.
+     * </p>
+     * @param object {@code GameObject}
+     */
+    public void update(GameObject object) {
+        if (object.gridMinX < 0) {
+            insert(object);
+            return;
+        }
+        float x = object.getHitBoxX();
+        float y = object.getHitBoxY();
+        if (column(x) == object.gridMinX && row(y) == object.gridMinY
+                && column(x + object.getHitBoxWidth()) == object.gridMaxX && row(y + object.getHitBoxHeight()) == object.gridMaxY)
+            return;
+        remove(object);
+        insert(object);
+    }
+
+    /**
+     * Call {@code action} for every {@code GameObject} whose {@code hitBox} intersects the {@code hitBox} of {@code source}.
+     * <p>
+     *     Uses {@code GameObject.intersects()}, so no {@code Rectangle} is created.
+     * </p>
+     * @param source the {@code GameObject} to check
+     * @param id only report {@code GameObjects} with this {@code Id}. {@code null} reports all.
+     * @param action called once for each overlapping {@code GameObject}
+     */
+    public void forEachOverlap(GameObject source, Id id, Consumer<GameObject> action) {
+        float sourceX = source.getHitBoxX();
+        float sourceY = source.getHitBoxY();
+        int minX = column(sourceX);
+        int minY = row(sourceY);
+        int maxX = column(sourceX + source.getHitBoxWidth());
+        int maxY = row(sourceY + source.getHitBoxHeight());
+        for (int y = minY; y <= maxY; y++) {
+            for (int x = minX; x <= maxX; x++) {
+                int index = y * columns + x;
+                GameObject[] cell = cells[index];
+                for (int i = 0; i < cellSizes[index]; i++) {
+                    GameObject candidate = cell[i];
+                    if (candidate == source || (id != null && candidate.getId() != id))
+                        continue;
+                    // A GameObject spanning several cells is only reported from the first shared cell.
+                    if (x != Math.max(candidate.gridMinX, minX) || y != Math.max(candidate.gridMinY, minY))
+                        continue;
+                    if (frozen ? source.intersectsLast(candidate) : source.intersects(candidate))
+                        action.accept(candidate);
+                }
+            }
+        }
+    }
+
+    private void checkNotFrozen() {
+        if (frozen)
+            throw new IllegalStateException("The SpatialGrid can not be changed during a parallel tick");
+    }
+
+    private int column(float x) {
+        return Math.min(columns - 1, Math.max(0, (int) (x / cellWidth)));
+    }
+
+    private int row(float y) {
+        return Math.min(rows - 1, Math.max(0, (int) (y / cellHeight)));
+    }
+
+    private void add(int index, GameObject object) {
+        GameObject[] cell = cells[index];
+        if (cell == null) {
+            cell = new GameObject[INITIAL_CELL_CAPACITY];
+            cells[index] = cell;
+        } else if (cellSizes[index] == cell.length) {
+            GameObject[] grown = new GameObject[cell.length * 2];
+            System.arraycopy(cell, 0, grown, 0, cell.length);
+            cell = grown;
+            cells[index] = cell;
+        }
+        cell[cellSizes[index]++] = object;
+    }
+
+    private void remove(int index, GameObject object) {
+        GameObject[] cell = cells[index];
+        int size = cellSizes[index];
+        for (int i = 0; i < size; i++) {
+            if (cell[i] == object) {
+                cell[i] = cell[size - 1];
+                cell[size - 1] = null;
+                cellSizes[index] = size - 1;
+                return;
+            }
+        }
+    }
+}
@@ -0,0 +1,109 @@
+package hiof.rammeverk.TheGameEngine.GameObjects;
+
+import java.util.Arrays;
+
+/**
+ * Structure-of-arrays storage for position, velocity and size of the {@code GameObjects} in an {@code EntityList}.
+ * <p>
+ *     When enabled with {@code EntityList.setStructureOfArrays(true)}, {@code xPos}, {@code yPos}, {@code velX}, {@code velY},
+ *     {@code width} and {@code height} of every {@code GameObject} in game are kept in parallel primitive arrays,
+ *     indexed by the {@code slot} of the {@code GameObject}.<br>
+ *     The getters and setters in {@code GameObject} read and write these arrays, so existing code keeps working.
+ * </p>
+ * <p>
+ *     {@code move()} applies the velocity of every {@code GameObject} with {@code batchMovement} in one loop over the arrays.
+ * </p>
+ * @see EntityList
+ * @see GameObject
+ */
+public class TransformStore {
+    float[] xPos;
+    float[] yPos;
+    float[] velX;
+    float[] velY;
+    int[] width;
+    int[] height;
+    boolean[] batchMovement;
+
+    TransformStore(int capacity) {
+        xPos = new float[capacity];
+        yPos = new float[capacity];
+        velX = new float[capacity];
+        velY = new float[capacity];
+        width = new int[capacity];
+        height = new int[capacity];
+        batchMovement = new boolean[capacity];
+    }
+
+    /**
+     * Apply {@code velX} and {@code velY} to the position of the first {@code size} slots with {@code batchMovement}.
+     * @param size number of slots in use
+     */
+    void move(int size) {
+        final float[] x = xPos, y = yPos, vx = velX, vy = velY;
+        final boolean[] batched = batchMovement;
+        for (int i = 0; i < size; i++) {
+            if (batched[i]) {
+                x[i] += vx[i];
+                y[i] += vy[i];
+            }
+        }
+    }
+
+    /**
+     * Make sure there is room for {@code capacity} slots.
+     */
+    void ensureCapacity(int capacity) {
+        if (capacity <= xPos.length)
+            return;
+        int length = Math.max(capacity, xPos.length * 2);
+        xPos = Arrays.copyOf(xPos, length);
+        yPos = Arrays.copyOf(yPos, length);
+        velX = Arrays.copyOf(velX, length);
+        velY = Arrays.copyOf(velY, length);
+        width = Arrays.copyOf(width, length);
+        height = Arrays.copyOf(height, length);
+        batchMovement = Arrays.copyOf(batchMovement, length);
+    }
+
+    /**
+     * Copy the fields of a {@code GameObject} into {@code slot} and let its getters and setters use the arrays.
+     */
+    void attach(GameObject object, int slot) {
+        ensureCapacity(slot + 1);
+        xPos[slot] = object.xPos;
+        yPos[slot] = object.yPos;
+        velX[slot] = object.velX;
+        velY[slot] = object.velY;
+        width[slot] = object.width;
+        height[slot] = object.height;
+        batchMovement[slot] = object.batchMovement;
+        object.store = this;
+    }
+
+    /**
+     * Copy {@code slot} back into the fields of a {@code GameObject} and let its getters and setters use the fields again.
+     */
+    void detach(GameObject object, int slot) {
+        object.xPos = xPos[slot];
+        object.yPos = yPos[slot];
+        object.velX = velX[slot];
+        object.velY = velY[slot];
+        object.width = width[slot];
+        object.height = height[slot];
+        object.store = null;
+    }
+
+    /**
+     * Move the values in slot {@code from} to slot {@code to}. Used when {@code EntityList} fills a removed slot.
+     */
+    void copy(int from, int to) {
+        xPos[to] = xPos[from];
+        yPos[to] = yPos[from];
+        velX[to] = velX[from];
+        velY[to] = velY[from];
+        width[to] = width[from];
+        height[to] = height[from];
+        batchMovement[to] = batchMovement[from];
+    }
+}
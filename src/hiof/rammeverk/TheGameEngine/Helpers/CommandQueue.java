@@ -0,0 +1,186 @@
+package hiof.rammeverk.TheGameEngine.Helpers;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Lock-free queue of commands that are run later on the game thread.
+ * <p>
+ *     Any thread may call {@code submit()}. Submitting never blocks and never waits for the game thread.<br>
+ *     Only one thread, the game thread, may call {@code drain()}.
+ *     The commands from one thread are run in the order they were submitted.
+ * </p>
+ * <p>
+ *     A command is either a {@code Runnable}, or a <em>typed command</em>: an opcode and a target, given to the
+ *     {@code Handler} of the queue. Typed commands need no lambda, so {@code addObject()} creates no objects.
+ * </p>
+ * <p>
+ *     Commands submitted from the game thread, the thread that last called {@code drain()}, are kept in arrays that are
+ *     reused from tick to tick. Commands from other threads are linked in with one atomic {@code getAndSet}.
+ * </p>
+ * <p>
+ *     Use this to change the game from {@code KeyListeners} and {@code MouseListeners},
+ *     which run on the AWT event thread while the game thread is looping over {@code ApplicationHandler.getObjects()}.
+ * </p>
+ * @param <T> type of the targets of the typed commands
+ */
+public class CommandQueue<T> {
+    private static final int RUN = -1;
+    private static final int INITIAL_CAPACITY = 64;
+
+    private final Handler<T> handler;
+
+    private final AtomicReference<Node<T>> tail;
+    private Node<T> head;
+
+    private volatile Thread consumer;
+    private int[] opcodes = new int[INITIAL_CAPACITY];
+    private Object[] targets = new Object[INITIAL_CAPACITY];
+    private int read;
+    private int write;
+
+    /**
+     * Runs the typed commands of a {@code CommandQueue}.
+     * @param <T> type of the targets
+     */
+    @FunctionalInterface
+    public interface Handler<T> {
+        /**
+         * @param opcode from {@code submit(int, Object)}
+         * @param target from {@code submit(int, Object)}, may be null
+         */
+        void apply(int opcode, T target);
+    }
+
+    /**
+     * A queue of {@code Runnables} only.
+     */
+    public CommandQueue() {
+        this((opcode, target) -> {
+            throw new IllegalStateException("No handler for opcode " + opcode);
+        });
+    }
+
+    /**
+     * @param handler runs the typed commands on the game thread
+     */
+    public CommandQueue(Handler<T> handler) {
+        this.handler = handler;
+        Node<T> stub = new Node<>(RUN, null, null);
+        head = stub;
+        tail = new AtomicReference<>(stub);
+    }
+
+    /**
+     * Add a command to the end of the queue. Safe to call from any thread.
+     * @param command {@code Runnable} to run on the game thread
+     */
+    public void submit(Runnable command) {
+        if (Thread.currentThread() == consumer)
+            append(RUN, command);
+        else
+            link(new Node<>(RUN, null, command));
+    }
+
+    /**
+     * Add a typed command to the end of the queue. Safe to call from any thread.
+     * <p>
+     *     Creates no objects when called from the game thread.
+     * </p>
+     * @param opcode given to the {@code Handler}. Must be at least 0.
+     * @param target given to the {@code Handler}
+     */
+    public void submit(int opcode, T target) {
+        if (opcode < 0)
+            throw new IllegalArgumentException("opcode must be at least 0: " + opcode);
+        if (Thread.currentThread() == consumer)
+            append(opcode, target);
+        else
+            link(new Node<>(opcode, target, null));
+    }
+
+    /**
+     * Run all submitted commands.
+     * <p>
+     *     Commands submitted while draining are also run.
+     *     Must only be called from the game thread. The calling thread becomes the game thread.
+     * </p>
+     * @return number of commands run
+     */
+    public int drain() {
+        Thread current = Thread.currentThread();
+        if (consumer != current)
+            consumer = current;
+        int count = 0;
+        boolean ran;
+        do {
+            ran = false;
+            while (read < write) {
+                int opcode = opcodes[read];
+                Object target = targets[read];
+                targets[read] = null;
+                read++;
+                run(opcode, target);
+                count++;
+                ran = true;
+            }
+            read = 0;
+            write = 0;
+            Node<T> next;
+            while ((next = head.next) != null) {
+                Object target = next.command != null ? next.command : next.target;
+                next.command = null;
+                next.target = null;
+                head = next;
+                run(next.opcode, target);
+                count++;
+                ran = true;
+            }
+        } while (ran);
+        return count;
+    }
+
+    /**
+     * @return true if no command is waiting. Only reliable on the game thread.
+     */
+    public boolean isEmpty() {
+        return read == write && head.next == null;
+    }
+
+    @SuppressWarnings("unchecked")
+    private void run(int opcode, Object target) {
+        if (opcode == RUN)
+            ((Runnable) target).run();
+        else
+            handler.apply(opcode, (T) target);
+    }
+
+    private void append(int opcode, Object target) {
+        if (write == opcodes.length) {
+            opcodes = Arrays.copyOf(opcodes, write * 2);
+            targets = Arrays.copyOf(targets, write * 2);
+        }
+        opcodes[write] = opcode;
+        targets[write] = target;
+        write++;
+    }
+
+    private void link(Node<T> node) {
+        Node<T> previous = tail.getAndSet(node);
+        // Until this write the consumer stops at previous, and picks the command up on the next drain.
+        previous.next = node;
+    }
+
+    private static final class Node<T> {
+        private final int opcode;
+        private T target;
+        private Runnable command;
+        private volatile Node<T> next;
+
+        private Node(int opcode, T target, Runnable command) {
+            this.opcode = opcode;
+            this.target = target;
+            this.command = command;
+        }
+    }
+}
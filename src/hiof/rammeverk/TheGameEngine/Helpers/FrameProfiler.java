@@ -0,0 +1,195 @@
+package hiof.rammeverk.TheGameEngine.Helpers;
+
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Measures how long each phase of a tick and a frame takes.
+ * <p>
+ *     The durations are recorded in one {@code Histogram} per {@code Phase}. Once per interval, one second by default,
+ *     the histograms are copied to the <em>last interval</em> and cleared, so the numbers always cover a recent second.
+ * </p>
+ * <p>
+ *     When disabled, {@code start()} and {@code lap()} only read a field and return 0. Nothing is timed or recorded.
+ * </p>
+ * <pre>{@code
+ *     long t = profiler.start();
+ *     app.tick();
+ *     t = profiler.lap(Phase.APP_TICK, t);
+ *     hud.tick();
+ *     profiler.lap(Phase.HUD_TICK, t);
+ * }</pre>
+ * <p>
+ *     Record from the game thread only. When the frames are drawn on their own thread, that thread has its own
+ *     {@code FrameProfiler} for the frame phases, see {@code Phase.isFrame()}.
+ * </p>
+ * @see Histogram
+ */
+public class FrameProfiler {
+    /**
+     * Parts of the game loop that are timed.
+     */
+    public enum Phase {
+        /** Commands queued by {@code KeyInput}, {@code Menu} and other threads. */
+        COMMANDS(false),
+        /** {@code ApplicationHandler.tick()}. */
+        APP_TICK(false),
+        /** {@code HeadUpDisplay.tick()}. */
+        HUD_TICK(false),
+        /** {@code GameLoop.tick()}. */
+        LOOP_TICK(false),
+        /** A whole tick. */
+        TICK(false),
+        /** Recording the {@code FrameSnapshot} of a tick, when rendering on its own thread. */
+        SNAPSHOT(false),
+        /** Clearing the frame. */
+        CLEAR(true),
+        /** {@code ApplicationHandler.render()}, or drawing the {@code FrameSnapshot}. */
+        APP_RENDER(true),
+        /** {@code HeadUpDisplay.render()}. */
+        HUD_RENDER(true),
+        /** {@code Menu.render()}. */
+        MENU_RENDER(true),
+        /** {@code BufferStrategy.show()}. */
+        SHOW(true),
+        /** A whole frame. */
+        FRAME(true),
+        /** From a {@code KeyEvent} to the {@code BufferStrategy.show()} of the first frame after the tick that sampled it. */
+        INPUT_LATENCY(true);
+
+        private final boolean frame;
+
+        Phase(boolean frame) {
+            this.frame = frame;
+        }
+
+        /**
+         * @return true if the phase is timed while drawing a frame, false if while running a tick
+         */
+        public boolean isFrame() {
+            return frame;
+        }
+    }
+
+    private static final long NANOS_PER_SECOND = 1_000_000_000L;
+
+    private final Map<Phase, Histogram> current = new EnumMap<>(Phase.class);
+    private final Map<Phase, Histogram> last = new EnumMap<>(Phase.class);
+    private volatile boolean enabled;
+    private long intervalNanos = NANOS_PER_SECOND;
+    private long intervalStart;
+    private long lastIntervalNanos;
+
+    public FrameProfiler() {
+        for (Phase phase : Phase.values()) {
+            current.put(phase, new Histogram());
+            last.put(phase, new Histogram());
+        }
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Turn the profiler on or off. Safe to call from any thread.
+     * @param enabled {@code boolean}
+     */
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    /**
+     * Start timing.
+     * @return {@code System.nanoTime()}, or 0 if the profiler is disabled
+     */
+    public long start() {
+        return enabled ? System.nanoTime() : 0;
+    }
+
+    /**
+     * Record the time since {@code start} for {@code phase}, and start timing the next phase.
+     * @param phase {@code Phase} that just ended
+     * @param start value returned by {@code start()} or the previous {@code lap()}
+     * @return {@code System.nanoTime()}, or 0 if the profiler is disabled
+     */
+    public long lap(Phase phase, long start) {
+        if (!enabled || start == 0)
+            return 0;
+        long now = System.nanoTime();
+        current.get(phase).record(now - start);
+        return now;
+    }
+
+    /**
+     * Record a duration measured somewhere else.
+     * @param phase {@code Phase}
+     * @param nanos duration in nanoseconds
+     */
+    public void record(Phase phase, long nanos) {
+        if (enabled)
+            current.get(phase).record(nanos);
+    }
+
+    /**
+     * Move the histograms to the last interval if the interval is over. Call once per loop.
+     * @param now {@code System.nanoTime()}
+     * @return true if a new interval was published
+     */
+    public boolean rollOver(long now) {
+        if (!enabled) {
+            if (intervalStart != 0) {
+                // Start a fresh interval when enabled again.
+                for (Histogram histogram : current.values())
+                    histogram.reset();
+                intervalStart = 0;
+            }
+            return false;
+        }
+        if (intervalStart == 0) {
+            intervalStart = now;
+            return false;
+        }
+        long elapsed = now - intervalStart;
+        if (elapsed < intervalNanos)
+            return false;
+        for (Phase phase : Phase.values()) {
+            Histogram histogram = current.get(phase);
+            last.get(phase).copyFrom(histogram);
+            histogram.reset();
+        }
+        lastIntervalNanos = elapsed;
+        intervalStart = now;
+        return true;
+    }
+
+    /**
+     * @param phase {@code Phase}
+     * @return {@code Histogram} of the last whole interval
+     */
+    public Histogram getLast(Phase phase) {
+        return last.get(phase);
+    }
+
+    /**
+     * @param phase {@code Phase}
+     * @return how many times per second {@code phase} ran in the last interval
+     */
+    public double getRate(Phase phase) {
+        return lastIntervalNanos == 0 ? 0 : last.get(phase).getCount() * (double) NANOS_PER_SECOND / lastIntervalNanos;
+    }
+
+    public long getIntervalNanos() {
+        return intervalNanos;
+    }
+
+    /**
+     * Change how often the histograms are published. Default is one second.
+     * @param intervalNanos at least 1
+     */
+    public void setIntervalNanos(long intervalNanos) {
+        if (intervalNanos <= 0)
+            throw new IllegalArgumentException("intervalNanos must be positive: " + intervalNanos);
+        this.intervalNanos = intervalNanos;
+    }
+}
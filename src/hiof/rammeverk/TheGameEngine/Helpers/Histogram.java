@@ -0,0 +1,119 @@
+package hiof.rammeverk.TheGameEngine.Helpers;
+
+import java.util.Arrays;
+
+/**
+ * Histogram of durations in nanoseconds, with buckets like an HDR-histogram.
+ * <p>
+ *     Each power of two is split into 16 buckets, so any recorded value is known within about 6%,
+ *     from 1 nanosecond up to {@code Long.MAX_VALUE}. Recording is one array increment and creates no objects.
+ * </p>
+ * <p>
+ *     Not thread-safe. Record from one thread, and use {@code copyFrom()} to hand the values to another.
+ * </p>
+ * @see FrameProfiler
+ */
+public class Histogram {
+    private static final int SUB_BITS = 4;
+    private static final int SUB_BUCKETS = 1 << SUB_BITS;
+    private static final int BUCKETS = (64 - SUB_BITS + 1) * SUB_BUCKETS;
+
+    private final long[] counts = new long[BUCKETS];
+    private long count;
+    private long total;
+    private long max;
+
+    /**
+     * Add one value.
+     * @param value nanoseconds. Negative values are counted as 0.
+     */
+    public void record(long value) {
+        if (value < 0)
+            value = 0;
+        counts[bucket(value)]++;
+        count++;
+        total += value;
+        if (value > max)
+            max = value;
+    }
+
+    /**
+     * @return number of values recorded
+     */
+    public long getCount() {
+        return count;
+    }
+
+    /**
+     * @return largest value recorded, exactly
+     */
+    public long getMax() {
+        return max;
+    }
+
+    /**
+     * @return mean of the values recorded, exactly
+     */
+    public long getMean() {
+        return count == 0 ? 0 : total / count;
+    }
+
+    /**
+     * Value that {@code percentile} percent of the recorded values are less than or equal to.
+     * <p>
+     *     Returns the highest value of the bucket, but never more than {@code getMax()}.
+     * </p>
+     * @param percentile from 0 to 100, for example 50 for the median or 99
+     * @return nanoseconds, 0 if nothing is recorded
+     */
+    public long getValueAtPercentile(double percentile) {
+        if (count == 0)
+            return 0;
+        long target = Math.max(1, (long) Math.ceil(Math.min(100, Math.max(0, percentile)) / 100.0 * count));
+        long seen = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            seen += counts[i];
+            if (seen >= target)
+                return Math.min(highestValue(i), max);
+        }
+        return max;
+    }
+
+    /**
+     * Remove all values.
+     */
+    public void reset() {
+        Arrays.fill(counts, 0);
+        count = 0;
+        total = 0;
+        max = 0;
+    }
+
+    /**
+     * Replace the values of {@code this} with the values of {@code other}.
+     * @param other {@code Histogram}
+     */
+    public void copyFrom(Histogram other) {
+        System.arraycopy(other.counts, 0, counts, 0, BUCKETS);
+        count = other.count;
+        total = other.total;
+        max = other.max;
+    }
+
+    private static int bucket(long value) {
+        if (value < SUB_BUCKETS)
+            return (int) value;
+        int exponent = 63 - Long.numberOfLeadingZeros(value);
+        int mantissa = (int) (value >>> (exponent - SUB_BITS)) & (SUB_BUCKETS - 1);
+        return (exponent - SUB_BITS + 1) * SUB_BUCKETS + mantissa;
+    }
+
+    private static long highestValue(int bucket) {
+        if (bucket < SUB_BUCKETS)
+            return bucket;
+        int exponent = bucket / SUB_BUCKETS + SUB_BITS - 1;
+        long mantissa = SUB_BUCKETS + bucket % SUB_BUCKETS;
+        long next = (mantissa + 1) << (exponent - SUB_BITS);
+        return next <= 0 ? Long.MAX_VALUE : next - 1;
+    }
+}
@@ -0,0 +1,292 @@
+package hiof.rammeverk.TheGameEngine.Helpers;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.function.LongConsumer;
+
+/**
+ * Keys held down and keys pressed, written by the AWT event thread and read by the game thread without locks.
+ * <p>
+ *     {@code keyPressed()} and {@code keyReleased()} set a bit in an atomic bitset, and put the key and the time of the
+ *     {@code KeyEvent} in a bounded ring of events. Neither blocks, and neither creates any objects.
+ *     If the ring is full the event is dropped, but the bitset is still updated, so {@code isDown()} stays right.
+ * </p>
+ * <p>
+ *     {@code sample()} is called once at the start of each tick on the game thread. It copies the bitset and takes the
+ *     events out of the ring, so every {@code GameObject} sees the same keys for the whole tick:
+ * </p>
+ * <pre>{@code
+ *     InputState input = getApp().getInput();
+ *     if (input.isDown(KeyEvent.VK_D))
+ *         setVelX(getMovementSpeed());
+ *     if (input.wasPressed(KeyEvent.VK_SPACE))
+ *         shoot();
+ * }</pre>
+ * <p>
+ *     Call {@code keyPressed()} and {@code keyReleased()} from one thread at a time, like the AWT event thread.
+ *     Everything else must be called from the game thread.
+ * </p>
+ * @see hiof.rammeverk.TheGameEngine.GameObjects.KeyInput
+ */
+public class InputState {
+    /**
+     * Key codes below this are kept in the bitset. Higher key codes are only in the events.
+     */
+    public static final int KEY_CODES = 256;
+    public static final int DEFAULT_CAPACITY = 256;
+    private static final int PRESSED = 1 << 31;
+
+    private final AtomicLongArray keys = new AtomicLongArray(KEY_CODES / 64);
+
+    private final int mask;
+    private final int[] ringKeys;
+    private final long[] ringNanos;
+    private final AtomicLong head = new AtomicLong();
+    private final AtomicLong tail = new AtomicLong();
+    private final AtomicLong dropped = new AtomicLong();
+
+    private final long[] down = new long[KEY_CODES / 64];
+    private final int[] presses = new int[KEY_CODES];
+    private final int[] eventKeys;
+    private final long[] eventNanos;
+    private int eventCount;
+
+    private final long[] unshownNanos;
+    private int unshownCount;
+
+    public InputState() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    /**
+     * @param capacity events kept between two samples. Rounded up to a power of two.
+     */
+    public InputState(int capacity) {
+        if (capacity <= 0)
+            throw new IllegalArgumentException("capacity must be positive: " + capacity);
+        int size = Integer.highestOneBit(capacity);
+        if (size < capacity)
+            size <<= 1;
+        mask = size - 1;
+        ringKeys = new int[size];
+        ringNanos = new long[size];
+        eventKeys = new int[size];
+        eventNanos = new long[size];
+        unshownNanos = new long[size];
+    }
+
+    /**
+     * A key was pressed. Safe to call from the AWT event thread.
+     * @param key key code from {@code KeyEvent}
+     * @param nanos when the key was pressed, on the {@code System.nanoTime()} clock
+     * @return false if the event was dropped because the ring is full
+     */
+    public boolean keyPressed(int key, long nanos) {
+        setBit(key, true);
+        return offer(key | PRESSED, nanos);
+    }
+
+    /**
+     * A key was released. Safe to call from the AWT event thread.
+     * @param key key code from {@code KeyEvent}
+     * @param nanos when the key was released, on the {@code System.nanoTime()} clock
+     * @return false if the event was dropped because the ring is full
+     */
+    public boolean keyReleased(int key, long nanos) {
+        setBit(key, false);
+        return offer(key & ~PRESSED, nanos);
+    }
+
+    /**
+     * Hold a key down or let it go without an event, so {@code isDown()} changes but {@code wasPressed()} does not.
+     * <p>
+     *     Used by {@code InputReplay} for keys that changed while no tick was looking, like in a pause.
+     *     Safe to call from the same thread as {@code keyPressed()}.
+     * </p>
+     * @param key key code from {@code KeyEvent}
+     * @param down true to hold the key down
+     */
+    public void setDown(int key, boolean down) {
+        setBit(key, down);
+    }
+
+    /**
+     * Let go of every key and forget all events, as if no key had been touched.
+     * <p>
+     *     Call on the game thread while nothing calls {@code keyPressed()} or {@code keyReleased()}, like before a replay.
+     * </p>
+     */
+    public void reset() {
+        head.lazySet(tail.get());
+        for (int i = 0; i < down.length; i++) {
+            keys.set(i, 0);
+            down[i] = 0;
+        }
+        Arrays.fill(presses, 0);
+        eventCount = 0;
+        unshownCount = 0;
+    }
+
+    /**
+     * Take the keys and events since the last sample. Call once at the start of each tick, on the game thread.
+     * @return number of events taken
+     */
+    public int sample() {
+        for (int i = 0; i < eventCount; i++) {
+            int key = eventKeys[i] & ~PRESSED;
+            if (key < KEY_CODES)
+                presses[key] = 0;
+        }
+        long h = head.get();
+        long t = tail.get();
+        int count = (int) (t - h);
+        for (int i = 0; i < count; i++) {
+            int slot = (int) (h + i) & mask;
+            int event = ringKeys[slot];
+            eventKeys[i] = event;
+            eventNanos[i] = ringNanos[slot];
+            int key = event & ~PRESSED;
+            if ((event & PRESSED) != 0 && key < KEY_CODES)
+                presses[key]++;
+            if (unshownCount < unshownNanos.length)
+                unshownNanos[unshownCount++] = ringNanos[slot];
+        }
+        eventCount = count;
+        // Frees the slots for the producer.
+        head.lazySet(t);
+        for (int i = 0; i < down.length; i++)
+            down[i] = keys.get(i);
+        return count;
+    }
+
+    /**
+     * @param key key code from {@code KeyEvent}
+     * @return true if the key was held down when the tick started
+     */
+    public boolean isDown(int key) {
+        return key >= 0 && key < KEY_CODES && (down[key >>> 6] & 1L << key) != 0;
+    }
+
+    /**
+     * @param key key code from {@code KeyEvent}
+     * @return true if the key was pressed at least once since the last tick, even if it is already released again
+     */
+    public boolean wasPressed(int key) {
+        return getPressCount(key) > 0;
+    }
+
+    /**
+     * @param key key code from {@code KeyEvent}
+     * @return how many times the key was pressed since the last tick, counting repeats from holding it down
+     */
+    public int getPressCount(int key) {
+        return key >= 0 && key < KEY_CODES ? presses[key] : 0;
+    }
+
+    /**
+     * @return number of events taken by the last {@code sample()}
+     */
+    public int getEventCount() {
+        return eventCount;
+    }
+
+    /**
+     * @param index from 0 to {@code getEventCount() - 1}, oldest first
+     * @return key code of the event
+     */
+    public int getEventKey(int index) {
+        return eventKeys[checkIndex(index)] & ~PRESSED;
+    }
+
+    /**
+     * @param index from 0 to {@code getEventCount() - 1}, oldest first
+     * @return true if the key was pressed, false if it was released
+     */
+    public boolean isEventPressed(int index) {
+        return (eventKeys[checkIndex(index)] & PRESSED) != 0;
+    }
+
+    /**
+     * @param index from 0 to {@code getEventCount() - 1}, oldest first
+     * @return when the event happened, on the {@code System.nanoTime()} clock
+     */
+    public long getEventNanos(int index) {
+        return eventNanos[checkIndex(index)];
+    }
+
+    /**
+     * Give the latency of every event sampled since the last call, and forget them.
+     * <p>
+     *     Call right after {@code BufferStrategy.show()}, so the latency is the time from the {@code KeyEvent}
+     *     until the first frame drawn after the tick that handled it.
+     * </p>
+     * @param now {@code System.nanoTime()}
+     * @param latency called with the latency of each event in nanoseconds
+     */
+    public void shown(long now, LongConsumer latency) {
+        for (int i = 0; i < unshownCount; i++)
+            latency.accept(now - unshownNanos[i]);
+        unshownCount = 0;
+    }
+
+    /**
+     * Give the time of every event sampled since the last call to {@code shown()} or {@code takeUnshown()}, and forget them.
+     * <p>
+     *     Use this when the frame is shown on another thread, to hand the times over with the frame.
+     * </p>
+     * @param eventNanos called with the time of each event, on the {@code System.nanoTime()} clock
+     */
+    public void takeUnshown(LongConsumer eventNanos) {
+        for (int i = 0; i < unshownCount; i++)
+            eventNanos.accept(unshownNanos[i]);
+        unshownCount = 0;
+    }
+
+    /**
+     * @return events dropped because the ring was full, since start
+     */
+    public long getDroppedEvents() {
+        return dropped.get();
+    }
+
+    /**
+     * @return maximum number of events between two samples
+     */
+    public int getCapacity() {
+        return mask + 1;
+    }
+
+    private boolean offer(int event, long nanos) {
+        long t = tail.get();
+        if (t - head.get() > mask) {
+            dropped.lazySet(dropped.get() + 1);
+            return false;
+        }
+        int slot = (int) t & mask;
+        ringKeys[slot] = event;
+        ringNanos[slot] = nanos;
+        // Publishes the slot to sample().
+        tail.lazySet(t + 1);
+        return true;
+    }
+
+    private void setBit(int key, boolean pressed) {
+        if (key < 0 || key >= KEY_CODES)
+            return;
+        int index = key >>> 6;
+        long bit = 1L << key;
+        long old;
+        long updated;
+        do {
+            old = keys.get(index);
+            updated = pressed ? old | bit : old & ~bit;
+        } while (old != updated && !keys.compareAndSet(index, old, updated));
+    }
+
+    private int checkIndex(int index) {
+        if (index < 0 || index >= eventCount)
+            throw new IndexOutOfBoundsException("Index: " + index + ", events: " + eventCount);
+        return index;
+    }
+}
@@ -0,0 +1,183 @@
+package hiof.rammeverk.TheGameEngine.Helpers;
+
+import java.io.Serial;
+import java.util.Random;
+import java.util.SplittableRandom;
+
+/**
+ * Random numbers for the whole game, all from one seed and without locks.
+ * <p>
+ *     The game thread draws from one stream, the <em>game stream</em>. While a {@code GameObject} is ticked it draws from
+ *     a stream of its own instead, started from the seed of the tick and the index of the {@code GameObject} in
+ *     {@code objects}. So the numbers are the same whichever thread ticks it, and however a parallel tick is split up.
+ * </p>
+ * <p>
+ *     The streams use SplitMix64, the generator of {@code SplittableRandom}, but extend {@code Random} so code written
+ *     for {@code Random} keeps working. Unlike {@code Random} they are not synchronized, and starting one again creates no objects.
+ * </p>
+ * <pre>{@code
+ *     // In GameObject.tick() or GameLoop.tick()
+ *     int x = getApp().getRandom().nextInt(getApp().getWindowWidth());
+ * }</pre>
+ * <p>
+ *     {@code setSeed()}, {@code beginTick()} and {@code split()} must be called from the game thread.
+ * </p>
+ * @see hiof.rammeverk.TheGameEngine.ApplicationHandler#getRandom()
+ */
+public class RandomService {
+    private static final long GOLDEN_GAMMA = 0x9E3779B97F4A7C15L;
+
+    private long seed;
+    private final Generator game = new Generator();
+    private long tickSeed;
+    private final ThreadLocal<Generator> slots = ThreadLocal.withInitial(Generator::new);
+
+    /**
+     * @param seed seed of the game stream
+     */
+    public RandomService(long seed) {
+        setSeed(seed);
+    }
+
+    /**
+     * @return the seed the game stream was last started from
+     */
+    public long getSeed() {
+        return seed;
+    }
+
+    /**
+     * Start the game stream over from {@code seed}. The streams of the {@code GameObjects} follow from it.
+     * @param seed {@code long}
+     */
+    public void setSeed(long seed) {
+        this.seed = seed;
+        game.setSeed(seed);
+        tickSeed = 0;
+    }
+
+    /**
+     * @return how far the game stream has come, to save with the game
+     * @see #setPosition(long, long)
+     */
+    public long getPosition() {
+        return game.state;
+    }
+
+    /**
+     * Go on with the game stream from where a saved game left it.
+     * @param seed from {@code getSeed()}
+     * @param position from {@code getPosition()}
+     */
+    public void setPosition(long seed, long position) {
+        this.seed = seed;
+        game.state = position;
+        tickSeed = 0;
+    }
+
+    /**
+     * @return the stream of the {@code GameObject} being ticked on this thread, else the game stream
+     */
+    public Random current() {
+        Generator slot = slots.get();
+        return slot.active ? slot : game;
+    }
+
+    /**
+     * A {@code SplittableRandom} of its own, split from the game stream. Use it for a stream that is kept,
+     * like in a {@code GameLoop} or a task on another thread.
+     * @return {@code SplittableRandom}
+     */
+    public SplittableRandom split() {
+        return new SplittableRandom(game.nextLong());
+    }
+
+    /**
+     * Draw the seed of the next tick from the game stream. Call on the game thread before the {@code GameObjects} are ticked.
+     */
+    public void beginTick() {
+        tickSeed = game.nextLong();
+    }
+
+    /**
+     * Get the stream for the {@code GameObjects} ticked on the calling thread. Get it once, and pass it to {@code beginSlot()}
+     * for each {@code GameObject}.
+     * @return {@code Generator}
+     */
+    public Generator slotStream() {
+        return slots.get();
+    }
+
+    /**
+     * Start {@code stream} for the {@code GameObject} at {@code slot}, and make it the stream of {@code current()} on this thread.
+     * @param stream from {@code slotStream()} on the calling thread
+     * @param slot index of the {@code GameObject} in {@code objects}
+     */
+    public void beginSlot(Generator stream, int slot) {
+        stream.state = mix64(tickSeed + GOLDEN_GAMMA * (slot + 1L));
+        stream.active = true;
+    }
+
+    /**
+     * Go back to the game stream on this thread.
+     * @param stream from {@code slotStream()} on the calling thread
+     */
+    public void endSlots(Generator stream) {
+        stream.active = false;
+    }
+
+    private static long mix64(long z) {
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+
+    /**
+     * A SplitMix64 stream that is also a {@code Random}. Only use it from one thread.
+     */
+    public static final class Generator extends Random {
+        @Serial
+        private static final long serialVersionUID = -2418346209474628911L;
+        private long state;
+        private boolean active;
+
+        private Generator() {
+        }
+
+        /**
+         * Start the stream over. Unlike {@code Random.setSeed()} it is not synchronized.
+         * @param seed {@code long}
+         */
+        @Override
+        public void setSeed(long seed) {
+            state = seed;
+        }
+
+        @Override
+        public long nextLong() {
+            return mix64(state += GOLDEN_GAMMA);
+        }
+
+        @Override
+        protected int next(int bits) {
+            return (int) (nextLong() >>> (64 - bits));
+        }
+
+        /**
+         * Polar method, without keeping the second value like {@code Random} does, so a stream started again
+         * gives the same numbers.
+         */
+        @Override
+        public double nextGaussian() {
+            double v1;
+            double v2;
+            double s;
+            do {
+                v1 = 2 * nextDouble() - 1;
+                v2 = 2 * nextDouble() - 1;
+                s = v1 * v1 + v2 * v2;
+            } while (s >= 1 || s == 0);
+            return v1 * StrictMath.sqrt(-2 * StrictMath.log(s) / s);
+        }
+    }
+}
@@ -0,0 +1,210 @@
+package hiof.rammeverk.TheGameEngine.Helpers;
+
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Fixed-timestep scheduler for the game loop.
+ * <p>
+ *     Decides when the next {@code tick} and the next frame are due, and parks the game thread until then
+ *     instead of spinning.
+ * </p>
+ * <p>
+ *     If the game thread falls behind, for example after a long garbage collection or while the window is dragged,
+ *     at most {@code maxCatchUpTicks} ticks are run to catch up. The rest are <em>dropped</em>, and the game continues from now.
+ * </p>
+ * <ul> <strong>Statistics</strong>
+ *     <li>{@code ticks}: ticks run.</li>
+ *     <li>{@code frames}: frames rendered.</li>
+ *     <li>{@code catchUpTicks}: ticks run back to back because the loop was late.</li>
+ *     <li>{@code droppedTicks}: ticks skipped because of the {@code maxCatchUpTicks} limit.</li>
+ * </ul>
+ * <p>
+ *     The ticks and the frames may be scheduled from two different threads, one calling {@code ticksDue()} and
+ *     {@code waitForNextTick()}, the other {@code frameDue()} and {@code waitForNextFrame()}.
+ * </p>
+ */
+public class TickScheduler {
+    private static final long NANOS_PER_SECOND = 1_000_000_000L;
+
+    private double tickRate = 60.0;
+    private double frameRate = 60.0;
+    private int maxCatchUpTicks = 5;
+    private long tickNanos = Math.round(NANOS_PER_SECOND / tickRate);
+    private long frameNanos = Math.round(NANOS_PER_SECOND / frameRate);
+
+    private long nextTick;
+    private long nextFrame;
+    // Each written by one thread, volatile so other threads can read the statistics.
+    private volatile long ticks;
+    private volatile long frames;
+    private volatile long catchUpTicks;
+    private volatile long droppedTicks;
+
+    /**
+     * Reset the deadlines. Call once before the loop starts.
+     * @param now {@code System.nanoTime()}
+     */
+    public void start(long now) {
+        nextTick = now + tickNanos;
+        nextFrame = now;
+    }
+
+    /**
+     * Count the ticks that are due and move the tick deadline forward.
+     * <p>
+     *     Returns at most {@code maxCatchUpTicks}. Ticks over the limit are added to {@code droppedTicks}.
+     * </p>
+     * @param now {@code System.nanoTime()}
+     * @return number of ticks to run now
+     */
+    public int ticksDue(long now) {
+        if (now < nextTick)
+            return 0;
+        long due = (now - nextTick) / tickNanos + 1;
+        if (due > maxCatchUpTicks) {
+            droppedTicks += due - maxCatchUpTicks;
+            due = maxCatchUpTicks;
+            nextTick = now + tickNanos;
+        } else {
+            nextTick += due * tickNanos;
+        }
+        if (due > 1)
+            catchUpTicks += due - 1;
+        ticks += due;
+        return (int) due;
+    }
+
+    /**
+     * Check if a frame should be rendered, and move the frame deadline forward if so.
+     * <p>
+     *     Always true when {@code frameRate} is 0. Frames that are late are never made up for.
+     * </p>
+     * @param now {@code System.nanoTime()}
+     * @return true if a frame should be rendered now
+     */
+    public boolean frameDue(long now) {
+        if (frameNanos == 0) {
+            frames++;
+            return true;
+        }
+        if (now < nextFrame)
+            return false;
+        nextFrame += frameNanos;
+        if (nextFrame <= now)
+            nextFrame = now + frameNanos;
+        frames++;
+        return true;
+    }
+
+    /**
+     * Park the calling thread until the next tick or frame is due.
+     * <p>
+     *     Returns at once if {@code frameRate} is 0, since frames are then rendered as fast as possible.
+     * </p>
+     */
+    public void waitForNextDeadline() {
+        if (frameNanos == 0)
+            return;
+        long deadline = Math.min(nextTick, nextFrame);
+        long wait = deadline - System.nanoTime();
+        if (wait > 0)
+            LockSupport.parkNanos(wait);
+    }
+
+    /**
+     * Park the calling thread until the next tick is due. Frames are ignored.
+     */
+    public void waitForNextTick() {
+        long wait = nextTick - System.nanoTime();
+        if (wait > 0)
+            LockSupport.parkNanos(wait);
+    }
+
+    /**
+     * Park the calling thread until the next frame is due. Ticks are ignored.
+     * <p>
+     *     Returns at once if {@code frameRate} is 0.
+     * </p>
+     */
+    public void waitForNextFrame() {
+        if (frameNanos == 0)
+            return;
+        long wait = nextFrame - System.nanoTime();
+        if (wait > 0)
+            LockSupport.parkNanos(wait);
+    }
+
+    /**
+     * @return nanoseconds between two ticks.
+     */
+    public long getTickNanos() {
+        return tickNanos;
+    }
+
+    /**
+     * @return the time the next tick is due, in {@code System.nanoTime()}.
+     */
+    public long getNextTick() {
+        return nextTick;
+    }
+
+    public double getTickRate() {
+        return tickRate;
+    }
+
+    /**
+     * Set how many times per second the game is updated. Default is 60.
+     * @param tickRate ticks per second. Must be more than 0.
+     */
+    public void setTickRate(double tickRate) {
+        if (tickRate <= 0)
+            throw new IllegalArgumentException("tickRate must be more than 0: " + tickRate);
+        this.tickRate = tickRate;
+        this.tickNanos = Math.max(1, Math.round(NANOS_PER_SECOND / tickRate));
+    }
+
+    public double getFrameRate() {
+        return frameRate;
+    }
+
+    /**
+     * Set how many frames per second are rendered at most. Default is 60.
+     * @param frameRate frames per second. 0 renders as fast as possible, without sleeping.
+     */
+    public void setFrameRate(double frameRate) {
+        if (frameRate < 0)
+            throw new IllegalArgumentException("frameRate can not be negative: " + frameRate);
+        this.frameRate = frameRate;
+        this.frameNanos = frameRate == 0 ? 0 : Math.max(1, Math.round(NANOS_PER_SECOND / frameRate));
+    }
+
+    public int getMaxCatchUpTicks() {
+        return maxCatchUpTicks;
+    }
+
+    /**
+     * Set how many ticks may be run back to back when the loop is late. Default is 5.
+     * @param maxCatchUpTicks at least 1
+     */
+    public void setMaxCatchUpTicks(int maxCatchUpTicks) {
+        if (maxCatchUpTicks < 1)
+            throw new IllegalArgumentException("maxCatchUpTicks must be at least 1: " + maxCatchUpTicks);
+        this.maxCatchUpTicks = maxCatchUpTicks;
+    }
+
+    public long getTicks() {
+        return ticks;
+    }
+
+    public long getFrames() {
+        return frames;
+    }
+
+    public long getCatchUpTicks() {
+        return catchUpTicks;
+    }
+
+    public long getDroppedTicks() {
+        return droppedTicks;
+    }
+}
@@ -0,0 +1,88 @@
+package hiof.rammeverk.TheGameEngine.Helpers;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Hands the newest of a series of objects from one thread to another, without locks and without waiting.
+ * <p>
+ *     There are three objects. The writer fills the <em>back</em> object and publishes it, the reader takes the newest
+ *     published object as its <em>front</em>, and the third is in the middle between them. Publishing and taking
+ *     swap an object with the middle in one atomic operation, so the writer and the reader never use the same object.
+ * </p>
+ * <p>
+ *     If the writer publishes twice before the reader takes, the older object is given back to the writer unread.
+ *     The reader always gets the newest, and never waits for the writer.
+ * </p>
+ * <pre>{@code
+ *     // Writer
+ *     fill(buffer.getBack());
+ *     buffer.publish();
+ *
+ *     // Reader
+ *     buffer.update();
+ *     draw(buffer.getFront());
+ * }</pre>
+ * <p>
+ *     Only one thread may write, and only one thread may read.
+ * </p>
+ * @param <T> type of the objects
+ */
+public class TripleBuffer<T> {
+    private static final int INDEX = 3;
+    private static final int FRESH = 4;
+
+    private final Object[] items;
+    /**
+     * Index of the middle object, with {@code FRESH} set if it was published and not taken yet.
+     */
+    private final AtomicInteger middle = new AtomicInteger(1);
+    private int back;
+    private int front = 2;
+
+    /**
+     * @param back first object of the writer
+     * @param middle object in between. Not seen by the reader before the first {@code publish()}.
+     * @param front first object of the reader, returned by {@code getFront()} until something is published
+     */
+    public TripleBuffer(T back, T middle, T front) {
+        items = new Object[] {back, middle, front};
+    }
+
+    /**
+     * @return the object the writer fills next
+     */
+    @SuppressWarnings("unchecked")
+    public T getBack() {
+        return (T) items[back];
+    }
+
+    /**
+     * Make the back object the newest, and take the middle object as the new back. Writer only.
+     * @return true if the new back object was published before and never taken by the reader
+     */
+    public boolean publish() {
+        int old = middle.getAndSet(back | FRESH);
+        back = old & INDEX;
+        return (old & FRESH) != 0;
+    }
+
+    /**
+     * Take the newest published object as the front, if there is one. Reader only.
+     * @return true if the front changed
+     */
+    public boolean update() {
+        if ((middle.get() & FRESH) == 0)
+            return false;
+        int old = middle.getAndSet(front);
+        front = old & INDEX;
+        return true;
+    }
+
+    /**
+     * @return the object the reader uses until the next {@code update()}
+     */
+    @SuppressWarnings("unchecked")
+    public T getFront() {
+        return (T) items[front];
+    }
+}
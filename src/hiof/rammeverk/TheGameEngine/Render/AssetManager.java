@@ -0,0 +1,293 @@
+package hiof.rammeverk.TheGameEngine.Render;
+
+import javax.imageio.ImageIO;
+import java.awt.AlphaComposite;
+import java.awt.Graphics2D;
+import java.awt.GraphicsConfiguration;
+import java.awt.GraphicsEnvironment;
+import java.awt.RenderingHints;
+import java.awt.Transparency;
+import java.awt.image.BufferedImage;
+import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.URL;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Loads images once and keeps them as {@code Sprites}, ready to be drawn every frame.
+ * <p>
+ *     {@code ImageIO.read()} returns images in the format of the file, which usually does not match the screen.
+ *     Drawing such an image converts every pixel, every frame. The {@code AssetManager} converts each image once,
+ *     with {@code GraphicsConfiguration.createCompatibleImage()}, and the {@code Sprite} keeps an accelerated copy.
+ * </p>
+ * <p>
+ *     The memory used by the images is limited by {@code maxBytes}. When it is exceeded, the least recently used
+ *     images are removed from the cache. A removed {@code Sprite} can still be drawn, it is just loaded again the next
+ *     time it is asked for.
+ * </p>
+ * <p>
+ *     Images are looked up as files first, then as resources on the classpath.
+ *     The methods are synchronized, so images may be loaded from any thread, for example in a {@code GameLoop}.
+ * </p>
+ * <pre>{@code
+ *     Sprite zombie = AssetManager.get().load("Resources/images/zombie.png", 40, 100);
+ *     renderer.drawSprite(zombie, x, y);
+ * }</pre>
+ * @see Sprite
+ * @see Renderer#drawSprite(Sprite, int, int)
+ */
+public class AssetManager {
+    private static final long DEFAULT_MAX_BYTES = 64L * 1024 * 1024;
+    private static AssetManager assetManager;
+
+    private final LinkedHashMap<String, Sprite> sprites = new LinkedHashMap<>(16, 0.75f, true);
+    private long maxBytes;
+    private long bytes;
+    private long hits;
+    private long misses;
+    private long evictions;
+
+    /**
+     * @param maxBytes bytes of image memory to keep in the cache
+     */
+    public AssetManager(long maxBytes) {
+        setMaxBytes(maxBytes);
+    }
+
+    /**
+     * The shared {@code AssetManager}, with room for 64 MB of images.
+     * <p>
+     *     Implements the <em>singleton pattern.</em>
+     * </p>
+     * @return {@code AssetManager}
+     */
+    public static synchronized AssetManager get() {
+        if (assetManager == null)
+            assetManager = new AssetManager(DEFAULT_MAX_BYTES);
+        return assetManager;
+    }
+
+    /**
+     * Return the image at {@code path}, loading it the first time.
+     * @param path file name, or name of a resource on the classpath
+     * @return {@code Sprite}
+     * @throws UncheckedIOException if the image can not be read
+     */
+    public synchronized Sprite load(String path) {
+        Sprite sprite = sprites.get(path);
+        if (sprite != null) {
+            hits++;
+            return sprite;
+        }
+        misses++;
+        return put(path, read(path));
+    }
+
+    /**
+     * Return the image at {@code path}, scaled to {@code width} x {@code height}.
+     * <p>
+     *     The image is scaled once, when it is loaded, instead of every time it is drawn.
+     * </p>
+     * @param path file name, or name of a resource on the classpath
+     * @param width width in pixels
+     * @param height height in pixels
+     * @return {@code Sprite}
+     * @throws UncheckedIOException if the image can not be read
+     */
+    public synchronized Sprite load(String path, int width, int height) {
+        if (width <= 0 || height <= 0)
+            throw new IllegalArgumentException("width and height must be positive: " + width + "x" + height);
+        String name = path + "@" + width + "x" + height;
+        Sprite sprite = sprites.get(name);
+        if (sprite != null) {
+            hits++;
+            return sprite;
+        }
+        misses++;
+        Sprite original = sprites.get(path);
+        BufferedImage source = original != null ? original.getImage() : read(path);
+        return put(name, scale(source, width, height));
+    }
+
+    /**
+     * Add an image made by the game, for example drawn with {@code Graphics}, to the cache.
+     * <p>
+     *     Replaces any image with the same name.
+     * </p>
+     * @param name name used with {@code get()}
+     * @param image {@code BufferedImage}
+     * @return {@code Sprite}
+     */
+    public synchronized Sprite put(String name, BufferedImage image) {
+        Sprite sprite = new Sprite(name, toCompatibleImage(image));
+        Sprite old = sprites.put(name, sprite);
+        if (old != null) {
+            bytes -= old.getBytes();
+            old.flush();
+        }
+        bytes += sprite.getBytes();
+        evict();
+        return sprite;
+    }
+
+    /**
+     * @param name path or name of the image
+     * @return the cached {@code Sprite}, or null if it is not loaded
+     */
+    public synchronized Sprite get(String name) {
+        return sprites.get(name);
+    }
+
+    public synchronized boolean contains(String name) {
+        return sprites.containsKey(name);
+    }
+
+    /**
+     * Remove an image from the cache.
+     * @param name path or name of the image
+     */
+    public synchronized void remove(String name) {
+        Sprite sprite = sprites.remove(name);
+        if (sprite != null) {
+            bytes -= sprite.getBytes();
+            sprite.flush();
+        }
+    }
+
+    /**
+     * Remove all images from the cache.
+     */
+    public synchronized void clear() {
+        for (Sprite sprite : sprites.values())
+            sprite.flush();
+        sprites.clear();
+        bytes = 0;
+    }
+
+    public synchronized int size() {
+        return sprites.size();
+    }
+
+    /**
+     * @return bytes used by the images in the cache
+     */
+    public synchronized long getBytes() {
+        return bytes;
+    }
+
+    public synchronized long getMaxBytes() {
+        return maxBytes;
+    }
+
+    /**
+     * Change how many bytes of images are kept. Removes the least recently used images if needed.
+     * @param maxBytes at least 0
+     */
+    public synchronized void setMaxBytes(long maxBytes) {
+        if (maxBytes < 0)
+            throw new IllegalArgumentException("maxBytes must be at least 0: " + maxBytes);
+        this.maxBytes = maxBytes;
+        evict();
+    }
+
+    /**
+     * @return number of times an image was found in the cache
+     */
+    public synchronized long getHits() {
+        return hits;
+    }
+
+    /**
+     * @return number of times an image had to be loaded
+     */
+    public synchronized long getMisses() {
+        return misses;
+    }
+
+    /**
+     * @return number of images removed to stay within {@code maxBytes}
+     */
+    public synchronized long getEvictions() {
+        return evictions;
+    }
+
+    /**
+     * Copy an image into the format of the screen.
+     * <p>
+     *     Without a screen, for example with {@code -Djava.awt.headless=true}, the image is copied to
+     *     {@code TYPE_INT_RGB} or {@code TYPE_INT_ARGB_PRE}, which are the fastest formats to draw in software.
+     * </p>
+     * @param image {@code BufferedImage}
+     * @return a new {@code BufferedImage} with the same pixels
+     */
+    public static BufferedImage toCompatibleImage(BufferedImage image) {
+        int transparency = image.getTransparency();
+        BufferedImage compatible;
+        GraphicsConfiguration gc = defaultConfiguration();
+        if (gc != null) {
+            compatible = gc.createCompatibleImage(image.getWidth(), image.getHeight(), transparency);
+        } else {
+            int type = transparency == Transparency.OPAQUE ? BufferedImage.TYPE_INT_RGB : BufferedImage.TYPE_INT_ARGB_PRE;
+            compatible = new BufferedImage(image.getWidth(), image.getHeight(), type);
+        }
+        Graphics2D g = compatible.createGraphics();
+        g.setComposite(AlphaComposite.Src);
+        g.drawImage(image, 0, 0, null);
+        g.dispose();
+        return compatible;
+    }
+
+    private static GraphicsConfiguration defaultConfiguration() {
+        if (GraphicsEnvironment.isHeadless())
+            return null;
+        return GraphicsEnvironment.getLocalGraphicsEnvironment().getDefaultScreenDevice().getDefaultConfiguration();
+    }
+
+    private static BufferedImage read(String path) {
+        try {
+            BufferedImage image;
+            File file = new File(path);
+            if (file.isFile()) {
+                image = ImageIO.read(file);
+            } else {
+                URL url = AssetManager.class.getResource(path.startsWith("/") ? path : "/" + path);
+                if (url == null)
+                    throw new IOException("No such file or resource");
+                image = ImageIO.read(url);
+            }
+            if (image == null)
+                throw new IOException("Unknown image format");
+            return image;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not read image " + path + ": " + e.getMessage(), e);
+        }
+    }
+
+    private static BufferedImage scale(BufferedImage image, int width, int height) {
+        int type = image.getTransparency() == Transparency.OPAQUE ? BufferedImage.TYPE_INT_RGB : BufferedImage.TYPE_INT_ARGB_PRE;
+        BufferedImage scaled = new BufferedImage(width, height, type);
+        Graphics2D g = scaled.createGraphics();
+        g.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+        g.setComposite(AlphaComposite.Src);
+        g.drawImage(image, 0, 0, width, height, null);
+        g.dispose();
+        return scaled;
+    }
+
+    /**
+     * Remove the least recently used images until the cache fits in {@code maxBytes}. The newest image is always kept.
+     */
+    private void evict() {
+        Iterator<Map.Entry<String, Sprite>> eldest = sprites.entrySet().iterator();
+        while (bytes > maxBytes && sprites.size() > 1) {
+            Sprite sprite = eldest.next().getValue();
+            eldest.remove();
+            bytes -= sprite.getBytes();
+            sprite.flush();
+            evictions++;
+        }
+    }
+}
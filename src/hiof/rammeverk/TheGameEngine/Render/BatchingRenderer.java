@@ -0,0 +1,301 @@
+package hiof.rammeverk.TheGameEngine.Render;
+
+import java.awt.Color;
+import java.awt.Graphics;
+import java.awt.Image;
+import java.util.Arrays;
+
+/**
+ * {@code Renderer} that records the draw calls and draws them sorted by layer, in groups of one color.
+ * <p>
+ *     Every call to {@code setColor()} on {@code java.awt.Graphics} is a state change in the Java2D pipeline.
+ *     When thousands of {@code GameObjects} each set their own color, these changes cost more than the drawing.
+ *     This renderer collects the calls of a frame and draws calls with the same layer and color together,
+ *     with one {@code setColor()} on the target for each group.
+ * </p>
+ * <p>
+ *     Within a layer the frame looks the same as if the calls were drawn in the order they were made.
+ *     A call only joins an earlier group of its color if it does not overlap any call of another color made since,
+ *     so it never ends up under something it was drawn over. Text and images without a known size never join an earlier group.
+ *     Anything in a higher layer is drawn on top.
+ * </p>
+ * <p>
+ *     {@code getGraphics()} draws everything recorded so far, and returns the {@code Graphics} of the target.
+ * </p>
+ * @see Renderer
+ */
+public class BatchingRenderer implements Renderer {
+    public static final int MIN_LAYER = -64;
+    public static final int MAX_LAYER = 63;
+
+    private static final int SEQUENCE_BITS = 24;
+    private static final int MAX_COMMANDS = 1 << SEQUENCE_BITS;
+    private static final int LAYERS = MAX_LAYER - MIN_LAYER + 1;
+    /**
+     * How many groups of other colors a call may move back past to join a group of its own color.
+     */
+    private static final int LOOKBACK = 16;
+    private static final byte FILL = 0;
+    private static final byte OUTLINE = 1;
+    private static final byte TEXT = 2;
+    private static final byte IMAGE = 3;
+    private static final byte SPRITE = 4;
+
+    private Renderer target;
+    private Color color = Color.BLACK;
+    private int layer;
+    private int translateX;
+    private int translateY;
+    /**
+     * Translation applied to the target by {@code getGraphics()}. The recorded calls already include the translation.
+     */
+    private int targetTranslateX;
+    private int targetTranslateY;
+
+    /**
+     * Sort key of each command: layer (7 bits), group (24 bits) and the index of the command (24 bits).
+     */
+    private long[] keys = new long[1024];
+    private byte[] types = new byte[1024];
+    private int[] bounds = new int[4 * 1024];
+    private Color[] colors = new Color[1024];
+    private Object[] payloads = new Object[1024];
+    private int count;
+
+    /**
+     * Groups of calls with one color, in the order they are drawn within their layer. Each group knows the group
+     * before it in the same layer, and the area covered by its calls.
+     */
+    private int[] groupColors = new int[256];
+    private int[] groupPrevious = new int[256];
+    private int[] groupArea = new int[4 * 256];
+    private int groupCount;
+    private final int[] lastGroup = new int[LAYERS];
+
+    /**
+     * @param target {@code Renderer} the sorted calls are drawn to
+     */
+    public BatchingRenderer(Renderer target) {
+        this.target = target;
+        Arrays.fill(lastGroup, -1);
+    }
+
+    /**
+     * Change the {@code Renderer} the sorted calls are drawn to. Everything recorded is drawn to the old target first.
+     * @param target {@code Renderer}
+     */
+    public void setTarget(Renderer target) {
+        flush();
+        this.target = target;
+    }
+
+    public Renderer getTarget() {
+        return target;
+    }
+
+    @Override
+    public void setColor(Color color) {
+        this.color = color;
+    }
+
+    @Override
+    public Color getColor() {
+        return color;
+    }
+
+    @Override
+    public void setLayer(int layer) {
+        if (layer < MIN_LAYER || layer > MAX_LAYER)
+            throw new IllegalArgumentException("layer must be from " + MIN_LAYER + " to " + MAX_LAYER + ": " + layer);
+        this.layer = layer;
+    }
+
+    @Override
+    public int getLayer() {
+        return layer;
+    }
+
+    @Override
+    public void fillRect(int x, int y, int width, int height) {
+        if (width <= 0 || height <= 0)
+            return;
+        record(FILL, x, y, width, height, null);
+    }
+
+    @Override
+    public void drawRect(int x, int y, int width, int height) {
+        if (width < 0 || height < 0)
+            return;
+        record(OUTLINE, x, y, width, height, null);
+    }
+
+    @Override
+    public void drawString(String text, int x, int y) {
+        record(TEXT, x, y, -1, -1, text);
+    }
+
+    @Override
+    public void drawImage(Image image, int x, int y) {
+        record(IMAGE, x, y, image.getWidth(null), image.getHeight(null), image);
+    }
+
+    @Override
+    public void drawSprite(Sprite sprite, int x, int y) {
+        record(SPRITE, x, y, sprite.getWidth(), sprite.getHeight(), sprite);
+    }
+
+    @Override
+    public void translate(int x, int y) {
+        translateX += x;
+        translateY += y;
+    }
+
+    /**
+     * Draws everything recorded, then returns the {@code Graphics} of the target.
+     * @return {@code Graphics}
+     */
+    @Override
+    public Graphics getGraphics() {
+        flush();
+        target.translate(translateX - targetTranslateX, translateY - targetTranslateY);
+        targetTranslateX = translateX;
+        targetTranslateY = translateY;
+        Graphics graphics = target.getGraphics();
+        graphics.setColor(color);
+        return graphics;
+    }
+
+    /**
+     * Draw everything recorded to the target, sorted by layer and group, and clear the recording.
+     * Call once at the end of each frame.
+     */
+    public void flush() {
+        if (count == 0)
+            return;
+        Arrays.sort(keys, 0, count);
+        Renderer target = this.target;
+        if (targetTranslateX != 0 || targetTranslateY != 0) {
+            target.translate(-targetTranslateX, -targetTranslateY);
+            targetTranslateX = 0;
+            targetTranslateY = 0;
+        }
+        int lastLayer = Integer.MIN_VALUE;
+        long lastColor = -1;
+        for (int i = 0; i < count; i++) {
+            long key = keys[i];
+            int index = (int) (key & (MAX_COMMANDS - 1));
+            int commandLayer = (int) (key >>> (2 * SEQUENCE_BITS)) + MIN_LAYER;
+            if (commandLayer != lastLayer) {
+                target.setLayer(commandLayer);
+                lastLayer = commandLayer;
+            }
+            long commandColor = groupColors[(int) (key >>> SEQUENCE_BITS) & (MAX_COMMANDS - 1)] & 0xFFFFFFFFL;
+            if (commandColor != lastColor) {
+                target.setColor(colors[index]);
+                lastColor = commandColor;
+            }
+            int b = index * 4;
+            switch (types[index]) {
+                case FILL -> target.fillRect(bounds[b], bounds[b + 1], bounds[b + 2], bounds[b + 3]);
+                case OUTLINE -> target.drawRect(bounds[b], bounds[b + 1], bounds[b + 2], bounds[b + 3]);
+                case TEXT -> target.drawString((String) payloads[index], bounds[b], bounds[b + 1]);
+                case IMAGE -> target.drawImage((Image) payloads[index], bounds[b], bounds[b + 1]);
+                case SPRITE -> target.drawSprite((Sprite) payloads[index], bounds[b], bounds[b + 1]);
+                default -> throw new IllegalStateException("Unknown command: " + types[index]);
+            }
+            colors[index] = null;
+            payloads[index] = null;
+        }
+        target.setLayer(0);
+        count = 0;
+        groupCount = 0;
+        Arrays.fill(lastGroup, -1);
+    }
+
+    private void record(byte type, int x, int y, int width, int height, Object payload) {
+        if (count == MAX_COMMANDS)
+            flush();
+        if (count == keys.length)
+            grow();
+        int index = count++;
+        types[index] = type;
+        colors[index] = color;
+        payloads[index] = payload;
+        int b = index * 4;
+        bounds[b] = x + translateX;
+        bounds[b + 1] = y + translateY;
+        bounds[b + 2] = width;
+        bounds[b + 3] = height;
+
+        // Area covered by the call, or everything if the size is not known.
+        int minX = Integer.MIN_VALUE;
+        int minY = Integer.MIN_VALUE;
+        int maxX = Integer.MAX_VALUE;
+        int maxY = Integer.MAX_VALUE;
+        if (width >= 0 && height >= 0) {
+            int outline = type == OUTLINE ? 1 : 0;
+            minX = bounds[b];
+            minY = bounds[b + 1];
+            maxX = minX + width + outline;
+            maxY = minY + height + outline;
+        }
+        int layerIndex = layer - MIN_LAYER;
+        int group = findGroup(layerIndex, color.getRGB(), minX, minY, maxX, maxY);
+        if (group < 0) {
+            group = addGroup(layerIndex, color.getRGB());
+            int a = group * 4;
+            groupArea[a] = minX;
+            groupArea[a + 1] = minY;
+            groupArea[a + 2] = maxX;
+            groupArea[a + 3] = maxY;
+        } else {
+            int a = group * 4;
+            groupArea[a] = Math.min(groupArea[a], minX);
+            groupArea[a + 1] = Math.min(groupArea[a + 1], minY);
+            groupArea[a + 2] = Math.max(groupArea[a + 2], maxX);
+            groupArea[a + 3] = Math.max(groupArea[a + 3], maxY);
+        }
+        keys[index] = ((long) layerIndex << (2 * SEQUENCE_BITS)) | ((long) group << SEQUENCE_BITS) | index;
+    }
+
+    /**
+     * Find the group with {@code rgb} in the layer that a call covering the given area can join.
+     * The groups drawn after it must not overlap the call, or the call would be drawn under them.
+     * @return the group, or -1 if a new group is needed
+     */
+    private int findGroup(int layerIndex, int rgb, int minX, int minY, int maxX, int maxY) {
+        int group = lastGroup[layerIndex];
+        for (int passed = 0; group >= 0 && passed <= LOOKBACK; passed++) {
+            if (groupColors[group] == rgb)
+                return group;
+            int a = group * 4;
+            if (minX < groupArea[a + 2] && groupArea[a] < maxX && minY < groupArea[a + 3] && groupArea[a + 1] < maxY)
+                return -1;
+            group = groupPrevious[group];
+        }
+        return -1;
+    }
+
+    private int addGroup(int layerIndex, int rgb) {
+        if (groupCount == groupColors.length) {
+            int length = groupCount * 2;
+            groupColors = Arrays.copyOf(groupColors, length);
+            groupPrevious = Arrays.copyOf(groupPrevious, length);
+            groupArea = Arrays.copyOf(groupArea, length * 4);
+        }
+        int group = groupCount++;
+        groupColors[group] = rgb;
+        groupPrevious[group] = lastGroup[layerIndex];
+        lastGroup[layerIndex] = group;
+        return group;
+    }
+
+    private void grow() {
+        int length = keys.length * 2;
+        keys = Arrays.copyOf(keys, length);
+        types = Arrays.copyOf(types, length);
+        bounds = Arrays.copyOf(bounds, length * 4);
+        colors = Arrays.copyOf(colors, length);
+        payloads = Arrays.copyOf(payloads, length);
+    }
+}
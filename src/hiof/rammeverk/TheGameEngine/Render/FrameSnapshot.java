@@ -0,0 +1,287 @@
+package hiof.rammeverk.TheGameEngine.Render;
+
+import hiof.rammeverk.TheGameEngine.Window.GameState;
+
+import java.awt.Color;
+import java.awt.Image;
+import java.util.Arrays;
+import java.util.function.LongConsumer;
+
+/**
+ * The draw calls of one tick, recorded by a {@code SnapshotRecorder} so another thread can draw them.
+ * <p>
+ *     Each draw call is kept in primitive arrays: its type, layer, color and bounds, and the {@code GameObject} it belongs to.
+ *     For each {@code GameObject} the snapshot also keeps how far it moved since the snapshot before.
+ *     {@code draw()} moves every call back along that movement, so the render thread can show any moment between
+ *     the two ticks without keeping two snapshots or reading a {@code GameObject}.
+ * </p>
+ * <p>
+ *     The snapshot also keeps a copy of what the {@code HeadUpDisplay} and {@code Menu} show: the {@code GameState},
+ *     whether the game is paused, and the health, score, level and kill count. The render thread draws them from
+ *     this copy, so it never reads the game while the update thread changes it.
+ * </p>
+ * <p>
+ *     A snapshot is not changed while the render thread has it. {@code TripleBuffer} hands it over,
+ *     and the arrays are reused for a later tick when it comes back to the update thread.
+ * </p>
+ * @see SnapshotRecorder
+ * @see hiof.rammeverk.TheGameEngine.Helpers.TripleBuffer
+ */
+public class FrameSnapshot {
+    static final byte FILL = 0;
+    static final byte OUTLINE = 1;
+    static final byte TEXT = 2;
+    static final byte IMAGE = 3;
+    static final byte SPRITE = 4;
+    private static final int MAX_INPUTS = 256;
+
+    private int count;
+    private byte[] types = new byte[1024];
+    private int[] layers = new int[1024];
+    private Color[] colors = new Color[1024];
+    private int[] bounds = new int[4 * 1024];
+    private Object[] payloads = new Object[1024];
+    /**
+     * Index of the {@code GameObject} each call belongs to, -1 for none.
+     */
+    private int[] entities = new int[1024];
+
+    private int entityCount;
+    private float[] moveX = new float[256];
+    private float[] moveY = new float[256];
+
+    private long tick;
+    private long capturedNanos;
+    private long spanNanos;
+
+    /**
+     * Times of the {@code KeyEvents} handled by the ticks of this snapshot, for the input latency.
+     */
+    private final long[] inputNanos = new long[MAX_INPUTS];
+    private int inputCount;
+
+    private GameState gameState = GameState.MENU;
+    private boolean paused;
+    private float health;
+    private int score;
+    private int level;
+    private int counter;
+
+    /**
+     * @return number of draw calls
+     */
+    public int getCount() {
+        return count;
+    }
+
+    /**
+     * @return number of {@code GameObjects} drawn
+     */
+    public int getEntityCount() {
+        return entityCount;
+    }
+
+    /**
+     * @return number of ticks run when the snapshot was recorded. 0 if nothing is recorded yet.
+     */
+    public long getTick() {
+        return tick;
+    }
+
+    /**
+     * @return {@code System.nanoTime()} when the snapshot was recorded
+     */
+    public long getCapturedNanos() {
+        return capturedNanos;
+    }
+
+    /**
+     * @return nanoseconds of game time between the snapshot before and this one
+     */
+    public long getSpanNanos() {
+        return spanNanos;
+    }
+
+    /**
+     * Copy what the {@code HeadUpDisplay} and {@code Menu} show. Called on the update thread, before the snapshot is published.
+     * @param gameState {@code GameState} of the window
+     * @param paused is the game paused
+     * @param health health of the player
+     * @param score score
+     * @param level level
+     * @param counter kill count
+     */
+    public void setOverlay(GameState gameState, boolean paused, float health, int score, int level, int counter) {
+        this.gameState = gameState;
+        this.paused = paused;
+        this.health = health;
+        this.score = score;
+        this.level = level;
+        this.counter = counter;
+    }
+
+    /**
+     * @return {@code GameState} when the snapshot was recorded. {@code MENU} if nothing is recorded yet.
+     */
+    public GameState getGameState() {
+        return gameState;
+    }
+
+    /**
+     * @return was the game paused when the snapshot was recorded
+     */
+    public boolean isPaused() {
+        return paused;
+    }
+
+    /**
+     * @return health of the player when the snapshot was recorded
+     */
+    public float getHealth() {
+        return health;
+    }
+
+    /**
+     * @return score when the snapshot was recorded
+     */
+    public int getScore() {
+        return score;
+    }
+
+    /**
+     * @return level when the snapshot was recorded
+     */
+    public int getLevel() {
+        return level;
+    }
+
+    /**
+     * @return kill count when the snapshot was recorded
+     */
+    public int getCounter() {
+        return counter;
+    }
+
+    /**
+     * How far to move from the snapshot before to this one, to show the game at {@code now}.
+     * <p>
+     *     The render thread is one snapshot behind the update thread: 0 when the snapshot was just recorded,
+     *     and 1 when the next one is due.
+     * </p>
+     * @param now {@code System.nanoTime()}
+     * @return from 0 to 1
+     */
+    public float alpha(long now) {
+        if (spanNanos <= 0)
+            return 1;
+        float alpha = (now - capturedNanos) / (float) spanNanos;
+        return Math.max(0, Math.min(1, alpha));
+    }
+
+    /**
+     * Draw the recorded calls in order, each moved back towards the snapshot before.
+     * <p>
+     *     The layer of each call is set on {@code target}, so a {@code BatchingRenderer} sorts them like the live {@code GameObjects}.
+     * </p>
+     * @param target {@code Renderer}
+     * @param alpha from 0, where the {@code GameObjects} were in the snapshot before, to 1, where they are in this one
+     */
+    public void draw(Renderer target, float alpha) {
+        float behind = 1 - Math.max(0, Math.min(1, alpha));
+        int lastLayer = Integer.MIN_VALUE;
+        Color lastColor = null;
+        for (int i = 0; i < count; i++) {
+            if (layers[i] != lastLayer) {
+                target.setLayer(layers[i]);
+                lastLayer = layers[i];
+            }
+            if (colors[i] != lastColor) {
+                target.setColor(colors[i]);
+                lastColor = colors[i];
+            }
+            int b = i * 4;
+            int x = bounds[b];
+            int y = bounds[b + 1];
+            int entity = entities[i];
+            if (entity >= 0 && behind > 0) {
+                x -= Math.round(moveX[entity] * behind);
+                y -= Math.round(moveY[entity] * behind);
+            }
+            switch (types[i]) {
+                case FILL -> target.fillRect(x, y, bounds[b + 2], bounds[b + 3]);
+                case OUTLINE -> target.drawRect(x, y, bounds[b + 2], bounds[b + 3]);
+                case TEXT -> target.drawString((String) payloads[i], x, y);
+                case IMAGE -> target.drawImage((Image) payloads[i], x, y);
+                case SPRITE -> target.drawSprite((Sprite) payloads[i], x, y);
+                default -> throw new IllegalStateException("Unknown command: " + types[i]);
+            }
+        }
+        if (lastLayer != Integer.MIN_VALUE)
+            target.setLayer(0);
+    }
+
+    /**
+     * Give the latency of every {@code KeyEvent} handled by the ticks of this snapshot, and forget them,
+     * so a snapshot shown in several frames is only counted once. Call right after {@code BufferStrategy.show()}.
+     * @param now {@code System.nanoTime()}
+     * @param latency called with the latency of each event in nanoseconds
+     */
+    public void shown(long now, LongConsumer latency) {
+        for (int i = 0; i < inputCount; i++)
+            latency.accept(now - inputNanos[i]);
+        inputCount = 0;
+    }
+
+    void clear(long tick, long capturedNanos, long spanNanos, boolean keepInput) {
+        Arrays.fill(colors, 0, count, null);
+        Arrays.fill(payloads, 0, count, null);
+        count = 0;
+        entityCount = 0;
+        this.tick = tick;
+        this.capturedNanos = capturedNanos;
+        this.spanNanos = spanNanos;
+        if (!keepInput)
+            inputCount = 0;
+    }
+
+    void addInput(long nanos) {
+        if (inputCount < MAX_INPUTS)
+            inputNanos[inputCount++] = nanos;
+    }
+
+    int addEntity(float moveX, float moveY) {
+        if (entityCount == this.moveX.length) {
+            this.moveX = Arrays.copyOf(this.moveX, entityCount * 2);
+            this.moveY = Arrays.copyOf(this.moveY, entityCount * 2);
+        }
+        this.moveX[entityCount] = moveX;
+        this.moveY[entityCount] = moveY;
+        return entityCount++;
+    }
+
+    void add(byte type, int layer, Color color, int x, int y, int width, int height, Object payload, int entity) {
+        if (count == types.length)
+            grow();
+        int i = count++;
+        types[i] = type;
+        layers[i] = layer;
+        colors[i] = color;
+        payloads[i] = payload;
+        entities[i] = entity;
+        int b = i * 4;
+        bounds[b] = x;
+        bounds[b + 1] = y;
+        bounds[b + 2] = width;
+        bounds[b + 3] = height;
+    }
+
+    private void grow() {
+        int length = types.length * 2;
+        types = Arrays.copyOf(types, length);
+        layers = Arrays.copyOf(layers, length);
+        colors = Arrays.copyOf(colors, length);
+        bounds = Arrays.copyOf(bounds, length * 4);
+        payloads = Arrays.copyOf(payloads, length);
+        entities = Arrays.copyOf(entities, length);
+    }
+}
@@ -0,0 +1,241 @@
+package hiof.rammeverk.TheGameEngine.Render;
+
+import java.awt.Color;
+import java.awt.Graphics;
+import java.awt.Graphics2D;
+import java.awt.Image;
+import java.awt.image.BufferedImage;
+import java.awt.image.DataBufferInt;
+import java.util.Arrays;
+import java.util.stream.IntStream;
+
+/**
+ * {@code Renderer} that fills rectangles straight into the {@code int[]} pixels of a {@code BufferedImage}.
+ * <p>
+ *     Calls to {@code fillRect()} and {@code drawRect()} are recorded, and drawn when the frame ends or when
+ *     {@code getGraphics()} is needed. The image is split into horizontal bands that are filled in parallel.
+ *     Each band draws the rectangles in the order they were recorded, so the result is the same as drawing them one by one.
+ * </p>
+ * <p>
+ *     Text and images are drawn with the {@code Graphics} of the image.
+ * </p>
+ * <ol> <strong>For each frame:</strong>
+ *     <li>{@code begin()}</li>
+ *     <li>{@code clear()} and the draw calls</li>
+ *     <li>{@code end()}, which returns the image to copy to the window</li>
+ * </ol>
+ * @see Renderer
+ */
+public class FramebufferRenderer implements Renderer {
+    /**
+     * Smallest height of a band, so small images are not split into many tiny tasks.
+     */
+    private static final int MIN_BAND_HEIGHT = 32;
+    /**
+     * Fewer recorded rectangles than this are drawn on the calling thread.
+     */
+    private static final int PARALLEL_THRESHOLD = 128;
+    private static final int FIELDS = 5;
+
+    private final int width;
+    private final int height;
+    private final BufferedImage image;
+    private final int[] pixels;
+    private final int bands;
+    private Graphics2D graphics;
+    private Color color = Color.BLACK;
+    private int translateX;
+    private int translateY;
+
+    /**
+     * Recorded rectangles, {@code FIELDS} ints each: left, top, right, bottom (clipped to the image, exclusive) and ARGB color.
+     */
+    private int[] commands = new int[FIELDS * 1024];
+    private int commandCount;
+
+    /**
+     * @param width width of the image
+     * @param height height of the image
+     */
+    public FramebufferRenderer(int width, int height) {
+        this.width = width;
+        this.height = height;
+        this.image = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+        this.pixels = ((DataBufferInt) image.getRaster().getDataBuffer()).getData();
+        this.bands = Math.max(1, Math.min(Runtime.getRuntime().availableProcessors(), height / MIN_BAND_HEIGHT));
+    }
+
+    /**
+     * Start a new frame.
+     */
+    public void begin() {
+        if (graphics != null)
+            graphics.dispose();
+        graphics = image.createGraphics();
+        translateX = 0;
+        translateY = 0;
+        commandCount = 0;
+        setColor(Color.BLACK);
+    }
+
+    /**
+     * Fill the whole image with one color. Anything recorded before is dropped.
+     * @param background {@code Color}
+     */
+    public void clear(Color background) {
+        commandCount = 0;
+        Arrays.fill(pixels, background.getRGB());
+    }
+
+    /**
+     * Draw everything recorded and end the frame.
+     * @return the image, to be copied to the window
+     */
+    public BufferedImage end() {
+        flush();
+        if (graphics != null) {
+            graphics.dispose();
+            graphics = null;
+        }
+        return image;
+    }
+
+    public BufferedImage getImage() {
+        return image;
+    }
+
+    @Override
+    public void setColor(Color color) {
+        this.color = color;
+    }
+
+    @Override
+    public Color getColor() {
+        return color;
+    }
+
+    @Override
+    public void fillRect(int x, int y, int width, int height) {
+        int left = Math.max(0, x + translateX);
+        int top = Math.max(0, y + translateY);
+        int right = Math.min(this.width, x + translateX + width);
+        int bottom = Math.min(this.height, y + translateY + height);
+        if (left >= right || top >= bottom)
+            return;
+        int argb = color.getRGB();
+        if ((argb >>> 24) == 0)
+            return;
+        if (commandCount * FIELDS == commands.length)
+            commands = Arrays.copyOf(commands, commands.length * 2);
+        int i = commandCount * FIELDS;
+        commands[i] = left;
+        commands[i + 1] = top;
+        commands[i + 2] = right;
+        commands[i + 3] = bottom;
+        commands[i + 4] = argb;
+        commandCount++;
+    }
+
+    @Override
+    public void drawRect(int x, int y, int width, int height) {
+        if (width < 0 || height < 0)
+            return;
+        fillRect(x, y, width + 1, 1);
+        if (height == 0)
+            return;
+        fillRect(x, y + height, width + 1, 1);
+        fillRect(x, y + 1, 1, height - 1);
+        fillRect(x + width, y + 1, 1, height - 1);
+    }
+
+    @Override
+    public void drawString(String text, int x, int y) {
+        Graphics g = getGraphics();
+        g.drawString(text, x, y);
+    }
+
+    @Override
+    public void drawImage(Image image, int x, int y) {
+        Graphics g = getGraphics();
+        g.drawImage(image, x, y, null);
+    }
+
+    @Override
+    public void translate(int x, int y) {
+        translateX += x;
+        translateY += y;
+        if (graphics != null)
+            graphics.translate(x, y);
+    }
+
+    /**
+     * Draws everything recorded, then returns the {@code Graphics} of the image with the current color and translation.
+     * @return {@code Graphics}
+     */
+    @Override
+    public Graphics getGraphics() {
+        flush();
+        if (graphics == null) {
+            graphics = image.createGraphics();
+            graphics.translate(translateX, translateY);
+        }
+        graphics.setColor(color);
+        return graphics;
+    }
+
+    /**
+     * Draw the recorded rectangles into the pixels.
+     */
+    public void flush() {
+        if (commandCount == 0)
+            return;
+        if (bands == 1 || commandCount < PARALLEL_THRESHOLD)
+            rasterize(0, height);
+        else
+            IntStream.range(0, bands).parallel().forEach(band -> rasterize(band * height / bands, (band + 1) * height / bands));
+        commandCount = 0;
+    }
+
+    /**
+     * Draw the part of every recorded rectangle between the rows {@code top} and {@code bottom}.
+     */
+    private void rasterize(int top, int bottom) {
+        final int[] commands = this.commands;
+        final int[] pixels = this.pixels;
+        final int count = commandCount * FIELDS;
+        for (int i = 0; i < count; i += FIELDS) {
+            int y0 = Math.max(top, commands[i + 1]);
+            int y1 = Math.min(bottom, commands[i + 3]);
+            if (y0 >= y1)
+                continue;
+            int left = commands[i];
+            int right = commands[i + 2];
+            int argb = commands[i + 4];
+            int alpha = argb >>> 24;
+            for (int y = y0; y < y1; y++) {
+                int row = y * width;
+                if (alpha == 255)
+                    Arrays.fill(pixels, row + left, row + right, argb);
+                else
+                    blend(pixels, row + left, row + right, argb, alpha);
+            }
+        }
+    }
+
+    /**
+     * Draw a see-through color over the pixels from {@code from} to {@code to}.
+     */
+    private static void blend(int[] pixels, int from, int to, int argb, int alpha) {
+        int inverse = 255 - alpha;
+        int red = ((argb >> 16) & 0xFF) * alpha;
+        int green = ((argb >> 8) & 0xFF) * alpha;
+        int blue = (argb & 0xFF) * alpha;
+        for (int i = from; i < to; i++) {
+            int pixel = pixels[i];
+            int r = (red + ((pixel >> 16) & 0xFF) * inverse) / 255;
+            int g = (green + ((pixel >> 8) & 0xFF) * inverse) / 255;
+            int b = (blue + (pixel & 0xFF) * inverse) / 255;
+            pixels[i] = 0xFF000000 | (r << 16) | (g << 8) | b;
+        }
+    }
+}
@@ -0,0 +1,168 @@
+package hiof.rammeverk.TheGameEngine.Render;
+
+import java.awt.Color;
+import java.awt.Font;
+import java.awt.FontMetrics;
+import java.awt.Graphics;
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+
+/**
+ * Draws numbers and fixed labels from pre-rendered images, without creating any objects.
+ * <p>
+ *     {@code g.drawString("Score: " + score, x, y)} creates a new {@code String} every frame, and {@code Graphics} lays
+ *     out the text again every time. The {@code GlyphAtlas} draws the digits and the labels once, with one font and color,
+ *     into one image. Numbers are written into a reused {@code char[]} and drawn digit by digit as parts of that image.
+ * </p>
+ * <p>
+ *     The image is never changed after it is made, so Java2D can keep a copy of it on the graphics card.
+ * </p>
+ * <pre>{@code
+ *     GlyphAtlas text = new GlyphAtlas(font, Color.BLACK, "Score: ");
+ *     int x = text.drawLabel(g, "Score: ", 15, 64);
+ *     text.drawInt(g, score, x, 64);
+ * }</pre>
+ * <p>
+ *     Only use a {@code GlyphAtlas} from one thread at a time.
+ * </p>
+ */
+public class GlyphAtlas {
+    private static final String GLYPHS = "0123456789-";
+
+    private final Font font;
+    private final Color color;
+    private final BufferedImage atlas;
+    private final int ascent;
+    private final int height;
+    private final int[] glyphX = new int[GLYPHS.length()];
+    private final int[] glyphWidth = new int[GLYPHS.length()];
+    private final String[] labels;
+    private final int[] labelX;
+    private final int[] labelWidth;
+    /**
+     * Digits of the number being drawn. Long enough for {@code Integer.MIN_VALUE}.
+     */
+    private final char[] buffer = new char[11];
+
+    /**
+     * Draw the digits, the minus sign and {@code labels} into a new atlas.
+     * @param font {@code Font} of the text
+     * @param color {@code Color} of the text
+     * @param labels fixed texts that can be drawn with {@code drawLabel()}
+     */
+    public GlyphAtlas(Font font, Color color, String... labels) {
+        this.font = font;
+        this.color = color;
+        this.labels = labels.clone();
+        this.labelX = new int[labels.length];
+        this.labelWidth = new int[labels.length];
+
+        BufferedImage scratch = new BufferedImage(1, 1, BufferedImage.TYPE_INT_ARGB_PRE);
+        Graphics2D sg = scratch.createGraphics();
+        FontMetrics metrics = sg.getFontMetrics(font);
+        sg.dispose();
+        ascent = metrics.getAscent();
+        height = Math.max(1, ascent + metrics.getDescent());
+
+        int x = 0;
+        for (int i = 0; i < GLYPHS.length(); i++) {
+            glyphX[i] = x;
+            glyphWidth[i] = metrics.charWidth(GLYPHS.charAt(i));
+            x += glyphWidth[i];
+        }
+        for (int i = 0; i < labels.length; i++) {
+            labelX[i] = x;
+            labelWidth[i] = metrics.stringWidth(labels[i]);
+            x += labelWidth[i];
+        }
+
+        atlas = new BufferedImage(Math.max(1, x), height, BufferedImage.TYPE_INT_ARGB_PRE);
+        Graphics2D g = atlas.createGraphics();
+        g.setFont(font);
+        g.setColor(color);
+        for (int i = 0; i < GLYPHS.length(); i++)
+            g.drawString(GLYPHS.substring(i, i + 1), glyphX[i], ascent);
+        for (int i = 0; i < labels.length; i++)
+            g.drawString(labels[i], labelX[i], ascent);
+        g.dispose();
+    }
+
+    public Font getFont() {
+        return font;
+    }
+
+    public Color getColor() {
+        return color;
+    }
+
+    /**
+     * Draw a label given to the constructor.
+     * @param g {@code Graphics}
+     * @param label one of the labels given to the constructor
+     * @param x left edge
+     * @param y baseline, like {@code drawString()}
+     * @return x-position after the label, where the next text can be drawn
+     * @throws IllegalArgumentException if the label is not in the atlas
+     */
+    public int drawLabel(Graphics g, String label, int x, int y) {
+        for (int i = 0; i < labels.length; i++) {
+            if (labels[i].equals(label))
+                return blit(g, labelX[i], labelWidth[i], x, y);
+        }
+        throw new IllegalArgumentException("Label is not in the atlas: " + label);
+    }
+
+    /**
+     * Draw a whole number.
+     * @param g {@code Graphics}
+     * @param value number to draw
+     * @param x left edge
+     * @param y baseline, like {@code drawString()}
+     * @return x-position after the number, where the next text can be drawn
+     */
+    public int drawInt(Graphics g, int value, int x, int y) {
+        int length = format(value);
+        for (int i = buffer.length - length; i < buffer.length; i++) {
+            int glyph = buffer[i] == '-' ? 10 : buffer[i] - '0';
+            x = blit(g, glyphX[glyph], glyphWidth[glyph], x, y);
+        }
+        return x;
+    }
+
+    /**
+     * Width of a number drawn with {@code drawInt()}.
+     * @param value number
+     * @return width in pixels
+     */
+    public int intWidth(int value) {
+        int length = format(value);
+        int width = 0;
+        for (int i = buffer.length - length; i < buffer.length; i++)
+            width += glyphWidth[buffer[i] == '-' ? 10 : buffer[i] - '0'];
+        return width;
+    }
+
+    /**
+     * Write the digits of {@code value} into the end of {@code buffer}.
+     * @param value number
+     * @return number of chars written
+     */
+    private int format(int value) {
+        int i = buffer.length;
+        // Work with negative numbers, so Integer.MIN_VALUE does not overflow.
+        int v = value < 0 ? value : -value;
+        do {
+            buffer[--i] = (char) ('0' - v % 10);
+            v /= 10;
+        } while (v != 0);
+        if (value < 0)
+            buffer[--i] = '-';
+        return buffer.length - i;
+    }
+
+    private int blit(Graphics g, int sourceX, int width, int x, int y) {
+        int top = y - ascent;
+        g.drawImage(atlas, x, top, x + width, top + height, sourceX, 0, sourceX + width, height, null);
+        return x + width;
+    }
+}
@@ -0,0 +1,73 @@
+package hiof.rammeverk.TheGameEngine.Render;
+
+import java.awt.Color;
+import java.awt.Graphics;
+import java.awt.Image;
+
+/**
+ * {@code Renderer} that draws with {@code java.awt.Graphics}, the same way the engine always has.
+ * @see Renderer
+ */
+public class GraphicsRenderer implements Renderer {
+    private Graphics graphics;
+
+    public GraphicsRenderer() {
+    }
+
+    public GraphicsRenderer(Graphics graphics) {
+        this.graphics = graphics;
+    }
+
+    /**
+     * Change the {@code Graphics} drawn to. Lets one {@code GraphicsRenderer} be used for every frame.
+     * @param graphics {@code Graphics}
+     */
+    public void setGraphics(Graphics graphics) {
+        this.graphics = graphics;
+    }
+
+    @Override
+    public void setColor(Color color) {
+        graphics.setColor(color);
+    }
+
+    @Override
+    public Color getColor() {
+        return graphics.getColor();
+    }
+
+    @Override
+    public void fillRect(int x, int y, int width, int height) {
+        graphics.fillRect(x, y, width, height);
+    }
+
+    @Override
+    public void drawRect(int x, int y, int width, int height) {
+        graphics.drawRect(x, y, width, height);
+    }
+
+    @Override
+    public void drawString(String text, int x, int y) {
+        graphics.drawString(text, x, y);
+    }
+
+    @Override
+    public void drawImage(Image image, int x, int y) {
+        graphics.drawImage(image, x, y, null);
+    }
+
+    @Override
+    public void drawSprite(Sprite sprite, int x, int y) {
+        sprite.draw(graphics, x, y);
+    }
+
+    @Override
+    public void translate(int x, int y) {
+        graphics.translate(x, y);
+    }
+
+    @Override
+    public Graphics getGraphics() {
+        return graphics;
+    }
+}
@@ -0,0 +1,125 @@
+package hiof.rammeverk.TheGameEngine.Render;
+
+import hiof.rammeverk.TheGameEngine.GameObjects.GameObject;
+
+import java.awt.Color;
+import java.awt.Graphics;
+import java.awt.Image;
+
+/**
+ * Small drawing interface used by {@code GameObject.render()}.
+ * <p>
+ *     The same {@code render()}-method can draw with {@code java.awt.Graphics} through {@code GraphicsRenderer},
+ *     or straight into the pixels of an image through {@code FramebufferRenderer}.
+ * </p>
+ * <p>
+ *     The methods work like the methods with the same name in {@code Graphics}.
+ *     Use {@code getGraphics()} for anything else.
+ * </p>
+ * @see GraphicsRenderer
+ * @see FramebufferRenderer
+ * @see GameObject#render(Renderer)
+ */
+public interface Renderer {
+
+    /**
+     * Set the color used by the following draw calls.
+     * @param color {@code Color}
+     */
+    void setColor(Color color);
+
+    Color getColor();
+
+    /**
+     * Fill a rectangle with the current color.
+     * @param x left edge
+     * @param y top edge
+     * @param width width in pixels
+     * @param height height in pixels
+     */
+    void fillRect(int x, int y, int width, int height);
+
+    /**
+     * Draw the outline of a rectangle with the current color.
+     * Like {@code Graphics.drawRect()} the outline covers {@code width + 1} by {@code height + 1} pixels.
+     * @param x left edge
+     * @param y top edge
+     * @param width width in pixels
+     * @param height height in pixels
+     */
+    void drawRect(int x, int y, int width, int height);
+
+    /**
+     * Draw text with the current color and the font of {@code getGraphics()}.
+     * @param text {@code String}
+     * @param x left edge
+     * @param y baseline
+     */
+    void drawString(String text, int x, int y);
+
+    /**
+     * Draw an image at its own size.
+     * @param image {@code Image}
+     * @param x left edge
+     * @param y top edge
+     */
+    void drawImage(Image image, int x, int y);
+
+    /**
+     * Draw a {@code Sprite} at its own size.
+     * <p>
+     *     Draws the {@code BufferedImage} of the sprite. {@code GraphicsRenderer} draws the accelerated copy when drawing to the screen.
+     * </p>
+     * @param sprite {@code Sprite}
+     * @param x left edge
+     * @param y top edge
+     * @see AssetManager
+     */
+    default void drawSprite(Sprite sprite, int x, int y) {
+        drawImage(sprite.getImage(), x, y);
+    }
+
+    /**
+     * Move the origin of the following draw calls.
+     * @param x added to all x-positions
+     * @param y added to all y-positions
+     */
+    void translate(int x, int y);
+
+    /**
+     * Set the layer of the following draw calls. Higher layers are drawn on top.
+     * <p>
+     *     Renderers that draw at once ignore the layer, since the calls are already drawn in order.
+     *     {@code BatchingRenderer} sorts by it.
+     * </p>
+     * @param layer from {@code BatchingRenderer.MIN_LAYER} to {@code BatchingRenderer.MAX_LAYER}
+     * @see BatchingRenderer
+     */
+    default void setLayer(int layer) {
+    }
+
+    default int getLayer() {
+        return 0;
+    }
+
+    /**
+     * Called by {@code ApplicationHandler.render()} before each {@code GameObject} is drawn.
+     * <p>
+     *     Renderers that draw at once ignore it. {@code SnapshotRecorder} uses it to know which {@code GameObject}
+     *     each draw call belongs to, so the call can be moved with it when frames are interpolated.
+     * </p>
+     * @param object {@code GameObject} drawn by the following calls
+     * @see SnapshotRecorder
+     */
+    default void beginObject(GameObject object) {
+    }
+
+    /**
+     * {@code Graphics} drawing to the same target, for anything this interface can not draw.
+     * <p>
+     *     Everything drawn through the {@code Renderer} before this call is drawn first.
+     * </p>
+     * @return {@code Graphics}
+     */
+    Graphics getGraphics();
+}
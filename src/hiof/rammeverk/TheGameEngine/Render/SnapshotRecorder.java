@@ -0,0 +1,218 @@
+package hiof.rammeverk.TheGameEngine.Render;
+
+import hiof.rammeverk.TheGameEngine.GameObjects.GameObject;
+
+import java.awt.Color;
+import java.awt.Graphics;
+import java.awt.Image;
+import java.awt.image.BufferedImage;
+import java.util.Arrays;
+
+/**
+ * {@code Renderer} that records the draw calls of the {@code GameObjects} into a {@code FrameSnapshot}, on the update thread.
+ * <p>
+ *     {@code ApplicationHandler.render()} draws into it like into any other {@code Renderer}. Before each {@code GameObject}
+ *     the recorder reads its position, and compares it with the position in the last snapshot it recorded.
+ *     The difference is stored in the snapshot, so the render thread can interpolate.
+ * </p>
+ * <p>
+ *     A {@code GameObject} that was not in the last snapshot, like a new or reused one, is not interpolated.
+ * </p>
+ * <p>
+ *     {@code getGraphics()} can not be recorded. It returns a {@code Graphics} that draws nowhere,
+ *     so {@code GameObjects} that draw with it are not shown. Override {@code GameObject.render(Renderer)} instead.
+ * </p>
+ * @see FrameSnapshot
+ */
+public class SnapshotRecorder implements Renderer {
+    private FrameSnapshot snapshot;
+    private Color color = Color.BLACK;
+    private int layer;
+    private int translateX;
+    private int translateY;
+    private int entity = -1;
+    private Graphics nowhere;
+
+    /**
+     * Positions in the last snapshot and in the current one, by {@code GameObject}. Open addressing on identity.
+     */
+    private GameObject[] lastKeys = new GameObject[256];
+    private float[] lastX = new float[256];
+    private float[] lastY = new float[256];
+    private GameObject[] keys = new GameObject[256];
+    private float[] keyX = new float[256];
+    private float[] keyY = new float[256];
+    private int keyCount;
+
+    /**
+     * Start recording into {@code snapshot}. Call before {@code ApplicationHandler.render()}.
+     * @param snapshot {@code FrameSnapshot} to overwrite
+     * @param tick number of ticks run
+     * @param now {@code System.nanoTime()}
+     * @param spanNanos game time since the last snapshot
+     * @param keepInput keep the input times in {@code snapshot}, because it was published and never shown
+     */
+    public void begin(FrameSnapshot snapshot, long tick, long now, long spanNanos, boolean keepInput) {
+        this.snapshot = snapshot;
+        snapshot.clear(tick, now, spanNanos, keepInput);
+        color = Color.BLACK;
+        layer = 0;
+        translateX = 0;
+        translateY = 0;
+        entity = -1;
+        Arrays.fill(keys, null);
+        keyCount = 0;
+    }
+
+    /**
+     * Finish the snapshot. Its positions are compared with the next one.
+     */
+    public void end() {
+        GameObject[] k = lastKeys;
+        float[] x = lastX;
+        float[] y = lastY;
+        lastKeys = keys;
+        lastX = keyX;
+        lastY = keyY;
+        keys = k;
+        keyX = x;
+        keyY = y;
+        snapshot = null;
+        entity = -1;
+    }
+
+    /**
+     * Add the time of a {@code KeyEvent} handled by the ticks of the snapshot being recorded.
+     * @param nanos time of the event, on the {@code System.nanoTime()} clock
+     * @see FrameSnapshot#shown(long, java.util.function.LongConsumer)
+     */
+    public void addInput(long nanos) {
+        snapshot.addInput(nanos);
+    }
+
+    @Override
+    public void beginObject(GameObject object) {
+        float x = object.getXPos();
+        float y = object.getYPos();
+        float moveX = 0;
+        float moveY = 0;
+        int last = find(lastKeys, object);
+        if (last >= 0) {
+            moveX = x - lastX[last];
+            moveY = y - lastY[last];
+        }
+        put(object, x, y);
+        entity = snapshot.addEntity(moveX, moveY);
+    }
+
+    @Override
+    public void setColor(Color color) {
+        this.color = color;
+    }
+
+    @Override
+    public Color getColor() {
+        return color;
+    }
+
+    @Override
+    public void setLayer(int layer) {
+        this.layer = layer;
+    }
+
+    @Override
+    public int getLayer() {
+        return layer;
+    }
+
+    @Override
+    public void fillRect(int x, int y, int width, int height) {
+        if (width > 0 && height > 0)
+            record(FrameSnapshot.FILL, x, y, width, height, null);
+    }
+
+    @Override
+    public void drawRect(int x, int y, int width, int height) {
+        if (width >= 0 && height >= 0)
+            record(FrameSnapshot.OUTLINE, x, y, width, height, null);
+    }
+
+    @Override
+    public void drawString(String text, int x, int y) {
+        record(FrameSnapshot.TEXT, x, y, 0, 0, text);
+    }
+
+    @Override
+    public void drawImage(Image image, int x, int y) {
+        record(FrameSnapshot.IMAGE, x, y, 0, 0, image);
+    }
+
+    @Override
+    public void drawSprite(Sprite sprite, int x, int y) {
+        record(FrameSnapshot.SPRITE, x, y, 0, 0, sprite);
+    }
+
+    @Override
+    public void translate(int x, int y) {
+        translateX += x;
+        translateY += y;
+    }
+
+    /**
+     * @return {@code Graphics} that draws nowhere. What is drawn with it is not in the snapshot.
+     */
+    @Override
+    public Graphics getGraphics() {
+        if (nowhere == null)
+            nowhere = new BufferedImage(1, 1, BufferedImage.TYPE_INT_ARGB).createGraphics();
+        nowhere.setColor(color);
+        return nowhere;
+    }
+
+    private void record(byte type, int x, int y, int width, int height, Object payload) {
+        snapshot.add(type, layer, color, x + translateX, y + translateY, width, height, payload, entity);
+    }
+
+    private static int slot(GameObject object, int mask) {
+        return (System.identityHashCode(object) * 0x9E3779B9 >>> 7) & mask;
+    }
+
+    private static int find(GameObject[] table, GameObject object) {
+        int mask = table.length - 1;
+        for (int i = slot(object, mask); ; i = (i + 1) & mask) {
+            GameObject key = table[i];
+            if (key == object)
+                return i;
+            if (key == null)
+                return -1;
+        }
+    }
+
+    private void put(GameObject object, float x, float y) {
+        if ((keyCount + 1) * 2 > keys.length)
+            growKeys();
+        int mask = keys.length - 1;
+        int i = slot(object, mask);
+        while (keys[i] != null && keys[i] != object)
+            i = (i + 1) & mask;
+        if (keys[i] == null)
+            keyCount++;
+        keys[i] = object;
+        keyX[i] = x;
+        keyY[i] = y;
+    }
+
+    private void growKeys() {
+        GameObject[] oldKeys = keys;
+        float[] oldX = keyX;
+        float[] oldY = keyY;
+        keys = new GameObject[oldKeys.length * 2];
+        keyX = new float[keys.length];
+        keyY = new float[keys.length];
+        keyCount = 0;
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldKeys[i] != null)
+                put(oldKeys[i], oldX[i], oldY[i]);
+        }
+    }
+}
@@ -0,0 +1,153 @@
+package hiof.rammeverk.TheGameEngine.Render;
+
+import java.awt.AlphaComposite;
+import java.awt.Graphics;
+import java.awt.Graphics2D;
+import java.awt.GraphicsConfiguration;
+import java.awt.GraphicsDevice;
+import java.awt.Transparency;
+import java.awt.image.BufferedImage;
+import java.awt.image.DataBuffer;
+import java.awt.image.VolatileImage;
+
+/**
+ * An image loaded once by the {@code AssetManager}, ready to be drawn every frame.
+ * <p>
+ *     The pixels are kept in a {@code BufferedImage} with the same format as the screen, so drawing it needs no conversion.
+ *     When drawn to the screen a copy is also kept in a {@code VolatileImage}, which the graphics card can draw without
+ *     copying the pixels from memory.
+ * </p>
+ * <p>
+ *     The operating system may throw away the contents of a {@code VolatileImage} at any time, for example when the
+ *     screen mode changes or the computer wakes up. The contents are then copied again from the {@code BufferedImage},
+ *     and the {@code BufferedImage} is drawn until the copy is restored.
+ * </p>
+ * <p>
+ *     Draw it with {@code Renderer.drawSprite()}. Only use a {@code Sprite} from the game thread.
+ * </p>
+ * @see AssetManager
+ * @see Renderer#drawSprite(Sprite, int, int)
+ */
+public class Sprite {
+    private final String name;
+    private final BufferedImage image;
+    private boolean accelerated = true;
+    private VolatileImage volatileImage;
+
+    /**
+     * @param name name used in the {@code AssetManager}
+     * @param image pixels of the sprite. Use {@code AssetManager.toCompatibleImage()} first for the fastest drawing.
+     */
+    public Sprite(String name, BufferedImage image) {
+        this.name = name;
+        this.image = image;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public int getWidth() {
+        return image.getWidth();
+    }
+
+    public int getHeight() {
+        return image.getHeight();
+    }
+
+    /**
+     * @return the {@code BufferedImage} with the pixels of the sprite
+     */
+    public BufferedImage getImage() {
+        return image;
+    }
+
+    /**
+     * @return bytes of memory used by the pixels, not counting the {@code VolatileImage}
+     */
+    public long getBytes() {
+        DataBuffer buffer = image.getRaster().getDataBuffer();
+        return (long) buffer.getSize() * buffer.getNumBanks() * (DataBuffer.getDataTypeSize(buffer.getDataType()) / 8);
+    }
+
+    public boolean isAccelerated() {
+        return accelerated;
+    }
+
+    /**
+     * Turn the {@code VolatileImage} copy on or off. Default is on.
+     * @param accelerated {@code boolean}
+     */
+    public void setAccelerated(boolean accelerated) {
+        this.accelerated = accelerated;
+        if (!accelerated)
+            flush();
+    }
+
+    /**
+     * Draw the sprite with {@code Graphics}.
+     * <p>
+     *     On the screen the {@code VolatileImage} is drawn. On anything else, like a {@code BufferedImage}, the
+     *     {@code BufferedImage} of the sprite is drawn, since reading back from the graphics card would be slower.
+     * </p>
+     * @param g {@code Graphics}
+     * @param x left edge
+     * @param y top edge
+     */
+    public void draw(Graphics g, int x, int y) {
+        VolatileImage accelerated = validate(g);
+        if (accelerated != null) {
+            g.drawImage(accelerated, x, y, null);
+            if (!accelerated.contentsLost())
+                return;
+        }
+        g.drawImage(image, x, y, null);
+    }
+
+    /**
+     * Release the {@code VolatileImage}. It is created again the next time the sprite is drawn to the screen.
+     */
+    public void flush() {
+        if (volatileImage != null) {
+            volatileImage.flush();
+            volatileImage = null;
+        }
+    }
+
+    /**
+     * Make sure the {@code VolatileImage} can be drawn with {@code g}, and that its contents are there.
+     * @param g {@code Graphics}
+     * @return the {@code VolatileImage}, or null if the {@code BufferedImage} should be drawn instead
+     */
+    private VolatileImage validate(Graphics g) {
+        if (!accelerated || !(g instanceof Graphics2D))
+            return null;
+        GraphicsConfiguration gc = ((Graphics2D) g).getDeviceConfiguration();
+        if (gc == null || gc.getDevice().getType() != GraphicsDevice.TYPE_RASTER_SCREEN)
+            return null;
+        VolatileImage v = volatileImage;
+        int status = v == null ? VolatileImage.IMAGE_INCOMPATIBLE : v.validate(gc);
+        if (status == VolatileImage.IMAGE_INCOMPATIBLE) {
+            if (v != null)
+                v.flush();
+            v = gc.createCompatibleVolatileImage(image.getWidth(), image.getHeight(), image.getTransparency());
+            volatileImage = v;
+            if (v == null)
+                return null;
+            status = VolatileImage.IMAGE_RESTORED;
+        }
+        if (status == VolatileImage.IMAGE_RESTORED) {
+            Graphics2D vg = v.createGraphics();
+            if (image.getTransparency() != Transparency.OPAQUE)
+                vg.setComposite(AlphaComposite.Src);
+            vg.drawImage(image, 0, 0, null);
+            vg.dispose();
+        }
+        return v;
+    }
+
+    @Override
+    public String toString() {
+        return "Sprite " + name + " " + getWidth() + "x" + getHeight();
+    }
+}
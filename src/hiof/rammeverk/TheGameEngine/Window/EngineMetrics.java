@@ -0,0 +1,295 @@
+package hiof.rammeverk.TheGameEngine.Window;
+
+import hiof.rammeverk.TheGameEngine.ApplicationHandler;
+import hiof.rammeverk.TheGameEngine.Behavior.Creator;
+import hiof.rammeverk.TheGameEngine.GameObjects.EntityList;
+import hiof.rammeverk.TheGameEngine.GameObjects.Id;
+import hiof.rammeverk.TheGameEngine.Helpers.FrameProfiler;
+import hiof.rammeverk.TheGameEngine.Helpers.FrameProfiler.Phase;
+import hiof.rammeverk.TheGameEngine.Helpers.Histogram;
+import hiof.rammeverk.TheGameEngine.Helpers.TickScheduler;
+
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+/**
+ * Publishes the statistics of the game as a JMX MXBean.
+ * <p>
+ *     The counters are updated where things happen: {@code TickScheduler} counts ticks and frames, {@code EntityList}
+ *     counts added and removed {@code GameObjects} with {@code LongAdders}, the {@code Creator} counts clones and the
+ *     {@code FrameProfiler} times the ticks and frames and the input latency.
+ * </p>
+ * <p>
+ *     Once per second {@code publish()} reads them on the game thread and stores the rates in volatile fields.
+ *     Between those seconds {@code publish()} only compares two numbers. It never locks and creates no objects,
+ *     so the game loop is not slowed down by a JMX client reading the values.
+ * </p>
+ * <p>
+ *     Registered as {@code hiof.rammeverk.TheGameEngine:type=EngineMetrics}.
+ * </p>
+ * @see EngineMetricsMXBean
+ * @see GameBuilder#setMetricsEnabled(boolean)
+ */
+public class EngineMetrics implements EngineMetricsMXBean {
+    public static final String OBJECT_NAME = "hiof.rammeverk.TheGameEngine:type=EngineMetrics";
+    private static final long NANOS_PER_SECOND = 1_000_000_000L;
+    private static final Id[] IDS = Id.values();
+
+    private final ApplicationHandler app;
+    private final TickScheduler scheduler;
+    private final FrameProfiler profiler;
+    private final FrameProfiler frameProfiler;
+
+    private long intervalStart;
+    private long lastTicks;
+    private long lastFrames;
+    private long lastAdded;
+    private long lastRemoved;
+    private long lastClones;
+    private long lastPooledClones;
+
+    private volatile double ticksPerSecond;
+    private volatile double framesPerSecond;
+    private volatile long catchUpTicks;
+    private volatile long droppedTicks;
+    private volatile int objectCount;
+    private final AtomicIntegerArray entityCounts = new AtomicIntegerArray(IDS.length);
+    private volatile double addedPerSecond;
+    private volatile double removedPerSecond;
+    private volatile double clonesPerSecond;
+    private volatile double pooledClonesPerSecond;
+    private volatile long tickP50;
+    private volatile long tickP99;
+    private volatile long tickMax;
+    private volatile long frameP50;
+    private volatile long frameP99;
+    private volatile long frameMax;
+    private volatile long inputLatencyP50;
+    private volatile long inputLatencyP99;
+    private volatile long inputLatencyMax;
+
+    /**
+     * @param app {@code ApplicationHandler} of the game
+     * @param scheduler {@code TickScheduler} of the game loop
+     * @param profiler {@code FrameProfiler} of the game loop. The percentiles are 0 while it is disabled.
+     */
+    public EngineMetrics(ApplicationHandler app, TickScheduler scheduler, FrameProfiler profiler) {
+        this(app, scheduler, profiler, profiler);
+    }
+
+    /**
+     * Use when the frames are drawn on their own thread, with their own {@code FrameProfiler}.
+     * @param app {@code ApplicationHandler} of the game
+     * @param scheduler {@code TickScheduler} of the game loop
+     * @param profiler {@code FrameProfiler} of the ticks
+     * @param frameProfiler {@code FrameProfiler} of the frames and the input latency
+     */
+    public EngineMetrics(ApplicationHandler app, TickScheduler scheduler, FrameProfiler profiler, FrameProfiler frameProfiler) {
+        this.app = app;
+        this.scheduler = scheduler;
+        this.profiler = profiler;
+        this.frameProfiler = frameProfiler;
+    }
+
+    /**
+     * Register with the platform {@code MBeanServer}. Replaces any {@code EngineMetrics} registered before.
+     * @throws IllegalStateException if JMX refuses the bean
+     */
+    public void register() {
+        try {
+            MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+            ObjectName name = new ObjectName(OBJECT_NAME);
+            if (server.isRegistered(name))
+                server.unregisterMBean(name);
+            server.registerMBean(this, name);
+        } catch (JMException e) {
+            throw new IllegalStateException("Could not register " + OBJECT_NAME, e);
+        }
+    }
+
+    /**
+     * Remove from the platform {@code MBeanServer}.
+     */
+    public void unregister() {
+        try {
+            MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+            ObjectName name = new ObjectName(OBJECT_NAME);
+            if (server.isRegistered(name))
+                server.unregisterMBean(name);
+        } catch (JMException e) {
+            System.err.println(e.getMessage());
+        }
+    }
+
+    /**
+     * Update the published values if a second has passed. Call once per loop on the game thread.
+     * @param now {@code System.nanoTime()}
+     */
+    public void publish(long now) {
+        if (intervalStart == 0) {
+            intervalStart = now;
+            readCounters();
+            return;
+        }
+        long elapsed = now - intervalStart;
+        if (elapsed < NANOS_PER_SECOND)
+            return;
+        double seconds = elapsed / (double) NANOS_PER_SECOND;
+        long ticks = lastTicks;
+        long frames = lastFrames;
+        long added = lastAdded;
+        long removed = lastRemoved;
+        long clones = lastClones;
+        long pooledClones = lastPooledClones;
+        readCounters();
+        ticksPerSecond = (lastTicks - ticks) / seconds;
+        framesPerSecond = (lastFrames - frames) / seconds;
+        addedPerSecond = (lastAdded - added) / seconds;
+        removedPerSecond = (lastRemoved - removed) / seconds;
+        clonesPerSecond = (lastClones - clones) / seconds;
+        pooledClonesPerSecond = (lastPooledClones - pooledClones) / seconds;
+        catchUpTicks = scheduler.getCatchUpTicks();
+        droppedTicks = scheduler.getDroppedTicks();
+
+        EntityList objects = app.getObjects();
+        objectCount = objects.size();
+        for (int i = 0; i < IDS.length; i++)
+            entityCounts.lazySet(i, objects.count(IDS[i]));
+
+        Histogram tick = profiler.getLast(Phase.TICK);
+        tickP50 = tick.getValueAtPercentile(50);
+        tickP99 = tick.getValueAtPercentile(99);
+        tickMax = tick.getMax();
+        Histogram frame = frameProfiler.getLast(Phase.FRAME);
+        frameP50 = frame.getValueAtPercentile(50);
+        frameP99 = frame.getValueAtPercentile(99);
+        frameMax = frame.getMax();
+        Histogram inputLatency = frameProfiler.getLast(Phase.INPUT_LATENCY);
+        inputLatencyP50 = inputLatency.getValueAtPercentile(50);
+        inputLatencyP99 = inputLatency.getValueAtPercentile(99);
+        inputLatencyMax = inputLatency.getMax();
+        intervalStart = now;
+    }
+
+    private void readCounters() {
+        lastTicks = scheduler.getTicks();
+        lastFrames = scheduler.getFrames();
+        lastAdded = app.getObjects().getAddedCount();
+        lastRemoved = app.getObjects().getRemovedCount();
+        long clones = 0;
+        long pooledClones = 0;
+        Creator creator = app.getCreator();
+        if (creator != null) {
+            for (Id id : IDS) {
+                long hits = creator.getPoolHits(id);
+                pooledClones += hits;
+                clones += hits + creator.getPoolMisses(id);
+            }
+        }
+        lastClones = clones;
+        lastPooledClones = pooledClones;
+    }
+
+    @Override
+    public double getTicksPerSecond() {
+        return ticksPerSecond;
+    }
+
+    @Override
+    public double getFramesPerSecond() {
+        return framesPerSecond;
+    }
+
+    @Override
+    public long getCatchUpTicks() {
+        return catchUpTicks;
+    }
+
+    @Override
+    public long getDroppedTicks() {
+        return droppedTicks;
+    }
+
+    @Override
+    public int getObjectCount() {
+        return objectCount;
+    }
+
+    @Override
+    public Map<String, Integer> getEntityCounts() {
+        Map<String, Integer> counts = new LinkedHashMap<>();
+        for (int i = 0; i < IDS.length; i++)
+            counts.put(IDS[i].name(), entityCounts.get(i));
+        return counts;
+    }
+
+    @Override
+    public double getObjectsAddedPerSecond() {
+        return addedPerSecond;
+    }
+
+    @Override
+    public double getObjectsRemovedPerSecond() {
+        return removedPerSecond;
+    }
+
+    @Override
+    public double getClonesPerSecond() {
+        return clonesPerSecond;
+    }
+
+    @Override
+    public double getPooledClonesPerSecond() {
+        return pooledClonesPerSecond;
+    }
+
+    @Override
+    public double getTickP50Micros() {
+        return tickP50 / 1000.0;
+    }
+
+    @Override
+    public double getTickP99Micros() {
+        return tickP99 / 1000.0;
+    }
+
+    @Override
+    public double getTickMaxMicros() {
+        return tickMax / 1000.0;
+    }
+
+    @Override
+    public double getFrameP50Micros() {
+        return frameP50 / 1000.0;
+    }
+
+    @Override
+    public double getFrameP99Micros() {
+        return frameP99 / 1000.0;
+    }
+
+    @Override
+    public double getFrameMaxMicros() {
+        return frameMax / 1000.0;
+    }
+
+    @Override
+    public double getInputLatencyP50Micros() {
+        return inputLatencyP50 / 1000.0;
+    }
+
+    @Override
+    public double getInputLatencyP99Micros() {
+        return inputLatencyP99 / 1000.0;
+    }
+
+    @Override
+    public double getInputLatencyMaxMicros() {
+        return inputLatencyMax / 1000.0;
+    }
+}
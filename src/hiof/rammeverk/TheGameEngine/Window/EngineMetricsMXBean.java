@@ -0,0 +1,73 @@
+package hiof.rammeverk.TheGameEngine.Window;
+
+import java.util.Map;
+
+/**
+ * Statistics of a running game, readable with JMX tools like <em>JConsole</em> or <em>VisualVM</em>.
+ * <p>
+ *     All values are from the last whole second, or totals since the game started.
+ *     Times are in microseconds.
+ * </p>
+ * @see EngineMetrics
+ */
+public interface EngineMetricsMXBean {
+
+    double getTicksPerSecond();
+
+    double getFramesPerSecond();
+
+    /**
+     * @return ticks run back to back to catch up, since start
+     */
+    long getCatchUpTicks();
+
+    /**
+     * @return ticks dropped because the game was too late to catch up, since start
+     */
+    long getDroppedTicks();
+
+    /**
+     * @return {@code GameObjects} in {@code ApplicationHandler.getObjects()}
+     */
+    int getObjectCount();
+
+    /**
+     * @return number of {@code GameObjects} for each {@code Id}
+     */
+    Map<String, Integer> getEntityCounts();
+
+    double getObjectsAddedPerSecond();
+
+    double getObjectsRemovedPerSecond();
+
+    /**
+     * @return {@code GameObjects} made by the {@code Creator} per second, pooled or new
+     */
+    double getClonesPerSecond();
+
+    /**
+     * @return {@code GameObjects} taken from the pool of the {@code Creator} per second
+     */
+    double getPooledClonesPerSecond();
+
+    double getTickP50Micros();
+
+    double getTickP99Micros();
+
+    double getTickMaxMicros();
+
+    double getFrameP50Micros();
+
+    double getFrameP99Micros();
+
+    double getFrameMaxMicros();
+
+    /**
+     * @return median time from a {@code KeyEvent} to the first frame shown after it was sampled
+     */
+    double getInputLatencyP50Micros();
+
+    double getInputLatencyP99Micros();
+
+    double getInputLatencyMaxMicros();
+}
@@ -3,9 +3,15 @@ package hiof.rammeverk.TheGameEngine.Window;
 import hiof.rammeverk.TheGameEngine.ApplicationHandler;
 import hiof.rammeverk.TheGameEngine.Behavior.GameLoop;
 import hiof.rammeverk.TheGameEngine.GameObjects.KeyInput;
+import hiof.rammeverk.TheGameEngine.Helpers.FrameProfiler;
+import hiof.rammeverk.TheGameEngine.Helpers.TickScheduler;
+import hiof.rammeverk.TheGameEngine.Render.BatchingRenderer;
+import hiof.rammeverk.TheGameEngine.Render.FramebufferRenderer;
+import hiof.rammeverk.TheGameEngine.Render.FrameSnapshot;
 
 import java.awt.*;
 import java.awt.event.KeyAdapter;
+import java.nio.file.Path;
 
 /**
  * Class responsible for creating a new {@code Window} and set {@code GameLoop} to be used.
@@ -175,4 +181,170 @@ public class GameBuilder {
     public void setWinCondition(int winCondition) {
         window.getHud().setWinCondition(winCondition);
     }
+
+    /**
+     * Set how many times per second the game is updated. Default is 60.<br>
+     * Call before {@code start()}.
+     * @param tickRate ticks per second
+     * @see TickScheduler
+     */
+    public void setTickRate(double tickRate) {
+        window.getScheduler().setTickRate(tickRate);
+    }
+
+    /**
+     * Set how many frames per second are rendered at most. Default is 60.<br>
+     * 0 renders as fast as possible. Call before {@code start()}.
+     * @param frameRate frames per second
+     * @see TickScheduler
+     */
+    public void setFrameRate(double frameRate) {
+        window.getScheduler().setFrameRate(frameRate);
+    }
+
+    /**
+     * Set how many missed ticks are run back to back when the game is late. Default is 5.<br>
+     * Ticks missed beyond this are dropped. Call before {@code start()}.
+     * @param maxCatchUpTicks at least 1
+     * @see TickScheduler
+     */
+    public void setMaxCatchUpTicks(int maxCatchUpTicks) {
+        window.getScheduler().setMaxCatchUpTicks(maxCatchUpTicks);
+    }
+
+    /**
+     * Draw the {@code GameObjects} with the software {@code FramebufferRenderer} instead of {@code java.awt.Graphics}.
+     * <p>
+     *     Rectangles are filled straight into the pixels of an image, in parallel bands, and the image is copied
+     *     to the window once per frame. Faster when there are thousands of {@code GameObjects}.
+     * </p>
+     * @param enabled {@code boolean}
+     * @see FramebufferRenderer
+     */
+    public void setSoftwareRendering(boolean enabled) {
+        window.setSoftwareRendering(enabled);
+    }
+
+    /**
+     * Sort the draw calls of the {@code GameObjects} by layer, and group calls with the same color where that does not change the frame,
+     * so the color is only changed once for each group.
+     * <p>
+     *     Use {@code GameObject.setLayer()} for {@code GameObjects} that must be drawn on top of others.
+     *     Calls in different layers do not stop each other from being grouped.
+     * </p>
+     * @param enabled {@code boolean}
+     * @see BatchingRenderer
+     */
+    public void setBatchedRendering(boolean enabled) {
+        window.setBatchedRendering(enabled);
+    }
+
+    /**
+     * Run the ticks and draw the frames on two threads, so a slow frame does not delay the ticks.
+     * <p>
+     *     After the ticks the draw calls of the {@code GameObjects} are recorded into a {@code FrameSnapshot},
+     *     and the render thread draws the newest one, with each {@code GameObject} moved to where it is between two ticks.
+     *     Only what is drawn with the {@code Renderer} is recorded, so override {@code GameObject.render(Renderer)}.
+     * </p>
+     * @param enabled {@code boolean}
+     * @see FrameSnapshot
+     */
+    public void setThreadedRendering(boolean enabled) {
+        window.setThreadedRendering(enabled);
+    }
+
+    /**
+     * Record the keys of each game, and the seed it started with, into a file in {@code directory}.
+     * <p>
+     *     The files are named {@code game-<start time in milliseconds>.input}, and are written when the game is lost
+     *     or won, or when the program exits during a game. Play them back with {@code InputReplay}.
+     * </p>
+     * @param directory {@code Path} of an existing directory, or null to stop recording
+     * @see InputRecorder
+     */
+    public void setInputRecording(Path directory) {
+        window.setInputRecording(directory);
+    }
+
+    /**
+     * Play a recorded game instead of showing the menu. Call before {@code start()}.
+     * <p>
+     *     Keys and mouse are ignored during the replay. If the recorded game was quit before it was over,
+     *     it goes on with live keys after the last recorded tick.
+     * </p>
+     * @param replay {@code InputReplay}, from {@code InputReplay.load()}
+     * @param realTime true to tick at the recorded tick rate, false to tick as fast as possible
+     * @see InputReplay
+     * @see HeadlessRunner#replay(InputReplay, boolean)
+     */
+    public void setReplay(InputReplay replay, boolean realTime) {
+        window.setReplay(replay, realTime);
+    }
+
+    /**
+     * Save the game to a {@code WorldSnapshot} file. Safe to call while the game runs; it is saved between two ticks.
+     * @param file {@code Path}
+     * @see WorldSnapshot
+     */
+    public void saveWorld(Path file) {
+        window.saveWorld(file);
+    }
+
+    /**
+     * Replace the game with one saved by {@code saveWorld()}, and play it. Safe to call while the game runs,
+     * or before {@code start()} to start in the saved game instead of the menu.
+     * @param file {@code Path}
+     * @see WorldSnapshot
+     */
+    public void loadWorld(Path file) {
+        window.loadWorld(file);
+    }
+
+    /**
+     * Show how long each part of a tick and a frame takes, the tick and frame rate and the number of {@code GameObjects}
+     * for each {@code Id}. <em>F3</em> shows and hides it while the game runs.
+     * @param visible {@code boolean}
+     * @see FrameProfiler
+     */
+    public void setProfilerOverlay(boolean visible) {
+        window.setProfilerOverlay(visible);
+    }
+
+    /**
+     * Publish the statistics of the game over JMX, as {@code hiof.rammeverk.TheGameEngine:type=EngineMetrics}.
+     * <p>
+     *     Ticks and frames per second, catch-up ticks, the number of {@code GameObjects} for each {@code Id},
+     *     {@code GameObjects} added, removed and cloned per second, and tick and frame time percentiles.
+     *     The values are updated once per second. Turns the {@code FrameProfiler} on.
+     * </p>
+     * @param enabled {@code boolean}
+     * @see EngineMetrics
+     */
+    public void setMetricsEnabled(boolean enabled) {
+        window.setMetricsEnabled(enabled);
+    }
+
+    /**
+     * The {@code FrameProfiler} timing the game. Enable it with {@code setEnabled(true)} to use the numbers without the overlay.
+     * @return {@code FrameProfiler}
+     */
+    public FrameProfiler getProfiler() {
+        return window.getProfiler();
+    }
+
+    /**
+     * Number of ticks that were dropped because the game was too late to catch up.
+     * @return dropped ticks since start
+     */
+    public long getDroppedTicks() {
+        return window.getScheduler().getDroppedTicks();
+    }
+
+    /**
+     * Number of ticks that were run back to back to catch up.
+     * @return catch-up ticks since start
+     */
+    public long getCatchUpTicks() {
+        return window.getScheduler().getCatchUpTicks();
+    }
 }
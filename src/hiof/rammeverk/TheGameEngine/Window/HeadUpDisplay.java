@@ -2,8 +2,10 @@ package hiof.rammeverk.TheGameEngine.Window;
 
 
 import hiof.rammeverk.TheGameEngine.Helpers.Limiter;
+import hiof.rammeverk.TheGameEngine.Render.GlyphAtlas;
 
 import java.awt.Color;
+import java.awt.Font;
 import java.awt.Graphics;
 // TODO Consider adding a way to save scores to a file
 /**
@@ -16,6 +18,14 @@ import java.awt.Graphics;
  * @see GameBuilder
  */
 public class HeadUpDisplay {
+    private static final Color HEALTH_COLOR = new Color(200, 0, 0);
+    /**
+     * The font {@code Graphics} starts with.
+     */
+    private static final Font FONT = new Font(Font.DIALOG, Font.PLAIN, 12);
+    private static final String SCORE_LABEL = "Score: ";
+    private static final String LEVEL_LABEL = "Level: ";
+    private static final String COUNTER_LABEL = "Kill count: ";
     private static float health = 100;
 
     /**
@@ -29,6 +39,7 @@ public class HeadUpDisplay {
      * Use to determine when the game is won.
      */
     private int winCondition = 50;
+    private GlyphAtlas text;
 
     /**
      * Updates {@code score}, {@code level} and {@code health}
@@ -45,16 +56,41 @@ public class HeadUpDisplay {
      * @see Graphics
      */
     public void render(Graphics g){
+        render(g, health, score, level, counter);
+    }
+
+    /**
+     * Draws the given values to the window.
+     * <p>
+     *     With threaded rendering {@code Window} calls this on the render thread, with values copied on the game thread,
+     *     so the {@code HeadUpDisplay} is never read while a tick changes it.
+     *     A subclass that draws its own should override both methods.
+     * </p>
+     * <p>
+     *     The text is drawn from a {@code GlyphAtlas}, so no objects are created each frame.
+     * </p>
+     * @param g {@code Graphics}
+     * @param health health of the player
+     * @param score score
+     * @param level level
+     * @param counter kill count
+     * @see Graphics
+     * @see GlyphAtlas
+     * @see hiof.rammeverk.TheGameEngine.Render.FrameSnapshot
+     */
+    public void render(Graphics g, float health, int score, int level, int counter){
         g.setColor(Color.GRAY);
         g.fillRect(15, 15, 200, 32);
-        g.setColor(new Color(200, 0, 0));
+        g.setColor(HEALTH_COLOR);
         g.fillRect(15, 15, (int)health * 2, 32);
         g.setColor(Color.BLACK);
         g.drawRect(15, 15, 200, 32);
 
-        g.drawString("Score: " + score, 15, 64);
-        g.drawString("Level: " + level, 15, 80);
-        g.drawString("Kill count: " + counter, 15, 96);
+        if (text == null)
+            text = new GlyphAtlas(FONT, Color.BLACK, SCORE_LABEL, LEVEL_LABEL, COUNTER_LABEL);
+        text.drawInt(g, score, text.drawLabel(g, SCORE_LABEL, 15, 64), 64);
+        text.drawInt(g, level, text.drawLabel(g, LEVEL_LABEL, 15, 80), 80);
+        text.drawInt(g, counter, text.drawLabel(g, COUNTER_LABEL, 15, 96), 96);
     }
 
     /**
@@ -108,6 +144,13 @@ public class HeadUpDisplay {
         return "" + score;
     }
 
+    /**
+     * @return {@code score} as a number. {@code getScore()} returns it as a {@code String}.
+     */
+    public int getScoreValue() {
+        return score;
+    }
+
     public void setScore(int score) {
         this.score = score;
     }
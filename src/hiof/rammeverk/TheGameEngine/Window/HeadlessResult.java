@@ -0,0 +1,143 @@
+package hiof.rammeverk.TheGameEngine.Window;
+
+import hiof.rammeverk.TheGameEngine.ApplicationHandler;
+import hiof.rammeverk.TheGameEngine.GameObjects.Id;
+
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * State of the game and timing statistics after a {@code HeadlessRunner} has run.
+ * @see HeadlessRunner
+ */
+public class HeadlessResult {
+    private final GameState gameState;
+    private final int ticks;
+    private final long elapsedNanos;
+    private final long minTickNanos;
+    private final long maxTickNanos;
+    private final long totalTickNanos;
+    private final long droppedTicks;
+    private final String score;
+    private final int level;
+    private final int counter;
+    private final float health;
+    private final int objects;
+    private final Map<Id, Integer> counts = new EnumMap<>(Id.class);
+
+    HeadlessResult(ApplicationHandler app, HeadUpDisplay hud, GameState gameState, int ticks, long elapsedNanos,
+                   long minTickNanos, long maxTickNanos, long totalTickNanos, long droppedTicks) {
+        this.gameState = gameState;
+        this.ticks = ticks;
+        this.elapsedNanos = elapsedNanos;
+        this.minTickNanos = minTickNanos;
+        this.maxTickNanos = maxTickNanos;
+        this.totalTickNanos = totalTickNanos;
+        this.droppedTicks = droppedTicks;
+        this.score = hud.getScore();
+        this.level = hud.getLevel();
+        this.counter = HeadUpDisplay.getCounter();
+        this.health = HeadUpDisplay.getHealth();
+        this.objects = app.getObjects().size();
+        for (Id id : Id.values())
+            counts.put(id, app.count(id));
+    }
+
+    /**
+     * @return {@code GAME} if the game was still running, {@code LOSE} or {@code WIN} if it ended.
+     */
+    public GameState getGameState() {
+        return gameState;
+    }
+
+    /**
+     * @return number of ticks run
+     */
+    public int getTicks() {
+        return ticks;
+    }
+
+    /**
+     * @return wall-clock time of the whole run in nanoseconds, including sleeping
+     */
+    public long getElapsedNanos() {
+        return elapsedNanos;
+    }
+
+    public long getMinTickNanos() {
+        return minTickNanos;
+    }
+
+    public long getMaxTickNanos() {
+        return maxTickNanos;
+    }
+
+    public long getMeanTickNanos() {
+        return ticks == 0 ? 0 : totalTickNanos / ticks;
+    }
+
+    /**
+     * @return ticks run per second of wall-clock time
+     */
+    public double getTicksPerSecond() {
+        return elapsedNanos == 0 ? 0 : ticks * 1_000_000_000.0 / elapsedNanos;
+    }
+
+    /**
+     * @return ticks dropped by {@code runFixedRate()} because the run was too late to catch up. Always 0 for {@code run()}.
+     */
+    public long getDroppedTicks() {
+        return droppedTicks;
+    }
+
+    public String getScore() {
+        return score;
+    }
+
+    public int getLevel() {
+        return level;
+    }
+
+    public int getCounter() {
+        return counter;
+    }
+
+    public float getHealth() {
+        return health;
+    }
+
+    /**
+     * @return number of {@code GameObjects} in {@code ApplicationHandler.getObjects()}
+     */
+    public int getObjects() {
+        return objects;
+    }
+
+    /**
+     * @param id {@code Id}
+     * @return number of {@code GameObjects} with {@code id}
+     */
+    public int getCount(Id id) {
+        return counts.get(id);
+    }
+
+    /**
+     * @return number of {@code GameObjects} for each {@code Id}
+     */
+    public Map<Id, Integer> getCounts() {
+        return Collections.unmodifiableMap(counts);
+    }
+
+    @Override
+    public String toString() {
+        return "State: " + gameState +
+                "\nTicks: " + ticks + " (" + String.format("%.1f", getTicksPerSecond()) + " per second, " + droppedTicks + " dropped)" +
+                "\nTick time: min " + minTickNanos / 1000 + " us, mean " + getMeanTickNanos() / 1000 + " us, max " + maxTickNanos / 1000 + " us" +
+                "\nScore: " + score +
+                "\nLevel: " + level +
+                "\nKill count: " + counter +
+                "\nHealth: " + health +
+                "\nObjects: " + objects + " " + counts;
+    }
+}
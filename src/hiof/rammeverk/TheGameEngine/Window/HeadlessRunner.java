@@ -0,0 +1,220 @@
+package hiof.rammeverk.TheGameEngine.Window;
+
+import hiof.rammeverk.TheGameEngine.ApplicationHandler;
+import hiof.rammeverk.TheGameEngine.Behavior.GameLoop;
+import hiof.rammeverk.TheGameEngine.Helpers.TickScheduler;
+
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+
+/**
+ * Runs a game without a {@code Window}.
+ * <p>
+ *     Calls {@code ApplicationHandler.tick()}, {@code HeadUpDisplay.tick()} and {@code GameLoop.tick()} the same way
+ *     {@code Window} does while the {@code GameState} is {@code GAME}, but creates no {@code JFrame}, {@code Canvas} or {@code BufferStrategy}.
+ *     Nothing is rendered, so it works with {@code -Djava.awt.headless=true}.
+ * </p>
+ * <p>
+ *     Use it to test a {@code GameLoop} on a server, or to simulate a game faster than real time.
+ * </p>
+ * <ul> <strong>Two ways to run:</strong>
+ *     <li>{@code run(ticks)} runs the ticks as fast as possible.</li>
+ *     <li>{@code runFixedRate(ticks)} runs the ticks at the tick rate of {@code getScheduler()}, like {@code Window} does.</li>
+ * </ul>
+ * <p>
+ *     Both stop early when the game is lost or won, and return a {@code HeadlessResult}.
+ * </p>
+ * <p>
+ *     {@code replay()} plays back a game recorded in a {@code Window}, either way. Run as fast as possible,
+ *     a long game takes seconds, so a stall late in the game can be found again under a profiler.
+ * </p>
+ * <p>
+ *     {@code save()} and {@code load()} keep the whole game in a {@code WorldSnapshot}, to start runs from the same place.
+ * </p>
+ * @see Window
+ * @see HeadlessResult
+ * @see InputReplay
+ * @see WorldSnapshot
+ */
+public class HeadlessRunner {
+    private final ApplicationHandler app;
+    private final GameLoop gameLoop;
+    private final HeadUpDisplay hud;
+    private final TickScheduler scheduler = new TickScheduler();
+    private GameState gameState = GameState.MENU;
+    private InputReplay replay;
+    private long gameTicks;
+
+    /**
+     * @param app {@code ApplicationHandler}
+     * @param gameLoop {@code GameLoop}
+     */
+    public HeadlessRunner(ApplicationHandler app, GameLoop gameLoop) {
+        this(app, gameLoop, new HeadUpDisplay());
+    }
+
+    /**
+     * If you build your own {@code HeadUpDisplay}, use this constructor.
+     * @param app {@code ApplicationHandler}
+     * @param gameLoop {@code GameLoop}
+     * @param hud {@code HeadUpDisplay}
+     */
+    public HeadlessRunner(ApplicationHandler app, GameLoop gameLoop, HeadUpDisplay hud) {
+        this.app = app;
+        this.gameLoop = gameLoop;
+        this.hud = hud;
+    }
+
+    /**
+     * Run up to {@code ticks} ticks as fast as possible.
+     * @param ticks maximum number of ticks to run
+     * @return {@code HeadlessResult}
+     */
+    public HeadlessResult run(int ticks) {
+        return run(ticks, false);
+    }
+
+    /**
+     * Run up to {@code ticks} ticks at the tick rate of {@code getScheduler()}.
+     * <p>
+     *     The thread sleeps between ticks. Ticks missed beyond {@code maxCatchUpTicks} are dropped and reported in the result.
+     * </p>
+     * @param ticks maximum number of ticks to run
+     * @return {@code HeadlessResult}
+     */
+    public HeadlessResult runFixedRate(int ticks) {
+        return run(ticks, true);
+    }
+
+    /**
+     * Play back a game recorded by {@code InputRecorder}, from its first tick.
+     * <p>
+     *     The game is started with the recorded seed, and the recorded keys are put into the {@code InputState}
+     *     before each tick. It stops after the last recorded tick, or when the game is lost or won.
+     *     Use {@code InputReplay.matches()} to check that it ended like the recorded game.
+     * </p>
+     * @param replay {@code InputReplay}
+     * @param realTime true to tick at the recorded tick rate, false to tick as fast as possible
+     * @return {@code HeadlessResult}
+     */
+    public HeadlessResult replay(InputReplay replay, boolean realTime) {
+        if (realTime)
+            scheduler.setTickRate(1_000_000_000.0 / replay.getTickNanos());
+        this.replay = replay;
+        try {
+            newGame();
+            return run((int) Math.min(replay.getTicks(), Integer.MAX_VALUE), realTime);
+        } finally {
+            this.replay = null;
+        }
+    }
+
+    /**
+     * Save the game to {@code file}, so a later run can go on from here with {@code load()}.
+     * @param file {@code Path}
+     * @throws UncheckedIOException if the file can not be written
+     * @see WorldSnapshot
+     */
+    public void save(Path file) {
+        app.applyCommands();
+        WorldSnapshot.save(file, app, hud, gameLoop, gameTicks);
+    }
+
+    /**
+     * Replace the game with one saved by {@code save()} or {@code GameBuilder.saveWorld()}. The next run goes on from there.
+     * @param file {@code Path}
+     * @throws UncheckedIOException if the file can not be read or is not a world snapshot
+     * @see WorldSnapshot
+     */
+    public void load(Path file) {
+        app.applyCommands();
+        gameTicks = WorldSnapshot.load(file, app, hud, gameLoop);
+        gameState = GameState.GAME;
+    }
+
+    /**
+     * The {@code TickScheduler} used by {@code runFixedRate()}. Use it to change the tick rate.
+     * @return {@code TickScheduler}
+     */
+    public TickScheduler getScheduler() {
+        return scheduler;
+    }
+
+    /**
+     * @return {@code GAME} while a game is running, else {@code LOSE} or {@code WIN} after the last run.
+     */
+    public GameState getGameState() {
+        return gameState;
+    }
+
+    public HeadUpDisplay getHud() {
+        return hud;
+    }
+
+    /**
+     * Start a new game, the same way {@code Menu} does when <em>Play</em> is clicked.
+     */
+    private void newGame() {
+        app.clearAll();
+        app.applyCommands();
+        gameLoop.reset();
+        hud.reset();
+        gameTicks = 0;
+        if (replay != null)
+            replay.start(app);
+        gameState = GameState.GAME;
+    }
+
+    private HeadlessResult run(int ticks, boolean fixedRate) {
+        if (gameState != GameState.GAME)
+            newGame();
+        long droppedBefore = scheduler.getDroppedTicks();
+        long minTick = Long.MAX_VALUE;
+        long maxTick = 0;
+        long tickTotal = 0;
+        int done = 0;
+        long start = System.nanoTime();
+        scheduler.start(start);
+        while (done < ticks && gameState == GameState.GAME) {
+            int due = 1;
+            if (fixedRate) {
+                scheduler.waitForNextTick();
+                due = Math.min(scheduler.ticksDue(System.nanoTime()), ticks - done);
+            }
+            for (int i = 0; i < due && gameState == GameState.GAME; i++) {
+                long before = System.nanoTime();
+                tick();
+                long duration = System.nanoTime() - before;
+                minTick = Math.min(minTick, duration);
+                maxTick = Math.max(maxTick, duration);
+                tickTotal += duration;
+                done++;
+            }
+        }
+        long elapsed = System.nanoTime() - start;
+        app.applyCommands();
+        return new HeadlessResult(app, hud, gameState, done, elapsed,
+                done == 0 ? 0 : minTick, maxTick, tickTotal, scheduler.getDroppedTicks() - droppedBefore);
+    }
+
+    /**
+     * Same as {@code Window.tick()} in the {@code GAME}-state.
+     * <p>
+     *     When the game is lost or won the {@code GameObjects} are kept, so they are part of the {@code HeadlessResult}.
+     *     The next run starts a new game.
+     * </p>
+     */
+    private void tick() {
+        if (replay != null)
+            replay.apply(gameTicks, app.getInput());
+        gameTicks++;
+        app.applyCommands();
+        app.tick();
+        hud.tick();
+        gameLoop.tick();
+        if (hud.loseGame())
+            gameState = GameState.LOSE;
+        else if (hud.winGame())
+            gameState = GameState.WIN;
+    }
+}
@@ -0,0 +1,189 @@
+package hiof.rammeverk.TheGameEngine.Window;
+
+import hiof.rammeverk.TheGameEngine.ApplicationHandler;
+import hiof.rammeverk.TheGameEngine.Helpers.InputState;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * Records the keys of one game, and the seed it started with, into a compact binary log that {@code InputReplay} plays back.
+ * <p>
+ *     {@code tick()} is called on the game thread after the keys are sampled, before each tick that updates the game.
+ *     It writes every key pressed and released in the sample, stamped with the number of the tick. A key that went down
+ *     or up while no tick was looking, like in a pause, is written as a change of the held keys only, without an event.
+ * </p>
+ * <p>
+ *     A record is usually two or three bytes, so a game of twenty minutes fits in a few hundred kilobytes.
+ *     The log is kept in memory, and nothing is written to disk until {@code write()}.
+ * </p>
+ * <ul> <strong>Format, big-endian:</strong>
+ *     <li>Header: magic {@code "TGEI"}, {@code short} version, {@code long} seed, {@code long} nanoseconds per tick,
+ *     {@code int} window width and height, {@code float} health of the {@code HeadUpDisplay}.</li>
+ *     <li>Records: a varint with the ticks since the last record shifted left by 3, or'ed with the type.
+ *     Key records are followed by a varint with the key code.</li>
+ *     <li>End: the end record, then the {@code GameState} ordinal, score and kill count as {@code int}.</li>
+ * </ul>
+ * <p>
+ *     {@code Menu} starts a recording when <em>Play</em> is clicked, and {@code Window} ends it when the game is lost or won.
+ *     The methods are synchronized, so a shutdown hook can end and write a game that is quit while the game thread
+ *     records. {@code write()} only holds the lock while it copies the log, not while the file is written.
+ * </p>
+ * @see InputReplay
+ * @see GameBuilder#setInputRecording(Path)
+ */
+public class InputRecorder {
+    static final int MAGIC = 0x54474549;
+    static final int VERSION = 1;
+    static final int PRESSED = 0;
+    static final int RELEASED = 1;
+    static final int DOWN = 2;
+    static final int UP = 3;
+    static final int END = 4;
+    static final int TYPE_BITS = 3;
+
+    private final ByteArrayOutputStream bytes = new ByteArrayOutputStream(4096);
+    /**
+     * Keys held down as {@code InputReplay} will see them.
+     */
+    private final long[] down = new long[InputState.KEY_CODES / 64];
+    private long tick;
+    private long lastTick;
+    private boolean ended;
+
+    /**
+     * Start a recording. Call when the game starts, after {@code ApplicationHandler.setSeed()}.
+     * @param app {@code ApplicationHandler} of the game
+     * @param tickNanos nanoseconds between two ticks, used to replay in real time
+     */
+    public InputRecorder(ApplicationHandler app, long tickNanos) {
+        writeInt(MAGIC);
+        bytes.write(VERSION >>> 8);
+        bytes.write(VERSION);
+        writeLong(app.getSeed());
+        writeLong(tickNanos);
+        writeInt(app.getWindowWidth());
+        writeInt(app.getWindowHeight());
+        writeInt(Float.floatToIntBits(HeadUpDisplay.getHealth()));
+    }
+
+    /**
+     * Record the keys sampled for the next tick. Call once before each tick that updates the game, after {@code InputState.sample()}.
+     * @param input {@code InputState} of the game
+     */
+    public synchronized void tick(InputState input) {
+        if (ended)
+            return;
+        int count = input.getEventCount();
+        for (int i = 0; i < count; i++) {
+            int key = input.getEventKey(i);
+            boolean pressed = input.isEventPressed(i);
+            writeRecord(pressed ? PRESSED : RELEASED);
+            writeVarLong(key);
+            setDown(key, pressed);
+        }
+        for (int key = 0; key < InputState.KEY_CODES; key++) {
+            boolean held = input.isDown(key);
+            if (held != isDown(key)) {
+                writeRecord(held ? DOWN : UP);
+                writeVarLong(key);
+                setDown(key, held);
+            }
+        }
+        tick++;
+    }
+
+    /**
+     * Finish the log. Later calls to {@code tick()} and {@code end()} are ignored.
+     * @param state {@code LOSE} or {@code WIN}, or {@code GAME} if the game was quit
+     * @param score score of the {@code HeadUpDisplay}
+     * @param counter kill count of the {@code HeadUpDisplay}
+     */
+    public synchronized void end(GameState state, int score, int counter) {
+        if (ended)
+            return;
+        writeRecord(END);
+        writeInt(state.ordinal());
+        writeInt(score);
+        writeInt(counter);
+        ended = true;
+    }
+
+    public synchronized boolean isEnded() {
+        return ended;
+    }
+
+    /**
+     * @return ticks recorded so far
+     */
+    public synchronized long getTicks() {
+        return tick;
+    }
+
+    /**
+     * @return size of the log in bytes
+     */
+    public synchronized int size() {
+        return bytes.size();
+    }
+
+    /**
+     * @return a copy of the log
+     */
+    public synchronized byte[] toByteArray() {
+        return bytes.toByteArray();
+    }
+
+    /**
+     * Write the log to a file, replacing it if it exists. Safe to call while another thread records.
+     * @param file {@code Path}
+     * @throws UncheckedIOException if the file can not be written
+     */
+    public void write(Path file) {
+        byte[] log = toByteArray();
+        try {
+            Files.write(file, log);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not write input log " + file + ": " + e.getMessage(), e);
+        }
+    }
+
+    private boolean isDown(int key) {
+        return (down[key >>> 6] & 1L << key) != 0;
+    }
+
+    private void setDown(int key, boolean held) {
+        if (key < 0 || key >= InputState.KEY_CODES)
+            return;
+        if (held)
+            down[key >>> 6] |= 1L << key;
+        else
+            down[key >>> 6] &= ~(1L << key);
+    }
+
+    private void writeRecord(int type) {
+        writeVarLong((tick - lastTick) << TYPE_BITS | type);
+        lastTick = tick;
+    }
+
+    private void writeVarLong(long value) {
+        while ((value & ~0x7FL) != 0) {
+            bytes.write((int) (value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        bytes.write((int) value);
+    }
+
+    private void writeInt(int value) {
+        for (int shift = 24; shift >= 0; shift -= 8)
+            bytes.write(value >>> shift);
+    }
+
+    private void writeLong(long value) {
+        writeInt((int) (value >>> 32));
+        writeInt((int) value);
+    }
+}
@@ -0,0 +1,231 @@
+package hiof.rammeverk.TheGameEngine.Window;
+
+import hiof.rammeverk.TheGameEngine.ApplicationHandler;
+import hiof.rammeverk.TheGameEngine.Helpers.InputState;
+
+import java.io.ByteArrayInputStream;
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+
+/**
+ * A game recorded by {@code InputRecorder}, played back tick by tick.
+ * <p>
+ *     The game is started with the recorded seed, and before each tick {@code apply()} puts the recorded keys into
+ *     the {@code InputState}, as if they were pressed. The {@code GameObjects} must take their random numbers from
+ *     {@code ApplicationHandler.getRandom()} for the game to play out the same way.
+ * </p>
+ * <ul> <strong>Two ways to replay:</strong>
+ *     <li>{@code HeadlessRunner.replay()}, in real time or as fast as possible.</li>
+ *     <li>{@code GameBuilder.setReplay()}, in the {@code Window} instead of the menu.</li>
+ * </ul>
+ * <p>
+ *     A log that was cut off, like when the game crashed, is played back up to the last whole record.
+ * </p>
+ * <pre>{@code
+ *     InputReplay replay = InputReplay.load(Path.of("game-1700000000000.input"));
+ *     HeadlessResult result = new HeadlessRunner(app, loop).replay(replay, false);
+ *     System.out.println(replay.matches(result) ? "Same game" : "The replay went another way");
+ * }</pre>
+ * @see InputRecorder
+ */
+public class InputReplay {
+    private final long seed;
+    private final long tickNanos;
+    private final int width;
+    private final int height;
+    private final float health;
+
+    private int count;
+    private long[] ticks = new long[256];
+    private byte[] types = new byte[256];
+    private int[] keys = new int[256];
+
+    private long endTick;
+    private GameState recordedState;
+    private int recordedScore;
+    private int recordedCounter;
+
+    private int next;
+
+    private InputReplay(DataInputStream in) throws IOException {
+        if (in.readInt() != InputRecorder.MAGIC)
+            throw new IOException("Not an input log");
+        int version = in.readUnsignedShort();
+        if (version != InputRecorder.VERSION)
+            throw new IOException("Unsupported input log version: " + version);
+        seed = in.readLong();
+        tickNanos = in.readLong();
+        width = in.readInt();
+        height = in.readInt();
+        health = in.readFloat();
+        long tick = 0;
+        try {
+            while (true) {
+                long record = readVarLong(in);
+                tick += record >>> InputRecorder.TYPE_BITS;
+                int type = (int) (record & (1 << InputRecorder.TYPE_BITS) - 1);
+                if (type == InputRecorder.END) {
+                    int state = in.readInt();
+                    int score = in.readInt();
+                    int counter = in.readInt();
+                    GameState[] states = GameState.values();
+                    if (state < 0 || state >= states.length)
+                        throw new IOException("Unknown game state: " + state);
+                    recordedState = states[state];
+                    recordedScore = score;
+                    recordedCounter = counter;
+                    endTick = tick;
+                    return;
+                }
+                if (type > InputRecorder.UP)
+                    throw new IOException("Unknown record: " + type);
+                add(tick, type, (int) readVarLong(in));
+            }
+        } catch (EOFException e) {
+            // Cut off: play up to the last whole record.
+            endTick = count == 0 ? 0 : ticks[count - 1] + 1;
+        }
+    }
+
+    /**
+     * Read a log written by {@code InputRecorder.write()}.
+     * @param file {@code Path}
+     * @return {@code InputReplay}
+     * @throws UncheckedIOException if the file can not be read or is not an input log
+     */
+    public static InputReplay load(Path file) {
+        try {
+            return read(Files.readAllBytes(file));
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not read input log " + file + ": " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Read a log from {@code InputRecorder.toByteArray()}.
+     * @param log bytes of the log
+     * @return {@code InputReplay}
+     * @throws IOException if it is not an input log
+     */
+    public static InputReplay read(byte[] log) throws IOException {
+        return new InputReplay(new DataInputStream(new ByteArrayInputStream(log)));
+    }
+
+    /**
+     * Check that the game can be replayed with {@code app}, and start at the first tick.
+     * <p>
+     *     Sets the recorded seed and health, and lets go of all keys in the {@code InputState}.
+     *     Call on the game thread when the game starts, before the first {@code apply()}.
+     * </p>
+     * @param app {@code ApplicationHandler} of the game
+     * @throws IllegalArgumentException if the size of the window is not the recorded one
+     */
+    public void start(ApplicationHandler app) {
+        if (app.getWindowWidth() != width || app.getWindowHeight() != height)
+            throw new IllegalArgumentException("Recorded in a window of " + width + "x" + height + ", not "
+                    + app.getWindowWidth() + "x" + app.getWindowHeight());
+        app.setSeed(seed);
+        app.getInput().reset();
+        HeadUpDisplay.setHealth(health);
+        next = 0;
+    }
+
+    /**
+     * Put the keys recorded for {@code tick} into {@code input}. Call before {@code ApplicationHandler.applyCommands()}
+     * of each tick that updates the game, with the ticks counted from 0.
+     * @param tick number of the tick since the game started
+     * @param input {@code InputState} of the game
+     */
+    public void apply(long tick, InputState input) {
+        while (next < count && ticks[next] < tick)
+            next++;
+        long now = System.nanoTime();
+        for (; next < count && ticks[next] == tick; next++) {
+            int key = keys[next];
+            switch (types[next]) {
+                case InputRecorder.PRESSED -> input.keyPressed(key, now);
+                case InputRecorder.RELEASED -> input.keyReleased(key, now);
+                case InputRecorder.DOWN -> input.setDown(key, true);
+                case InputRecorder.UP -> input.setDown(key, false);
+                default -> throw new IllegalStateException("Unknown record: " + types[next]);
+            }
+        }
+    }
+
+    /**
+     * @param result {@code HeadlessResult} of the replay
+     * @return true if the replay ended like the recorded game, with the same score and kill count
+     */
+    public boolean matches(HeadlessResult result) {
+        return result.getTicks() == endTick && result.getGameState() == recordedState
+                && result.getCounter() == recordedCounter && result.getScore().equals(Integer.toString(recordedScore));
+    }
+
+    public long getSeed() {
+        return seed;
+    }
+
+    /**
+     * @return nanoseconds between two ticks when the game was recorded
+     */
+    public long getTickNanos() {
+        return tickNanos;
+    }
+
+    /**
+     * @return number of ticks recorded
+     */
+    public long getTicks() {
+        return endTick;
+    }
+
+    /**
+     * @return number of key records
+     */
+    public int getEventCount() {
+        return count;
+    }
+
+    /**
+     * @return {@code LOSE} or {@code WIN}, {@code GAME} if the game was quit, or {@code null} if the log was cut off
+     */
+    public GameState getRecordedState() {
+        return recordedState;
+    }
+
+    public int getRecordedScore() {
+        return recordedScore;
+    }
+
+    public int getRecordedCounter() {
+        return recordedCounter;
+    }
+
+    private void add(long tick, int type, int key) {
+        if (count == ticks.length) {
+            ticks = Arrays.copyOf(ticks, count * 2);
+            types = Arrays.copyOf(types, count * 2);
+            keys = Arrays.copyOf(keys, count * 2);
+        }
+        ticks[count] = tick;
+        types[count] = (byte) type;
+        keys[count] = key;
+        count++;
+    }
+
+    private static long readVarLong(DataInputStream in) throws IOException {
+        long value = 0;
+        for (int shift = 0; shift < 64; shift += 7) {
+            int b = in.readUnsignedByte();
+            value |= (long) (b & 0x7F) << shift;
+            if ((b & 0x80) == 0)
+                return value;
+        }
+        throw new IOException("Malformed varint");
+    }
+}
@@ -1,12 +1,19 @@
 package hiof.rammeverk.TheGameEngine.Window;
 
 import hiof.rammeverk.TheGameEngine.ApplicationHandler;
+import hiof.rammeverk.TheGameEngine.Render.GlyphAtlas;
+import hiof.rammeverk.TheGameEngine.Render.Sprite;
 
 import java.awt.Color;
 import java.awt.Graphics;
 import java.awt.Font;
+import java.awt.Graphics2D;
+import java.awt.Transparency;
+import java.awt.image.BufferedImage;
 import java.awt.event.MouseAdapter;
 import java.awt.event.MouseEvent;
+import java.util.EnumMap;
+import java.util.Map;
 
 /**
  * Display <em>Buttons</em> on {@code Window}.
@@ -23,6 +30,11 @@ import java.awt.event.MouseEvent;
  *
  */
 public final class Menu extends MouseAdapter {
+    private static final Font TITLE_FONT = new Font("arial", Font.BOLD, 50);
+    private static final Font TEXT_FONT = new Font("arial", Font.BOLD, 30);
+    private static final String SCORE_LABEL = "Score: ";
+    private static final String LEVEL_LABEL = "Level: ";
+    private static final String COUNTER_LABEL = "Kill count: ";
     private final Window window;
     private final ApplicationHandler app;
     private final HeadUpDisplay hud;
@@ -49,6 +61,10 @@ public final class Menu extends MouseAdapter {
     private Color settingButtonColor = Color.MAGENTA;
     private Color backButtonColor = Color.GREEN;
     private Color quitButtonColor = Color.GREEN;
+    private final Map<GameState, Sprite> layers = new EnumMap<>(GameState.class);
+    private volatile int version;
+    private int layersVersion;
+    private GlyphAtlas resultText;
 
     /**
      * Instantiate a new instance of {@code Menu}.
@@ -81,7 +97,7 @@ public final class Menu extends MouseAdapter {
      *     {@code MouseEvents} are detected. This is an event-class inherited from {@code MouseAdapter}.
      * </p>
      * <p>
-     *     {@code GameState} in {@code Window} is changed depending on which button was clicked.
+     *     The click is queued with {@code ApplicationHandler.submit()} and handled by {@code click()} on the game thread.
      * </p>
      * @param e {@code MouseEvent} to be processed
      * @see MouseEvent
@@ -91,13 +107,23 @@ public final class Menu extends MouseAdapter {
     public void mousePressed(MouseEvent e){
         int mX = e.getX();
         int mY = e.getY();
+        app.submit(() -> click(mX, mY));
+    }
 
+    /**
+     * Change {@code GameState} depending on which button was clicked.
+     * <p>
+     *     Runs on the game thread.
+     * </p>
+     * @param mX Mouse X-Position
+     * @param mY Mouse Y-Position
+     * @see Window
+     */
+    void click(int mX, int mY){
         if(window.gameState == GameState.MENU){
             // Play button
             if(mouseOver(mX, mY, centerX, topY, buttonWidth, buttonHeight)){
-                app.clearAll();
-                hud.reset();
-                window.gameState = GameState.GAME;
+                window.newGame();
             }
             // Help button
             if(mouseOver(mX, mY, centerX, centerY, buttonWidth, buttonHeight)){
@@ -158,17 +184,90 @@ public final class Menu extends MouseAdapter {
      * @see Graphics
      */
     public void render(Graphics g) {
-        Font fnt1 = new Font("arial", Font.BOLD, 50);
-        Font fnt2 = new Font("arial", Font.BOLD, 30);
-        if (window.gameState == GameState.MENU) {
-            g.setFont(fnt1);
+        render(g, window.gameState, Window.paused, hud.getScoreValue(), hud.getLevel(), HeadUpDisplay.getCounter());
+    }
+
+    /**
+     * Draw the {@code Menu} for the given state and results.
+     * <p>
+     *     With threaded rendering {@code Window} calls this on the render thread, with values copied on the game thread.
+     * </p>
+     * <p>
+     *     The buttons and text of each screen are drawn once into a cached image, and only drawn again after a setter
+     *     has changed them. The score, level and kill count are drawn on top every frame.
+     * </p>
+     * @param g {@code Graphics}
+     * @param state {@code GameState} to draw the screen of
+     * @param paused is the game paused
+     * @param score score of the last game
+     * @param level level of the last game
+     * @param counter kill count of the last game
+     * @see Graphics
+     * @see hiof.rammeverk.TheGameEngine.Render.FrameSnapshot
+     */
+    void render(Graphics g, GameState state, boolean paused, int score, int level, int counter) {
+        if (state == GameState.GAME) {
+            if (paused) {
+                g.setFont(TITLE_FONT);
+                g.setColor(Color.RED);
+                g.drawString(pausedMessage, centerX + 90, topY - 30);
+            }
+            return;
+        }
+        if (state != GameState.MENU && state != GameState.HELP && state != GameState.LOSE && state != GameState.WIN)
+            return;
+        int version = this.version;
+        if (layersVersion != version) {
+            for (Sprite layer : layers.values())
+                layer.flush();
+            layers.clear();
+            layersVersion = version;
+        }
+        Sprite layer = layers.get(state);
+        if (layer == null) {
+            layer = renderLayer(g, state);
+            layers.put(state, layer);
+        }
+        layer.draw(g, 0, 0);
+        if (state == GameState.LOSE || state == GameState.WIN)
+            renderResults(g, score, level, counter);
+    }
+
+    /**
+     * Draw the parts of a screen that do not change into a new transparent image.
+     * @param g {@code Graphics} the image will be drawn with
+     * @param state {@code GameState} of the screen
+     * @return {@code Sprite} with the screen
+     */
+    private Sprite renderLayer(Graphics g, GameState state) {
+        int width = app.getWindowWidth();
+        int height = app.getWindowHeight();
+        BufferedImage image;
+        if (g instanceof Graphics2D)
+            image = ((Graphics2D) g).getDeviceConfiguration().createCompatibleImage(width, height, Transparency.TRANSLUCENT);
+        else
+            image = new BufferedImage(width, height, BufferedImage.TYPE_INT_ARGB_PRE);
+        Graphics2D lg = image.createGraphics();
+        renderStatic(lg, state);
+        lg.dispose();
+        return new Sprite("Menu " + state, image);
+    }
+
+    /**
+     * Draw the buttons and text of a screen.
+     * @param g {@code Graphics}
+     * @param state {@code GameState} of the screen
+     */
+    private void renderStatic(Graphics g, GameState state) {
+        if (state == GameState.MENU) {
+            g.setFont(TITLE_FONT);
             g.setColor(Color.black);
             g.drawString(topText, centerX + 90, topY - 30);
 
             // PLay button
             g.setColor(startButtonColor);
             g.fillRect(centerX, topY, buttonWidth, buttonHeight);
-            g.setFont(fnt1);
+            g.setFont(TITLE_FONT);
             g.setColor(Color.white);
             g.drawString(startButtonText, centerX + 90, topY + 65);
 
@@ -184,12 +283,12 @@ public final class Menu extends MouseAdapter {
             g.setColor(Color.white);
             g.drawString(quitButtonText, centerX + 90, bottomY + 65);
 
-        } else if (window.gameState == GameState.HELP) {
-            g.setFont(fnt1);
+        } else if (state == GameState.HELP) {
+            g.setFont(TITLE_FONT);
             g.setColor(Color.black);
             g.drawString(settingButtonText, centerX + 90, topY - 30);
 
-            g.setFont(fnt2);
+            g.setFont(TEXT_FONT);
             g.setColor(Color.black);
             g.drawString(settingsInstruction1, centerX, centerY);
             g.drawString(settingInstruction2, centerX, centerY + 50);
@@ -198,52 +297,57 @@ public final class Menu extends MouseAdapter {
             // Back button
             g.setColor(backButtonColor);
             g.fillRect(centerX, bottomY, buttonWidth, buttonHeight);
-            g.setFont(fnt1);
+            g.setFont(TITLE_FONT);
             g.setColor(Color.white);
             g.drawString(backButtonText, centerX + 90, bottomY + 65);
-        } else if (window.gameState == GameState.LOSE) {
-            g.setFont(fnt1);
+        } else if (state == GameState.LOSE || state == GameState.WIN) {
+            g.setFont(TITLE_FONT);
             g.setColor(Color.black);
-            g.drawString(loseMessage, centerX, topY);
+            g.drawString(state == GameState.LOSE ? loseMessage : winMessage, centerX, topY);
 
-            g.setFont(fnt2);
+            g.setFont(TEXT_FONT);
             g.setColor(Color.black);
-            g.drawString(loseAdvice, centerX, centerY);
-            g.drawString("Score: " + hud.getScore(), centerX, centerY + 30);
-            g.drawString("Level: " + hud.getLevel(), centerX, centerY + 60);
-            g.drawString("Kill count: " + hud.getCounterToString(), centerX, centerY + 90);
+            g.drawString(state == GameState.LOSE ? loseAdvice : winAdvice, centerX, centerY);
 
             // Back button
             g.setColor(backButtonColor);
             g.fillRect(centerX, bottomY, buttonWidth, buttonHeight);
-            g.setFont(fnt1);
+            g.setFont(TITLE_FONT);
             g.setColor(Color.white);
             g.drawString(topText, centerX + 90, bottomY + 65);
-        }else if (window.gameState == GameState.WIN) {
-            g.setFont(fnt1);
-            g.setColor(Color.black);
-            g.drawString(winMessage, centerX, topY);
-
-            g.setFont(fnt2);
-            g.setColor(Color.black);
-            g.drawString(winAdvice, centerX, centerY);
-            g.drawString("Score: " + hud.getScore(), centerX, centerY + 30);
-            g.drawString("Level: " + hud.getLevel(), centerX, centerY + 60);
-            g.drawString("Kill count: " + hud.getCounterToString(), centerX, centerY + 90);
+        }
+    }
 
-            // Back button
-            g.setColor(backButtonColor);
-            g.fillRect(centerX, bottomY, buttonWidth, buttonHeight);
-            g.setFont(fnt1);
-            g.setColor(Color.white);
-            g.drawString(topText, centerX + 90, bottomY + 65);
-        } else if (window.gameState == GameState.GAME) {
-            if (Window.paused) {
-                g.setFont(fnt1);
-                g.setColor(Color.RED);
-                g.drawString(pausedMessage, centerX + 90, topY - 30);
-            }
+    /**
+     * Draw the score, level and kill count of the last game on top of the cached {@code LOSE}- or {@code WIN}-screen.
+     * <p>
+     *     Drawn from a {@code GlyphAtlas}, so no objects are created each frame.
+     * </p>
+     * @param g {@code Graphics}
+     * @param score score
+     * @param level level
+     * @param counter kill count
+     */
+    private void renderResults(Graphics g, int score, int level, int counter) {
+        GlyphAtlas text = resultText;
+        if (text == null) {
+            text = new GlyphAtlas(TEXT_FONT, Color.black, SCORE_LABEL, LEVEL_LABEL, COUNTER_LABEL);
+            resultText = text;
         }
+        text.drawInt(g, score, text.drawLabel(g, SCORE_LABEL, centerX, centerY + 30), centerY + 30);
+        text.drawInt(g, level, text.drawLabel(g, LEVEL_LABEL, centerX, centerY + 60), centerY + 60);
+        text.drawInt(g, counter, text.drawLabel(g, COUNTER_LABEL, centerX, centerY + 90), centerY + 90);
+    }
+
+    /**
+     * Draw the cached screens again the next time they are shown. Called by the setters.
+     * <p>
+     *     The setters may be called from any thread, so only the version is changed here.
+     *     The game thread throws the old images away in {@code render()}.
+     * </p>
+     */
+    private void invalidate() {
+        version++;
     }
 
     /**
@@ -256,34 +360,42 @@ public final class Menu extends MouseAdapter {
 
     public void setTopText(String topText) {
         this.topText = topText;
+        invalidate();
     }
 
     public void setStartButtonText(String startButtonText) {
         this.startButtonText = startButtonText;
+        invalidate();
     }
 
     public void setSettingButtonText(String settingButtonText) {
         this.settingButtonText = settingButtonText;
+        invalidate();
     }
 
     public void setBackButtonText(String backButtonText) {
         this.backButtonText = backButtonText;
+        invalidate();
     }
 
     public void setQuitButtonText(String quitButtonText) {
         this.quitButtonText = quitButtonText;
+        invalidate();
     }
     
     public void setSettingsInstruction1(String settingsInstruction1) {
         this.settingsInstruction1 = settingsInstruction1;
+        invalidate();
     }
 
     public void setSettingInstruction2(String settingInstruction2) {
         this.settingInstruction2 = settingInstruction2;
+        invalidate();
     }
 
     public void setSettingInstruction3(String settingInstruction3) {
         this.settingInstruction3 = settingInstruction3;
+        invalidate();
     }
 
     public void setPausedMessage(String pausedMessage) {
@@ -292,41 +404,51 @@ public final class Menu extends MouseAdapter {
 
     public void setLoseMessage(String loseMessage) {
         this.loseMessage = loseMessage;
+        invalidate();
     }
 
     public void setLoseAdvice(String loseAdvice) {
         this.loseAdvice = loseAdvice;
+        invalidate();
     }
 
     public void setButtonWidth(int buttonWidth) {
         this.buttonWidth = buttonWidth;
+        invalidate();
     }
 
     public void setButtonHeight(int buttonHeight) {
         this.buttonHeight = buttonHeight;
+        invalidate();
     }
 
     public void setWinMessage(String winMessage) {
         this.winMessage = winMessage;
+        invalidate();
     }
 
     public void setWinAdvice(String winAdvice) {
         this.winAdvice = winAdvice;
+        invalidate();
     }
 
     public void setStartButtonColor(Color startButtonColor) {
         this.startButtonColor = startButtonColor;
+        invalidate();
     }
 
     public void setSettingButtonColor(Color settingButtonColor) {
         this.settingButtonColor = settingButtonColor;
+        invalidate();
     }
 
     public void setBackButtonColor(Color backButtonColor) {
         this.backButtonColor = backButtonColor;
+        invalidate();
     }
 
     public void setQuitButtonColor(Color quitButtonColor) {
         this.quitButtonColor = quitButtonColor;
+        invalidate();
     }
 }
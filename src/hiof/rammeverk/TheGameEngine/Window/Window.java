@@ -4,14 +4,36 @@ import hiof.rammeverk.TheGameEngine.*;
 import hiof.rammeverk.TheGameEngine.GameObjects.GameObject;
 import hiof.rammeverk.TheGameEngine.GameObjects.KeyInput;
 import hiof.rammeverk.TheGameEngine.Behavior.GameLoop;
+import hiof.rammeverk.TheGameEngine.GameObjects.Id;
+import hiof.rammeverk.TheGameEngine.Helpers.FrameProfiler;
+import hiof.rammeverk.TheGameEngine.Helpers.FrameProfiler.Phase;
+import hiof.rammeverk.TheGameEngine.Helpers.Histogram;
+import hiof.rammeverk.TheGameEngine.Helpers.TickScheduler;
+import hiof.rammeverk.TheGameEngine.Helpers.TripleBuffer;
+import hiof.rammeverk.TheGameEngine.Render.BatchingRenderer;
+import hiof.rammeverk.TheGameEngine.Render.FrameSnapshot;
+import hiof.rammeverk.TheGameEngine.Render.FramebufferRenderer;
+import hiof.rammeverk.TheGameEngine.Render.GraphicsRenderer;
+import hiof.rammeverk.TheGameEngine.Render.Renderer;
+import hiof.rammeverk.TheGameEngine.Render.SnapshotRecorder;
 
 import javax.swing.JFrame;
 import java.awt.Graphics;
 import java.awt.Canvas;
 import java.awt.Color;
 import java.awt.Dimension;
+import java.awt.Font;
+import java.awt.event.KeyAdapter;
+import java.awt.event.KeyEvent;
+import java.awt.event.KeyListener;
+import java.awt.event.MouseListener;
 import java.awt.image.BufferStrategy;
 import java.io.Serial;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.util.SplittableRandom;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.LongConsumer;
 
 /**
  * Creates a Window for the game to be rendered on.
@@ -30,6 +52,8 @@ import java.io.Serial;
 public class Window extends Canvas implements Runnable{
     @Serial
     private static final long serialVersionUID = -8754111336500953605L;
+    private static final Font PROFILER_FONT = new Font(Font.MONOSPACED, Font.PLAIN, 12);
+    private static final Color PROFILER_BACKGROUND = new Color(0, 0, 0, 160);
     private final Menu menu;
     private final ApplicationHandler app;
     private final HeadUpDisplay hud;
@@ -37,7 +61,47 @@ public class Window extends Canvas implements Runnable{
     private int width;
     private int height;
     private Thread thread;
-    private boolean running = false;
+    private volatile boolean running = false;
+    private final TickScheduler scheduler = new TickScheduler();
+    private volatile FramebufferRenderer framebuffer;
+    private volatile BatchingRenderer batch;
+    private final GraphicsRenderer graphicsRenderer = new GraphicsRenderer();
+    private final FrameProfiler profiler = new FrameProfiler();
+    /**
+     * Times the frame phases. The same as {@code profiler}, unless the frames are drawn on their own thread.
+     */
+    private volatile FrameProfiler frameProfiler = profiler;
+    private final FrameProfiler renderThreadProfiler = new FrameProfiler();
+    private final LongConsumer inputLatency = nanos -> frameProfiler.record(Phase.INPUT_LATENCY, nanos);
+    private volatile boolean profilerOverlay;
+    private volatile EngineMetrics metrics;
+    private final Object metricsLock = new Object();
+    private volatile String[] profilerLines = new String[0];
+    private boolean threadedRendering;
+    private final TripleBuffer<FrameSnapshot> snapshots =
+            new TripleBuffer<>(new FrameSnapshot(), new FrameSnapshot(), new FrameSnapshot());
+    private final SnapshotRecorder recorder = new SnapshotRecorder();
+    private final LongConsumer snapshotInput = recorder::addInput;
+    private boolean snapshotUnread;
+    private long lastSnapshotTick;
+    /**
+     * Seeds for new games, see {@code newGame()}.
+     */
+    private final SplittableRandom seeds = new SplittableRandom();
+    /**
+     * Ticks that updated the game since it started, the tick numbers of {@code InputRecorder} and {@code InputReplay}.
+     */
+    private long gameTicks;
+    private volatile Path recordingDirectory;
+    /**
+     * Recording of the current game. Taken with {@code getAndSet()}, so either the game thread or the shutdown hook ends it, never both.
+     */
+    private final AtomicReference<Recording> recording = new AtomicReference<>();
+    private Thread recordingHook;
+    private volatile InputReplay replay;
+    private boolean replayFast;
+    private KeyListener[] replayKeyListeners;
+    private MouseListener[] replayMouseListeners;
     private GameLoop gameLoop;
     private Color backGround = Color.LIGHT_GRAY;
     private JFrame frame;
@@ -49,7 +113,7 @@ public class Window extends Canvas implements Runnable{
      * @see Menu
      * @see KeyInput
      */
-    protected GameState gameState = GameState.MENU;
+    protected volatile GameState gameState = GameState.MENU;
 
     /**
      * Returns a new instance of window.
@@ -70,6 +134,13 @@ public class Window extends Canvas implements Runnable{
         this.hud = hud;
         menu = new Menu(this, app, hud);
         this.addMouseListener(menu);
+        this.addKeyListener(new KeyAdapter() {
+            @Override
+            public void keyPressed(KeyEvent e) {
+                if (e.getKeyCode() == KeyEvent.VK_F3)
+                    setProfilerOverlay(!profilerOverlay);
+            }
+        });
         frame = new JFrame("The Game Engine");
         frame.setPreferredSize(new Dimension(width, height));
         frame.setMaximumSize(new Dimension(width, height));
@@ -156,35 +227,121 @@ public class Window extends Canvas implements Runnable{
      *     run executes the game loop.<br>
      *     while {@code running} is <em>true</em>
      * </p>
+     * <p>
+     *     The timing is decided by {@code TickScheduler}. The thread sleeps between ticks and frames,
+     *     and only a limited number of missed ticks are caught up.
+     * </p>
+     * <p>
+     *     With threaded rendering this thread only runs the ticks. After them it records a {@code FrameSnapshot},
+     *     and a second thread draws the newest snapshot at the frame rate.
+     * </p>
+     * <p>
+     *     With {@code setReplay()} the recorded game starts at once. Replayed as fast as possible, the ticks are run
+     *     back to back for one tick period at a time, with a frame drawn in between.
+     * </p>
      * @see Runnable
+     * @see TickScheduler
+     * @see #setThreadedRendering(boolean)
+     * @see #setReplay(InputReplay, boolean)
      */
     @Override
     public synchronized void run() {
         this.requestFocus();
-        long lastTime = System.nanoTime();
-        double amountOfTicks = 60.0;
-        double ns = 1000000000 / amountOfTicks;
-        double delta = 0;
+        scheduler.start(System.nanoTime());
+        boolean threaded = threadedRendering;
+        if(threaded){
+            Thread renderThread = new Thread(this::renderLoop, "Render");
+            renderThread.setDaemon(true);
+            renderThread.start();
+        }
+        if(replay != null){
+            startReplay();
+        }
         while(running){
             long now = System.nanoTime();
-            delta += (now - lastTime) / ns;
-            lastTime = now;
-            while (delta >= 1){
-                tick();
-                delta--;
+            int ticks = 0;
+            if(replay != null && replayFast){
+                // Tick for as long as one tick would take in real time, then draw a frame.
+                long until = now + scheduler.getTickNanos();
+                do{
+                    tick();
+                    ticks++;
+                }while(replay != null && System.nanoTime() < until);
+            }else{
+                ticks = scheduler.ticksDue(now);
+                for (int i = 0; i < ticks; i++){
+                    tick();
+                }
             }
-            if(running){
+            if(threaded){
+                if(ticks > 0)
+                    publishSnapshot();
+            }else if(running && scheduler.frameDue(now)){
                 render();
             }
+            if(profiler.rollOver(now)){
+                updateProfilerLines();
+            }
+            EngineMetrics metrics = this.metrics;
+            if(metrics != null){
+                metrics.publish(now);
+            }
+            if(threaded)
+                scheduler.waitForNextTick();
+            else
+                scheduler.waitForNextDeadline();
         }
         stop();
     }
 
+    /**
+     * Draw the newest {@code FrameSnapshot} at the frame rate. Runs on its own thread with threaded rendering.
+     */
+    private void renderLoop(){
+        while(running){
+            long now = System.nanoTime();
+            if(scheduler.frameDue(now)){
+                render();
+            }
+            renderThreadProfiler.rollOver(now);
+            scheduler.waitForNextFrame();
+        }
+    }
+
+    /**
+     * Record the {@code GameObjects} into a {@code FrameSnapshot} and hand it to the render thread.
+     * <p>
+     *     The snapshot also carries the times of the keys sampled by the ticks, for the input latency.
+     *     If the render thread never took the last snapshot, those times are kept for the next.
+     * </p>
+     * <p>
+     *     The {@code GameState} and the values of the {@code HeadUpDisplay} are copied in too, for {@code renderOverlay()}.
+     * </p>
+     * @see SnapshotRecorder
+     */
+    private void publishSnapshot(){
+        long start = profiler.start();
+        long tick = scheduler.getTicks();
+        long span = (tick - lastSnapshotTick) * scheduler.getTickNanos();
+        lastSnapshotTick = tick;
+        FrameSnapshot back = snapshots.getBack();
+        back.setOverlay(gameState, Window.paused, HeadUpDisplay.getHealth(), hud.getScoreValue(), hud.getLevel(), HeadUpDisplay.getCounter());
+        recorder.begin(back, tick, System.nanoTime(), span, snapshotUnread);
+        app.render(recorder);
+        app.getInput().takeUnshown(snapshotInput);
+        recorder.end();
+        snapshotUnread = snapshots.publish();
+        profiler.lap(Phase.SNAPSHOT, start);
+    }
+
     /**
      * Call the {@code tick}-method of all game-elements
      * <p>
      *     The {@code GameLoop} decides which {@code GameObjects} are created.
      * </p>
+     * <p>
+     *     The keys from {@code KeyInput} are sampled and changes queued from other threads, like {@code Menu}, are applied first.
+     * </p>
      * @see ApplicationHandler
      * @see HeadUpDisplay
      * @see GameLoop
@@ -192,47 +349,235 @@ public class Window extends Canvas implements Runnable{
      * @see Menu
      */
     private void tick(){
+        long start = profiler.start();
+        InputReplay replay = this.replay;
+        if(replay != null){
+            replay.apply(gameTicks, app.getInput());
+        }
+        app.applyCommands();
+        long t = profiler.lap(Phase.COMMANDS, start);
         if(gameState == GameState.GAME){
             if(!Window.paused){
+                Recording current = recording.get();
+                if(current != null){
+                    current.recorder.tick(app.getInput());
+                }
+                gameTicks++;
                 app.tick();
+                t = profiler.lap(Phase.APP_TICK, t);
                 hud.tick();
+                t = profiler.lap(Phase.HUD_TICK, t);
                 gameLoop.tick();
+                profiler.lap(Phase.LOOP_TICK, t);
                 if(hud.loseGame()){
                     this.gameOver();
                 }
                 if(hud.winGame())
                     this.gameWon();
+                if(replay != null && gameTicks >= replay.getTicks())
+                    stopReplay();
             }
         }else if(gameState == GameState.MENU || gameState == GameState.LOSE || gameState == GameState.WIN){
             app.tick();
+            profiler.lap(Phase.APP_TICK, t);
             menu.tick();
         }
+        profiler.lap(Phase.TICK, start);
     }
 
     /**
      * Draw elements on game window. <br>
      * Call other classes' {@code render}-methods
+     * <p>
+     *     With software rendering the {@code GameObjects} are drawn into the {@code FramebufferRenderer},
+     *     which is copied to the window once per frame.
+     * </p>
+     * <p>
+     *     Each phase is timed by the {@code FrameProfiler} when it is enabled.
+     * </p>
+     * <p>
+     *     With batched rendering the draw calls of the {@code GameObjects} are sorted by layer and color before they are drawn.
+     * </p>
+     * <p>
+     *     After {@code bs.show()} the time since each key sampled by the ticks before this frame is recorded as {@code Phase.INPUT_LATENCY}.
+     * </p>
      */
     private void render(){
+        FrameProfiler profiler = frameProfiler;
         BufferStrategy bs = this.getBufferStrategy();
         if (bs == null){
             this.createBufferStrategy(3);
             return;
         }
+        long start = profiler.start();
         Graphics g = bs.getDrawGraphics();
-        g.setColor(backGround);
-        g.fillRect(0,0,width, height);
-        app.render(g);
+        FramebufferRenderer framebuffer = this.framebuffer;
+        if(framebuffer != null){
+            framebuffer.begin();
+            framebuffer.clear(backGround);
+            long t = profiler.lap(Phase.CLEAR, start);
+            renderGame(framebuffer);
+            profiler.lap(Phase.APP_RENDER, t);
+            renderOverlay(framebuffer.getGraphics());
+            t = profiler.start();
+            g.drawImage(framebuffer.end(), 0, 0, null);
+            g.dispose();
+            bs.show();
+            profiler.lap(Phase.SHOW, t);
+            inputShown();
+        }else{
+            g.setColor(backGround);
+            g.fillRect(0,0,width, height);
+            long t = profiler.lap(Phase.CLEAR, start);
+            graphicsRenderer.setGraphics(g);
+            renderGame(graphicsRenderer);
+            graphicsRenderer.setGraphics(null);
+            profiler.lap(Phase.APP_RENDER, t);
+            renderOverlay(g);
+            t = profiler.start();
+            g.dispose();
+            bs.show();
+            profiler.lap(Phase.SHOW, t);
+            inputShown();
+        }
+        profiler.lap(Phase.FRAME, start);
+    }
 
-        if(gameState == GameState.GAME){
-            hud.render(g);
-            menu.render(g);
-        }else if(gameState == GameState.MENU || gameState == GameState.HELP || gameState == GameState.LOSE || gameState == GameState.WIN){
-            menu.render(g);
+    /**
+     * Draw the {@code GameObjects}, sorted by the {@code BatchingRenderer} if batched rendering is on.
+     * <p>
+     *     With threaded rendering the newest {@code FrameSnapshot} is drawn instead, interpolated to the current time.
+     * </p>
+     * @param target {@code Renderer} drawing to the window or the framebuffer
+     */
+    private void renderGame(Renderer target){
+        BatchingRenderer batch = this.batch;
+        Renderer renderer = target;
+        if(batch != null){
+            batch.setTarget(target);
+            renderer = batch;
+        }
+        if(threadedRendering){
+            snapshots.update();
+            FrameSnapshot snapshot = snapshots.getFront();
+            snapshot.draw(renderer, snapshot.alpha(System.nanoTime()));
+        }else{
+            app.render(renderer);
         }
+        if(batch != null)
+            batch.flush();
+    }
 
-        g.dispose();
-        bs.show();
+    /**
+     * Record the input latency of the keys handled by the ticks shown in the frame. Call right after {@code bs.show()}.
+     */
+    private void inputShown(){
+        long now = System.nanoTime();
+        if(threadedRendering)
+            snapshots.getFront().shown(now, inputLatency);
+        else
+            app.getInput().shown(now, inputLatency);
+    }
+
+    /**
+     * Draw the {@code HeadUpDisplay} and {@code Menu} on top of the game.
+     * <p>
+     *     With threaded rendering they are drawn from the values copied into the newest {@code FrameSnapshot},
+     *     so the render thread does not read them while a tick changes them.
+     * </p>
+     * @param g {@code Graphics}
+     */
+    private void renderOverlay(Graphics g){
+        FrameProfiler profiler = frameProfiler;
+        long t = profiler.start();
+        GameState state;
+        boolean paused;
+        float health;
+        int score;
+        int level;
+        int counter;
+        if(threadedRendering){
+            FrameSnapshot snapshot = snapshots.getFront();
+            state = snapshot.getGameState();
+            paused = snapshot.isPaused();
+            health = snapshot.getHealth();
+            score = snapshot.getScore();
+            level = snapshot.getLevel();
+            counter = snapshot.getCounter();
+        }else{
+            state = gameState;
+            paused = Window.paused;
+            health = HeadUpDisplay.getHealth();
+            score = hud.getScoreValue();
+            level = hud.getLevel();
+            counter = HeadUpDisplay.getCounter();
+        }
+        if(state == GameState.GAME){
+            if(threadedRendering)
+                hud.render(g, health, score, level, counter);
+            else
+                hud.render(g);
+            t = profiler.lap(Phase.HUD_RENDER, t);
+            menu.render(g, state, paused, score, level, counter);
+            profiler.lap(Phase.MENU_RENDER, t);
+        }else if(state == GameState.MENU || state == GameState.HELP || state == GameState.LOSE || state == GameState.WIN){
+            menu.render(g, state, paused, score, level, counter);
+            profiler.lap(Phase.MENU_RENDER, t);
+        }
+        if(profilerOverlay)
+            renderProfiler(g);
+    }
+
+    /**
+     * Draw the numbers of the {@code FrameProfiler} in the top right corner.
+     * <p>
+     *     The text is made once per second by {@code updateProfilerLines()}.
+     * </p>
+     * @param g {@code Graphics}
+     */
+    private void renderProfiler(Graphics g){
+        String[] lines = profilerLines;
+        if(lines.length == 0)
+            return;
+        g.setFont(PROFILER_FONT);
+        int lineHeight = g.getFontMetrics().getHeight();
+        int boxWidth = 430;
+        int x = width - boxWidth - 20;
+        g.setColor(PROFILER_BACKGROUND);
+        g.fillRect(x, 10, boxWidth, lines.length * lineHeight + 10);
+        g.setColor(Color.WHITE);
+        for (int i = 0; i < lines.length; i++)
+            g.drawString(lines[i], x + 5, 10 + (i + 1) * lineHeight);
+    }
+
+    /**
+     * Make the text of the profiler overlay from the last interval of the {@code FrameProfiler}.
+     */
+    private void updateProfilerLines(){
+        if(!profilerOverlay)
+            return;
+        Phase[] phases = Phase.values();
+        String[] lines = new String[phases.length + 3];
+        lines[0] = String.format("ticks/s %5.1f  frames/s %5.1f  catch-up %d  dropped %d",
+                profiler.getRate(Phase.TICK), frameProfiler.getRate(Phase.FRAME),
+                scheduler.getCatchUpTicks(), scheduler.getDroppedTicks());
+        lines[1] = String.format("%-13s %9s %9s %9s", "phase (us)", "p50", "p99", "max");
+        for (int i = 0; i < phases.length; i++) {
+            // With threaded rendering the frame phases are copied by the render thread, and may be off for one second.
+            Histogram histogram = (phases[i].isFrame() ? frameProfiler : profiler).getLast(phases[i]);
+            lines[i + 2] = String.format("%-13s %9.1f %9.1f %9.1f", phases[i],
+                    histogram.getValueAtPercentile(50) / 1000.0,
+                    histogram.getValueAtPercentile(99) / 1000.0,
+                    histogram.getMax() / 1000.0);
+        }
+        StringBuilder counts = new StringBuilder("objects");
+        for (Id id : Id.values()) {
+            int count = app.count(id);
+            if(count > 0)
+                counts.append(' ').append(id).append(' ').append(count);
+        }
+        lines[lines.length - 1] = counts.toString();
+        profilerLines = lines;
     }
 
     /**
@@ -240,16 +585,135 @@ public class Window extends Canvas implements Runnable{
      *
      */
     private void gameOver(){
+        endRecording(GameState.LOSE);
+        stopReplay();
         gameLoop.reset();
-        app.objects.clear();
+        app.clearAll();
         gameState = GameState.LOSE;
     }
     private void gameWon(){
+        endRecording(GameState.WIN);
+        stopReplay();
         gameLoop.reset();
-        app.objects.clear();
+        app.clearAll();
         gameState = GameState.WIN;
     }
 
+    /**
+     * Start a new game. Called by {@code Menu} when <em>Play</em> is clicked, on the game thread.
+     * <p>
+     *     The {@code ApplicationHandler} gets a new seed, or the recorded seed when replaying.
+     *     With {@code setInputRecording()} the keys of the game are recorded from the first tick.
+     * </p>
+     * @see InputRecorder
+     */
+    void newGame(){
+        app.clearAll();
+        gameLoop.reset();
+        hud.reset();
+        gameTicks = 0;
+        InputReplay replay = this.replay;
+        if(replay != null){
+            replay.start(app);
+        }else{
+            app.setSeed(seeds.nextLong());
+            Path directory = recordingDirectory;
+            if(directory != null){
+                Path file = directory.resolve("game-" + System.currentTimeMillis() + ".input");
+                recording.set(new Recording(new InputRecorder(app, scheduler.getTickNanos()), file));
+            }
+        }
+        gameState = GameState.GAME;
+    }
+
+    /**
+     * End the recording of the current game, if any, and write it to its file.
+     * <p>
+     *     Also called by a shutdown hook, so a game that is quit is kept too.
+     * </p>
+     * @param state how the game ended
+     */
+    private void endRecording(GameState state){
+        Recording current = recording.getAndSet(null);
+        if(current == null)
+            return;
+        current.recorder.end(state, hud.getScoreValue(), HeadUpDisplay.getCounter());
+        try{
+            current.recorder.write(current.file);
+        }catch (UncheckedIOException e){
+            System.err.println(e.getMessage());
+        }
+    }
+
+    /**
+     * Save the game to {@code file} at the start of the next tick. Safe to call from any thread.
+     * <p>
+     *     An error is printed, the game goes on.
+     * </p>
+     * @param file {@code Path}
+     * @see WorldSnapshot
+     */
+    protected void saveWorld(Path file){
+        app.submit(() -> {
+            try{
+                WorldSnapshot.save(file, app, hud, gameLoop, gameTicks);
+            }catch (UncheckedIOException e){
+                System.err.println(e.getMessage());
+            }
+        });
+    }
+
+    /**
+     * Replace the game with the one saved in {@code file} at the start of the next tick, and play it. Safe to call from any thread.
+     * <p>
+     *     A recording or replay of the current game is ended, as the keys would no longer fit the game.
+     *     An error is printed, and the game is left as it was.
+     * </p>
+     * @param file {@code Path}
+     * @see WorldSnapshot
+     */
+    protected void loadWorld(Path file){
+        app.submit(() -> {
+            try{
+                long ticks = WorldSnapshot.load(file, app, hud, gameLoop);
+                endRecording(GameState.GAME);
+                stopReplay();
+                gameTicks = ticks;
+                gameState = GameState.GAME;
+            }catch (UncheckedIOException e){
+                System.err.println(e.getMessage());
+            }
+        });
+    }
+
+    /**
+     * Start the replay set with {@code setReplay()}. Keys and mouse are ignored until it ends.
+     */
+    private void startReplay(){
+        replayKeyListeners = getKeyListeners();
+        for(KeyListener listener : replayKeyListeners)
+            removeKeyListener(listener);
+        replayMouseListeners = getMouseListeners();
+        for(MouseListener listener : replayMouseListeners)
+            removeMouseListener(listener);
+        newGame();
+    }
+
+    /**
+     * End the replay, if any, and listen to keys and mouse again. A game that is not over goes on with live input.
+     */
+    private void stopReplay(){
+        if(replay == null)
+            return;
+        replay = null;
+        for(KeyListener listener : replayKeyListeners)
+            addKeyListener(listener);
+        for(MouseListener listener : replayMouseListeners)
+            addMouseListener(listener);
+        if(replayFast)
+            scheduler.start(System.nanoTime());
+    }
+
     protected Menu getMenu() {
         return menu;
     }
@@ -265,4 +729,126 @@ public class Window extends Canvas implements Runnable{
     protected HeadUpDisplay getHud() {
         return hud;
     }
+
+    protected TickScheduler getScheduler() {
+        return scheduler;
+    }
+
+    protected FrameProfiler getProfiler() {
+        return profiler;
+    }
+
+    /**
+     * Show or hide the numbers of the {@code FrameProfiler} on top of the game. <em>F3</em> does the same.
+     * <p>
+     *     Showing the overlay turns the profiler on, hiding it turns the profiler off.
+     * </p>
+     * @param visible {@code boolean}
+     * @see FrameProfiler
+     */
+    protected void setProfilerOverlay(boolean visible) {
+        profilerOverlay = visible;
+        setProfilersEnabled(visible || metrics != null);
+    }
+
+    private void setProfilersEnabled(boolean enabled) {
+        profiler.setEnabled(enabled);
+        renderThreadProfiler.setEnabled(enabled);
+    }
+
+    /**
+     * Register or unregister the {@code EngineMetrics} MXBean. The {@code FrameProfiler} is kept on while it is registered.
+     * @param enabled {@code boolean}
+     * @see EngineMetrics
+     */
+    protected void setMetricsEnabled(boolean enabled) {
+        // Not synchronized on this, run() holds that monitor while the game runs.
+        synchronized (metricsLock) {
+            EngineMetrics old = metrics;
+            if (old != null)
+                old.unregister();
+            if (enabled) {
+                EngineMetrics created = new EngineMetrics(app, scheduler, profiler, frameProfiler);
+                created.register();
+                metrics = created;
+            } else {
+                metrics = null;
+            }
+            setProfilersEnabled(enabled || profilerOverlay);
+        }
+    }
+
+    /**
+     * Draw the {@code GameObjects} into a {@code FramebufferRenderer} instead of with the {@code Graphics} of the window.
+     * @param enabled {@code boolean}
+     * @see FramebufferRenderer
+     */
+    protected void setSoftwareRendering(boolean enabled) {
+        framebuffer = enabled ? new FramebufferRenderer(width, height) : null;
+    }
+
+    /**
+     * Sort the draw calls of the {@code GameObjects} by layer and color before drawing them.
+     * @param enabled {@code boolean}
+     * @see BatchingRenderer
+     */
+    protected void setBatchedRendering(boolean enabled) {
+        batch = enabled ? new BatchingRenderer(graphicsRenderer) : null;
+    }
+
+    /**
+     * Record each game into a file in {@code directory}. Safe to call while the game runs; the next game is recorded.
+     * @param directory {@code Path} of an existing directory, or null to stop recording
+     * @see InputRecorder
+     */
+    protected void setInputRecording(Path directory){
+        recordingDirectory = directory;
+        if(directory != null && recordingHook == null){
+            recordingHook = new Thread(() -> endRecording(GameState.GAME), "Save input recording");
+            Runtime.getRuntime().addShutdownHook(recordingHook);
+        }
+    }
+
+    /**
+     * Play a recorded game when the {@code Window} starts, instead of showing the menu. Call before {@code start()}.
+     * @param replay {@code InputReplay}
+     * @param realTime true to tick at the recorded tick rate, false to tick as fast as possible
+     * @see InputReplay
+     */
+    protected void setReplay(InputReplay replay, boolean realTime){
+        this.replay = replay;
+        this.replayFast = !realTime;
+        if(realTime)
+            scheduler.setTickRate(1_000_000_000.0 / replay.getTickNanos());
+    }
+
+    /**
+     * Run the ticks and draw the frames on two threads. Call before {@code start()}.
+     * <p>
+     *     The game thread records a {@code FrameSnapshot} after the ticks, and the render thread draws the newest one,
+     *     interpolated between the last two ticks. A slow frame no longer delays the ticks, and the reverse.
+     * </p>
+     * @param enabled {@code boolean}
+     * @see FrameSnapshot
+     * @see SnapshotRecorder
+     */
+    protected void setThreadedRendering(boolean enabled) {
+        threadedRendering = enabled;
+        frameProfiler = enabled ? renderThreadProfiler : profiler;
+        if (metrics != null)
+            setMetricsEnabled(true);
+    }
+
+    /**
+     * An {@code InputRecorder} and the file it is written to when the game ends.
+     */
+    private static final class Recording {
+        private final InputRecorder recorder;
+        private final Path file;
+
+        private Recording(InputRecorder recorder, Path file) {
+            this.recorder = recorder;
+            this.file = file;
+        }
+    }
 }
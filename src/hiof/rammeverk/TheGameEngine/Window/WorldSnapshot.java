@@ -0,0 +1,281 @@
+package hiof.rammeverk.TheGameEngine.Window;
+
+import hiof.rammeverk.TheGameEngine.ApplicationHandler;
+import hiof.rammeverk.TheGameEngine.Behavior.Creator;
+import hiof.rammeverk.TheGameEngine.Behavior.GameLoop;
+import hiof.rammeverk.TheGameEngine.GameObjects.EntityList;
+import hiof.rammeverk.TheGameEngine.GameObjects.GameObject;
+import hiof.rammeverk.TheGameEngine.GameObjects.Id;
+import hiof.rammeverk.TheGameEngine.GameObjects.SpatialGrid;
+import hiof.rammeverk.TheGameEngine.Helpers.RandomService;
+
+import java.awt.Color;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Saves the whole game to a binary file, and loads it back, through a memory-mapped {@code FileChannel}.
+ * <p>
+ *     Each {@code GameObject} is a record of 36 bytes, written and read straight in the mapped file. No stream sits
+ *     in between and nothing is created for each field, so a world of 50 000 {@code GameObjects} is saved and loaded
+ *     in a few milliseconds.
+ * </p>
+ * <ul> <strong>Format, little-endian:</strong>
+ *     <li>Header: magic {@code "TGEW"}, {@code short} version and flags, {@code long} seed and position of the
+ *     {@code RandomService}, {@code long} ticks of the game, {@code int} score, level and kill count and {@code float}
+ *     health of the {@code HeadUpDisplay}, {@code int} number of {@code GameObjects}, bytes per record, bytes of
+ *     {@code GameLoop} state and number of {@code Id} names.</li>
+ *     <li>{@code Id} names: a {@code short} length and the name in UTF-8 for each, so a snapshot still loads when the
+ *     {@code Id} enum is reordered or grows.</li>
+ *     <li>Records: {@code short} index into the names, {@code short} flags for a color and moving left, {@code float} x, y, velX and velY,
+ *     {@code int} width, height, color as ARGB and layer.</li>
+ *     <li>The bytes written by {@code GameLoop.saveState()}.</li>
+ * </ul>
+ * <p>
+ *     A {@code GameObject} is loaded as a clone of the prototype with its {@code Id}, from the {@code Creator}, and then
+ *     gets the saved fields. Other state of a subclass, and named variants, start over from the default prototype.
+ *     {@code GameObjects} whose {@code Id} is gone from the enum are skipped.
+ * </p>
+ * <p>
+ *     Both {@code save()} and {@code load()} must be called on the game thread, between two ticks.
+ * </p>
+ * <pre>{@code
+ *     WorldSnapshot.save(Path.of("quick.world"), app, hud, gameLoop, ticks);
+ *     long ticks = WorldSnapshot.load(Path.of("quick.world"), app, hud, gameLoop);
+ * }</pre>
+ * @see GameLoop#saveState(ByteBuffer)
+ * @see GameBuilder#saveWorld(Path)
+ * @see HeadlessRunner#save(Path)
+ */
+public final class WorldSnapshot {
+    static final int MAGIC = 0x57454754;
+    static final int VERSION = 1;
+    static final int RECORD_BYTES = 36;
+    private static final int HEADER_BYTES = 64;
+    private static final int HAS_COLOR = 1;
+    private static final int MOVING_LEFT = 2;
+    private static final int COLOR_CACHE = 64;
+
+    private WorldSnapshot() {
+    }
+
+    /**
+     * Write the {@code GameObjects} in {@code objects}, the {@code HeadUpDisplay}, the random numbers and the state of
+     * {@code gameLoop} to {@code file}, replacing it if it exists. {@code GameObjects} with {@code Id.DEAD} are left out.
+     * @param file {@code Path}
+     * @param app {@code ApplicationHandler} of the game
+     * @param hud {@code HeadUpDisplay} of the game
+     * @param gameLoop {@code GameLoop} of the game, or null
+     * @param ticks ticks of the game so far, given back by {@code load()}
+     * @throws UncheckedIOException if the file can not be written
+     */
+    public static void save(Path file, ApplicationHandler app, HeadUpDisplay hud, GameLoop gameLoop, long ticks) {
+        EntityList objects = app.getObjects();
+        Id[] ids = Id.values();
+        byte[][] names = new byte[ids.length][];
+        int size = HEADER_BYTES;
+        for (int i = 0; i < ids.length; i++) {
+            names[i] = ids[i].name().getBytes(StandardCharsets.UTF_8);
+            size += 2 + names[i].length;
+        }
+        int count = 0;
+        for (int i = 0; i < objects.size(); i++) {
+            if (objects.get(i).getId() != Id.DEAD)
+                count++;
+        }
+        int stateSize = gameLoop == null ? 0 : gameLoop.getStateSize();
+        if (stateSize < 0)
+            throw new IllegalStateException("GameLoop.getStateSize() must be at least 0: " + stateSize);
+        size += count * RECORD_BYTES + stateSize;
+
+        RandomService random = app.getRandomService();
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.READ,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, size);
+            buffer.order(ByteOrder.LITTLE_ENDIAN);
+            buffer.putInt(MAGIC);
+            buffer.putShort((short) VERSION);
+            buffer.putShort((short) 0);
+            buffer.putLong(random.getSeed());
+            buffer.putLong(random.getPosition());
+            buffer.putLong(ticks);
+            buffer.putInt(hud.getScoreValue());
+            buffer.putInt(hud.getLevel());
+            buffer.putInt(HeadUpDisplay.getCounter());
+            buffer.putFloat(HeadUpDisplay.getHealth());
+            buffer.putInt(count);
+            buffer.putInt(RECORD_BYTES);
+            buffer.putInt(stateSize);
+            buffer.putInt(ids.length);
+            for (byte[] name : names) {
+                buffer.putShort((short) name.length);
+                buffer.put(name);
+            }
+            for (int i = 0; i < objects.size(); i++) {
+                GameObject object = objects.get(i);
+                Id id = object.getId();
+                if (id == Id.DEAD)
+                    continue;
+                Color color = object.getColor();
+                buffer.putShort((short) id.ordinal());
+                buffer.putShort((short) ((color == null ? 0 : HAS_COLOR) | (object.isMovingLeft() ? MOVING_LEFT : 0)));
+                buffer.putFloat(object.getXPos());
+                buffer.putFloat(object.getYPos());
+                buffer.putFloat(object.getVelX());
+                buffer.putFloat(object.getVelY());
+                buffer.putInt(object.getWidth());
+                buffer.putInt(object.getHeight());
+                buffer.putInt(color == null ? 0 : color.getRGB());
+                buffer.putInt(object.getLayer());
+            }
+            if (stateSize > 0) {
+                ByteBuffer state = buffer.slice(buffer.position(), stateSize).order(ByteOrder.LITTLE_ENDIAN);
+                gameLoop.saveState(state);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not write world snapshot " + file + ": " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Replace the game with the one saved in {@code file}.
+     * <p>
+     *     The {@code GameObjects} in {@code objects} and the {@code SpatialGrid} are cleared at once, not queued,
+     *     and the saved ones added in the order they were saved. The file is checked before anything is changed.
+     * </p>
+     * @param file {@code Path} written by {@code save()}
+     * @param app {@code ApplicationHandler} of the game
+     * @param hud {@code HeadUpDisplay} of the game
+     * @param gameLoop {@code GameLoop} of the game, or null
+     * @return ticks of the game when it was saved
+     * @throws UncheckedIOException if the file can not be read or is not a world snapshot of a known version
+     */
+    public static long load(Path file, ApplicationHandler app, HeadUpDisplay hud, GameLoop gameLoop) {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            long fileSize = channel.size();
+            if (fileSize < HEADER_BYTES)
+                throw new IOException("Not a world snapshot");
+            if (fileSize > Integer.MAX_VALUE)
+                throw new IOException("Too large: " + fileSize + " bytes");
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, fileSize);
+            buffer.order(ByteOrder.LITTLE_ENDIAN);
+            return load(buffer, app, hud, gameLoop);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not read world snapshot " + file + ": " + e.getMessage(), e);
+        }
+    }
+
+    private static long load(ByteBuffer buffer, ApplicationHandler app, HeadUpDisplay hud, GameLoop gameLoop) throws IOException {
+        if (buffer.getInt() != MAGIC)
+            throw new IOException("Not a world snapshot");
+        int version = buffer.getShort() & 0xFFFF;
+        if (version != VERSION)
+            throw new IOException("Unsupported world snapshot version: " + version);
+        buffer.getShort();
+        long seed = buffer.getLong();
+        long position = buffer.getLong();
+        long ticks = buffer.getLong();
+        int score = buffer.getInt();
+        int level = buffer.getInt();
+        int counter = buffer.getInt();
+        float health = buffer.getFloat();
+        int count = buffer.getInt();
+        int recordBytes = buffer.getInt();
+        int stateSize = buffer.getInt();
+        int idCount = buffer.getInt();
+        if (count < 0 || recordBytes < RECORD_BYTES || stateSize < 0 || idCount < 0 || idCount > Short.MAX_VALUE)
+            throw new IOException("Malformed header");
+
+        Id[] ids = new Id[idCount];
+        for (int i = 0; i < idCount; i++) {
+            if (buffer.remaining() < 2)
+                throw new IOException("Truncated at Id " + i);
+            int length = buffer.getShort() & 0xFFFF;
+            if (buffer.remaining() < length)
+                throw new IOException("Truncated at Id " + i);
+            byte[] name = new byte[length];
+            buffer.get(name);
+            ids[i] = idOf(new String(name, StandardCharsets.UTF_8));
+        }
+        long expected = (long) count * recordBytes + stateSize;
+        if (buffer.remaining() < expected)
+            throw new IOException("Truncated: " + buffer.remaining() + " of " + expected + " bytes after the header");
+
+        EntityList objects = app.getObjects();
+        SpatialGrid grid = app.getSpatialGrid();
+        objects.clear();
+        grid.clear();
+        Creator creator = app.getCreator();
+        Color[] colors = new Color[COLOR_CACHE];
+        int start = buffer.position();
+        for (int i = 0; i < count; i++) {
+            buffer.position(start + i * recordBytes);
+            int index = buffer.getShort();
+            int flags = buffer.getShort();
+            if (index < 0 || index >= idCount)
+                throw new IOException("Unknown Id " + index + " in record " + i);
+            Id id = ids[index];
+            if (id == null)
+                continue;
+            GameObject object = creator == null ? null : creator.cloneGameObject(id);
+            if (object == null)
+                object = new GameObject(id, app);
+            object.setXPos(buffer.getFloat());
+            object.setYPos(buffer.getFloat());
+            object.setVelX(buffer.getFloat());
+            object.setVelY(buffer.getFloat());
+            object.setWidth(buffer.getInt());
+            object.setHeight(buffer.getInt());
+            int argb = buffer.getInt();
+            object.setColor((flags & HAS_COLOR) == 0 ? null : color(colors, object.getColor(), argb));
+            object.setLayer(buffer.getInt());
+            object.setMovingLeft((flags & MOVING_LEFT) != 0);
+            objects.add(object);
+            grid.insert(object);
+        }
+        buffer.position(start + count * recordBytes);
+
+        hud.setScore(score);
+        hud.setLevel(level);
+        HeadUpDisplay.setCounter(counter);
+        HeadUpDisplay.setHealth(health);
+        // After the clones, which may have drawn random numbers.
+        app.getRandomService().setPosition(seed, position);
+        if (gameLoop != null) {
+            gameLoop.reset();
+            if (stateSize > 0)
+                gameLoop.loadState(buffer.slice(buffer.position(), stateSize).order(ByteOrder.LITTLE_ENDIAN));
+        }
+        return ticks;
+    }
+
+    /**
+     * The {@code Color} of the prototype if it is the same, else one from {@code cache}, so the same colors are not created again.
+     */
+    private static Color color(Color[] cache, Color prototype, int argb) {
+        if (prototype != null && prototype.getRGB() == argb)
+            return prototype;
+        int slot = (argb ^ argb >>> 16) * 0x9E3779B1 >>> 26;
+        Color color = cache[slot];
+        if (color == null || color.getRGB() != argb) {
+            color = new Color(argb, true);
+            cache[slot] = color;
+        }
+        return color;
+    }
+
+    private static Id idOf(String name) {
+        try {
+            return Id.valueOf(name);
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+}
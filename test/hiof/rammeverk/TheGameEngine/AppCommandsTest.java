@@ -0,0 +1,73 @@
+package hiof.rammeverk.TheGameEngine;
+
+import hiof.rammeverk.TheGameEngine.Behavior.ObjectCreator;
+import hiof.rammeverk.TheGameEngine.GameObjects.GameObject;
+import hiof.rammeverk.TheGameEngine.GameObjects.Id;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Changes to {@code objects} are queued and applied in order by {@code applyCommands()}.
+ */
+class AppCommandsTest {
+    private App app;
+
+    @BeforeEach
+    void setUp() {
+        app = new App(1000, 800, new ObjectCreator());
+    }
+
+    private GameObject object(Id id) {
+        return new GameObject(id, app);
+    }
+
+    @Test
+    void changesWaitForApplyCommands() {
+        GameObject bullet = object(Id.BULLET);
+        app.addObject(bullet);
+        assertTrue(app.getObjects().isEmpty());
+        app.applyCommands();
+        assertSame(bullet, app.first(Id.BULLET));
+
+        app.removeObject(bullet);
+        assertEquals(1, app.count(Id.BULLET));
+        app.applyCommands();
+        assertEquals(0, app.count(Id.BULLET));
+        assertEquals(Id.DEAD, bullet.getId(), "removed objects are recycled");
+    }
+
+    @Test
+    void clearAllExceptPlayerKeepsThePlayer() {
+        GameObject player = object(Id.PLAYER);
+        app.addObject(player);
+        app.addObject(object(Id.BULLET));
+        app.addObject(object(Id.SMART_ENEMY));
+        app.clearAllExceptPlayer();
+        app.addObject(object(Id.BULLET));
+        app.applyCommands();
+
+        assertEquals(2, app.getObjects().size());
+        assertSame(player, app.first(Id.PLAYER));
+        assertEquals(1, app.count(Id.BULLET));
+    }
+
+    @Test
+    void commandsFromOtherThreadsAreApplied() throws InterruptedException {
+        app.applyCommands();
+        Thread thread = new Thread(() -> {
+            for (int i = 0; i < 100; i++)
+                app.addObject(object(Id.BULLET));
+            app.submit(() -> app.addObject(object(Id.SMART_ENEMY)));
+        });
+        thread.start();
+        thread.join();
+        assertTrue(app.getObjects().isEmpty());
+        app.applyCommands();
+        assertEquals(100, app.count(Id.BULLET));
+        assertEquals(1, app.count(Id.SMART_ENEMY), "commands submitted while draining run in the same drain");
+    }
+}
@@ -0,0 +1,181 @@
+package hiof.rammeverk.TheGameEngine.Behavior;
+
+import hiof.rammeverk.TheGameEngine.App;
+import hiof.rammeverk.TheGameEngine.GameObjects.Bullet;
+import hiof.rammeverk.TheGameEngine.GameObjects.EnemyCharacter;
+import hiof.rammeverk.TheGameEngine.GameObjects.GameObject;
+import hiof.rammeverk.TheGameEngine.GameObjects.Id;
+import hiof.rammeverk.TheGameEngine.Render.Sprite;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.awt.Color;
+import java.awt.image.BufferedImage;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+/**
+ * Prototypes and pooling in {@code ObjectCreator}. Each {@code ObjectCreator} has its own prototypes and variants,
+ * pooling is off by default, and a clone from the pool is equal to a new clone.
+ */
+class ObjectCreatorTest {
+    private App app;
+    private ObjectCreator creator;
+
+    @BeforeEach
+    void setUp() {
+        creator = new ObjectCreator();
+        app = new App(1000, 800, creator);
+    }
+
+    private static String fields(GameObject object) {
+        return object.getId() + " " + object.getClass().getSimpleName() + " " + object.getColor() + " " + object.getLayer()
+                + " " + object.getSprite() + " " + object.getMovementSpeed() + " " + object.getWidth() + "x" + object.getHeight()
+                + " " + object.getVelY();
+    }
+
+    private void customize(GameObject prototype) {
+        prototype.setColor(Color.ORANGE);
+        prototype.setLayer(3);
+        prototype.setSprite(new Sprite("test", new BufferedImage(4, 4, BufferedImage.TYPE_INT_ARGB)));
+        prototype.setMovementSpeed(7);
+        prototype.setWidth(11);
+        prototype.setHeight(13);
+    }
+
+    /**
+     * Clone, recycle and clone again, and compare the pooled clone with a new one.
+     */
+    private void assertPooledCloneEqualsNewClone(Id id) {
+        creator.setPoolCapacity(id, 4);
+        GameObject fresh = creator.cloneGameObject(id);
+        String expected = fields(fresh);
+        fresh.setColor(Color.CYAN);
+        fresh.setLayer(-2);
+        fresh.setSprite(null);
+        fresh.setMovementSpeed(1);
+        fresh.setWidth(1);
+        fresh.setVelY(5);
+        fresh.setId(Id.DEAD);
+        creator.recycle(fresh);
+
+        GameObject pooled = creator.cloneGameObject(id);
+        assertSame(fresh, pooled);
+        assertEquals(1, creator.getPoolHits(id));
+        assertEquals(expected, fields(pooled));
+    }
+
+    @Test
+    void pooledGameObjectEqualsNewClone() {
+        GameObject prototype = GameObject.create(Id.ITEM_1, app);
+        customize(prototype);
+        creator.addPrototype(prototype);
+        assertPooledCloneEqualsNewClone(Id.ITEM_1);
+    }
+
+    @Test
+    void pooledBulletEqualsNewClone() {
+        Bullet prototype = Bullet.create(Id.BULLET, app);
+        customize(prototype);
+        creator.addPrototype(prototype);
+        assertPooledCloneEqualsNewClone(Id.BULLET);
+    }
+
+    @Test
+    void pooledEnemyEqualsNewClone() {
+        EnemyCharacter prototype = EnemyCharacter.create(Id.SMART_ENEMY, app);
+        customize(prototype);
+        creator.addPrototype(prototype);
+        assertPooledCloneEqualsNewClone(Id.SMART_ENEMY);
+    }
+
+    @Test
+    void poolingIsOffByDefault() {
+        creator.addPrototype(Bullet.create(Id.BULLET, app));
+        GameObject first = creator.cloneGameObject(Id.BULLET);
+        first.setId(Id.DEAD);
+        creator.recycle(first);
+        assertNotSame(first, creator.cloneGameObject(Id.BULLET));
+        assertEquals(0, creator.getPoolHits(Id.BULLET));
+        assertEquals(2, creator.getPoolMisses(Id.BULLET));
+    }
+
+    @Test
+    void onlyDeadObjectsAreRecycled() {
+        creator.addPrototype(Bullet.create(Id.BULLET, app));
+        creator.setPoolCapacity(Id.BULLET, 4);
+        GameObject alive = creator.cloneGameObject(Id.BULLET);
+        creator.recycle(alive);
+        assertNotSame(alive, creator.cloneGameObject(Id.BULLET));
+    }
+
+    @Test
+    void prototypesBelongToOneCreator() {
+        ObjectCreator other = new ObjectCreator();
+        creator.addPrototype(Bullet.create(Id.BULLET, app));
+        assertNull(other.getPrototype(Id.BULLET));
+        assertNull(other.cloneGameObject(Id.BULLET));
+
+        GameObject replacement = GameObject.create(Id.BULLET, app);
+        creator.addPrototype(replacement);
+        assertSame(replacement, creator.getPrototype(Id.BULLET));
+        assertEquals(GameObject.class, creator.cloneGameObject(Id.BULLET).getClass());
+
+        creator.clearPrototypes();
+        assertNull(creator.getPrototype(Id.BULLET));
+    }
+
+    @Test
+    void variantsAreClonedByName() {
+        Bullet fast = Bullet.create(Id.BULLET, app);
+        fast.setMovementSpeed(20);
+        creator.addPrototype("fast", fast);
+        assertSame(fast, creator.getPrototype(Id.BULLET), "the first variant is also the default");
+
+        Bullet slow = Bullet.create(Id.BULLET, app);
+        slow.setMovementSpeed(2);
+        creator.addPrototype("slow", slow);
+        assertSame(fast, creator.getPrototype(Id.BULLET));
+        assertSame(slow, creator.getPrototype(Id.BULLET, "slow"));
+        assertEquals(2, creator.cloneGameObject(Id.BULLET, "slow").getMovementSpeed());
+        assertEquals(20, creator.cloneGameObject(Id.BULLET, "fast").getMovementSpeed());
+        assertNull(creator.cloneGameObject(Id.BULLET, "missing"));
+        assertNull(creator.cloneGameObject(Id.SMART_ENEMY, "slow"));
+    }
+
+    @Test
+    void variantsHaveTheirOwnPool() {
+        Bullet slow = Bullet.create(Id.BULLET, app);
+        slow.setMovementSpeed(2);
+        creator.addPrototype(Bullet.create(Id.BULLET, app));
+        creator.addPrototype("slow", slow);
+        creator.setPoolCapacity(Id.BULLET, 4);
+
+        GameObject clone = creator.cloneGameObject(Id.BULLET, "slow");
+        clone.setId(Id.DEAD);
+        creator.recycle(clone);
+        assertNotSame(clone, creator.cloneGameObject(Id.BULLET));
+        GameObject pooled = creator.cloneGameObject(Id.BULLET, "slow");
+        assertSame(clone, pooled);
+        assertEquals(2, pooled.getMovementSpeed());
+    }
+
+    @Test
+    void wavesAreClonedInOneCall() {
+        creator.addPrototype(EnemyCharacter.create(Id.SMART_ENEMY, app));
+        List<GameObject> wave = new ArrayList<>();
+        assertEquals(5, creator.cloneGameObjects(Id.SMART_ENEMY, 5, wave::add));
+        assertEquals(5, wave.size());
+        for (GameObject enemy : wave) {
+            assertEquals(EnemyCharacter.class, enemy.getClass());
+            assertNotSame(creator.getPrototype(Id.SMART_ENEMY), enemy);
+        }
+        assertEquals(0, creator.cloneGameObjects(Id.BULLET, 5, wave::add));
+        assertEquals(5, wave.size());
+    }
+}
@@ -0,0 +1,54 @@
+package hiof.rammeverk.TheGameEngine.GameObjects;
+
+import hiof.rammeverk.TheGameEngine.App;
+import hiof.rammeverk.TheGameEngine.Behavior.ObjectCreator;
+import hiof.rammeverk.TheGameEngine.Window.HeadUpDisplay;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Bullets hitting {@code EnemyCharacters} give the same result in a serial and a parallel {@code tick}.
+ */
+class EnemyCharacterTest {
+    /**
+     * Many enemies standing on a block of bullets, so most bullets overlap several enemies.
+     * @return bullets and enemies left and kill count
+     */
+    private static String crowd(int parallelism) {
+        App app = new App(1000, 800, new ObjectCreator());
+        app.getCreator().addPrototype(Bullet.create(Id.BULLET, app));
+        app.getCreator().addPrototype(EnemyCharacter.create(Id.SMART_ENEMY, app));
+        app.setParallelism(parallelism);
+        app.clearAll();
+        app.applyCommands();
+        HeadUpDisplay.setCounter(0);
+        for (int i = 0; i < 400; i++) {
+            GameObject enemy = app.getCreator().cloneGameObject(Id.SMART_ENEMY);
+            enemy.setXPos(100 + (i % 20) * 5);
+            enemy.setYPos(100 + (i / 20) * 5);
+            enemy.setMovementSpeed(0);
+            app.addObject(enemy);
+        }
+        for (int i = 0; i < 300; i++) {
+            GameObject bullet = app.getCreator().cloneGameObject(Id.BULLET);
+            bullet.setXPos(100 + (i % 30) * 4);
+            bullet.setYPos(100 + (i / 30) * 10);
+            bullet.setVelX(0);
+            app.addObject(bullet);
+        }
+        for (int t = 0; t < 3; t++) {
+            app.applyCommands();
+            app.tick();
+        }
+        return "bullets=" + app.count(Id.BULLET) + " enemies=" + app.count(Id.SMART_ENEMY) + " kills=" + HeadUpDisplay.getCounter();
+    }
+
+    @Test
+    void eachBulletHitsOneEnemyWhateverTheParallelism() {
+        String serial = crowd(1);
+        assertEquals(serial, crowd(4));
+        assertTrue(serial.startsWith("bullets=0 "), serial);
+    }
+}
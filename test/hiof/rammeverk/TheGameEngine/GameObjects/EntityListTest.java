@@ -0,0 +1,157 @@
+package hiof.rammeverk.TheGameEngine.GameObjects;
+
+import hiof.rammeverk.TheGameEngine.App;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Slots, removal deferred to {@code compact()}, and the {@code Id} buckets of {@code EntityList}.
+ */
+class EntityListTest {
+    private App app;
+    private EntityList list;
+
+    @BeforeEach
+    void setUp() {
+        app = new App(1000, 800);
+        list = new EntityList();
+    }
+
+    private GameObject object(Id id) {
+        GameObject object = new GameObject(id, app);
+        list.add(object);
+        return object;
+    }
+
+    @Test
+    void removeMovesTheLastObjectIntoTheFreeSlot() {
+        GameObject first = object(Id.BULLET);
+        object(Id.BULLET);
+        GameObject last = object(Id.BULLET);
+
+        assertTrue(list.remove(first));
+        assertEquals(2, list.size());
+        assertSame(last, list.get(0));
+        assertFalse(list.contains(first));
+        assertFalse(list.remove(first));
+        assertEquals(1, list.getRemovedCount());
+        assertEquals(3, list.getAddedCount());
+    }
+
+    @Test
+    void addingTwiceDoesNothing() {
+        GameObject object = object(Id.BULLET);
+        list.add(object);
+        assertEquals(1, list.size());
+    }
+
+    @Test
+    void removeDuringIterationWaitsForCompact() {
+        GameObject first = object(Id.BULLET);
+        GameObject second = object(Id.BULLET);
+        object(Id.BULLET);
+        List<GameObject> removed = new ArrayList<>();
+
+        list.beginIteration();
+        assertTrue(list.remove(first, removed::add));
+        second.setId(Id.DEAD);
+        GameObject added = object(Id.BULLET);
+        assertEquals(4, list.size());
+        assertSame(first, list.get(0));
+        assertSame(added, list.get(3));
+        list.compact(removed::add);
+        assertEquals(4, list.size(), "compact() does nothing during iteration");
+        list.endIteration();
+
+        assertTrue(removed.isEmpty());
+        list.compact(removed::add);
+        assertEquals(2, list.size());
+        assertEquals(List.of(first, second), removed);
+        assertFalse(list.contains(first));
+        assertTrue(list.contains(added));
+    }
+
+    @Test
+    void clearGivesEveryObjectToOnRemoved() {
+        object(Id.BULLET);
+        object(Id.SMART_ENEMY);
+        List<GameObject> removed = new ArrayList<>();
+        list.clear(removed::add);
+        assertEquals(2, removed.size());
+        assertTrue(list.isEmpty());
+    }
+
+    @Test
+    void bucketsFollowAddRemoveAndSetId() {
+        GameObject enemy = object(Id.SMART_ENEMY);
+        GameObject bullet = object(Id.BULLET);
+        object(Id.BULLET);
+        assertEquals(1, list.count(Id.SMART_ENEMY));
+        assertEquals(2, list.count(Id.BULLET));
+        assertSame(enemy, list.first(Id.SMART_ENEMY));
+
+        list.remove(enemy);
+        assertEquals(0, list.count(Id.SMART_ENEMY));
+        assertNull(list.first(Id.SMART_ENEMY));
+
+        bullet.setId(Id.BULLET_2);
+        assertEquals(1, list.count(Id.BULLET));
+        assertSame(bullet, list.first(Id.BULLET_2));
+        List<GameObject> bullets = new ArrayList<>();
+        list.forEach(Id.BULLET_2, bullets::add);
+        assertEquals(List.of(bullet), bullets);
+    }
+
+    @Test
+    void removedObjectsLeaveTheirBucketAtOnce() {
+        GameObject bullet = object(Id.BULLET);
+        list.beginIteration();
+        list.remove(bullet);
+        assertEquals(0, list.count(Id.BULLET));
+        assertNull(list.first(Id.BULLET));
+        list.endIteration();
+        list.compact(null);
+        assertEquals(0, list.count(Id.BULLET));
+    }
+
+    @Test
+    void readdDuringIterationKeepsSlotAndBucket() {
+        GameObject object = object(Id.BULLET);
+        object(Id.SMART_ENEMY);
+
+        list.beginIteration();
+        list.remove(object);
+        list.add(object);
+        assertEquals(1, list.count(Id.BULLET));
+        assertSame(object, list.first(Id.BULLET));
+        list.endIteration();
+
+        list.compact(null);
+        assertEquals(2, list.size());
+        assertTrue(list.contains(object));
+        assertEquals(1, list.count(Id.BULLET));
+        assertSame(object, list.first(Id.BULLET));
+    }
+
+    @Test
+    void eachAppHasItsOwnList() {
+        App other = new App(1000, 800);
+        GameObject object = new GameObject(Id.BULLET, app);
+        app.addObject(object);
+        app.applyCommands();
+        other.applyCommands();
+
+        assertTrue(app.getObjects().contains(object));
+        assertEquals(1, app.getObjects().size());
+        assertTrue(other.getObjects().isEmpty());
+    }
+}
@@ -0,0 +1,142 @@
+package hiof.rammeverk.TheGameEngine.GameObjects;
+
+import hiof.rammeverk.TheGameEngine.App;
+import hiof.rammeverk.TheGameEngine.ApplicationHandler;
+import hiof.rammeverk.TheGameEngine.Behavior.ObjectCreator;
+import hiof.rammeverk.TheGameEngine.Render.GraphicsRenderer;
+import hiof.rammeverk.TheGameEngine.Render.Renderer;
+import hiof.rammeverk.TheGameEngine.Render.Sprite;
+import org.junit.jupiter.api.Test;
+
+import java.awt.Color;
+import java.awt.Graphics;
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+/**
+ * {@code render(Graphics)} and {@code render(Renderer)} draw the same, whichever of them a subclass overrides.
+ */
+class GameObjectRenderTest {
+    private static final int SPRITE_COLOR = 0x00ff00;
+    private static final int OUTLINE_COLOR = 0x0000ff;
+
+    private final App app = new App(100, 100, new ObjectCreator());
+
+    /**
+     * Draws an outline around what {@code GameObject} draws.
+     */
+    private static class Outlined extends GameObject {
+        Outlined(ApplicationHandler app) {
+            super(Id.SMART_ENEMY, app);
+        }
+
+        @Override
+        public void render(Graphics g) {
+            super.render(g);
+            g.setColor(new Color(OUTLINE_COLOR));
+            g.drawRect((int) getXPos(), (int) getYPos(), getWidth() - 1, getHeight() - 1);
+        }
+    }
+
+    /**
+     * Remembers the {@code Renderers} it is drawn with.
+     */
+    private static class RendererUser extends GameObject {
+        final List<Renderer> renderers = new ArrayList<>();
+
+        RendererUser(ApplicationHandler app) {
+            super(Id.SMART_ENEMY, app);
+        }
+
+        @Override
+        public void render(Renderer renderer) {
+            renderers.add(renderer);
+            super.render(renderer);
+        }
+    }
+
+    private static Sprite sprite() {
+        BufferedImage image = new BufferedImage(10, 10, BufferedImage.TYPE_INT_RGB);
+        Graphics2D g = image.createGraphics();
+        g.setColor(new Color(SPRITE_COLOR));
+        g.fillRect(0, 0, 10, 10);
+        g.dispose();
+        return new Sprite("green", image);
+    }
+
+    private <T extends GameObject> T place(T object) {
+        object.setXPos(20);
+        object.setYPos(30);
+        object.setWidth(10);
+        object.setHeight(10);
+        object.setSprite(sprite());
+        return object;
+    }
+
+    private static int pixel(BufferedImage image, int x, int y) {
+        return image.getRGB(x, y) & 0xffffff;
+    }
+
+    @Test
+    void overriddenRenderGraphicsCanCallSuperWithASprite() {
+        Outlined object = place(new Outlined(app));
+        BufferedImage image = new BufferedImage(100, 100, BufferedImage.TYPE_INT_RGB);
+        Graphics2D g = image.createGraphics();
+        object.render(g);
+        object.render(new GraphicsRenderer(g));
+        g.dispose();
+
+        assertEquals(SPRITE_COLOR, pixel(image, 25, 35));
+        assertEquals(OUTLINE_COLOR, pixel(image, 20, 30));
+        assertEquals(0, pixel(image, 19, 29));
+    }
+
+    @Test
+    void spriteIsDrawnTheSameByBothMethods() {
+        GameObject object = place(new GameObject(Id.SMART_ENEMY, app));
+        BufferedImage withGraphics = new BufferedImage(100, 100, BufferedImage.TYPE_INT_RGB);
+        Graphics2D g = withGraphics.createGraphics();
+        object.render(g);
+        g.dispose();
+        BufferedImage withRenderer = new BufferedImage(100, 100, BufferedImage.TYPE_INT_RGB);
+        g = withRenderer.createGraphics();
+        object.render(new GraphicsRenderer(g));
+        g.dispose();
+
+        for (int y = 0; y < 100; y++)
+            for (int x = 0; x < 100; x++)
+                assertEquals(withGraphics.getRGB(x, y), withRenderer.getRGB(x, y), x + "," + y);
+        assertEquals(SPRITE_COLOR, pixel(withGraphics, 29, 39));
+    }
+
+    @Test
+    void overriddenRenderRendererIsUsedByRenderGraphics() {
+        RendererUser object = place(new RendererUser(app));
+        BufferedImage first = new BufferedImage(100, 100, BufferedImage.TYPE_INT_RGB);
+        BufferedImage second = new BufferedImage(100, 100, BufferedImage.TYPE_INT_RGB);
+        Graphics2D g1 = first.createGraphics();
+        Graphics2D g2 = second.createGraphics();
+        object.render(g1);
+        object.render(g2);
+
+        assertEquals(2, object.renderers.size());
+        assertSame(object.renderers.get(0), object.renderers.get(1), "the GraphicsRenderer is reused");
+        assertSame(g2, object.renderers.get(1).getGraphics());
+        assertEquals(SPRITE_COLOR, pixel(first, 25, 35));
+        assertEquals(SPRITE_COLOR, pixel(second, 25, 35));
+        g1.dispose();
+        g2.dispose();
+
+        RendererUser other = place(new RendererUser(app));
+        Graphics2D g = first.createGraphics();
+        other.render(g);
+        g.dispose();
+        assertNotSame(object.renderers.get(0), other.renderers.get(0));
+    }
+}
@@ -0,0 +1,94 @@
+package hiof.rammeverk.TheGameEngine.GameObjects;
+
+import hiof.rammeverk.TheGameEngine.App;
+import hiof.rammeverk.TheGameEngine.Behavior.ObjectCreator;
+import hiof.rammeverk.TheGameEngine.Helpers.InputState;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.awt.event.KeyEvent;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Keys sampled at the start of a tick steer every {@code GameObject} with {@code Id.PLAYER} in that same tick.
+ */
+class KeyInputTest {
+    private static App app(boolean structureOfArrays) {
+        ObjectCreator creator = new ObjectCreator();
+        App app = new App(1000, 800, creator);
+        app.setStructureOfArrays(structureOfArrays);
+        creator.addPrototype(Bullet.create(Id.BULLET, app));
+        return app;
+    }
+
+    private static void tick(App app) {
+        app.applyCommands();
+        app.tick();
+    }
+
+    @ParameterizedTest
+    @ValueSource(booleans = {false, true})
+    void keyMovesThePlayerInTheTickItIsSampled(boolean structureOfArrays) {
+        App app = app(structureOfArrays);
+        PlayerCharacter player = PlayerCharacter.create(Id.PLAYER, app);
+        app.addObject(player);
+        tick(app);
+        float x = player.getXPos();
+
+        InputState input = app.getInput();
+        input.keyPressed(KeyEvent.VK_D, System.nanoTime());
+        tick(app);
+        assertEquals(x + player.getMovementSpeed(), player.getXPos());
+        assertFalse(player.isMovingLeft());
+
+        input.keyReleased(KeyEvent.VK_D, System.nanoTime());
+        input.keyPressed(KeyEvent.VK_A, System.nanoTime());
+        tick(app);
+        assertEquals(x, player.getXPos());
+        assertTrue(player.isMovingLeft());
+
+        input.keyReleased(KeyEvent.VK_A, System.nanoTime());
+        tick(app);
+        assertEquals(x, player.getXPos());
+    }
+
+    @Test
+    void everyPlayerIsSteered() {
+        App app = app(false);
+        GameObject first = GameObject.create(Id.PLAYER, app);
+        GameObject second = GameObject.create(Id.PLAYER, app);
+        first.setMovementSpeed(3);
+        second.setMovementSpeed(5);
+        app.addObject(first);
+        app.addObject(second);
+        app.getInput().keyPressed(KeyEvent.VK_W, System.nanoTime());
+        tick(app);
+        assertEquals(-3, first.getVelY());
+        assertEquals(-5, second.getVelY());
+    }
+
+    @Test
+    void eachPressOfSpaceShootsOneBulletForEachPlayer() {
+        App app = app(false);
+        app.addObject(GameObject.create(Id.PLAYER, app));
+        app.addObject(GameObject.create(Id.PLAYER, app));
+        tick(app);
+
+        InputState input = app.getInput();
+        for (int i = 0; i < 3; i++) {
+            input.keyPressed(KeyEvent.VK_SPACE, System.nanoTime());
+            input.keyReleased(KeyEvent.VK_SPACE, System.nanoTime());
+        }
+        tick(app);
+        app.applyCommands();
+        assertEquals(6, app.count(Id.BULLET));
+
+        tick(app);
+        app.applyCommands();
+        assertEquals(6, app.count(Id.BULLET), "presses are only counted in the tick they are sampled");
+    }
+}
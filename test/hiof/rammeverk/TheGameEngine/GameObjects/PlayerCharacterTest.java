@@ -0,0 +1,25 @@
+package hiof.rammeverk.TheGameEngine.GameObjects;
+
+import hiof.rammeverk.TheGameEngine.App;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+/**
+ * Behavior of {@code PlayerCharacter}.
+ */
+class PlayerCharacterTest {
+    @Test
+    void eachAppHasItsOwnPlayer() {
+        App first = new App(1000, 800);
+        App second = new App(1000, 800);
+        PlayerCharacter firstPlayer = PlayerCharacter.create(Id.PLAYER, first);
+        PlayerCharacter secondPlayer = PlayerCharacter.create(Id.PLAYER, second);
+
+        assertNotSame(firstPlayer, secondPlayer);
+        assertSame(second, secondPlayer.getApp());
+        assertSame(second, secondPlayer.cloneObject().getApp());
+        assertSame(secondPlayer, PlayerCharacter.create(Id.PLAYER, second));
+    }
+}
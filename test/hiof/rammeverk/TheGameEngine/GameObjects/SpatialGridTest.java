@@ -0,0 +1,77 @@
+package hiof.rammeverk.TheGameEngine.GameObjects;
+
+import hiof.rammeverk.TheGameEngine.App;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * {@code SpatialGrid.forEachOverlap()} reports each overlapping {@code GameObject} once, however many cells they share.
+ */
+class SpatialGridTest {
+    private App app;
+    private SpatialGrid grid;
+
+    @BeforeEach
+    void setUp() {
+        app = new App(1000, 800);
+        grid = new SpatialGrid(1000, 800);
+    }
+
+    private GameObject object(Id id, float x, float y, int width, int height) {
+        GameObject object = new GameObject(id, app);
+        object.setXPos(x);
+        object.setYPos(y);
+        object.setWidth(width);
+        object.setHeight(height);
+        grid.insert(object);
+        return object;
+    }
+
+    private List<GameObject> overlaps(GameObject source, Id id) {
+        List<GameObject> found = new ArrayList<>();
+        grid.forEachOverlap(source, id, found::add);
+        return found;
+    }
+
+    @Test
+    void largeObjectsSharingManyCellsAreReportedOnce() {
+        GameObject source = object(Id.PLAYER, 50, 50, 400, 400);
+        GameObject big = object(Id.SMART_ENEMY, 150, 150, 500, 500);
+        GameObject small = object(Id.SMART_ENEMY, 420, 420, 10, 10);
+        object(Id.SMART_ENEMY, 900, 700, 10, 10);
+
+        assertEquals(List.of(big, small), overlaps(source, Id.SMART_ENEMY));
+        assertEquals(List.of(source), overlaps(big, Id.PLAYER));
+    }
+
+    @Test
+    void filtersByIdAndSkipsSource() {
+        GameObject source = object(Id.PLAYER, 100, 100, 50, 50);
+        GameObject bullet = object(Id.BULLET, 120, 120, 5, 5);
+        object(Id.SMART_ENEMY, 110, 110, 20, 20);
+
+        assertEquals(List.of(bullet), overlaps(source, Id.BULLET));
+        assertEquals(2, overlaps(source, null).size());
+    }
+
+    @Test
+    void followsMovedObjects() {
+        GameObject source = object(Id.PLAYER, 100, 100, 50, 50);
+        GameObject enemy = object(Id.SMART_ENEMY, 700, 500, 20, 20);
+        assertTrue(overlaps(source, Id.SMART_ENEMY).isEmpty());
+
+        enemy.setXPos(110);
+        enemy.setYPos(110);
+        grid.update(enemy);
+        assertEquals(List.of(enemy), overlaps(source, Id.SMART_ENEMY));
+
+        grid.remove(enemy);
+        assertTrue(overlaps(source, Id.SMART_ENEMY).isEmpty());
+    }
+}
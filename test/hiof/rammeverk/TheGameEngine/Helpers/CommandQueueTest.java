@@ -0,0 +1,91 @@
+package hiof.rammeverk.TheGameEngine.Helpers;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Order and draining of {@code CommandQueue}, from the game thread and from other threads.
+ */
+class CommandQueueTest {
+    private final List<String> log = new ArrayList<>();
+    private final CommandQueue<String> queue = new CommandQueue<>((opcode, target) -> log.add(opcode + ":" + target));
+
+    @Test
+    void runsCommandsInSubmitOrder() {
+        queue.submit(() -> log.add("a"));
+        queue.submit(1, "b");
+        queue.submit(() -> log.add("c"));
+        assertFalse(queue.isEmpty());
+        assertEquals(3, queue.drain());
+        assertEquals(List.of("a", "1:b", "c"), log);
+        assertTrue(queue.isEmpty());
+        assertEquals(0, queue.drain());
+    }
+
+    @Test
+    void runsCommandsSubmittedWhileDraining() {
+        queue.drain();
+        queue.submit(() -> {
+            log.add("a");
+            queue.submit(2, "b");
+            queue.submit(() -> queue.submit(3, "c"));
+        });
+        assertEquals(4, queue.drain());
+        assertEquals(List.of("a", "2:b", "3:c"), log);
+        assertTrue(queue.isEmpty());
+    }
+
+    @Test
+    void reusesTheBufferOfTheGameThread() {
+        queue.drain();
+        for (int round = 0; round < 3; round++) {
+            for (int i = 0; i < 200; i++)
+                queue.submit(0, Integer.toString(i));
+            assertEquals(200, queue.drain());
+        }
+        assertEquals(600, log.size());
+        assertEquals("0:199", log.get(599));
+    }
+
+    @Test
+    void keepsTheOrderOfEachOtherThread() throws InterruptedException {
+        queue.drain();
+        Thread[] threads = new Thread[4];
+        for (int t = 0; t < threads.length; t++) {
+            int thread = t;
+            threads[t] = new Thread(() -> {
+                for (int i = 0; i < 1000; i++)
+                    queue.submit(thread, Integer.toString(i));
+            });
+            threads[t].start();
+        }
+        for (Thread thread : threads)
+            thread.join();
+        assertEquals(4000, queue.drain());
+        int[] next = new int[threads.length];
+        for (String entry : log) {
+            String[] parts = entry.split(":");
+            int thread = Integer.parseInt(parts[0]);
+            assertEquals(next[thread]++, Integer.parseInt(parts[1]));
+        }
+    }
+
+    @Test
+    void rejectsNegativeOpcodes() {
+        assertThrows(IllegalArgumentException.class, () -> queue.submit(-1, "a"));
+    }
+
+    @Test
+    void runnableQueueHasNoHandler() {
+        CommandQueue<Object> runnables = new CommandQueue<>();
+        runnables.submit(0, null);
+        assertThrows(IllegalStateException.class, runnables::drain);
+    }
+}
@@ -0,0 +1,77 @@
+package hiof.rammeverk.TheGameEngine.Helpers;
+
+import hiof.rammeverk.TheGameEngine.Helpers.FrameProfiler.Phase;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * {@code FrameProfiler} records nothing while disabled, and publishes the histograms once per interval.
+ */
+class FrameProfilerTest {
+    private static final long SECOND = 1_000_000_000L;
+
+    @Test
+    void disabledProfilerRecordsNothing() {
+        FrameProfiler profiler = new FrameProfiler();
+        long t = profiler.start();
+        assertEquals(0, t);
+        assertEquals(0, profiler.lap(Phase.TICK, t));
+        profiler.record(Phase.FRAME, 100);
+        assertFalse(profiler.rollOver(SECOND));
+        assertFalse(profiler.rollOver(3 * SECOND));
+        assertEquals(0, profiler.getLast(Phase.FRAME).getCount());
+        assertEquals(0, profiler.getRate(Phase.FRAME));
+    }
+
+    @Test
+    void histogramsArePublishedOncePerInterval() {
+        FrameProfiler profiler = new FrameProfiler();
+        profiler.setEnabled(true);
+        assertFalse(profiler.rollOver(SECOND), "the first call starts the interval");
+        for (int i = 0; i < 60; i++)
+            profiler.record(Phase.FRAME, 1_000_000);
+        long t = profiler.start();
+        assertTrue(profiler.lap(Phase.APP_TICK, t) >= t);
+
+        assertFalse(profiler.rollOver(SECOND + SECOND / 2));
+        assertEquals(0, profiler.getLast(Phase.FRAME).getCount());
+        assertTrue(profiler.rollOver(3 * SECOND));
+        assertEquals(60, profiler.getLast(Phase.FRAME).getCount());
+        assertEquals(1_000_000, profiler.getLast(Phase.FRAME).getMax());
+        assertEquals(1, profiler.getLast(Phase.APP_TICK).getCount());
+        assertEquals(30.0, profiler.getRate(Phase.FRAME), 1e-9);
+
+        assertTrue(profiler.rollOver(4 * SECOND));
+        assertEquals(0, profiler.getLast(Phase.FRAME).getCount(), "the next interval starts empty");
+    }
+
+    @Test
+    void disablingDropsTheUnfinishedInterval() {
+        FrameProfiler profiler = new FrameProfiler();
+        profiler.setEnabled(true);
+        profiler.rollOver(SECOND);
+        profiler.record(Phase.TICK, 5);
+        profiler.setEnabled(false);
+        profiler.rollOver(SECOND + 1);
+        profiler.setEnabled(true);
+
+        assertFalse(profiler.rollOver(10 * SECOND));
+        assertTrue(profiler.rollOver(11 * SECOND));
+        assertEquals(0, profiler.getLast(Phase.TICK).getCount());
+    }
+
+    @Test
+    void intervalCanBeChanged() {
+        FrameProfiler profiler = new FrameProfiler();
+        profiler.setEnabled(true);
+        profiler.setIntervalNanos(100);
+        profiler.rollOver(SECOND);
+        assertFalse(profiler.rollOver(SECOND + 99));
+        assertTrue(profiler.rollOver(SECOND + 100));
+        assertThrows(IllegalArgumentException.class, () -> profiler.setIntervalNanos(0));
+    }
+}
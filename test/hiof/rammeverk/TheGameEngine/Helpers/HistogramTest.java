@@ -0,0 +1,66 @@
+package hiof.rammeverk.TheGameEngine.Helpers;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * {@code Histogram} percentiles are within about 6% of the exact values.
+ */
+class HistogramTest {
+    @Test
+    void percentilesAreCloseToExactValues() {
+        Random random = new Random(3);
+        Histogram histogram = new Histogram();
+        long[] values = new long[10_000];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = (long) Math.exp(random.nextDouble() * 25);
+            histogram.record(values[i]);
+        }
+        Arrays.sort(values);
+
+        for (double percentile : new double[]{1, 50, 90, 99, 99.9}) {
+            long exact = values[(int) Math.ceil(percentile / 100 * values.length) - 1];
+            long value = histogram.getValueAtPercentile(percentile);
+            assertTrue(value >= exact && value <= exact + exact / 16 + 1, percentile + ": " + value + " vs " + exact);
+        }
+        assertEquals(values[values.length - 1], histogram.getMax());
+        assertEquals(values[values.length - 1], histogram.getValueAtPercentile(100));
+        assertEquals(values.length, histogram.getCount());
+        assertEquals(Arrays.stream(values).sum() / values.length, histogram.getMean());
+    }
+
+    @Test
+    void smallAndExtremeValues() {
+        Histogram histogram = new Histogram();
+        assertEquals(0, histogram.getValueAtPercentile(50));
+        histogram.record(-5);
+        histogram.record(3);
+        histogram.record(Long.MAX_VALUE);
+        assertEquals(0, histogram.getValueAtPercentile(0));
+        assertEquals(3, histogram.getValueAtPercentile(50));
+        assertEquals(Long.MAX_VALUE, histogram.getValueAtPercentile(100));
+    }
+
+    @Test
+    void copyFromAndReset() {
+        Histogram histogram = new Histogram();
+        for (int i = 1; i <= 100; i++)
+            histogram.record(i);
+        Histogram copy = new Histogram();
+        copy.copyFrom(histogram);
+        histogram.reset();
+
+        assertEquals(0, histogram.getCount());
+        assertEquals(0, histogram.getMax());
+        assertEquals(100, copy.getCount());
+        assertEquals(100, copy.getMax());
+        assertEquals(50, copy.getMean());
+        assertEquals(0, histogram.getValueAtPercentile(50));
+        assertTrue(Math.abs(copy.getValueAtPercentile(50) - 50) <= 3);
+    }
+}
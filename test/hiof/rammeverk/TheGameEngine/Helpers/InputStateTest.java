@@ -0,0 +1,102 @@
+package hiof.rammeverk.TheGameEngine.Helpers;
+
+import org.junit.jupiter.api.Test;
+
+import java.awt.event.KeyEvent;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * {@code InputState} only shows keys after {@code sample()}, and counts presses and latency per sample.
+ */
+class InputStateTest {
+    @Test
+    void keysChangeAtTheNextSample() {
+        InputState input = new InputState();
+        input.keyPressed(KeyEvent.VK_D, 10);
+        assertFalse(input.isDown(KeyEvent.VK_D));
+        assertEquals(1, input.sample());
+        assertTrue(input.isDown(KeyEvent.VK_D));
+        assertTrue(input.wasPressed(KeyEvent.VK_D));
+
+        assertEquals(0, input.sample());
+        assertTrue(input.isDown(KeyEvent.VK_D), "held down");
+        assertFalse(input.wasPressed(KeyEvent.VK_D), "pressed in an earlier tick");
+
+        input.keyReleased(KeyEvent.VK_D, 20);
+        input.sample();
+        assertFalse(input.isDown(KeyEvent.VK_D));
+        assertEquals(KeyEvent.VK_D, input.getEventKey(0));
+        assertFalse(input.isEventPressed(0));
+        assertEquals(20, input.getEventNanos(0));
+    }
+
+    @Test
+    void quickPressesAreCounted() {
+        InputState input = new InputState();
+        for (int i = 0; i < 3; i++) {
+            input.keyPressed(KeyEvent.VK_SPACE, i);
+            input.keyReleased(KeyEvent.VK_SPACE, i);
+        }
+        input.sample();
+        assertFalse(input.isDown(KeyEvent.VK_SPACE));
+        assertEquals(3, input.getPressCount(KeyEvent.VK_SPACE));
+        assertEquals(6, input.getEventCount());
+        input.sample();
+        assertEquals(0, input.getPressCount(KeyEvent.VK_SPACE));
+    }
+
+    @Test
+    void fullRingDropsEventsButKeepsKeys() {
+        InputState input = new InputState(3);
+        assertEquals(4, input.getCapacity());
+        for (int key = KeyEvent.VK_A; key < KeyEvent.VK_A + 6; key++)
+            input.keyPressed(key, 0);
+        assertEquals(2, input.getDroppedEvents());
+        assertEquals(4, input.sample());
+        assertTrue(input.isDown(KeyEvent.VK_A + 5));
+        assertFalse(input.wasPressed(KeyEvent.VK_A + 5));
+        assertTrue(input.keyPressed(KeyEvent.VK_Z, 0), "sample() frees the ring");
+    }
+
+    @Test
+    void latencyIsMeasuredOnceForEachEvent() {
+        InputState input = new InputState();
+        input.keyPressed(KeyEvent.VK_W, 100);
+        input.keyReleased(KeyEvent.VK_W, 150);
+        input.sample();
+        input.keyPressed(KeyEvent.VK_S, 300);
+        input.sample();
+
+        List<Long> latencies = new ArrayList<>();
+        input.shown(400, latencies::add);
+        assertEquals(List.of(300L, 250L, 100L), latencies);
+        input.shown(500, latencies::add);
+        assertEquals(3, latencies.size());
+
+        input.keyPressed(KeyEvent.VK_S, 600);
+        input.sample();
+        List<Long> times = new ArrayList<>();
+        input.takeUnshown(times::add);
+        assertEquals(List.of(600L), times);
+    }
+
+    @Test
+    void resetForgetsEverything() {
+        InputState input = new InputState();
+        input.keyPressed(KeyEvent.VK_W, 0);
+        input.sample();
+        input.keyPressed(KeyEvent.VK_S, 0);
+        input.setDown(KeyEvent.VK_D, true);
+        input.reset();
+
+        assertEquals(0, input.sample());
+        assertFalse(input.isDown(KeyEvent.VK_W));
+        assertFalse(input.isDown(KeyEvent.VK_D));
+        assertFalse(input.wasPressed(KeyEvent.VK_W));
+    }
+}
@@ -0,0 +1,128 @@
+package hiof.rammeverk.TheGameEngine.Helpers;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+/**
+ * {@code RandomService} gives the same numbers for the same seed, whatever thread or order the {@code GameObjects} are ticked in.
+ */
+class RandomServiceTest {
+    private static final int SLOTS = 64;
+
+    private static long[] draw(Random random, int count) {
+        long[] values = new long[count];
+        for (int i = 0; i < count; i++)
+            values[i] = random.nextLong();
+        return values;
+    }
+
+    @Test
+    void gameStreamIsSplitMix64() {
+        RandomService random = new RandomService(42);
+        SplittableRandom expected = new SplittableRandom(42);
+        for (int i = 0; i < 100; i++)
+            assertEquals(expected.nextLong(), random.current().nextLong());
+    }
+
+    @Test
+    void sameSeedGivesSameNumbers() {
+        RandomService random = new RandomService(7);
+        long[] first = draw(random.current(), 50);
+        double gaussian = random.current().nextGaussian();
+        random.setSeed(7);
+        assertArrayEquals(first, draw(random.current(), 50));
+        assertEquals(gaussian, random.current().nextGaussian());
+        assertEquals(7, random.getSeed());
+
+        random.setSeed(8);
+        assertNotEquals(first[0], random.current().nextLong());
+    }
+
+    @Test
+    void savedPositionGoesOnWhereItLeft() {
+        RandomService random = new RandomService(3);
+        draw(random.current(), 10);
+        long position = random.getPosition();
+        long[] next = draw(random.current(), 10);
+
+        RandomService loaded = new RandomService(0);
+        loaded.setPosition(3, position);
+        assertEquals(3, loaded.getSeed());
+        assertArrayEquals(next, draw(loaded.current(), 10));
+    }
+
+    /**
+     * Draw from the stream of each slot, in the given order, and return the numbers by slot.
+     */
+    private static long[][] tickSlots(RandomService random, int[] order) {
+        long[][] values = new long[SLOTS][];
+        RandomService.Generator stream = random.slotStream();
+        try {
+            for (int slot : order) {
+                random.beginSlot(stream, slot);
+                assertSame(stream, random.current());
+                values[slot] = draw(random.current(), 5);
+            }
+        } finally {
+            random.endSlots(stream);
+        }
+        return values;
+    }
+
+    @Test
+    void slotStreamsDoNotDependOnOrderOrThread() throws ExecutionException, InterruptedException {
+        int[] forward = new int[SLOTS];
+        int[] backward = new int[SLOTS];
+        for (int i = 0; i < SLOTS; i++) {
+            forward[i] = i;
+            backward[i] = SLOTS - 1 - i;
+        }
+        RandomService random = new RandomService(99);
+        random.beginTick();
+        long[][] expected = tickSlots(random, forward);
+        assertArrayEquals(expected, tickSlots(random, backward));
+
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            assertArrayEquals(expected, executor.submit(() -> tickSlots(random, forward)).get());
+        } finally {
+            executor.shutdown();
+        }
+        assertNotEquals(expected[0][0], expected[1][0]);
+    }
+
+    @Test
+    void slotStreamsDoNotUseTheGameStream() {
+        RandomService a = new RandomService(5);
+        RandomService b = new RandomService(5);
+        a.beginTick();
+        b.beginTick();
+        tickSlots(a, new int[]{0, 1, 2});
+        assertEquals(a.getPosition(), b.getPosition());
+        assertEquals(b.current().nextLong(), a.current().nextLong());
+
+        a.beginTick();
+        long[][] second = tickSlots(a, new int[]{0});
+        RandomService c = new RandomService(5);
+        c.beginTick();
+        assertNotEquals(tickSlots(c, new int[]{0})[0][0], second[0][0], "each tick has new streams");
+    }
+
+    @Test
+    void splitStreamsFollowFromTheSeed() {
+        RandomService a = new RandomService(11);
+        RandomService b = new RandomService(11);
+        assertEquals(a.split().nextLong(), b.split().nextLong());
+        assertEquals(a.getPosition(), b.getPosition());
+    }
+}
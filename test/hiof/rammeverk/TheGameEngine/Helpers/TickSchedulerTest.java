@@ -0,0 +1,67 @@
+package hiof.rammeverk.TheGameEngine.Helpers;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Catching up and dropping ticks in {@code TickScheduler}, with made up times.
+ */
+class TickSchedulerTest {
+    private final TickScheduler scheduler = new TickScheduler();
+    private long tick;
+
+    @BeforeEach
+    void setUp() {
+        scheduler.setTickRate(100);
+        scheduler.setMaxCatchUpTicks(5);
+        tick = scheduler.getTickNanos();
+        scheduler.start(0);
+    }
+
+    @Test
+    void runsOneTickPerTickNanos() {
+        assertEquals(0, scheduler.ticksDue(tick - 1));
+        assertEquals(1, scheduler.ticksDue(tick));
+        assertEquals(0, scheduler.ticksDue(tick + 1));
+        assertEquals(1, scheduler.ticksDue(2 * tick));
+        assertEquals(2, scheduler.getTicks());
+        assertEquals(0, scheduler.getCatchUpTicks());
+        assertEquals(0, scheduler.getDroppedTicks());
+    }
+
+    @Test
+    void catchesUpWhenLate() {
+        assertEquals(3, scheduler.ticksDue(3 * tick));
+        assertEquals(2, scheduler.getCatchUpTicks());
+        assertEquals(0, scheduler.getDroppedTicks());
+        assertEquals(4 * tick, scheduler.getNextTick());
+    }
+
+    @Test
+    void dropsTicksOverTheLimit() {
+        long now = 100 * tick + tick / 2;
+        assertEquals(5, scheduler.ticksDue(now));
+        assertEquals(95, scheduler.getDroppedTicks());
+        assertEquals(4, scheduler.getCatchUpTicks());
+        assertEquals(5, scheduler.getTicks());
+        // The game goes on from now instead of trying to make up for the dropped ticks.
+        assertEquals(now + tick, scheduler.getNextTick());
+        assertEquals(0, scheduler.ticksDue(now + tick - 1));
+        assertEquals(1, scheduler.ticksDue(now + tick));
+    }
+
+    @Test
+    void framesAreNeverMadeUpFor() {
+        scheduler.setFrameRate(50);
+        long frame = 2 * tick;
+        assertTrue(scheduler.frameDue(0));
+        assertFalse(scheduler.frameDue(frame - 1));
+        assertTrue(scheduler.frameDue(10 * frame));
+        assertFalse(scheduler.frameDue(10 * frame + 1));
+        assertEquals(2, scheduler.getFrames());
+    }
+}
@@ -0,0 +1,77 @@
+package hiof.rammeverk.TheGameEngine.Helpers;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * {@code TripleBuffer} gives the reader the newest object, and never the one the writer fills.
+ */
+class TripleBufferTest {
+    @Test
+    void readerGetsTheNewestPublishedObject() {
+        String back = "back";
+        String middle = "middle";
+        String front = "front";
+        TripleBuffer<String> buffer = new TripleBuffer<>(back, middle, front);
+        assertFalse(buffer.update());
+        assertSame(front, buffer.getFront());
+
+        assertFalse(buffer.publish());
+        assertSame(middle, buffer.getBack());
+        assertTrue(buffer.update());
+        assertSame(back, buffer.getFront());
+        assertFalse(buffer.update(), "nothing new");
+
+        assertFalse(buffer.publish());
+        assertTrue(buffer.publish(), "the first object was published and never taken");
+        assertSame(middle, buffer.getBack());
+        assertTrue(buffer.update());
+        assertSame(front, buffer.getFront());
+    }
+
+    /**
+     * Each object is a counter. The writer only changes its back object, so the reader must see the counter it published.
+     */
+    @Test
+    void writerAndReaderNeverShareAnObject() throws InterruptedException {
+        long[][] items = {{0}, {0}, {0}};
+        TripleBuffer<long[]> buffer = new TripleBuffer<>(items[0], items[1], items[2]);
+        int count = 200_000;
+        AtomicReference<String> error = new AtomicReference<>();
+        Thread reader = new Thread(() -> {
+            long last = 0;
+            while (last < count) {
+                if (!buffer.update())
+                    continue;
+                long[] front = buffer.getFront();
+                long value = front[0];
+                for (int i = 0; i < 10; i++) {
+                    if (front[0] != value)
+                        error.compareAndSet(null, "changed while read: " + value);
+                }
+                if (value <= last)
+                    error.compareAndSet(null, value + " after " + last);
+                last = value;
+            }
+        });
+        reader.start();
+        for (long i = 1; i <= count; i++) {
+            long[] back = buffer.getBack();
+            back[0] = i;
+            buffer.publish();
+            assertNotSame(buffer.getBack(), back);
+        }
+        reader.join(10_000);
+        assertFalse(reader.isAlive());
+        assertNull(error.get());
+        assertEquals(count, buffer.getFront()[0]);
+    }
+}
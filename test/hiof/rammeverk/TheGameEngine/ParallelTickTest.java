@@ -0,0 +1,118 @@
+package hiof.rammeverk.TheGameEngine;
+
+import hiof.rammeverk.TheGameEngine.Behavior.GameLoopExample;
+import hiof.rammeverk.TheGameEngine.GameObjects.GameObject;
+import hiof.rammeverk.TheGameEngine.GameObjects.Id;
+import hiof.rammeverk.TheGameEngine.Window.HeadlessRunner;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * A parallel {@code tick} gives the same result as a serial one.
+ */
+class ParallelTickTest {
+    private static final int OBJECTS = 5000;
+
+    /**
+     * Defers its index to a shared log, turns every third one {@code DEAD} and moves at random.
+     */
+    private static final class Worker extends GameObject {
+        private final List<Integer> log;
+        private final int index;
+        private boolean sawParallelPhase;
+
+        Worker(ApplicationHandler app, List<Integer> log, int index) {
+            super(Id.ITEM_1, app);
+            this.log = log;
+            this.index = index;
+        }
+
+        @Override
+        public void tick() {
+            sawParallelPhase = getApp().isParallelPhase();
+            getApp().defer(() -> log.add(index));
+            setVelX(getApp().getRandom().nextInt(100));
+            if (index % 3 == 0)
+                setId(Id.DEAD);
+        }
+    }
+
+    private static String run(int parallelism, List<Integer> log) {
+        App app = new App(1000, 800);
+        app.setParallelism(parallelism);
+        List<Worker> workers = new ArrayList<>();
+        for (int i = 0; i < OBJECTS; i++) {
+            Worker worker = new Worker(app, log, i);
+            workers.add(worker);
+            app.addObject(worker);
+        }
+        app.setSeed(5);
+        app.applyCommands();
+        app.tick();
+        assertEquals(parallelism > 1, workers.get(0).sawParallelPhase);
+        assertFalse(app.isParallelPhase());
+        app.setParallelism(1);
+        return app.count(Id.ITEM_1) + " " + TestGames.state(app);
+    }
+
+    @Test
+    void deferredEffectsRunInTheOrderOfObjects() {
+        List<Integer> serial = new ArrayList<>();
+        List<Integer> parallel = new ArrayList<>();
+        String serialState = run(1, serial);
+        String parallelState = run(4, parallel);
+
+        assertEquals(OBJECTS, parallel.size());
+        assertEquals(serial, parallel);
+        assertEquals(serialState, parallelState);
+        assertTrue(parallelState.startsWith((OBJECTS - (OBJECTS + 2) / 3) + " "), "setId(DEAD) is applied after the tick");
+    }
+
+    @Test
+    void demoGameIsTheSameOnAnyNumberOfThreads() {
+        String serial = null;
+        for (int parallelism : new int[]{1, 2, 4}) {
+            App app = TestGames.demo();
+            app.setParallelism(parallelism);
+            app.setSeed(77);
+            HeadlessRunner runner = new HeadlessRunner(app, new GameLoopExample(app));
+            runner.run(400);
+            app.setParallelism(1);
+            String state = TestGames.state(app);
+            if (serial == null)
+                serial = state;
+            else
+                assertEquals(serial, state, "parallelism " + parallelism);
+        }
+    }
+
+    @Test
+    void spatialGridCanNotChangeDuringTheParallelPhase() {
+        App app = new App(1000, 800);
+        app.setParallelism(2);
+        List<RuntimeException> thrown = new ArrayList<>();
+        GameObject other = new GameObject(Id.ITEM_2, app);
+        app.addObject(new GameObject(Id.ITEM_1, app) {
+            @Override
+            public void tick() {
+                try {
+                    getApp().getSpatialGrid().insert(other);
+                } catch (IllegalStateException e) {
+                    getApp().defer(() -> thrown.add(e));
+                }
+            }
+        });
+        app.applyCommands();
+        app.tick();
+        app.setParallelism(1);
+        assertEquals(1, thrown.size());
+        assertThrows(IllegalArgumentException.class, () -> app.setParallelism(0));
+    }
+}
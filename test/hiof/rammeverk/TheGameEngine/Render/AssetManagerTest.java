@@ -0,0 +1,109 @@
+package hiof.rammeverk.TheGameEngine.Render;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * {@code AssetManager} loads each image once and keeps the most recently used within {@code maxBytes}.
+ */
+class AssetManagerTest {
+    @TempDir
+    Path directory;
+
+    private String writeImage(String name, int width, int height) throws IOException {
+        BufferedImage image = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+        image.setRGB(0, 0, 0xff0000);
+        File file = directory.resolve(name).toFile();
+        ImageIO.write(image, "png", file);
+        return file.getPath();
+    }
+
+    @Test
+    void imagesAreLoadedOnce() throws IOException {
+        String path = writeImage("a.png", 8, 4);
+        AssetManager assets = new AssetManager(1024 * 1024);
+        Sprite first = assets.load(path);
+        Sprite second = assets.load(path);
+
+        assertSame(first, second);
+        assertEquals(1, assets.getMisses());
+        assertEquals(1, assets.getHits());
+        assertEquals(8, first.getWidth());
+        assertEquals(4, first.getHeight());
+        assertEquals(0xff0000, first.getImage().getRGB(0, 0) & 0xffffff);
+        assertEquals(first.getBytes(), assets.getBytes());
+    }
+
+    @Test
+    void scaledImagesAreCachedSeparately() throws IOException {
+        String path = writeImage("b.png", 8, 8);
+        AssetManager assets = new AssetManager(1024 * 1024);
+        Sprite original = assets.load(path);
+        Sprite scaled = assets.load(path, 16, 2);
+
+        assertEquals(16, scaled.getWidth());
+        assertEquals(2, scaled.getHeight());
+        assertSame(scaled, assets.load(path, 16, 2));
+        assertSame(original, assets.get(path));
+        assertEquals(2, assets.size());
+        assertThrows(IllegalArgumentException.class, () -> assets.load(path, 0, 2));
+    }
+
+    @Test
+    void missingImagesThrow() {
+        AssetManager assets = new AssetManager(1024);
+        String path = directory.resolve("missing.png").toString();
+        assertThrows(UncheckedIOException.class, () -> assets.load(path));
+        assertFalse(assets.contains(path));
+    }
+
+    @Test
+    void leastRecentlyUsedImagesAreEvicted() {
+        AssetManager assets = new AssetManager(Long.MAX_VALUE);
+        Sprite a = assets.put("a", new BufferedImage(10, 10, BufferedImage.TYPE_INT_RGB));
+        assets.put("b", new BufferedImage(10, 10, BufferedImage.TYPE_INT_RGB));
+        assets.put("c", new BufferedImage(10, 10, BufferedImage.TYPE_INT_RGB));
+        assertNotNull(assets.get("a"));
+
+        assets.setMaxBytes(2 * a.getBytes());
+        assertTrue(assets.contains("a"));
+        assertNull(assets.get("b"));
+        assertTrue(assets.contains("c"));
+        assertEquals(1, assets.getEvictions());
+        assertEquals(2 * a.getBytes(), assets.getBytes());
+
+        assets.setMaxBytes(0);
+        assertEquals(1, assets.size(), "the newest image is always kept");
+        assertThrows(IllegalArgumentException.class, () -> assets.setMaxBytes(-1));
+    }
+
+    @Test
+    void replacedAndRemovedImagesAreNotCounted() {
+        AssetManager assets = new AssetManager(Long.MAX_VALUE);
+        assets.put("a", new BufferedImage(10, 10, BufferedImage.TYPE_INT_RGB));
+        Sprite small = assets.put("a", new BufferedImage(2, 2, BufferedImage.TYPE_INT_RGB));
+        assertEquals(small.getBytes(), assets.getBytes());
+
+        assets.remove("a");
+        assertEquals(0, assets.getBytes());
+        assets.put("b", new BufferedImage(2, 2, BufferedImage.TYPE_INT_RGB));
+        assets.clear();
+        assertEquals(0, assets.size());
+        assertEquals(0, assets.getBytes());
+    }
+}
@@ -0,0 +1,141 @@
+package hiof.rammeverk.TheGameEngine.Render;
+
+import hiof.rammeverk.TheGameEngine.App;
+import hiof.rammeverk.TheGameEngine.GameObjects.EnemyCharacter;
+import hiof.rammeverk.TheGameEngine.GameObjects.Id;
+import org.junit.jupiter.api.Test;
+
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * {@code BatchingRenderer} changes the color less often, without changing the frame.
+ */
+class BatchingRendererTest {
+    private static final int WIDTH = 320;
+    private static final int HEIGHT = 240;
+    private static final Color[] COLORS = {Color.RED, Color.GREEN, Color.BLUE, Color.YELLOW};
+
+    /**
+     * Counts the calls to {@code setColor()} that reach the target.
+     */
+    private static final class CountingRenderer extends GraphicsRenderer {
+        private int colorChanges;
+
+        CountingRenderer(Graphics2D g) {
+            super(g);
+        }
+
+        @Override
+        public void setColor(Color color) {
+            colorChanges++;
+            super.setColor(color);
+        }
+    }
+
+    private static void draw(Renderer renderer, int count, boolean overlapping) {
+        Random random = new Random(count);
+        for (int i = 0; i < count; i++) {
+            if (overlapping) {
+                renderer.setColor(COLORS[i % COLORS.length]);
+                renderer.fillRect(random.nextInt(WIDTH), random.nextInt(HEIGHT), 20 + random.nextInt(60), 20 + random.nextInt(60));
+            } else {
+                // A grid of cells drawn row by row, with one color for each quarter of the width.
+                int column = i % 32;
+                renderer.setColor(COLORS[column / 8]);
+                renderer.fillRect(column * 10, (i / 32) * 10, 9, 9);
+            }
+        }
+    }
+
+    private static BufferedImage image() {
+        BufferedImage image = new BufferedImage(WIDTH, HEIGHT, BufferedImage.TYPE_INT_RGB);
+        Graphics2D g = image.createGraphics();
+        g.setColor(Color.GRAY);
+        g.fillRect(0, 0, WIDTH, HEIGHT);
+        g.dispose();
+        return image;
+    }
+
+    private static void assertSamePixels(BufferedImage expected, BufferedImage actual) {
+        for (int y = 0; y < HEIGHT; y++)
+            for (int x = 0; x < WIDTH; x++)
+                assertEquals(expected.getRGB(x, y), actual.getRGB(x, y), "pixel " + x + "," + y);
+    }
+
+    /**
+     * @return number of color changes that reached the target
+     */
+    private static int assertSameAsDirect(int count, boolean overlapping) {
+        BufferedImage expected = image();
+        Graphics2D g = expected.createGraphics();
+        draw(new GraphicsRenderer(g), count, overlapping);
+        g.dispose();
+
+        BufferedImage actual = image();
+        Graphics2D batchedGraphics = actual.createGraphics();
+        CountingRenderer target = new CountingRenderer(batchedGraphics);
+        BatchingRenderer batch = new BatchingRenderer(target);
+        draw(batch, count, overlapping);
+        batch.flush();
+        batchedGraphics.dispose();
+
+        assertSamePixels(expected, actual);
+        return target.colorChanges;
+    }
+
+    @Test
+    void overlappingCallsInOneLayerKeepTheirOrder() {
+        assertSameAsDirect(500, true);
+    }
+
+    @Test
+    void callsThatDoNotOverlapAreGroupedByColor() {
+        int changes = assertSameAsDirect(32 * 24, false);
+        assertEquals(COLORS.length, changes);
+    }
+
+    @Test
+    void higherLayersAreDrawnOnTop() {
+        BufferedImage image = image();
+        Graphics2D g = image.createGraphics();
+        BatchingRenderer batch = new BatchingRenderer(new GraphicsRenderer(g));
+        batch.setLayer(1);
+        batch.setColor(Color.RED);
+        batch.fillRect(0, 0, 10, 10);
+        batch.setLayer(0);
+        batch.setColor(Color.BLUE);
+        batch.fillRect(0, 0, 20, 20);
+        batch.flush();
+        g.dispose();
+
+        assertEquals(Color.RED.getRGB(), image.getRGB(5, 5));
+        assertEquals(Color.BLUE.getRGB(), image.getRGB(15, 15));
+    }
+
+    @Test
+    void layersOutsideTheRangeAreRejected() {
+        BatchingRenderer batch = new BatchingRenderer(new GraphicsRenderer());
+        assertThrows(IllegalArgumentException.class, () -> batch.setLayer(BatchingRenderer.MAX_LAYER + 1));
+        assertThrows(IllegalArgumentException.class, () -> batch.setLayer(BatchingRenderer.MIN_LAYER - 1));
+    }
+
+    @Test
+    void enemyInTheTopLayerCanBeDrawn() {
+        App app = new App(1000, 800);
+        EnemyCharacter enemy = EnemyCharacter.create(Id.SMART_ENEMY, app);
+        enemy.setLayer(BatchingRenderer.MAX_LAYER);
+        BufferedImage image = image();
+        Graphics2D g = image.createGraphics();
+        BatchingRenderer batch = new BatchingRenderer(new GraphicsRenderer(g));
+        assertDoesNotThrow(() -> enemy.render(batch));
+        batch.flush();
+        g.dispose();
+    }
+}
@@ -0,0 +1,189 @@
+package hiof.rammeverk.TheGameEngine.Render;
+
+import hiof.rammeverk.TheGameEngine.App;
+import hiof.rammeverk.TheGameEngine.GameObjects.GameObject;
+import hiof.rammeverk.TheGameEngine.GameObjects.Id;
+import hiof.rammeverk.TheGameEngine.Window.GameState;
+import org.junit.jupiter.api.Test;
+
+import java.awt.Color;
+import java.awt.Graphics;
+import java.awt.Image;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * A {@code FrameSnapshot} recorded by a {@code SnapshotRecorder} draws the same calls, moved back between two ticks.
+ */
+class FrameSnapshotTest {
+    private static final long SPAN = 1_000_000;
+
+    private final App app = new App(1000, 800);
+    private final SnapshotRecorder recorder = new SnapshotRecorder();
+
+    /**
+     * Writes each call as text.
+     */
+    private static class LogRenderer implements Renderer {
+        final List<String> calls = new ArrayList<>();
+        private Color color;
+
+        @Override
+        public void setColor(Color color) {
+            this.color = color;
+            calls.add("color " + color.getRGB());
+        }
+
+        @Override
+        public Color getColor() {
+            return color;
+        }
+
+        @Override
+        public void setLayer(int layer) {
+            calls.add("layer " + layer);
+        }
+
+        @Override
+        public void fillRect(int x, int y, int width, int height) {
+            calls.add("fill " + x + "," + y + " " + width + "x" + height);
+        }
+
+        @Override
+        public void drawRect(int x, int y, int width, int height) {
+            calls.add("rect " + x + "," + y + " " + width + "x" + height);
+        }
+
+        @Override
+        public void drawString(String text, int x, int y) {
+            calls.add("text " + text + " " + x + "," + y);
+        }
+
+        @Override
+        public void drawImage(Image image, int x, int y) {
+            calls.add("image " + x + "," + y);
+        }
+
+        @Override
+        public void translate(int x, int y) {
+        }
+
+        @Override
+        public Graphics getGraphics() {
+            throw new UnsupportedOperationException();
+        }
+    }
+
+    private GameObject object(float x, float y) {
+        GameObject object = new GameObject(Id.SMART_ENEMY, app);
+        object.setXPos(x);
+        object.setYPos(y);
+        object.setWidth(10);
+        object.setHeight(20);
+        return object;
+    }
+
+    private FrameSnapshot record(long tick, GameObject... objects) {
+        FrameSnapshot snapshot = new FrameSnapshot();
+        recorder.begin(snapshot, tick, tick * SPAN, SPAN, false);
+        for (GameObject object : objects) {
+            recorder.beginObject(object);
+            object.render(recorder);
+        }
+        recorder.end();
+        return snapshot;
+    }
+
+    private static List<String> draw(FrameSnapshot snapshot, float alpha) {
+        LogRenderer renderer = new LogRenderer();
+        snapshot.draw(renderer, alpha);
+        return renderer.calls;
+    }
+
+    @Test
+    void callsAreDrawnInOrder() {
+        FrameSnapshot snapshot = new FrameSnapshot();
+        recorder.begin(snapshot, 1, 0, SPAN, false);
+        recorder.setColor(Color.RED);
+        recorder.fillRect(1, 2, 3, 4);
+        recorder.setLayer(2);
+        recorder.translate(10, 10);
+        recorder.drawRect(1, 2, 3, 4);
+        recorder.setColor(Color.BLUE);
+        recorder.drawString("hi", 5, 6);
+        recorder.fillRect(0, 0, 0, 5);
+        recorder.end();
+
+        assertEquals(3, snapshot.getCount(), "empty rectangles are skipped");
+        assertEquals(List.of("layer 0", "color " + Color.RED.getRGB(), "fill 1,2 3x4", "layer 2", "rect 11,12 3x4",
+                "color " + Color.BLUE.getRGB(), "text hi 15,16", "layer 0"), draw(snapshot, 1));
+    }
+
+    @Test
+    void movingObjectsAreInterpolated() {
+        GameObject moving = object(10, 100);
+        GameObject still = object(500, 500);
+        record(1, moving, still);
+        moving.setXPos(30);
+        moving.setYPos(80);
+        GameObject added = object(200, 200);
+        FrameSnapshot snapshot = record(2, moving, still, added);
+
+        assertEquals(3, snapshot.getEntityCount());
+        assertTrue(draw(snapshot, 0).containsAll(List.of("fill 10,100 10x20", "fill 500,500 10x20", "fill 200,200 10x20")));
+        assertTrue(draw(snapshot, 0.5f).contains("fill 20,90 10x20"));
+        assertTrue(draw(snapshot, 1).contains("fill 30,80 10x20"));
+        assertEquals(draw(snapshot, 1), draw(snapshot, 7));
+        assertEquals(draw(snapshot, 0), draw(snapshot, -1));
+    }
+
+    @Test
+    void alphaFollowsTheTimeSinceTheSnapshot() {
+        FrameSnapshot snapshot = record(3);
+        assertEquals(3, snapshot.getTick());
+        assertEquals(0, snapshot.alpha(3 * SPAN - 5));
+        assertEquals(0.25f, snapshot.alpha(3 * SPAN + SPAN / 4));
+        assertEquals(1, snapshot.alpha(5 * SPAN));
+        assertEquals(1, new FrameSnapshot().alpha(0), "nothing recorded");
+    }
+
+    @Test
+    void overlayIsCopied() {
+        FrameSnapshot snapshot = new FrameSnapshot();
+        assertEquals(GameState.MENU, snapshot.getGameState());
+        snapshot.setOverlay(GameState.GAME, true, 42.5f, 7, 3, 11);
+        assertEquals(GameState.GAME, snapshot.getGameState());
+        assertTrue(snapshot.isPaused());
+        assertEquals(42.5f, snapshot.getHealth());
+        assertEquals(7, snapshot.getScore());
+        assertEquals(3, snapshot.getLevel());
+        assertEquals(11, snapshot.getCounter());
+    }
+
+    @Test
+    void inputIsCountedOnceUnlessKept() {
+        FrameSnapshot snapshot = new FrameSnapshot();
+        recorder.begin(snapshot, 1, 0, SPAN, false);
+        recorder.addInput(100);
+        recorder.end();
+        recorder.begin(snapshot, 2, 0, SPAN, true);
+        recorder.addInput(200);
+        recorder.end();
+
+        List<Long> latencies = new ArrayList<>();
+        snapshot.shown(1000, latencies::add);
+        snapshot.shown(2000, latencies::add);
+        assertEquals(List.of(900L, 800L), latencies);
+
+        recorder.begin(snapshot, 3, 0, SPAN, false);
+        recorder.addInput(300);
+        recorder.end();
+        recorder.begin(snapshot, 4, 0, SPAN, false);
+        recorder.end();
+        snapshot.shown(3000, latencies::add);
+        assertEquals(2, latencies.size(), "input is cleared unless keepInput is true");
+    }
+}
@@ -0,0 +1,117 @@
+package hiof.rammeverk.TheGameEngine.Render;
+
+import org.junit.jupiter.api.Test;
+
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * {@code FramebufferRenderer} draws the same pixels as {@code Graphics}, in bands or not.
+ */
+class FramebufferRendererTest {
+    private static final int WIDTH = 320;
+    private static final int HEIGHT = 240;
+
+    /**
+     * Draw the same random rectangles, some partly or fully outside the image, to both renderers.
+     * @param count number of rectangles. More than 128 are drawn in parallel bands.
+     */
+    private static void draw(Renderer renderer, int count) {
+        Random random = new Random(count);
+        renderer.translate(7, -5);
+        for (int i = 0; i < count; i++) {
+            renderer.setColor(new Color(random.nextInt(0x1000000)));
+            int x = random.nextInt(WIDTH + 200) - 100;
+            int y = random.nextInt(HEIGHT + 200) - 100;
+            int width = random.nextInt(120);
+            int height = random.nextInt(120);
+            if (i % 4 == 0)
+                renderer.drawRect(x, y, width, height);
+            else
+                renderer.fillRect(x, y, width, height);
+        }
+    }
+
+    private static void assertSameAsGraphics(int count) {
+        BufferedImage expected = new BufferedImage(WIDTH, HEIGHT, BufferedImage.TYPE_INT_RGB);
+        Graphics2D g = expected.createGraphics();
+        g.setColor(Color.GRAY);
+        g.fillRect(0, 0, WIDTH, HEIGHT);
+        draw(new GraphicsRenderer(g), count);
+        g.dispose();
+
+        FramebufferRenderer framebuffer = new FramebufferRenderer(WIDTH, HEIGHT);
+        framebuffer.begin();
+        framebuffer.clear(Color.GRAY);
+        draw(framebuffer, count);
+        BufferedImage actual = framebuffer.end();
+
+        for (int y = 0; y < HEIGHT; y++)
+            for (int x = 0; x < WIDTH; x++)
+                assertEquals(expected.getRGB(x, y), actual.getRGB(x, y), "pixel " + x + "," + y);
+    }
+
+    @Test
+    void fewRectanglesMatchGraphics() {
+        assertSameAsGraphics(40);
+    }
+
+    @Test
+    void rectanglesDrawnInBandsMatchGraphics() {
+        assertSameAsGraphics(2000);
+    }
+
+    @Test
+    void rectanglesOutsideTheImageAreClipped() {
+        FramebufferRenderer framebuffer = new FramebufferRenderer(WIDTH, HEIGHT);
+        framebuffer.begin();
+        framebuffer.clear(Color.WHITE);
+        framebuffer.setColor(Color.BLACK);
+        framebuffer.fillRect(-50, -50, 60, 60);
+        framebuffer.fillRect(WIDTH - 5, HEIGHT - 5, 100, 100);
+        framebuffer.fillRect(WIDTH + 10, 0, 10, 10);
+        framebuffer.fillRect(10, 10, -5, 5);
+        BufferedImage image = framebuffer.end();
+
+        assertEquals(Color.BLACK.getRGB(), image.getRGB(0, 0));
+        assertEquals(Color.BLACK.getRGB(), image.getRGB(9, 9));
+        assertEquals(Color.WHITE.getRGB(), image.getRGB(10, 10));
+        assertEquals(Color.BLACK.getRGB(), image.getRGB(WIDTH - 1, HEIGHT - 1));
+        assertEquals(Color.WHITE.getRGB(), image.getRGB(WIDTH - 6, HEIGHT - 6));
+    }
+
+    @Test
+    void seeThroughColorsAreBlended() {
+        FramebufferRenderer framebuffer = new FramebufferRenderer(WIDTH, HEIGHT);
+        framebuffer.begin();
+        framebuffer.clear(Color.WHITE);
+        framebuffer.setColor(new Color(0, 0, 0, 128));
+        framebuffer.fillRect(0, 0, 10, 10);
+        framebuffer.setColor(new Color(0, 0, 0, 0));
+        framebuffer.fillRect(20, 20, 10, 10);
+        BufferedImage image = framebuffer.end();
+
+        int gray = image.getRGB(5, 5) & 0xFF;
+        assertTrue(Math.abs(gray - 127) <= 1, "blended to " + gray);
+        assertEquals(Color.WHITE.getRGB(), image.getRGB(25, 25));
+    }
+
+    @Test
+    void rectanglesAreDrawnBeforeWhatIsDrawnWithGraphics() {
+        FramebufferRenderer framebuffer = new FramebufferRenderer(WIDTH, HEIGHT);
+        framebuffer.begin();
+        framebuffer.setColor(Color.RED);
+        framebuffer.fillRect(0, 0, 10, 10);
+        framebuffer.setColor(Color.GREEN);
+        framebuffer.getGraphics().fillRect(5, 5, 10, 10);
+        BufferedImage image = framebuffer.end();
+
+        assertEquals(Color.RED.getRGB(), image.getRGB(2, 2));
+        assertEquals(Color.GREEN.getRGB(), image.getRGB(7, 7));
+    }
+}
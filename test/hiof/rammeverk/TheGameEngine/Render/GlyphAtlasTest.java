@@ -0,0 +1,82 @@
+package hiof.rammeverk.TheGameEngine.Render;
+
+import org.junit.jupiter.api.Test;
+
+import java.awt.Color;
+import java.awt.Font;
+import java.awt.FontMetrics;
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * {@code GlyphAtlas} draws numbers and labels like {@code drawString()} does.
+ */
+class GlyphAtlasTest {
+    private static final Font FONT = new Font("arial", Font.BOLD, 30);
+    private static final int WIDTH = 400;
+    private static final int HEIGHT = 60;
+    private static final int[] VALUES = {0, 7, 42, -42, 1234567890, Integer.MAX_VALUE, Integer.MIN_VALUE};
+
+    private final GlyphAtlas atlas = new GlyphAtlas(FONT, Color.BLACK, "Score: ", "Level: ");
+
+    private static BufferedImage blank() {
+        BufferedImage image = new BufferedImage(WIDTH, HEIGHT, BufferedImage.TYPE_INT_RGB);
+        Graphics2D g = image.createGraphics();
+        g.setColor(Color.WHITE);
+        g.fillRect(0, 0, WIDTH, HEIGHT);
+        g.dispose();
+        return image;
+    }
+
+    private static int[] pixels(BufferedImage image) {
+        return image.getRGB(0, 0, WIDTH, HEIGHT, null, 0, WIDTH);
+    }
+
+    private static int[] drawString(String text) {
+        BufferedImage image = blank();
+        Graphics2D g = image.createGraphics();
+        g.setFont(FONT);
+        g.setColor(Color.BLACK);
+        g.drawString(text, 5, 40);
+        g.dispose();
+        return pixels(image);
+    }
+
+    @Test
+    void numbersLookLikeDrawString() {
+        for (int value : VALUES) {
+            BufferedImage image = blank();
+            Graphics2D g = image.createGraphics();
+            int end = atlas.drawInt(g, value, 5, 40);
+            g.dispose();
+
+            assertArrayEquals(drawString(String.valueOf(value)), pixels(image), String.valueOf(value));
+            assertEquals(5 + atlas.intWidth(value), end, String.valueOf(value));
+        }
+    }
+
+    @Test
+    void widthsMatchFontMetrics() {
+        Graphics2D g = blank().createGraphics();
+        FontMetrics metrics = g.getFontMetrics(FONT);
+        g.dispose();
+        for (int value : VALUES)
+            assertEquals(metrics.stringWidth(String.valueOf(value)), atlas.intWidth(value), String.valueOf(value));
+    }
+
+    @Test
+    void labelsAreFollowedByNumbers() {
+        BufferedImage image = blank();
+        Graphics2D g = image.createGraphics();
+        int x = atlas.drawLabel(g, "Level: ", 5, 40);
+        atlas.drawInt(g, 12, x, 40);
+        g.dispose();
+
+        assertArrayEquals(drawString("Level: 12"), pixels(image));
+        assertThrows(IllegalArgumentException.class, () -> atlas.drawLabel(image.createGraphics(), "Health: ", 5, 40));
+    }
+}
@@ -0,0 +1,46 @@
+package hiof.rammeverk.TheGameEngine;
+
+import hiof.rammeverk.TheGameEngine.Behavior.ObjectCreator;
+import hiof.rammeverk.TheGameEngine.GameObjects.Bullet;
+import hiof.rammeverk.TheGameEngine.GameObjects.EnemyCharacter;
+import hiof.rammeverk.TheGameEngine.GameObjects.GameObject;
+import hiof.rammeverk.TheGameEngine.GameObjects.Id;
+import hiof.rammeverk.TheGameEngine.GameObjects.PlayerCharacter;
+import hiof.rammeverk.TheGameEngine.Window.HeadUpDisplay;
+
+/**
+ * The demo game set up without a window, for the tests.
+ */
+public final class TestGames {
+    private TestGames() {
+    }
+
+    /**
+     * @return {@code App} with the prototypes of the demo game and no {@code GameObjects}
+     */
+    public static App demo() {
+        App app = new App(1000, 800, ObjectCreator.create());
+        app.getCreator().addPrototype(PlayerCharacter.create(Id.PLAYER, app));
+        app.getCreator().addPrototype(Bullet.create(Id.BULLET, app));
+        app.getCreator().addPrototype(Bullet.create(Id.BULLET_2, app));
+        app.getCreator().addPrototype(EnemyCharacter.create(Id.SMART_ENEMY, app));
+        return app;
+    }
+
+    /**
+     * @return the {@code HeadUpDisplay} values and every {@code GameObject} of {@code app}, as text to compare
+     */
+    public static String state(ApplicationHandler app) {
+        StringBuilder text = new StringBuilder()
+                .append(HeadUpDisplay.getCounter()).append(' ')
+                .append(HeadUpDisplay.getHealth()).append('\n');
+        for (GameObject object : app.getObjects()) {
+            text.append(object.getId()).append(' ')
+                    .append(object.getXPos()).append(',').append(object.getYPos()).append(' ')
+                    .append(object.getVelX()).append(',').append(object.getVelY()).append(' ')
+                    .append(object.getWidth()).append('x').append(object.getHeight()).append(' ')
+                    .append(object.getColor()).append(' ').append(object.getLayer()).append('\n');
+        }
+        return text.toString();
+    }
+}
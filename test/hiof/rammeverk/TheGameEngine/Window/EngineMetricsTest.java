@@ -0,0 +1,123 @@
+package hiof.rammeverk.TheGameEngine.Window;
+
+import hiof.rammeverk.TheGameEngine.App;
+import hiof.rammeverk.TheGameEngine.Behavior.ObjectCreator;
+import hiof.rammeverk.TheGameEngine.GameObjects.GameObject;
+import hiof.rammeverk.TheGameEngine.GameObjects.Id;
+import hiof.rammeverk.TheGameEngine.Helpers.FrameProfiler;
+import hiof.rammeverk.TheGameEngine.Helpers.FrameProfiler.Phase;
+import hiof.rammeverk.TheGameEngine.Helpers.TickScheduler;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * {@code EngineMetrics} turns the counters of the game into rates once per second.
+ */
+class EngineMetricsTest {
+    private static final long SECOND = 1_000_000_000L;
+
+    private ObjectCreator creator;
+    private App app;
+    private TickScheduler scheduler;
+    private FrameProfiler profiler;
+    private EngineMetrics metrics;
+
+    @BeforeEach
+    void setUp() {
+        creator = new ObjectCreator();
+        app = new App(1000, 800, creator);
+        creator.addPrototype(new GameObject(Id.BULLET, app));
+        creator.setPoolCapacity(Id.BULLET, 10);
+        scheduler = new TickScheduler();
+        scheduler.setTickRate(100);
+        scheduler.setFrameRate(50);
+        profiler = new FrameProfiler();
+        profiler.setEnabled(true);
+        metrics = new EngineMetrics(app, scheduler, profiler);
+    }
+
+    /**
+     * Run the scheduler, with made up times, from {@code from} to {@code to}.
+     */
+    private void run(long from, long to) {
+        for (long now = from + SECOND / 1000; now <= to; now += SECOND / 1000) {
+            scheduler.ticksDue(now);
+            scheduler.frameDue(now);
+        }
+    }
+
+    @Test
+    void ratesArePublishedOncePerSecond() {
+        scheduler.start(SECOND);
+        profiler.rollOver(SECOND);
+        metrics.publish(SECOND);
+
+        for (int i = 0; i < 3; i++)
+            app.addObject(creator.cloneGameObject(Id.BULLET));
+        app.applyCommands();
+        app.removeObject(app.first(Id.BULLET));
+        app.applyCommands();
+        app.addObject(creator.cloneGameObject(Id.BULLET));
+        app.applyCommands();
+        profiler.record(Phase.TICK, 2_000_000);
+        profiler.record(Phase.FRAME, 8_000_000);
+        run(SECOND, 3 * SECOND);
+        profiler.rollOver(3 * SECOND);
+
+        metrics.publish(SECOND + SECOND / 2);
+        assertEquals(0, metrics.getTicksPerSecond(), "nothing is published before a second has passed");
+
+        metrics.publish(3 * SECOND);
+        assertEquals(100, metrics.getTicksPerSecond(), 1);
+        assertEquals(50, metrics.getFramesPerSecond(), 1);
+        assertEquals(3, metrics.getObjectCount());
+        assertEquals(3, metrics.getEntityCounts().get("BULLET"));
+        assertEquals(0, metrics.getEntityCounts().get("PLAYER"));
+        assertEquals(2, metrics.getObjectsAddedPerSecond(), 1e-9);
+        assertEquals(0.5, metrics.getObjectsRemovedPerSecond(), 1e-9);
+        assertEquals(2, metrics.getClonesPerSecond(), 1e-9);
+        assertEquals(0.5, metrics.getPooledClonesPerSecond(), 1e-9);
+        assertEquals(2000, metrics.getTickMaxMicros(), 1e-9);
+        assertEquals(8000, metrics.getFrameMaxMicros(), 1e-9);
+        assertTrue(metrics.getTickP50Micros() <= 2000 && metrics.getTickP50Micros() > 1800);
+        assertEquals(0, metrics.getInputLatencyMaxMicros());
+    }
+
+    @Test
+    void framesCanBeTimedOnTheirOwnProfiler() {
+        FrameProfiler frameProfiler = new FrameProfiler();
+        frameProfiler.setEnabled(true);
+        metrics = new EngineMetrics(app, scheduler, profiler, frameProfiler);
+        metrics.publish(SECOND);
+        frameProfiler.rollOver(SECOND);
+        profiler.record(Phase.FRAME, 1_000);
+        frameProfiler.record(Phase.FRAME, 5_000);
+        frameProfiler.record(Phase.INPUT_LATENCY, 9_000);
+        frameProfiler.rollOver(2 * SECOND);
+
+        metrics.publish(2 * SECOND);
+        assertEquals(5, metrics.getFrameMaxMicros(), 1e-9);
+        assertEquals(9, metrics.getInputLatencyMaxMicros(), 1e-9);
+    }
+
+    @Test
+    void registerReplacesTheOldBean() throws Exception {
+        MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+        ObjectName name = new ObjectName(EngineMetrics.OBJECT_NAME);
+        metrics.register();
+        new EngineMetrics(app, scheduler, profiler).register();
+        assertTrue(server.isRegistered(name));
+        assertEquals(0, server.getAttribute(name, "ObjectCount"));
+
+        metrics.unregister();
+        assertFalse(server.isRegistered(name));
+    }
+}
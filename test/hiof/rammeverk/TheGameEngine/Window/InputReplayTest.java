@@ -0,0 +1,145 @@
+package hiof.rammeverk.TheGameEngine.Window;
+
+import hiof.rammeverk.TheGameEngine.App;
+import hiof.rammeverk.TheGameEngine.TestGames;
+import hiof.rammeverk.TheGameEngine.Behavior.GameLoopExample;
+import hiof.rammeverk.TheGameEngine.Helpers.InputState;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.awt.event.KeyEvent;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * A game recorded by {@code InputRecorder} and played back by {@code InputReplay} ends the same way.
+ */
+class InputReplayTest {
+    private static final int[] KEYS = {KeyEvent.VK_W, KeyEvent.VK_A, KeyEvent.VK_S, KeyEvent.VK_D, KeyEvent.VK_SPACE};
+
+    /**
+     * Play a game with random keys, the way {@code Window} ticks it, and record it.
+     */
+    private static byte[] record(App app, GameLoopExample loop, HeadUpDisplay hud, int ticks) {
+        app.setSeed(12345);
+        hud.reset();
+        loop.reset();
+        InputRecorder recorder = new InputRecorder(app, 16_666_667L);
+        InputState input = app.getInput();
+        Random keys = new Random(7);
+        GameState state = GameState.GAME;
+        for (int t = 0; t < ticks && state == GameState.GAME; t++) {
+            if (keys.nextInt(4) == 0) {
+                int key = KEYS[keys.nextInt(KEYS.length)];
+                if (keys.nextBoolean())
+                    input.keyPressed(key, System.nanoTime());
+                else
+                    input.keyReleased(key, System.nanoTime());
+            }
+            app.applyCommands();
+            recorder.tick(input);
+            app.tick();
+            hud.tick();
+            loop.tick();
+            if (hud.loseGame())
+                state = GameState.LOSE;
+            else if (hud.winGame())
+                state = GameState.WIN;
+        }
+        recorder.end(state, hud.getScoreValue(), HeadUpDisplay.getCounter());
+        return recorder.toByteArray();
+    }
+
+    @Test
+    void replayEndsLikeTheRecordedGame() throws IOException {
+        App app = TestGames.demo();
+        GameLoopExample loop = new GameLoopExample(app);
+        HeadUpDisplay hud = new HeadUpDisplay();
+        byte[] log = record(app, loop, hud, 1500);
+        String recorded = hud.getScoreValue() + " " + HeadUpDisplay.getCounter() + " " + HeadUpDisplay.getHealth();
+
+        // A replay must not depend on what was left behind by the recorded game.
+        app.setSeed(999);
+        HeadUpDisplay.setHealth(3);
+        InputReplay replay = InputReplay.read(log);
+        assertEquals(12345, replay.getSeed());
+        HeadlessResult result = new HeadlessRunner(app, loop, hud).replay(replay, false);
+
+        assertTrue(replay.matches(result), result::toString);
+        assertEquals(recorded, hud.getScoreValue() + " " + HeadUpDisplay.getCounter() + " " + HeadUpDisplay.getHealth());
+    }
+
+    @Test
+    void replaysTwiceTheSame() throws IOException {
+        App app = TestGames.demo();
+        GameLoopExample loop = new GameLoopExample(app);
+        HeadUpDisplay hud = new HeadUpDisplay();
+        InputReplay replay = InputReplay.read(record(app, loop, hud, 600));
+        HeadlessRunner runner = new HeadlessRunner(app, loop, hud);
+
+        runner.replay(replay, false);
+        String first = TestGames.state(app);
+        runner.replay(replay, false);
+        String second = TestGames.state(app);
+        assertEquals(first, second);
+    }
+
+    @Test
+    void rejectsLogsThatAreNotRecordings() {
+        assertThrows(IOException.class, () -> InputReplay.read(new byte[]{1, 2, 3, 4, 5, 6}));
+    }
+
+    @Test
+    void truncatedLogKeepsTheWholeTicks() throws IOException {
+        App app = TestGames.demo();
+        byte[] log = record(app, new GameLoopExample(app), new HeadUpDisplay(), 600);
+        InputReplay cut = InputReplay.read(Arrays.copyOf(log, log.length - 20));
+        assertTrue(cut.getTicks() <= 600);
+        assertTrue(cut.getEventCount() > 0);
+    }
+
+    /**
+     * A shutdown hook may end and write the recording while the game thread still records ticks.
+     */
+    @Test
+    void recordingCanBeEndedWhileTicksAreRecorded(@TempDir Path directory) throws Exception {
+        App app = TestGames.demo();
+        InputRecorder recorder = new InputRecorder(app, 16_666_667L);
+        InputState input = app.getInput();
+        AtomicBoolean stop = new AtomicBoolean();
+        Thread game = new Thread(() -> {
+            for (int t = 0; !stop.get(); t++) {
+                input.keyPressed(KEYS[t % KEYS.length], t);
+                input.keyReleased(KEYS[t % KEYS.length], t);
+                input.sample();
+                recorder.tick(input);
+            }
+        });
+        game.start();
+        while (recorder.getTicks() < 1000)
+            Thread.onSpinWait();
+
+        recorder.end(GameState.GAME, 1, 2);
+        Path file = directory.resolve("game.input");
+        recorder.write(file);
+        stop.set(true);
+        game.join();
+
+        byte[] log = Files.readAllBytes(file);
+        assertArrayEquals(recorder.toByteArray(), log, "nothing is recorded after end()");
+        InputReplay replay = InputReplay.read(log);
+        assertEquals(GameState.GAME, replay.getRecordedState());
+        assertEquals(1, replay.getRecordedScore());
+        assertEquals(2, replay.getRecordedCounter());
+        assertTrue(replay.getTicks() >= 1000);
+    }
+}
@@ -0,0 +1,85 @@
+package hiof.rammeverk.TheGameEngine.Window;
+
+import hiof.rammeverk.TheGameEngine.App;
+import hiof.rammeverk.TheGameEngine.Behavior.ObjectCreator;
+import org.junit.jupiter.api.Test;
+
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+/**
+ * The cached {@code Menu} screens look the same every frame, and are drawn again after a setter is called.
+ */
+class MenuTest {
+    private static final int WIDTH = 1000;
+    private static final int HEIGHT = 800;
+
+    private final Menu menu = new Menu(null, new App(WIDTH, HEIGHT, new ObjectCreator()), new HeadUpDisplay());
+
+    private static BufferedImage blank() {
+        BufferedImage image = new BufferedImage(WIDTH, HEIGHT, BufferedImage.TYPE_INT_RGB);
+        Graphics2D g = image.createGraphics();
+        g.setColor(Color.WHITE);
+        g.fillRect(0, 0, WIDTH, HEIGHT);
+        g.dispose();
+        return image;
+    }
+
+    private BufferedImage render(GameState state, boolean paused, int score) {
+        BufferedImage image = blank();
+        Graphics2D g = image.createGraphics();
+        menu.render(g, state, paused, score, 2, 3);
+        g.dispose();
+        return image;
+    }
+
+    private static int[] pixels(BufferedImage image) {
+        return image.getRGB(0, 0, WIDTH, HEIGHT, null, 0, WIDTH);
+    }
+
+    /**
+     * A pixel inside the start button, away from its text.
+     */
+    private static int startButton(BufferedImage image) {
+        return image.getRGB(WIDTH / 2 - 140, HEIGHT / 4 - 40) & 0xffffff;
+    }
+
+    @Test
+    void cachedScreenIsTheSameEveryFrame() {
+        for (GameState state : new GameState[]{GameState.MENU, GameState.HELP, GameState.LOSE, GameState.WIN}) {
+            int[] first = pixels(render(state, false, 1));
+            assertFalse(Arrays.equals(pixels(blank()), first), state.toString());
+            assertArrayEquals(first, pixels(render(state, false, 1)), state.toString());
+        }
+        assertEquals(Color.BLUE.getRGB() & 0xffffff, startButton(render(GameState.MENU, false, 0)));
+    }
+
+    @Test
+    void settersDrawTheScreenAgain() {
+        int[] before = pixels(render(GameState.MENU, false, 0));
+        menu.setStartButtonColor(Color.ORANGE);
+        assertEquals(Color.ORANGE.getRGB() & 0xffffff, startButton(render(GameState.MENU, false, 0)));
+
+        menu.setStartButtonColor(Color.BLUE);
+        assertArrayEquals(before, pixels(render(GameState.MENU, false, 0)));
+    }
+
+    @Test
+    void resultsAreDrawnOnTopOfTheCachedScreen() {
+        int[] one = pixels(render(GameState.LOSE, false, 1));
+        assertFalse(Arrays.equals(one, pixels(render(GameState.LOSE, false, 2))));
+        assertArrayEquals(one, pixels(render(GameState.LOSE, false, 1)));
+    }
+
+    @Test
+    void gameScreenOnlyShowsThePausedMessage() {
+        assertArrayEquals(pixels(blank()), pixels(render(GameState.GAME, false, 0)));
+        assertFalse(Arrays.equals(pixels(blank()), pixels(render(GameState.GAME, true, 0))));
+    }
+}
@@ -0,0 +1,73 @@
+package hiof.rammeverk.TheGameEngine.Window;
+
+import hiof.rammeverk.TheGameEngine.App;
+import hiof.rammeverk.TheGameEngine.TestGames;
+import hiof.rammeverk.TheGameEngine.Behavior.GameLoopExample;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * A game loaded from a {@code WorldSnapshot} goes on exactly like the game that was saved.
+ */
+class WorldSnapshotTest {
+    @TempDir
+    Path dir;
+
+    /**
+     * @return the result and every {@code GameObject} of {@code app}, as text to compare
+     */
+    private static String state(HeadlessResult result, App app) {
+        return result.getGameState() + " " + result.getScore() + " " + result.getLevel() + " "
+                + result.getCounter() + " " + result.getHealth() + "\n" + TestGames.state(app);
+    }
+
+    @Test
+    void loadedGameGoesOnLikeTheSavedOne() {
+        App app = TestGames.demo();
+        HeadlessRunner runner = new HeadlessRunner(app, new GameLoopExample(app));
+        app.setSeed(42);
+        runner.run(120);
+        Path file = dir.resolve("game.world");
+        runner.save(file);
+        String saved = state(runner.run(300), app);
+
+        runner.load(file);
+        String loaded = state(runner.run(300), app);
+        assertEquals(saved, loaded);
+        assertTrue(app.getObjects().size() > 0);
+    }
+
+    @Test
+    void gameCanBeLoadedIntoAnotherApp() {
+        App app = TestGames.demo();
+        HeadlessRunner runner = new HeadlessRunner(app, new GameLoopExample(app));
+        app.setSeed(7);
+        runner.run(200);
+        Path file = dir.resolve("game.world");
+        runner.save(file);
+        String saved = state(runner.run(200), app);
+
+        App other = TestGames.demo();
+        HeadlessRunner otherRunner = new HeadlessRunner(other, new GameLoopExample(other));
+        otherRunner.load(file);
+        assertEquals(saved, state(otherRunner.run(200), other));
+    }
+
+    @Test
+    void rejectsFilesThatAreNotSnapshots() throws IOException {
+        App app = TestGames.demo();
+        HeadlessRunner runner = new HeadlessRunner(app, new GameLoopExample(app));
+        Path file = dir.resolve("bad.world");
+        Files.write(file, new byte[]{1, 2, 3});
+        assertThrows(UncheckedIOException.class, () -> runner.load(file));
+    }
+}